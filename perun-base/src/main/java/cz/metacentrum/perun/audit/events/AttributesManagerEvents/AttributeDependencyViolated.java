@@ -0,0 +1,40 @@
+package cz.metacentrum.perun.audit.events.AttributesManagerEvents;
+
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.audit.events.EngineIgnoreEvent;
+import cz.metacentrum.perun.core.api.Attribute;
+
+public class AttributeDependencyViolated extends AuditEvent implements EngineIgnoreEvent {
+
+	private Attribute attribute;
+	private String reason;
+	private String message;
+
+	@SuppressWarnings("unused") // used by jackson mapper
+	public AttributeDependencyViolated() {
+	}
+
+	public AttributeDependencyViolated(Attribute attribute, Object primaryHolder, Object secondaryHolder, String reason) {
+		this.attribute = attribute;
+		this.reason = reason;
+		this.message = formatMessage("%s of %s and %s violates dependency: %s.", attribute, primaryHolder, secondaryHolder, reason);
+	}
+
+	public Attribute getAttribute() {
+		return attribute;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return message;
+	}
+}
@@ -0,0 +1,67 @@
+package cz.metacentrum.perun.core.api;
+
+import java.util.Objects;
+
+/**
+ * Attribute with holders, which value violates its semantics after change of some attribute it depends on.
+ * Inconsistencies are found by deferred dependency checks, which run after the change is committed.
+ *
+ * @see CoreConfig#isDeferredAttributeDependencyChecks()
+ */
+public class AttributeInconsistency {
+
+	private RichAttribute<?, ?> richAttribute;
+	private String reason;
+	private String detectedAt;
+
+	public AttributeInconsistency() {
+	}
+
+	public AttributeInconsistency(RichAttribute<?, ?> richAttribute, String reason, String detectedAt) {
+		this.richAttribute = richAttribute;
+		this.reason = reason;
+		this.detectedAt = detectedAt;
+	}
+
+	public RichAttribute<?, ?> getRichAttribute() {
+		return richAttribute;
+	}
+
+	public void setRichAttribute(RichAttribute<?, ?> richAttribute) {
+		this.richAttribute = richAttribute;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	public void setReason(String reason) {
+		this.reason = reason;
+	}
+
+	public String getDetectedAt() {
+		return detectedAt;
+	}
+
+	public void setDetectedAt(String detectedAt) {
+		this.detectedAt = detectedAt;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		AttributeInconsistency that = (AttributeInconsistency) o;
+		return Objects.equals(richAttribute, that.richAttribute) && Objects.equals(reason, that.reason);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(richAttribute, reason);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + ":[richAttribute='" + richAttribute + "', reason='" + reason + "', detectedAt='" + detectedAt + "']";
+	}
+}
@@ -12,6 +12,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -42,6 +43,13 @@ public class BeansUtils {
 	private final static int MAX_SIZE_OF_ITEMS_IN_SQL_IN_CLAUSE = 1000;
 	private final static String MULTIVALUE_ATTRIBUTE_SEPARATOR_REGEX = ";";
 	private final static String configurationsLocations = "/etc/perun/";
+	// list and map values at least this long are cached after parsing, shorter ones are parsed faster than looked up
+	private final static int MIN_LENGTH_OF_CACHED_VALUE = 256;
+	// each cache keeps raw values of at most 4M chars in total, values over 256k chars are never cached
+	private final static long MAX_LENGTH_OF_PARSED_VALUES_CACHE = 4 * 1024 * 1024;
+	private final static int MAX_LENGTH_OF_CACHED_VALUE = 256 * 1024;
+	private final static ParsedAttributeValueCache<List<String>> parsedListValues = new ParsedAttributeValueCache<>(MAX_LENGTH_OF_PARSED_VALUES_CACHE, MAX_LENGTH_OF_CACHED_VALUE);
+	private final static ParsedAttributeValueCache<Map<String, String>> parsedMapValues = new ParsedAttributeValueCache<>(MAX_LENGTH_OF_PARSED_VALUES_CACHE, MAX_LENGTH_OF_CACHED_VALUE);
 
 	private static CoreConfig coreConfig;
 
@@ -380,6 +388,10 @@ public class BeansUtils {
 	/**
 	 * Converts string representation of an attribute value to correct java object
 	 *
+	 * Large list and map values are parsed only once and kept in a bounded cache in immutable form,
+	 * each call returns new mutable copy of the value. Copies are kept, since values of attributes are modified
+	 * by their holders (e.g. attribute modules), and copying is still much cheaper than parsing the value again.
+	 *
 	 * @param stringValue string representation of the attribute value
 	 * @param type type of the value ("Java.lang.String" for example)/
 	 * @return
@@ -389,6 +401,21 @@ public class BeansUtils {
 	public static Object stringToAttributeValue(String stringValue, String type) {
 		if(stringValue == null || stringValue.isEmpty()) return null;
 
+		// known types are resolved without class lookup
+		if(String.class.getName().equals(type)) {
+			return stringValue;
+		} else if(Integer.class.getName().equals(type)) {
+			return Integer.parseInt(stringValue);
+		} else if(Boolean.class.getName().equals(type)) {
+			return Boolean.parseBoolean(stringValue);
+		} else if(ArrayList.class.getName().equals(type)) {
+			if(stringValue.length() < MIN_LENGTH_OF_CACHED_VALUE) return parseEscapedListValue(stringValue);
+			return new ArrayList<>(parsedListValues.get(stringValue, value -> Collections.unmodifiableList(parseEscapedListValue(value))));
+		} else if(LinkedHashMap.class.getName().equals(type)) {
+			if(stringValue.length() < MIN_LENGTH_OF_CACHED_VALUE) return parseEscapedMapValue(stringValue);
+			return new LinkedHashMap<>(parsedMapValues.get(stringValue, value -> Collections.unmodifiableMap(parseEscapedMapValue(value))));
+		}
+
 		Class<?> attributeClass;
 		try {
 			attributeClass = Class.forName(type);
@@ -397,75 +424,72 @@ public class BeansUtils {
 		} catch (NoClassDefFoundError e) {
 			throw new InternalErrorException("Unknown attribute def type", e);
 		}
+		throw new InternalErrorException("Unknown attribute type. ("+ attributeClass.toString() + ")");
+	}
 
-		if(attributeClass.equals(String.class)) {
-			return stringValue;
-		} else if(attributeClass.equals(Integer.class)) {
-			return Integer.parseInt(stringValue);
-		} else if(attributeClass.equals(Boolean.class)) {
-			return Boolean.parseBoolean(stringValue);
-		} else if(attributeClass.equals(ArrayList.class)) {
-			return parseEscapedListValue(stringValue);
-		} else if(attributeClass.equals(LinkedHashMap.class)) {
-			String[] array = stringValue.split(Character.toString(LIST_DELIMITER), -1);
-			Map<String, String> attributeValue = new LinkedHashMap<String, String>();
-
-			//join items which was splited on escaped LIST_DELIMITER
-			for(int i = 0; i < array.length -1; i++) {  //itarate to lenght -1  ... last array item is always empty
-				String mapEntry = array[i];
-
-				while(mapEntry.matches("^(.*[^\\\\])?(\\\\\\\\)*\\\\$")) { //mapEntry last char is '\' . Next mapEntry start with ',', so we need to concat this mapEntries.
-					mapEntry = mapEntry.substring(0, mapEntry.length()-1);  //cut off last char ('\')
-					try {
-						mapEntry = mapEntry.concat(Character.toString(LIST_DELIMITER)).concat(array[i+1]);
-						i++;
-					} catch(ArrayIndexOutOfBoundsException ex) {
-						throw new ConsistencyErrorException("Bad format in attribute value", ex);
-					}
-				}
+	/**
+	 * Parse escaped map value from its string representation
+	 *
+	 * @param stringValue escaped map value
+	 * @return map value
+	 */
+	private static LinkedHashMap<String, String> parseEscapedMapValue(String stringValue) {
+		String[] array = stringValue.split(Character.toString(LIST_DELIMITER), -1);
+		LinkedHashMap<String, String> attributeValue = new LinkedHashMap<String, String>();
 
-				boolean delimiterFound = false;
-				int delimiterIndex = -1;
-
-
-				while(!delimiterFound) {
-					delimiterIndex++; //start searching at next char then last time
-					delimiterIndex = mapEntry.indexOf(Character.toString(KEY_VALUE_DELIMITER), delimiterIndex);
-					if(delimiterIndex == -1) throw new ConsistencyErrorException("Bad format in attribute value. KEY_VALUE_DELIMITER not found. Attribute value='" + stringValue + "', processed entry='" + mapEntry + "'");
-
-					//check if this delimiter is not escaped
-					boolean isEscaped = false;  //is delimiter escaped
-					boolean stop = false;
-					int processedIndex = delimiterIndex - 1;
-					while(!stop && processedIndex >= 0) {
-						if(mapEntry.charAt(processedIndex) == '\\') {
-							isEscaped = !isEscaped;
-						} else {
-							stop = true;
-						}
-						processedIndex--;
-					}
-					if(!isEscaped) delimiterFound = true;
+		//join items which was splited on escaped LIST_DELIMITER
+		for(int i = 0; i < array.length -1; i++) {  //itarate to lenght -1  ... last array item is always empty
+			String mapEntry = array[i];
+
+			while(mapEntry.matches("^(.*[^\\\\])?(\\\\\\\\)*\\\\$")) { //mapEntry last char is '\' . Next mapEntry start with ',', so we need to concat this mapEntries.
+				mapEntry = mapEntry.substring(0, mapEntry.length()-1);  //cut off last char ('\')
+				try {
+					mapEntry = mapEntry.concat(Character.toString(LIST_DELIMITER)).concat(array[i+1]);
+					i++;
+				} catch(ArrayIndexOutOfBoundsException ex) {
+					throw new ConsistencyErrorException("Bad format in attribute value", ex);
 				}
+			}
 
-				String key = mapEntry.substring(0, delimiterIndex);
-				String value = mapEntry.substring(delimiterIndex+1);
+			boolean delimiterFound = false;
+			int delimiterIndex = -1;
 
-				//unescape
-				key = key.replaceAll("\\\\([\\\\" + Character.toString(LIST_DELIMITER) + Character.toString(KEY_VALUE_DELIMITER) + "])", "$1");
-				value = value.replaceAll("\\\\([\\\\" + Character.toString(LIST_DELIMITER) + Character.toString(KEY_VALUE_DELIMITER) + "])", "$1");
 
-				if(key.equals("\\0")) key = null;
-				if(value.equals("\\0")) value = null;
+			while(!delimiterFound) {
+				delimiterIndex++; //start searching at next char then last time
+				delimiterIndex = mapEntry.indexOf(Character.toString(KEY_VALUE_DELIMITER), delimiterIndex);
+				if(delimiterIndex == -1) throw new ConsistencyErrorException("Bad format in attribute value. KEY_VALUE_DELIMITER not found. Attribute value='" + stringValue + "', processed entry='" + mapEntry + "'");
 
-				//return updated item back to list
-				attributeValue.put(key, value);
+				//check if this delimiter is not escaped
+				boolean isEscaped = false;  //is delimiter escaped
+				boolean stop = false;
+				int processedIndex = delimiterIndex - 1;
+				while(!stop && processedIndex >= 0) {
+					if(mapEntry.charAt(processedIndex) == '\\') {
+						isEscaped = !isEscaped;
+					} else {
+						stop = true;
+					}
+					processedIndex--;
+				}
+				if(!isEscaped) delimiterFound = true;
 			}
 
-			return attributeValue;
-		} else {
-			throw new InternalErrorException("Unknown attribute type. ("+ attributeClass.toString() + ")");
+			String key = mapEntry.substring(0, delimiterIndex);
+			String value = mapEntry.substring(delimiterIndex+1);
+
+			//unescape
+			key = key.replaceAll("\\\\([\\\\" + Character.toString(LIST_DELIMITER) + Character.toString(KEY_VALUE_DELIMITER) + "])", "$1");
+			value = value.replaceAll("\\\\([\\\\" + Character.toString(LIST_DELIMITER) + Character.toString(KEY_VALUE_DELIMITER) + "])", "$1");
+
+			if(key.equals("\\0")) key = null;
+			if(value.equals("\\0")) value = null;
+
+			//return updated item back to list
+			attributeValue.put(key, value);
 		}
+
+		return attributeValue;
 	}
 
 	/**
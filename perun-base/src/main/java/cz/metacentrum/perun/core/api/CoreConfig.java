@@ -33,14 +33,21 @@ public class CoreConfig {
 	private boolean readOnlyPerun;
 	private int groupSynchronizationInterval;
 	private int groupSynchronizationTimeout;
+	private int groupSynchronizationMaxSkips;
 	private int groupMaxConcurentGroupsToSynchronize;
 	private int groupStructureSynchronizationInterval;
 	private int groupStructureSynchronizationTimeout;
 	private int groupMaxConcurrentGroupsStructuresToSynchronize;
+	private int groupMaxConcurrentGroupsToSynchronizeFromExtSource;
 	private int mailchangeValidationWindow;
 	private int pwdresetValidationWindow;
 	private int accountActivationValidationWindow;
 	private int queryTimeout;
+	private int attributeDefinitionsRefreshInterval;
+	private int attributeRightsRefreshInterval;
+	private boolean deferredAttributeDependencyChecks;
+	private int attributesCacheSize;
+	private int attributesCachePollInterval;
 	private List<String> admins;
 	private List<String> enginePrincipals;
 	private List<String> generatedLoginNamespaces;
@@ -85,6 +92,14 @@ public class CoreConfig {
 	private List<String> attributesToAnonymize;
 	private List<String> attributesToKeep;
 
+	public int getGroupMaxConcurrentGroupsToSynchronizeFromExtSource() {
+		return groupMaxConcurrentGroupsToSynchronizeFromExtSource;
+	}
+
+	public void setGroupMaxConcurrentGroupsToSynchronizeFromExtSource(int groupMaxConcurrentGroupsToSynchronizeFromExtSource) {
+		this.groupMaxConcurrentGroupsToSynchronizeFromExtSource = groupMaxConcurrentGroupsToSynchronizeFromExtSource;
+	}
+
 	public int getGroupMaxConcurentGroupsToSynchronize() {
 		return groupMaxConcurentGroupsToSynchronize;
 	}
@@ -145,6 +160,14 @@ public class CoreConfig {
 		this.groupSynchronizationInterval = groupSynchronizationInterval;
 	}
 
+	public int getGroupSynchronizationMaxSkips() {
+		return groupSynchronizationMaxSkips;
+	}
+
+	public void setGroupSynchronizationMaxSkips(int groupSynchronizationMaxSkips) {
+		this.groupSynchronizationMaxSkips = groupSynchronizationMaxSkips;
+	}
+
 	public int getGroupSynchronizationTimeout() {
 		return groupSynchronizationTimeout;
 	}
@@ -648,6 +671,76 @@ public class CoreConfig {
 		this.queryTimeout = queryTimeout;
 	}
 
+	/**
+	 * Interval in seconds after which in-memory registry of attribute definitions is reloaded from the DB,
+	 * so changes made by other Perun instances are picked up. Zero means never, negative value disables the registry.
+	 *
+	 * @return refresh interval in seconds
+	 */
+	public int getAttributeDefinitionsRefreshInterval() {
+		return attributeDefinitionsRefreshInterval;
+	}
+
+	public void setAttributeDefinitionsRefreshInterval(int attributeDefinitionsRefreshInterval) {
+		this.attributeDefinitionsRefreshInterval = attributeDefinitionsRefreshInterval;
+	}
+
+	/**
+	 * Interval in seconds after which in-memory matrix of attribute rights is reloaded from the DB.
+	 * Zero means never, negative value disables the matrix.
+	 *
+	 * @return refresh interval in seconds
+	 */
+	public int getAttributeRightsRefreshInterval() {
+		return attributeRightsRefreshInterval;
+	}
+
+	public void setAttributeRightsRefreshInterval(int attributeRightsRefreshInterval) {
+		this.attributeRightsRefreshInterval = attributeRightsRefreshInterval;
+	}
+
+	/**
+	 * If TRUE, semantics of attributes depending on the changed attribute are not checked in the transaction
+	 * of the change, but in the background after it is committed. Violations are reported as inconsistencies.
+	 *
+	 * @return TRUE if dependency checks are deferred
+	 */
+	public boolean isDeferredAttributeDependencyChecks() {
+		return deferredAttributeDependencyChecks;
+	}
+
+	public void setDeferredAttributeDependencyChecks(boolean deferredAttributeDependencyChecks) {
+		this.deferredAttributeDependencyChecks = deferredAttributeDependencyChecks;
+	}
+
+	/**
+	 * Max number of non-virtual attributes of users and members kept in read-through cache.
+	 * Zero or negative value disables the cache.
+	 *
+	 * @return max number of cached attributes
+	 */
+	public int getAttributesCacheSize() {
+		return attributesCacheSize;
+	}
+
+	public void setAttributesCacheSize(int attributesCacheSize) {
+		this.attributesCacheSize = attributesCacheSize;
+	}
+
+	/**
+	 * Interval in seconds, in which audit log is checked for changes of cached attributes made by other Perun instances.
+	 * Zero or negative value disables the checks.
+	 *
+	 * @return interval in seconds
+	 */
+	public int getAttributesCachePollInterval() {
+		return attributesCachePollInterval;
+	}
+
+	public void setAttributesCachePollInterval(int attributesCachePollInterval) {
+		this.attributesCachePollInterval = attributesCachePollInterval;
+	}
+
 	public void setDefaultLoaIdP(String defaultLoaIdP) {
 		this.defaultLoaIdP = defaultLoaIdP;
 	}
@@ -0,0 +1,87 @@
+package cz.metacentrum.perun.core.api;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of parsed attribute values keyed by their raw string representation.
+ *
+ * Cached values must be immutable, since they are shared by all threads. Callers are expected
+ * to return their mutable copies. Size of the cache is bounded by total length of cached raw values
+ * (parsed values take roughly the same space again). Values longer than max length of a single value
+ * are parsed, but never cached. When cache is full, least recently used entries are evicted before adding a new one.
+ * Values are parsed outside of the lock of the cache.
+ *
+ * @param <V> type of parsed value
+ * @see BeansUtils#stringToAttributeValue(String, String)
+ */
+final class ParsedAttributeValueCache<V> {
+
+	// access order, so the eldest entry is the least recently used one
+	private final LinkedHashMap<String, V> values = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalLength = 0;
+	private final long maxTotalLength;
+	private final int maxValueLength;
+
+	/**
+	 * Create cache.
+	 *
+	 * @param maxTotalLength max total length (in chars) of cached raw values
+	 * @param maxValueLength max length (in chars) of a single cached raw value
+	 */
+	ParsedAttributeValueCache(long maxTotalLength, int maxValueLength) {
+		this.maxTotalLength = maxTotalLength;
+		this.maxValueLength = maxValueLength;
+	}
+
+	/**
+	 * Get parsed value from cache or parse it and store it to the cache.
+	 *
+	 * @param rawValue raw string representation of the value
+	 * @param parser parser returning immutable value
+	 * @return parsed value
+	 */
+	V get(String rawValue, Function<String, V> parser) {
+		if (rawValue.length() > maxValueLength) return parser.apply(rawValue);
+
+		synchronized (this) {
+			V value = values.get(rawValue);
+			if (value != null) return value;
+		}
+
+		V value = parser.apply(rawValue);
+		synchronized (this) {
+			// value could be parsed and cached by other thread meanwhile
+			V cached = values.get(rawValue);
+			if (cached != null) return cached;
+
+			Iterator<Map.Entry<String, V>> eldest = values.entrySet().iterator();
+			while (totalLength + rawValue.length() > maxTotalLength && eldest.hasNext()) {
+				totalLength -= eldest.next().getKey().length();
+				eldest.remove();
+			}
+			values.put(rawValue, value);
+			totalLength += rawValue.length();
+		}
+		return value;
+	}
+
+	synchronized int size() {
+		return values.size();
+	}
+
+	/**
+	 * @return total length (in chars) of cached raw values
+	 */
+	synchronized long totalLength() {
+		return totalLength;
+	}
+
+	synchronized void clear() {
+		values.clear();
+		totalLength = 0;
+	}
+
+}
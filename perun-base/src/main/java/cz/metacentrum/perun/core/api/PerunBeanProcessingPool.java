@@ -4,9 +4,12 @@ import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.Lock;
@@ -22,6 +25,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * Jobs in processing pool are unique and can't be added if they are already
  * in list of waiting jobs or in set of running jobs.
  * New waiting job can skip order and be putted as first in the list of waiting jobs.
+ * Waiting jobs can have priority, jobs with lower value are taken first and jobs with same value in FIFO order.
  *
  * Note: this class doesn't run any task scheduler, it just provides structures and functionality to manipulate
  * with these structures used for processing job from the pool of waiting jobs.
@@ -30,8 +34,10 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class PerunBeanProcessingPool<T extends PerunBean> {
 
-	//List of waiting jobs (they should be process as soon as possible), there is FIFO order
+	//List of waiting jobs (they should be process as soon as possible), there is FIFO order for jobs with same priority
 	private final LinkedList<T> waitingJobs = new LinkedList<>();
+	//Priorities of waiting jobs, lower value means sooner processing
+	private final Map<T, Long> waitingJobsPriorities = new HashMap<>();
 	//Set of already running jobs (we need to track them until they are finished)
 	private final HashSet<T> runningJobs = new HashSet<>();
 	//Semaphore which takes care about emptiness of list of waiting jobs (threads will wait for another job)
@@ -60,6 +66,26 @@ public class PerunBeanProcessingPool<T extends PerunBean> {
 	 * @throws InternalErrorException if job in parameter is null
 	 */
 	public boolean putJobIfAbsent(T job, boolean asFirst) {
+		return putJobIfAbsent(job, asFirst, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Put new unique job to the list of waiting jobs with priority.
+	 *
+	 * Job is placed after all waiting jobs with lower or same priority, so jobs with same priority keep FIFO order.
+	 * Jobs put as first are placed before all waiting jobs regardless of the priority.
+	 * Otherwise it behaves same as {@link #putJobIfAbsent(PerunBean, boolean)}.
+	 *
+	 * @param job perunBean object which defines job
+	 * @param asFirst true if job will skip order and will be placed to the list as first (LIFO)
+	 * @param priority priority of the job, lower value means sooner processing
+	 *
+	 * @return true if unique job was added or job was added to the beginning of the queue (asFirst is true), false if job exists and
+	 * was not added to the beginning of the queue (asFirst is false) or it is already running
+	 *
+	 * @throws InternalErrorException if job in parameter is null
+	 */
+	public boolean putJobIfAbsent(T job, boolean asFirst, long priority) {
 		if(job == null) throw new InternalErrorException("Can't put null job to list of waiting jobs.");
 
 		try {
@@ -80,11 +106,20 @@ public class PerunBeanProcessingPool<T extends PerunBean> {
 				}
 			}
 
-			//add it as first or at last defined by parameter of method
+			//add it as first or after all jobs with lower or same priority
 			if (asFirst) {
 				waitingJobs.addFirst(job);
+				waitingJobsPriorities.put(job, Long.MIN_VALUE);
 			} else {
-				waitingJobs.addLast(job);
+				ListIterator<T> waitingJobsIterator = waitingJobs.listIterator(waitingJobs.size());
+				while (waitingJobsIterator.hasPrevious()) {
+					if (waitingJobsPriorities.get(waitingJobsIterator.previous()) <= priority) {
+						waitingJobsIterator.next();
+						break;
+					}
+				}
+				waitingJobsIterator.add(job);
+				waitingJobsPriorities.put(job, priority);
 			}
 
 			//increase number of waiting jobs by one
@@ -117,6 +152,7 @@ public class PerunBeanProcessingPool<T extends PerunBean> {
 
 			//We should always get not null job, because semaphore pool was not empty
 			job = waitingJobs.pollFirst();
+			waitingJobsPriorities.remove(job);
 
 			runningJobs.add(job);
 		} finally {
@@ -0,0 +1,95 @@
+package cz.metacentrum.perun.taskslib.messages;
+
+/**
+ * Task sent from Dispatcher to Engine for processing.
+ *
+ * Facility, Service and Destinations are kept in their serialized form (PerunBean#serializeToString()),
+ * since they are parsed by the AuditParser on the Engine side.
+ *
+ * @see TaskMessageCodec
+ */
+public class TaskAssignment {
+
+	private int taskId;
+	private boolean propagationForced;
+	private Integer sourceUpdatedAuditMessageId;
+	private String service;
+	private String facility;
+	private String destinations;
+
+	public TaskAssignment() {
+	}
+
+	public TaskAssignment(int taskId, boolean propagationForced, Integer sourceUpdatedAuditMessageId, String service, String facility, String destinations) {
+		this.taskId = taskId;
+		this.propagationForced = propagationForced;
+		this.sourceUpdatedAuditMessageId = sourceUpdatedAuditMessageId;
+		this.service = service;
+		this.facility = facility;
+		this.destinations = destinations;
+	}
+
+	public int getTaskId() {
+		return taskId;
+	}
+
+	public void setTaskId(int taskId) {
+		this.taskId = taskId;
+	}
+
+	public boolean isPropagationForced() {
+		return propagationForced;
+	}
+
+	public void setPropagationForced(boolean propagationForced) {
+		this.propagationForced = propagationForced;
+	}
+
+	/**
+	 * Get id of the last audit message changing source data of the Task or NULL if unknown.
+	 *
+	 * @return id of the last audit message changing source data
+	 */
+	public Integer getSourceUpdatedAuditMessageId() {
+		return sourceUpdatedAuditMessageId;
+	}
+
+	public void setSourceUpdatedAuditMessageId(Integer sourceUpdatedAuditMessageId) {
+		this.sourceUpdatedAuditMessageId = sourceUpdatedAuditMessageId;
+	}
+
+	public String getService() {
+		return service;
+	}
+
+	public void setService(String service) {
+		this.service = service;
+	}
+
+	public String getFacility() {
+		return facility;
+	}
+
+	public void setFacility(String facility) {
+		this.facility = facility;
+	}
+
+	public String getDestinations() {
+		return destinations;
+	}
+
+	public void setDestinations(String destinations) {
+		this.destinations = destinations;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + ":[taskId='" + taskId +
+				"', forced='" + propagationForced +
+				"', sourceUpdatedAuditMessageId='" + sourceUpdatedAuditMessageId +
+				"', service='" + service +
+				"', facility='" + facility +
+				"', destinations='" + destinations + "']";
+	}
+
+}
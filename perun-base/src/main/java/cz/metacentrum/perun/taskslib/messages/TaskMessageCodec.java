@@ -0,0 +1,236 @@
+package cz.metacentrum.perun.taskslib.messages;
+
+import cz.metacentrum.perun.core.api.Service;
+import cz.metacentrum.perun.taskslib.model.Task;
+import cz.metacentrum.perun.taskslib.model.TaskResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Binary format of messages exchanged between Dispatcher and Engine (carried in JMS BytesMessage).
+ *
+ * Each message starts with a header:
+ *
+ * [magic byte 'P'][version byte][type byte][int count of items]
+ *
+ * followed by the items of the given type. Strings are written as int length of UTF-8 bytes followed
+ * by the bytes, length -1 represents NULL. Enums are written as strings (their names), so adding new values
+ * doesn't break older readers. Single message can carry any number of items, so bursts of Tasks or TaskResults
+ * can be sent in batches.
+ *
+ * Reader refuses messages with higher version than VERSION, it must be increased with every change of the format.
+ *
+ * @see TaskAssignment
+ * @see TaskStatusChange
+ * @see TaskResult
+ */
+public final class TaskMessageCodec {
+
+	/**
+	 * Current version of the binary format.
+	 */
+	public static final byte VERSION = 1;
+
+	private static final byte MAGIC = 'P';
+	private static final int HEADER_SIZE = 7;
+
+	/**
+	 * Type of items carried by the message.
+	 */
+	public enum Type {
+		TASK_ASSIGNMENTS((byte) 1),
+		TASK_STATUS_CHANGES((byte) 2),
+		TASK_RESULTS((byte) 3);
+
+		private final byte code;
+
+		Type(byte code) {
+			this.code = code;
+		}
+
+		private static Type fromCode(byte code) throws IOException {
+			for (Type type : values()) {
+				if (type.code == code) return type;
+			}
+			throw new IOException("Unknown message type " + code + ".");
+		}
+	}
+
+	private TaskMessageCodec() {
+	}
+
+	/**
+	 * Read type of the message from its header.
+	 *
+	 * @param message binary message
+	 * @return type of items in the message
+	 * @throws IOException when message is not in supported format
+	 */
+	public static Type readType(byte[] message) throws IOException {
+		if (message == null || message.length < HEADER_SIZE || message[0] != MAGIC) {
+			throw new IOException("Message is not in a binary Task message format.");
+		}
+		if (message[1] > VERSION || message[1] < 1) {
+			throw new IOException("Unsupported version " + message[1] + " of binary Task message, max supported is " + VERSION + ".");
+		}
+		return Type.fromCode(message[2]);
+	}
+
+	public static byte[] encodeTaskAssignments(List<TaskAssignment> assignments) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = writeHeader(bytes, Type.TASK_ASSIGNMENTS, assignments.size());
+		for (TaskAssignment assignment : assignments) {
+			out.writeInt(assignment.getTaskId());
+			out.writeBoolean(assignment.isPropagationForced());
+			out.writeLong(assignment.getSourceUpdatedAuditMessageId() == null ? -1 : assignment.getSourceUpdatedAuditMessageId());
+			writeString(out, assignment.getService());
+			writeString(out, assignment.getFacility());
+			writeString(out, assignment.getDestinations());
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	public static List<TaskAssignment> decodeTaskAssignments(byte[] message) throws IOException {
+		DataInputStream in = readHeader(message, Type.TASK_ASSIGNMENTS);
+		int count = in.readInt();
+		List<TaskAssignment> assignments = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			TaskAssignment assignment = new TaskAssignment();
+			assignment.setTaskId(in.readInt());
+			assignment.setPropagationForced(in.readBoolean());
+			long sourceUpdatedAuditMessageId = in.readLong();
+			assignment.setSourceUpdatedAuditMessageId(sourceUpdatedAuditMessageId < 0 ? null : (int) sourceUpdatedAuditMessageId);
+			assignment.setService(readString(in));
+			assignment.setFacility(readString(in));
+			assignment.setDestinations(readString(in));
+			assignments.add(assignment);
+		}
+		return assignments;
+	}
+
+	public static byte[] encodeTaskStatusChanges(List<TaskStatusChange> changes) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = writeHeader(bytes, Type.TASK_STATUS_CHANGES, changes.size());
+		for (TaskStatusChange change : changes) {
+			out.writeInt(change.getTaskId());
+			writeString(out, change.getStatus() == null ? null : change.getStatus().name());
+			out.writeLong(change.getTimestamp());
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	public static List<TaskStatusChange> decodeTaskStatusChanges(byte[] message) throws IOException {
+		DataInputStream in = readHeader(message, Type.TASK_STATUS_CHANGES);
+		int count = in.readInt();
+		List<TaskStatusChange> changes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			TaskStatusChange change = new TaskStatusChange();
+			change.setTaskId(in.readInt());
+			String status = readString(in);
+			try {
+				change.setStatus(status == null ? null : Task.TaskStatus.valueOf(status));
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Unknown Task status " + status + ".", e);
+			}
+			change.setTimestamp(in.readLong());
+			changes.add(change);
+		}
+		return changes;
+	}
+
+	public static byte[] encodeTaskResults(List<TaskResult> results) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = writeHeader(bytes, Type.TASK_RESULTS, results.size());
+		for (TaskResult result : results) {
+			out.writeInt(result.getId());
+			out.writeInt(result.getTaskId());
+			out.writeInt(result.getDestinationId());
+			writeString(out, result.getErrorMessage());
+			writeString(out, result.getStandardMessage());
+			out.writeInt(result.getReturnCode());
+			out.writeLong(result.getTimestamp() == null ? -1 : result.getTimestamp().getTime());
+			writeString(out, result.getStatus() == null ? null : result.getStatus().name());
+			out.writeInt(result.getService() == null ? -1 : result.getService().getId());
+			writeString(out, result.getService() == null ? null : result.getService().getName());
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	public static List<TaskResult> decodeTaskResults(byte[] message) throws IOException {
+		DataInputStream in = readHeader(message, Type.TASK_RESULTS);
+		int count = in.readInt();
+		List<TaskResult> results = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			TaskResult result = new TaskResult();
+			result.setId(in.readInt());
+			result.setTaskId(in.readInt());
+			result.setDestinationId(in.readInt());
+			result.setErrorMessage(readString(in));
+			result.setStandardMessage(readString(in));
+			result.setReturnCode(in.readInt());
+			long timestamp = in.readLong();
+			result.setTimestamp(timestamp < 0 ? null : new Date(timestamp));
+			String status = readString(in);
+			try {
+				result.setStatus(status == null ? null : TaskResult.TaskResultStatus.valueOf(status));
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Unknown TaskResult status " + status + ".", e);
+			}
+			int serviceId = in.readInt();
+			String serviceName = readString(in);
+			if (serviceId >= 0) {
+				result.setService(new Service(serviceId, serviceName));
+			}
+			results.add(result);
+		}
+		return results;
+	}
+
+	private static DataOutputStream writeHeader(ByteArrayOutputStream bytes, Type type, int count) throws IOException {
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(MAGIC);
+		out.writeByte(VERSION);
+		out.writeByte(type.code);
+		out.writeInt(count);
+		return out;
+	}
+
+	private static DataInputStream readHeader(byte[] message, Type expectedType) throws IOException {
+		Type type = readType(message);
+		if (type != expectedType) {
+			throw new IOException("Expected message with " + expectedType + " but got " + type + ".");
+		}
+		// skip magic, version and type
+		return new DataInputStream(new ByteArrayInputStream(message, 3, message.length - 3));
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		} else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) return null;
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,61 @@
+package cz.metacentrum.perun.taskslib.messages;
+
+import cz.metacentrum.perun.taskslib.model.Task;
+
+/**
+ * Change of Task status reported by Engine to Dispatcher.
+ *
+ * @see TaskMessageCodec
+ */
+public class TaskStatusChange {
+
+	private int taskId;
+	private Task.TaskStatus status;
+	private long timestamp;
+
+	public TaskStatusChange() {
+	}
+
+	public TaskStatusChange(int taskId, Task.TaskStatus status, long timestamp) {
+		this.taskId = taskId;
+		this.status = status;
+		this.timestamp = timestamp;
+	}
+
+	public int getTaskId() {
+		return taskId;
+	}
+
+	public void setTaskId(int taskId) {
+		this.taskId = taskId;
+	}
+
+	public Task.TaskStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(Task.TaskStatus status) {
+		this.status = status;
+	}
+
+	/**
+	 * Get time of the status change in ms.
+	 *
+	 * @return time of the change
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public void setTimestamp(long timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + ":[taskId='" + taskId +
+				"', status='" + status +
+				"', timestamp='" + timestamp + "']";
+	}
+
+}
@@ -38,6 +38,7 @@ public class Task implements Serializable {
 	private List<Destination> destinations;
 	private TaskStatus status;
 	private boolean sourceUpdated;
+	private Integer sourceUpdatedAuditMessageId;
 	private boolean propagationForced;
 
 	@Override
@@ -312,6 +313,7 @@ public class Task implements Serializable {
 				.append("', delay='").append(delay)
 				.append("', recurrence='").append(recurrence)
 				.append("', sourceUpdated='").append(sourceUpdated)
+				.append("', sourceUpdatedAuditMessageId='").append(sourceUpdatedAuditMessageId)
 				.append("', forced='").append(propagationForced)
 				.append("', schedule='").append(schedule)
 				.append("', startTime='").append(startTime)
@@ -335,6 +337,20 @@ public class Task implements Serializable {
 		this.sourceUpdated = sourceUpdated;
 	}
 
+	/**
+	 * Get id of the last audit message, which changed source data related to this Task.
+	 * NULL means id is unknown and data should be always considered as changed.
+	 *
+	 * @return id of the last audit message changing source data
+	 */
+	public Integer getSourceUpdatedAuditMessageId() {
+		return sourceUpdatedAuditMessageId;
+	}
+
+	public void setSourceUpdatedAuditMessageId(Integer sourceUpdatedAuditMessageId) {
+		this.sourceUpdatedAuditMessageId = sourceUpdatedAuditMessageId;
+	}
+
 	public boolean isPropagationForced() {
 		return propagationForced;
 	}
@@ -1,6 +1,7 @@
--- database version 3.1.81 (don't forget to update insert statement at the end of file)
+-- database version 3.1.84 (don't forget to update insert statement at the end of file)
 CREATE EXTENSION IF NOT EXISTS "unaccent";
 CREATE EXTENSION IF NOT EXISTS "pgcrypto";
+CREATE EXTENSION IF NOT EXISTS "pg_trgm";
 
 -- VOS - virtual organizations
 create table vos (
@@ -1234,6 +1235,16 @@ create table groups_groups (
 								constraint grp_grp_ogid_fk foreign key (operand_gid) references groups(id)
 );
 
+-- GROUPS_GROUPS_CLOSURE - transitive closure of relations between groups
+create table groups_groups_closure (
+								result_gid integer not null,         --identifier of group
+								operand_gid integer not null,        --identifier of operand group at any level
+								paths integer not null,              --number of relation paths between the groups
+								constraint grp_grp_clos_pk primary key (result_gid,operand_gid),
+								constraint grp_grp_clos_rgid_fk foreign key (result_gid) references groups(id),
+								constraint grp_grp_clos_ogid_fk foreign key (operand_gid) references groups(id)
+);
+
 -- RES_TAGS - possible resource tags in VO
 create table res_tags (
 						   id integer not null,
@@ -1565,6 +1576,7 @@ create index idx_fk_task_srv on tasks(service_id);
 create index idx_fk_task_fac on tasks(facility_id);
 create index idx_fk_taskres_task on tasks_results(task_id);
 create index idx_fk_taskres_dest on tasks_results(destination_id);
+create index idx_taskres_task_dest_newest on tasks_results(task_id, destination_id, modified_at desc, id desc);
 create index idx_fk_srvden_srv on service_denials(service_id);
 create index idx_fk_srvden_fac on service_denials(facility_id);
 create index idx_fk_srvden_dest on service_denials(destination_id);
@@ -1577,6 +1589,17 @@ create index idx_fk_memattval_mem on member_attr_values(member_id);
 create index idx_fk_memattval_attr on member_attr_values(attr_id);
 create index idx_fk_grpattval_grp on group_attr_values(group_id);
 create index idx_fk_grpattval_attr on group_attr_values(attr_id);
+-- immutable variant of unaccent, which can be used in indexes of attribute values
+-- search path is pinned to schema of the unaccent extension, which is perun (or public on installations keeping extensions there)
+create or replace function unaccent_immutable(text) returns text as $$ select unaccent('unaccent'::regdictionary, $1) $$ language sql immutable set search_path = perun, public;
+create index idx_usrav_value_trgm on user_attr_values using gin (attr_value gin_trgm_ops);
+create index idx_usrav_value_ascii_trgm on user_attr_values using gin (lower(unaccent_immutable(attr_value)) gin_trgm_ops);
+create index idx_grpattval_value_trgm on group_attr_values using gin (attr_value gin_trgm_ops);
+create index idx_grpattval_value_ascii_trgm on group_attr_values using gin (lower(unaccent_immutable(attr_value)) gin_trgm_ops);
+create index idx_facattval_value_trgm on facility_attr_values using gin (attr_value gin_trgm_ops);
+create index idx_facattval_value_ascii_trgm on facility_attr_values using gin (lower(unaccent_immutable(attr_value)) gin_trgm_ops);
+create index idx_resatval_value_trgm on resource_attr_values using gin (attr_value gin_trgm_ops);
+create index idx_resatval_value_ascii_trgm on resource_attr_values using gin (lower(unaccent_immutable(attr_value)) gin_trgm_ops);
 create index idx_fk_grpresav_grp on group_resource_attr_values(group_id);
 create index idx_fk_grpresav_res on group_resource_attr_values(resource_id);
 create index idx_fk_grpresav_attr on group_resource_attr_values(attr_id);
@@ -1631,6 +1654,7 @@ create index idx_fk_specifu_u_ui on specific_user_users(user_id);
 create index idx_fk_specifu_u_sui on specific_user_users(specific_user_id);
 create index idx_fk_grp_grp_rgid on groups_groups(result_gid);
 create index idx_fk_grp_grp_ogid on groups_groups(operand_gid);
+create index idx_fk_grp_grp_clos_ogid on groups_groups_closure(operand_gid);
 create index idx_fk_attrauthz_actiontyp on attributes_authz(action_type_id);
 create index idx_fk_attrauthz_role on attributes_authz(role_id);
 create index idx_fk_attrauthz_attr on attributes_authz(attr_id);
@@ -1669,7 +1693,7 @@ CREATE INDEX ufauv_idx ON user_facility_attr_u_values (user_id, facility_id, att
 CREATE INDEX vauv_idx ON vo_attr_u_values (vo_id, attr_id);
 
 -- set initial Perun DB version
-insert into configurations values ('DATABASE VERSION','3.1.81');
+insert into configurations values ('DATABASE VERSION','3.1.84');
 -- insert membership types
 insert into membership_types (id, membership_type, description) values (1, 'DIRECT', 'Member is directly added into group');
 insert into membership_types (id, membership_type, description) values (2, 'INDIRECT', 'Member is added indirectly through UNION relation');
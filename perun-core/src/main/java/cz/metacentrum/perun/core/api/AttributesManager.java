@@ -647,6 +647,36 @@ public interface AttributesManager {
 	 */
 	List<String> getEntitylessKeys(PerunSession sess, AttributeDefinition attributeDefinition) throws PrivilegeException;
 
+	/**
+	 * Returns list of attributes which violate their semantics after change of some attribute they depend on.
+	 * They are found only by deferred dependency checks, which are enabled by perun.attributeDependencies.deferredChecks.
+	 * <p>
+	 * Inconsistencies are not persisted. They are kept only in memory of the Perun instance, which ran the check,
+	 * so they are lost on its restart and inconsistencies found by other instances are not returned. At most 1000
+	 * of them are kept, the oldest are dropped first. An inconsistency is removed only when a later deferred check
+	 * of the same attribute passes, the audit log keeps AttributeDependencyViolated events of all of them.
+	 * <p>
+	 * PRIVILEGE: Only PerunAdmin or PerunObserver has access to inconsistencies.
+	 *
+	 * @param sess perun session
+	 * @return list of found inconsistencies, which were not fixed yet
+	 * @throws PrivilegeException                if privileges are not given
+	 * @throws InternalErrorException            if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	List<AttributeInconsistency> getAttributeInconsistencies(PerunSession sess) throws PrivilegeException;
+
+	/**
+	 * Returns statistics of the cache of user and member attributes, which is enabled by perun.attributesCache.size.
+	 * <p>
+	 * PRIVILEGE: Only PerunAdmin or PerunObserver has access to statistics.
+	 *
+	 * @param sess perun session
+	 * @return numbers of hits, misses, evictions, cached attributes and max number of cached attributes, empty when cache is disabled
+	 * @throws PrivilegeException                if privileges are not given
+	 * @throws InternalErrorException            if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	Map<String, Long> getAttributesCacheStatistics(PerunSession sess) throws PrivilegeException;
+
 	/**
 	 * Get all <b>non-empty</b> attributes associated with the UserExtSource.
 	 * <p>
@@ -1642,6 +1672,25 @@ public interface AttributesManager {
 	 */
 	void setAttribute(PerunSession sess, User user, Attribute attribute) throws PrivilegeException, UserNotExistsException, AttributeNotExistsException, WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException;
 
+	/**
+	 * Store values of one member or user attribute for many holders at once. Core attributes can't be set this way.
+	 * Type of holders is given by namespace of the attribute. Null or empty values remove the attribute.
+	 * <p>
+	 * PRIVILEGE: Principal need to have access to set the attribute for all the holders.
+	 *
+	 * @param sess                perun session
+	 * @param attributeDefinition definition of member or user attribute to set
+	 * @param values              map of ids of members or users to values of the attribute
+	 * @throws InternalErrorException            if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 * @throws PrivilegeException                if privileges are not given
+	 * @throws MemberNotExistsException          if any member doesn't exists in the underlying data source
+	 * @throws UserNotExistsException            if any user doesn't exists in the underlying data source
+	 * @throws AttributeNotExistsException       if the attribute doesn't exists in the underlying data source
+	 * @throws WrongAttributeValueException      if any attribute value is illegal
+	 * @throws WrongAttributeAssignmentException if attribute is not member or user attribute or if it is core attribute
+	 */
+	void setAttributeForHolders(PerunSession sess, AttributeDefinition attributeDefinition, Map<Integer, Object> values) throws PrivilegeException, MemberNotExistsException, UserNotExistsException, AttributeNotExistsException, WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException;
+
 	/**
 	 * Store the attribute associated with the host.  Core attributes can't be set this way.
 	 * <p>
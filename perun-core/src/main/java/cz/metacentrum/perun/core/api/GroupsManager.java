@@ -57,6 +57,8 @@ public interface GroupsManager {
 	String GROUPSQUERY_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":groupsQuery";
 	// Contains query need to get the group members
 	String GROUPMEMBERSQUERY_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":groupMembersQuery";
+	// Contains optional query (SQL) to get single value changed whenever the group members change
+	String GROUPMEMBERSFINGERPRINTQUERY_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":groupMembersFingerprintQuery";
 	// Contains optional filter for members in group
 	String GROUPMEMBERSFILTER_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":groupMembersFilter";
 	// Define the external source used for accessing the data about external group
@@ -87,6 +89,12 @@ public interface GroupsManager {
 	String GROUP_START_OF_LAST_SUCCESSFUL_SYNC_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":startOfLastSuccessfulSynchronization";
 	// Defines timestamp with start of last synchronization
 	String GROUP_START_OF_LAST_SYNC_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":startOfLastSynchronization";
+	// Defines fingerprint of the external source at the last full synchronization
+	String GROUP_LAST_SYNC_FINGERPRINT_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":lastSynchronizationFingerprint";
+	// Defines number of synchronizations skipped since the last full synchronization
+	String GROUP_SKIPPED_SYNCS_COUNT_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":skippedSynchronizationsCount";
+	// Defines duration of checking the external source in the last skipped synchronization
+	String GROUP_LAST_SKIPPED_SYNC_DURATION_ATTRNAME = AttributesManager.NS_GROUP_ATTR_DEF + ":lastSkippedSynchronizationDuration";
 
 	String GROUP_SHORT_NAME_REGEXP = "^[-a-zA-Z.0-9_ ]+$";
 	String GROUP_FULL_NAME_REGEXP = "^[-a-zA-Z.0-9_ ]+([:][-a-zA-Z.0-9_ ]+)*";
@@ -3,6 +3,7 @@ package cz.metacentrum.perun.core.bl;
 import cz.metacentrum.perun.core.api.ActionType;
 import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.core.api.AttributeInconsistency;
 import cz.metacentrum.perun.core.api.AttributeRights;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
@@ -451,6 +452,17 @@ public interface AttributesManagerBl {
 	 */
 	List<Attribute> getAttributesByAttributeDefinition(PerunSession sess, AttributeDefinition attributeDefinition) throws WrongAttributeAssignmentException;
 
+	/**
+	 * Returns all not-null values of the attribute without loading whole attributes. Can't process core or virtual attributes.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition can't be core or virtual attribute
+	 * @return list of values
+	 * @throws InternalErrorException
+	 * @throws WrongAttributeAssignmentException if the attribute is core or virtual
+	 */
+	List<Object> getAttributeValuesByAttributeDefinition(PerunSession sess, AttributeDefinition attributeDefinition) throws WrongAttributeAssignmentException;
+
 	/**
 	 * Get all virtual attributes associated with the user on the facility.
 	 *
@@ -1183,6 +1195,51 @@ public interface AttributesManagerBl {
 	 */
 	Attribute getAttribute(PerunSession sess, UserExtSource ues, String attributeName) throws WrongAttributeAssignmentException, AttributeNotExistsException;
 
+	/**
+	 * Get particular attribute for all the users.
+	 * Values stored in the DB are fetched by one query, values of virtual and core attributes are computed for each user.
+	 *
+	 * @param sess
+	 * @param users to get attribute from
+	 * @param attributeName attribute name defined in the particular manager
+	 * @return map of users to their attribute
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 * @throws WrongAttributeAssignmentException if atribute prefix does not match entity.
+	 * @throws AttributeNotExistsException if the attribute doesn't exists in the underlaying data source
+	 */
+	Map<User, Attribute> getAttributeForUsers(PerunSession sess, List<User> users, String attributeName) throws WrongAttributeAssignmentException, AttributeNotExistsException;
+
+	/**
+	 * Get particular attribute for all the User External Sources.
+	 * Values stored in the DB are fetched by one query, values of virtual attributes are computed for each user external source.
+	 *
+	 * @param sess
+	 * @param userExtSources to get attribute from
+	 * @param attributeName attribute name defined in the particular manager
+	 * @return map of user external sources to their attribute
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 * @throws WrongAttributeAssignmentException if atribute prefix does not match entity.
+	 * @throws AttributeNotExistsException if the attribute doesn't exists in the underlaying data source
+	 */
+	Map<UserExtSource, Attribute> getAttributeForUserExtSources(PerunSession sess, List<UserExtSource> userExtSources, String attributeName) throws WrongAttributeAssignmentException, AttributeNotExistsException;
+
+	/**
+	 * Get particular attribute for all the groups.
+	 * Values stored in the DB are fetched by one query, values of virtual and core attributes are computed for each group.
+	 *
+	 * @param sess
+	 * @param groups to get attribute from
+	 * @param attributeName attribute name defined in the particular manager
+	 * @return map of groups to their attribute
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 * @throws WrongAttributeAssignmentException if atribute prefix does not match entity.
+	 * @throws AttributeNotExistsException if the attribute doesn't exists in the underlaying data source
+	 */
+	Map<Group, Attribute> getAttributeForGroups(PerunSession sess, List<Group> groups, String attributeName) throws WrongAttributeAssignmentException, AttributeNotExistsException;
+
 	/**
 	 * Get attribute definition (attribute without defined value).
 	 *
@@ -1772,6 +1829,60 @@ public interface AttributesManagerBl {
 	 */
 	void setAttributeInNestedTransaction(PerunSession sess, Member member, Attribute attribute) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException;
 
+	/**
+	 * Store values of one attribute for many members at once. Core attributes can't be set this way.
+	 *
+	 * Syntax of all values is checked before anything is stored, values are stored by one JDBC batch
+	 * and dependencies of all changed attributes are checked together. Null or empty values remove the attribute.
+	 * Virtual attributes are set for each member separately.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition definition of member attribute to set
+	 * @param values map of members to values of the attribute
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 * @throws WrongAttributeValueException if any attribute value is illegal
+	 * @throws WrongAttributeAssignmentException if attribute is not member attribute or if it is core attribute
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	void setAttributeForMembers(PerunSession sess, AttributeDefinition attributeDefinition, Map<Member, Object> values) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException;
+
+	/**
+	 * Store values of one attribute for many users at once. Core attributes can't be set this way.
+	 *
+	 * Syntax of all values is checked before anything is stored, values are stored by one JDBC batch
+	 * and dependencies of all changed attributes are checked together. Null or empty values remove the attribute.
+	 * Virtual attributes are set for each user separately.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition definition of user attribute to set
+	 * @param values map of users to values of the attribute
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 * @throws WrongAttributeValueException if any attribute value is illegal
+	 * @throws WrongAttributeAssignmentException if attribute is not user attribute or if it is core attribute
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	void setAttributeForUsers(PerunSession sess, AttributeDefinition attributeDefinition, Map<User, Object> values) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException;
+
+	/**
+	 * Store values of one attribute for many groups at once. Core attributes can't be set this way.
+	 *
+	 * Syntax of all values is checked before anything is stored, values are stored by one JDBC batch
+	 * and dependencies of all changed attributes are checked together. Null or empty values remove the attribute
+	 * from groups which have it. Virtual attributes are set for each group separately.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition definition of group attribute to set
+	 * @param values map of groups to values of the attribute
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 * @throws WrongAttributeValueException if any attribute value is illegal
+	 * @throws WrongAttributeAssignmentException if attribute is not group attribute or if it is core attribute
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	void setAttributeForGroups(PerunSession sess, AttributeDefinition attributeDefinition, Map<Group, Object> values) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException;
+
 
 	/**
 	 * Store the attribute associated with the facility and user combination.  Core attributes can't be set this way.
@@ -4489,6 +4600,24 @@ public interface AttributesManagerBl {
 	 */
 	void checkAttributeDependencies(PerunSession sess, RichAttribute richAttr) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException;
 
+	/**
+	 * Get attributes which violate their semantics after change of some attribute they depend on.
+	 * They are found only by deferred dependency checks, which are enabled by perun.attributeDependencies.deferredChecks.
+	 * Only the last 1000 inconsistencies found by this instance since its start are kept, they are not persisted.
+	 *
+	 * @param sess
+	 * @return list of found inconsistencies, which were not fixed yet
+	 */
+	List<AttributeInconsistency> getAttributeInconsistencies(PerunSession sess);
+
+	/**
+	 * Get statistics of the cache of user and member attributes, which is enabled by perun.attributesCache.size.
+	 *
+	 * @param sess
+	 * @return numbers of hits, misses, evictions, cached attributes and max number of cached attributes, empty when cache is disabled
+	 */
+	Map<String, Long> getAttributesCacheStatistics(PerunSession sess);
+
 	/**
 	 * @return get map of all Dependencies
 	 */
@@ -1697,6 +1697,28 @@ public interface GroupsManagerBl {
 	 */
 	void validateMemberInGroup(PerunSession sess, Member member, Group group);
 
+	/**
+	 * Set members' status in given group to EXPIRED.
+	 * Statuses in all affected groups are recalculated at once for all the members.
+	 *
+	 * @param sess perun session
+	 * @param members members whose status will be changed
+	 * @param group group in which given members will be expired
+	 * @throws InternalErrorException internal error
+	 */
+	void expireMembersInGroup(PerunSession sess, List<Member> members, Group group);
+
+	/**
+	 * Set members' status in given group to VALID.
+	 * Statuses in all affected groups are recalculated at once for all the members.
+	 *
+	 * @param sess perun session
+	 * @param members members whose status will be changed
+	 * @param group group in which given members will be validated
+	 * @throws InternalErrorException internal error
+	 */
+	void validateMembersInGroup(PerunSession sess, List<Member> members, Group group);
+
 	/**
 	 * Returns members direct status in given group. This method doesn't
 	 * calculate status from subgroups!
@@ -1732,6 +1754,20 @@ public interface GroupsManagerBl {
 	 */
 	void recalculateMemberGroupStatusRecursively(PerunSession sess, Member member, Group group);
 
+	/**
+	 * Calculates the states of given members in given group and in all groups including it.
+	 *
+	 * Groups are processed from the given group up to the top including groups, so every group is processed
+	 * after all groups included in it. Statuses of all the members in one group are read by one query and saved
+	 * by at most two updates, events about statuses are logged for the whole group at once.
+	 *
+	 * @param sess perun session
+	 * @param members members
+	 * @param group group
+	 * @throws InternalErrorException internal error
+	 */
+	void recalculateMembersGroupStatusRecursively(PerunSession sess, List<Member> members, Group group);
+
 	/**
 	 * Extend member membership in given group using membershipExpirationRules attribute defined in Group.
 	 *
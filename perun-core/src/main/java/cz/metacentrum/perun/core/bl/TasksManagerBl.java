@@ -42,6 +42,22 @@ public interface TasksManagerBl {
 	 */
 	int deleteOldTaskResults(PerunSession sess, int numDays);
 
+	/**
+	 * Compact TaskResults. For each Task and Destination only keepNewest newest TaskResults are kept
+	 * and only keepOutput newest of them keep their standard and error output.
+	 *
+	 * Task and Destination pairs are iterated in chunks of batchSize pairs, TaskResults of each chunk are ranked once
+	 * and older ones are deleted or updated by their ids in statements of at most batchSize rows,
+	 * so when not called within a transaction, table is never locked for a long time.
+	 *
+	 * @param sess PerunSession
+	 * @param keepNewest Number of the newest TaskResults to keep for each Task and Destination
+	 * @param keepOutput Number of the newest TaskResults to keep with output for each Task and Destination
+	 * @param batchSize Max number of Task and Destination pairs ranked at once and of TaskResults processed by one statement
+	 * @return number of deleted or updated TaskResults
+	 */
+	int compactTaskResults(PerunSession sess, int keepNewest, int keepOutput, int batchSize);
+
 	/**
 	 * Delete Task and it's TaskResults. Use this method only before deleting whole Facility.
 	 *
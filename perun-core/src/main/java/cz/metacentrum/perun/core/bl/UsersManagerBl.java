@@ -494,6 +494,15 @@ public interface UsersManagerBl {
 	 */
 	List<UserExtSource> getUserExtSources(PerunSession perunSession, User user);
 
+	/**
+	 * Gets list of all external sources of the users by one query.
+	 *
+	 * @param sess perun session
+	 * @param users owners of external sources
+	 * @return list of external sources of all the users
+	 */
+	List<UserExtSource> getUserExtSources(PerunSession sess, List<User> users);
+
 	/**
 	 * Gets list of all user's external sources with attributes. If any of the attribute names is incorrect
 	 * then the value is silently skipped. If the attrsNames is null, then this method returns all ues attributes.
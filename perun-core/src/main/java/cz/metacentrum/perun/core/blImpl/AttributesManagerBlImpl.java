@@ -18,6 +18,7 @@ import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AllUserFacility
 import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeAuthzDeleted;
 import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeCreated;
 import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeDeleted;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeDependencyViolated;
 import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeRemovedForFacility;
 import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeRemovedForFacilityAndUser;
 import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeRemovedForGroup;
@@ -50,6 +51,7 @@ import cz.metacentrum.perun.audit.events.AttributesManagerEvents.FacilityAllAttr
 import cz.metacentrum.perun.core.api.ActionType;
 import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.core.api.AttributeInconsistency;
 import cz.metacentrum.perun.core.api.AttributeRights;
 import cz.metacentrum.perun.core.api.AttributesManager;
 import cz.metacentrum.perun.core.api.AuthzResolver;
@@ -92,6 +94,8 @@ import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueExce
 import cz.metacentrum.perun.core.bl.AttributesManagerBl;
 import cz.metacentrum.perun.core.bl.PerunBl;
 import cz.metacentrum.perun.core.impl.AttributesManagerImpl;
+import cz.metacentrum.perun.core.impl.Auditer;
+import cz.metacentrum.perun.core.impl.TransactionChangeFlag;
 import cz.metacentrum.perun.core.impl.Utils;
 import cz.metacentrum.perun.core.impl.modules.attributes.urn_perun_entityless_attribute_def_def_identityAlertsTemplates;
 import cz.metacentrum.perun.core.impl.modules.attributes.urn_perun_entityless_attribute_def_def_namespace_GIDRanges;
@@ -116,6 +120,7 @@ import cz.metacentrum.perun.utils.graphs.generators.NodeGenerator;
 import cz.metacentrum.perun.utils.graphs.serializers.GraphSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -139,11 +144,15 @@ import static cz.metacentrum.perun.core.api.AttributesManager.NS_GROUP_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_GROUP_RESOURCE_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_HOST_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_MEMBER_ATTR;
+import static cz.metacentrum.perun.core.api.AttributesManager.NS_MEMBER_ATTR_DEF;
+import static cz.metacentrum.perun.core.api.AttributesManager.NS_MEMBER_ATTR_OPT;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_MEMBER_GROUP_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_MEMBER_RESOURCE_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_RESOURCE_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_UES_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_USER_ATTR;
+import static cz.metacentrum.perun.core.api.AttributesManager.NS_USER_ATTR_DEF;
+import static cz.metacentrum.perun.core.api.AttributesManager.NS_USER_ATTR_OPT;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_USER_FACILITY_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_VO_ATTR;
 
@@ -165,9 +174,32 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private Map<AttributeDefinition, Set<AttributeDefinition>> inverseDependencies = new ConcurrentHashMap<>();
 	private Map<AttributeDefinition, Set<AttributeDefinition>> inverseStrongDependencies = new ConcurrentHashMap<>();
 	private Map<AttributeDefinition, Set<AttributeDefinition>> allDependencies = new ConcurrentHashMap<>();
+	//Attr => all dependent attributes which are checked on its change grouped by namespace
+	private Map<AttributeDefinition, Map<String, List<AttributeDefinition>>> dependencyCheckPlans = new ConcurrentHashMap<>();
 
 	private final Object dependenciesMonitor = new Object();
 
+	//Cache of user and member attributes, null when disabled
+	private HotAttributeCache hotAttributeCache;
+	private final TransactionChangeFlag attributesChanged = new TransactionChangeFlag();
+
+	private final DeferredAttributeDependencyChecks deferredDependencyChecks = new DeferredAttributeDependencyChecks() {
+		@Override
+		protected Set<RichAttribute> getDependantRichAttributes(PerunSession sess, List<RichAttribute> changedAttributes) {
+			return AttributesManagerBlImpl.this.getDependantRichAttributes(sess, changedAttributes);
+		}
+
+		@Override
+		protected void checkSemantics(PerunSession sess, RichAttribute richAttribute) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException {
+			checkRichAttributeSemantics(sess, richAttribute);
+		}
+
+		@Override
+		protected void logViolation(PerunSession sess, AttributeDependencyViolated event) {
+			getPerunBl().getAuditer().log(sess, event);
+		}
+	};
+
 	/**
 	 * Constructor.
 	 */
@@ -608,6 +640,14 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		return getAttributesManagerImpl().getAttributesByAttributeDefinition(sess, attributeDefinition);
 	}
 
+	@Override
+	public List<Object> getAttributeValuesByAttributeDefinition(PerunSession sess, AttributeDefinition attributeDefinition) throws WrongAttributeAssignmentException {
+		if (isCoreAttribute(sess, attributeDefinition) || isVirtAttribute(sess, attributeDefinition) || isCoreManagedAttribute(sess, attributeDefinition))
+			throw new WrongAttributeAssignmentException(attributeDefinition);
+
+		return getAttributesManagerImpl().getAttributeValuesByAttributeDefinition(sess, attributeDefinition);
+	}
+
 	@Override
 	public List<Attribute> getVirtualAttributes(PerunSession sess, Facility facility, User user) {
 		return getAttributesManagerImpl().getVirtualAttributes(sess, facility, user);
@@ -1404,6 +1444,9 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		if (!attributeName.startsWith(AttributesManager.NS_MEMBER_ATTR))
 			throw new WrongAttributeAssignmentException("Attribute name=" + attributeName);
 
+		if (isAttributeCacheable(attributeName, NS_MEMBER_ATTR_DEF, NS_MEMBER_ATTR_OPT)) {
+			return getCachedAttribute(sess, member, getAttributeDefinition(sess, attributeName).getId());
+		}
 		return getAttributesManagerImpl().getAttribute(sess, member, attributeName);
 	}
 
@@ -1423,6 +1466,9 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		if (!attributeName.startsWith(AttributesManager.NS_USER_ATTR))
 			throw new WrongAttributeAssignmentException("Attribute name=" + attributeName);
 
+		if (isAttributeCacheable(attributeName, NS_USER_ATTR_DEF, NS_USER_ATTR_OPT)) {
+			return getCachedAttribute(sess, user, getAttributeDefinition(sess, attributeName).getId());
+		}
 		return getAttributesManagerImpl().getAttribute(sess, user, attributeName);
 	}
 
@@ -1467,6 +1513,63 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		return getAttributesManagerImpl().getAttribute(sess, ues, attributeName);
 	}
 
+	@Override
+	public Map<User, Attribute> getAttributeForUsers(PerunSession sess, List<User> users, String attributeName) throws WrongAttributeAssignmentException, AttributeNotExistsException {
+		//check namespace
+		if (!attributeName.startsWith(AttributesManager.NS_USER_ATTR))
+			throw new WrongAttributeAssignmentException("Attribute name=" + attributeName);
+
+		AttributeDefinition attributeDefinition = getAttributeDefinition(sess, attributeName);
+		if (isVirtAttribute(sess, attributeDefinition) || isCoreAttribute(sess, attributeDefinition) || isCoreManagedAttribute(sess, attributeDefinition)) {
+			// values are not stored in the DB
+			Map<User, Attribute> attributes = new HashMap<>();
+			for (User user : users) {
+				attributes.put(user, getAttributesManagerImpl().getAttribute(sess, user, attributeName));
+			}
+			return attributes;
+		}
+		if (users.isEmpty()) return new HashMap<>();
+		return getAttributesManagerImpl().getAttributeForUsers(sess, users, attributeDefinition);
+	}
+
+	@Override
+	public Map<UserExtSource, Attribute> getAttributeForUserExtSources(PerunSession sess, List<UserExtSource> userExtSources, String attributeName) throws WrongAttributeAssignmentException, AttributeNotExistsException {
+		//check namespace
+		if (!attributeName.startsWith(AttributesManager.NS_UES_ATTR))
+			throw new WrongAttributeAssignmentException("Attribute name=" + attributeName);
+
+		AttributeDefinition attributeDefinition = getAttributeDefinition(sess, attributeName);
+		if (isVirtAttribute(sess, attributeDefinition)) {
+			// values are not stored in the DB
+			Map<UserExtSource, Attribute> attributes = new HashMap<>();
+			for (UserExtSource userExtSource : userExtSources) {
+				attributes.put(userExtSource, getAttributesManagerImpl().getAttribute(sess, userExtSource, attributeName));
+			}
+			return attributes;
+		}
+		if (userExtSources.isEmpty()) return new HashMap<>();
+		return getAttributesManagerImpl().getAttributeForUserExtSources(sess, userExtSources, attributeDefinition);
+	}
+
+	@Override
+	public Map<Group, Attribute> getAttributeForGroups(PerunSession sess, List<Group> groups, String attributeName) throws WrongAttributeAssignmentException, AttributeNotExistsException {
+		//check namespace
+		if (!attributeName.startsWith(AttributesManager.NS_GROUP_ATTR))
+			throw new WrongAttributeAssignmentException("Attribute name=" + attributeName);
+
+		AttributeDefinition attributeDefinition = getAttributeDefinition(sess, attributeName);
+		if (isVirtAttribute(sess, attributeDefinition) || isCoreAttribute(sess, attributeDefinition)) {
+			// values are not stored in the DB
+			Map<Group, Attribute> attributes = new HashMap<>();
+			for (Group group : groups) {
+				attributes.put(group, getAttributesManagerImpl().getAttribute(sess, group, attributeName));
+			}
+			return attributes;
+		}
+		if (groups.isEmpty()) return new HashMap<>();
+		return getAttributesManagerImpl().getAttributeForGroups(sess, groups, attributeDefinition);
+	}
+
 	@Override
 	public AttributeDefinition getAttributeDefinition(PerunSession sess, String attributeName) throws AttributeNotExistsException {
 		return getAttributesManagerImpl().getAttributeDefinition(sess, attributeName);
@@ -1685,6 +1788,9 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 
 	@Override
 	public Attribute getAttributeById(PerunSession sess, Member member, int id) throws WrongAttributeAssignmentException, AttributeNotExistsException {
+		if (hotAttributeCache != null && isAttributeCacheable(getAttributeDefinitionById(sess, id).getName(), NS_MEMBER_ATTR_DEF, NS_MEMBER_ATTR_OPT)) {
+			return getCachedAttribute(sess, member, id);
+		}
 		Attribute attribute = getAttributesManagerImpl().getAttributeById(sess, member, id);
 		getAttributesManagerImpl().checkNamespace(sess, attribute, NS_MEMBER_ATTR);
 		return attribute;
@@ -1699,6 +1805,9 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 
 	@Override
 	public Attribute getAttributeById(PerunSession sess, User user, int id) throws WrongAttributeAssignmentException, AttributeNotExistsException {
+		if (hotAttributeCache != null && isAttributeCacheable(getAttributeDefinitionById(sess, id).getName(), NS_USER_ATTR_DEF, NS_USER_ATTR_OPT)) {
+			return getCachedAttribute(sess, user, id);
+		}
 		Attribute attribute = getAttributesManagerImpl().getAttributeById(sess, user, id);
 		getAttributesManagerImpl().checkNamespace(sess, attribute, NS_USER_ATTR);
 		return attribute;
@@ -2173,6 +2282,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 			changed = true; //FIXME check if attribute is acctualy changed
 		} else {
 			changed = getAttributesManagerImpl().setAttribute(sess, member, attribute);
+			invalidateCachedAttribute(member, attribute.getId());
 		}
 		if (changed) {
 			getPerunBl().getAuditer().log(sess, new AttributeSetForMember(attribute, member));
@@ -2225,6 +2335,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 			return getAttributesManagerImpl().setVirtualAttribute(sess, user, attribute);
 		} else {
 			changed = getAttributesManagerImpl().setAttribute(sess, user, attribute);
+			invalidateCachedAttribute(user, attribute.getId());
 		}
 
 		if (changed) {
@@ -2235,6 +2346,139 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		return changed;
 	}
 
+	@Override
+	public void setAttributeForMembers(PerunSession sess, AttributeDefinition attributeDefinition, Map<Member, Object> values) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException {
+		getAttributesManagerImpl().checkNamespace(sess, attributeDefinition, AttributesManager.NS_MEMBER_ATTR);
+		Map<Member, Attribute> attributes = toAttributesOfHolders(attributeDefinition, values);
+
+		if (isVirtAttribute(sess, attributeDefinition) || isCoreAttribute(sess, attributeDefinition)) {
+			for (Map.Entry<Member, Attribute> entry : attributes.entrySet()) {
+				setAttribute(sess, entry.getKey(), entry.getValue());
+			}
+			return;
+		}
+
+		Map<Member, Attribute> attributesToSet = new HashMap<>();
+		for (Map.Entry<Member, Attribute> entry : attributes.entrySet()) {
+			if (entry.getValue().getValue() == null) {
+				removeAttribute(sess, entry.getKey(), attributeDefinition);
+			} else {
+				checkAttributeSyntax(sess, entry.getKey(), entry.getValue());
+				attributesToSet.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (attributesToSet.isEmpty()) return;
+
+		List<RichAttribute> changedAttributes = new ArrayList<>();
+		for (Member member : getAttributesManagerImpl().setAttributeForHolders(sess, attributeDefinition, attributesToSet)) {
+			Attribute attribute = attributesToSet.get(member);
+			invalidateCachedAttribute(member, attribute.getId());
+			getPerunBl().getAuditer().log(sess, new AttributeSetForMember(attribute, member));
+			getAttributesManagerImpl().changedAttributeHook(sess, member, attribute);
+			checkAttributeSemantics(sess, member, attribute);
+			changedAttributes.add(new RichAttribute<>(member, null, attribute));
+		}
+		checkAttributesDependencies(sess, changedAttributes);
+	}
+
+	@Override
+	public void setAttributeForUsers(PerunSession sess, AttributeDefinition attributeDefinition, Map<User, Object> values) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException {
+		getAttributesManagerImpl().checkNamespace(sess, attributeDefinition, AttributesManager.NS_USER_ATTR);
+		if (getAttributesManagerImpl().isCoreAttribute(sess, attributeDefinition))
+			throw new WrongAttributeAssignmentException(attributeDefinition);
+		Map<User, Attribute> attributes = toAttributesOfHolders(attributeDefinition, values);
+
+		if (isVirtAttribute(sess, attributeDefinition)) {
+			for (Map.Entry<User, Attribute> entry : attributes.entrySet()) {
+				setAttribute(sess, entry.getKey(), entry.getValue());
+			}
+			return;
+		}
+
+		Map<User, Attribute> attributesToSet = new HashMap<>();
+		for (Map.Entry<User, Attribute> entry : attributes.entrySet()) {
+			if (entry.getValue().getValue() == null) {
+				removeAttribute(sess, entry.getKey(), attributeDefinition);
+			} else {
+				checkAttributeSyntax(sess, entry.getKey(), entry.getValue());
+				attributesToSet.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (attributesToSet.isEmpty()) return;
+
+		List<RichAttribute> changedAttributes = new ArrayList<>();
+		for (User user : getAttributesManagerImpl().setAttributeForHolders(sess, attributeDefinition, attributesToSet)) {
+			Attribute attribute = attributesToSet.get(user);
+			invalidateCachedAttribute(user, attribute.getId());
+			getPerunBl().getAuditer().log(sess, new AttributeSetForUser(attribute, user));
+			getAttributesManagerImpl().changedAttributeHook(sess, user, attribute);
+			checkAttributeSemantics(sess, user, attribute);
+			changedAttributes.add(new RichAttribute<>(user, null, attribute));
+		}
+		checkAttributesDependencies(sess, changedAttributes);
+	}
+
+	@Override
+	public void setAttributeForGroups(PerunSession sess, AttributeDefinition attributeDefinition, Map<Group, Object> values) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException {
+		getAttributesManagerImpl().checkNamespace(sess, attributeDefinition, AttributesManager.NS_GROUP_ATTR);
+		if (getAttributesManagerImpl().isCoreAttribute(sess, attributeDefinition))
+			throw new WrongAttributeAssignmentException(attributeDefinition);
+		Map<Group, Attribute> attributes = toAttributesOfHolders(attributeDefinition, values);
+
+		if (isVirtAttribute(sess, attributeDefinition)) {
+			for (Map.Entry<Group, Attribute> entry : attributes.entrySet()) {
+				setAttribute(sess, entry.getKey(), entry.getValue());
+			}
+			return;
+		}
+
+		Map<Group, Attribute> attributesToSet = new HashMap<>();
+		List<Group> groupsToRemove = new ArrayList<>();
+		for (Map.Entry<Group, Attribute> entry : attributes.entrySet()) {
+			if (entry.getValue().getValue() == null) {
+				groupsToRemove.add(entry.getKey());
+			} else {
+				checkAttributeSyntax(sess, entry.getKey(), entry.getValue());
+				attributesToSet.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (!groupsToRemove.isEmpty()) {
+			// remove only stored values, so groups without the attribute cost nothing
+			for (Map.Entry<Group, Attribute> entry : getAttributesManagerImpl().getAttributeForGroups(sess, groupsToRemove, attributeDefinition).entrySet()) {
+				if (entry.getValue().getValue() != null) removeAttribute(sess, entry.getKey(), attributeDefinition);
+			}
+		}
+		if (attributesToSet.isEmpty()) return;
+
+		List<RichAttribute> changedAttributes = new ArrayList<>();
+		for (Group group : getAttributesManagerImpl().setAttributeForHolders(sess, attributeDefinition, attributesToSet)) {
+			Attribute attribute = attributesToSet.get(group);
+			getPerunBl().getAuditer().log(sess, new AttributeSetForGroup(attribute, group));
+			getAttributesManagerImpl().changedAttributeHook(sess, group, attribute);
+			checkAttributeSemantics(sess, group, attribute);
+			changedAttributes.add(new RichAttribute<>(group, null, attribute));
+		}
+		checkAttributesDependencies(sess, changedAttributes);
+	}
+
+	/**
+	 * Create attribute with given value for each holder. Empty values are converted to null.
+	 *
+	 * @param attributeDefinition definition of the attribute
+	 * @param values map of holders to values of the attribute
+	 * @return map of holders to their attributes
+	 */
+	private <T extends PerunBean> Map<T, Attribute> toAttributesOfHolders(AttributeDefinition attributeDefinition, Map<T, Object> values) {
+		Map<T, Attribute> attributes = new HashMap<>();
+		for (Map.Entry<T, Object> entry : values.entrySet()) {
+			Attribute attribute = new Attribute(attributeDefinition);
+			attribute.setValue(entry.getValue());
+			convertEmptyAttrValueToNull(attribute);
+			attributes.put(entry.getKey(), attribute);
+		}
+		return attributes;
+	}
+
 	@Override
 	public void setAttribute(PerunSession sess, Host host, Attribute attribute) throws WrongAttributeAssignmentException, WrongAttributeValueException, WrongReferenceAttributeValueException {
 		convertEmptyAttrValueToNull(attribute);
@@ -2520,6 +2764,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 			inverseDependencies = inverseDependenciesCopy;
 			inverseStrongDependencies = inverseStrongDependenciesCopy;
 			allDependencies = allDependenciesCopy;
+			dependencyCheckPlans.clear();
 		}
 	}
 
@@ -2540,6 +2785,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		//Remove attribute and all it's values
 		this.deleteAllAttributeAuthz(sess, attribute);
 		getAttributesManagerImpl().deleteAttribute(sess, attribute);
+		if (hotAttributeCache != null) hotAttributeCache.clear();
 		getPerunBl().getAuditer().log(sess, new AttributeDeleted(attribute));
 
 		//Remove attribute dependencies
@@ -2647,6 +2893,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// there is no inverse version of all dependencies so we have to walk through all
 		allDependencies.remove(attribute);
 		allDependencies.values().forEach(attributes -> attributes.remove(attribute));
+		dependencyCheckPlans.clear();
 	}
 
 	@Override
@@ -4883,6 +5130,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		boolean changed = getAttributesManagerImpl().removeAttribute(sess, member, attribute);
 
 		if (changed) {
+			invalidateCachedAttribute(member, attribute.getId());
 			try {
 				getAttributesManagerImpl().changedAttributeHook(sess, member, new Attribute(attribute));
 			} catch (WrongReferenceAttributeValueException ex) {
@@ -4913,6 +5161,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	public void removeAllAttributes(PerunSession sess, Member member) throws WrongAttributeValueException, WrongReferenceAttributeValueException {
 		List<Attribute> attributes = getAttributes(sess, member);
 		if (getAttributesManagerImpl().removeAllAttributes(sess, member)) {
+			invalidateCachedAttribute(member, null);
 			getPerunBl().getAuditer().log(sess, new AllAttributesRemovedForMember(member));
 		}
 		log.info("{} removed all attributes from member {}.",sess.getLogId(), member.getId());
@@ -5053,6 +5302,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 
 		boolean changed = getAttributesManagerImpl().removeAttribute(sess, user, attribute);
 		if (changed) {
+			invalidateCachedAttribute(user, attribute.getId());
 			try {
 				getAttributesManagerImpl().changedAttributeHook(sess, user, new Attribute(attribute));
 			} catch (WrongReferenceAttributeValueException ex) {
@@ -5081,6 +5331,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	public void removeAllAttributes(PerunSession sess, User user) throws WrongAttributeValueException, WrongReferenceAttributeValueException {
 		List<Attribute> attributes = getAttributes(sess, user);
 		if (getAttributesManagerImpl().removeAllAttributes(sess, user)) {
+			invalidateCachedAttribute(user, null);
 			getPerunBl().getAuditer().log(sess, new AllAttributesRemovedForUser(user));
 		}
 		log.info("{} removed all attributes from  user {}.", sess.getLogId(), user.getId());
@@ -5963,6 +6214,75 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		return richAttrs;
 	}
 
+	@Override
+	public List<AttributeInconsistency> getAttributeInconsistencies(PerunSession sess) {
+		return deferredDependencyChecks.getInconsistencies();
+	}
+
+	DeferredAttributeDependencyChecks getDeferredDependencyChecks() {
+		return deferredDependencyChecks;
+	}
+
+	@Override
+	public Map<String, Long> getAttributesCacheStatistics(PerunSession sess) {
+		if (hotAttributeCache == null) return new HashMap<>();
+		return hotAttributeCache.getStatistics();
+	}
+
+	/**
+	 * Check if attribute can be read through the cache. Only non-virtual attributes from given namespaces are cached
+	 * and cache is bypassed in transactions which changed some cached attributes, since changes are not committed yet.
+	 *
+	 * @param attributeName full name of the attribute
+	 * @param namespaces cached namespaces
+	 * @return true if the cache can be used
+	 */
+	private boolean isAttributeCacheable(String attributeName, String... namespaces) {
+		if (hotAttributeCache == null) return false;
+		if (attributesChanged.isChangedInTransaction()) return false;
+		for (String namespace : namespaces) {
+			if (attributeName.startsWith(namespace + ":")) return true;
+		}
+		return false;
+	}
+
+	private Attribute getCachedAttribute(PerunSession sess, Member member, int id) throws AttributeNotExistsException {
+		Attribute attribute = hotAttributeCache.get(member, id);
+		if (attribute == null) {
+			long version = hotAttributeCache.getVersion();
+			attribute = attributesManagerImpl.getAttributeById(sess, member, id);
+			hotAttributeCache.put(member, attribute, version);
+		}
+		return attribute;
+	}
+
+	private Attribute getCachedAttribute(PerunSession sess, User user, int id) throws AttributeNotExistsException {
+		Attribute attribute = hotAttributeCache.get(user, id);
+		if (attribute == null) {
+			long version = hotAttributeCache.getVersion();
+			attribute = attributesManagerImpl.getAttributeById(sess, user, id);
+			hotAttributeCache.put(user, attribute, version);
+		}
+		return attribute;
+	}
+
+	/**
+	 * Remove changed attribute of the holder from the cache and bypass the cache until the end of the current transaction.
+	 * Cache is invalidated again by audit event after the commit, so values read by other transactions meanwhile are dropped.
+	 *
+	 * @param holder user or member
+	 * @param attributeId id of changed attribute, null if all attributes of the holder were changed
+	 */
+	private void invalidateCachedAttribute(PerunBean holder, Integer attributeId) {
+		if (hotAttributeCache == null) return;
+		if (attributeId == null) {
+			hotAttributeCache.invalidate(holder);
+		} else {
+			hotAttributeCache.invalidate(holder, attributeId);
+		}
+		attributesChanged.markChanged();
+	}
+
 	@Override
 	public void checkAttributeDependencies(PerunSession sess, RichAttribute richAttr) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException {
 		checkAttributesDependencies(sess, Collections.singletonList(richAttr));
@@ -5980,204 +6300,335 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 				throw new InternalErrorException("RichAttribute or Attribute in it can't be null!");
 		}
 
+		if (TransactionSynchronizationManager.isSynchronizationActive() && BeansUtils.getCoreConfig().isDeferredAttributeDependencyChecks()) {
+			deferredDependencyChecks.deferAfterCommit(sess, richAttrs);
+			return;
+		}
+
+		// now check those dependant attributes only once
+		for (RichAttribute richAttribute : getDependantRichAttributes(sess, richAttrs)) {
+			checkRichAttributeSemantics(sess, richAttribute);
+		}
+	}
+
+	/**
+	 * Get unique set of all attributes with values and holders, which depend on the given attributes.
+	 *
+	 * @param sess perun session
+	 * @param richAttrs changed attributes with their holders
+	 * @return dependant attributes with values and holders
+	 */
+	private Set<RichAttribute> getDependantRichAttributes(PerunSession sess, List<RichAttribute> richAttrs) {
+		long startTime = System.currentTimeMillis();
 		// this is a unique set of all attributes with values and holders we will check at once
 		Set<RichAttribute> richAttributesToCheck = new HashSet<>();
 
 		// now actually get all those dependant attributes with values and holders
 		for (RichAttribute richAttr : richAttrs) {
+			Map<String, List<AttributeDefinition>> plan = getDependencyCheckPlan(sess, new AttributeDefinition(richAttr.getAttribute()));
+			for (List<AttributeDefinition> dependenciesFromNamespace : plan.values()) {
+				try {
+					richAttributesToCheck.addAll(getRichAttributesWithHoldersForAttributeDefinitions(sess, dependenciesFromNamespace, richAttr));
+				} catch (AttributeNotExistsException | VoNotExistsException | UserNotExistsException | WrongAttributeAssignmentException | GroupResourceMismatchException | MemberResourceMismatchException | MemberGroupMismatchException ex) {
+					throw new InternalErrorException(ex);
+				}
+			}
+		}
 
-			Set<AttributeDefinition> dependencies = getAllDependencies().get(new AttributeDefinition(richAttr.getAttribute()));
-			if (dependencies != null && !dependencies.isEmpty()) {
-				for (AttributeDefinition dependency : dependencies) {
-					if (attributesManagerImpl.isVirtAttribute(sess, dependency)) {
-						AttributesModuleImplApi module = (AttributesModuleImplApi) attributesManagerImpl.getAttributesModule(sess, dependency);
-						if (module.getClass().isAnnotationPresent(SkipValueCheckDuringDependencyCheck.class)) {
-							continue;
-						}
-					}
-					try {
-						richAttributesToCheck.addAll(getRichAttributesWithHoldersForAttributeDefinition(sess, dependency, richAttr));
-					} catch (AttributeNotExistsException | VoNotExistsException | UserNotExistsException | GroupResourceMismatchException | MemberResourceMismatchException | MemberGroupMismatchException ex) {
-						throw new InternalErrorException(ex);
+		if (log.isDebugEnabled()) {
+			Set<Pair<Object, Object>> holders = new HashSet<>();
+			richAttributesToCheck.forEach(richAttribute -> holders.add(new Pair<>(richAttribute.getPrimaryHolder(), richAttribute.getSecondaryHolder())));
+			log.debug("Dependencies of {} changed attributes resolved to {} attributes of {} holders in {} ms.",
+					richAttrs.size(), richAttributesToCheck.size(), holders.size(), System.currentTimeMillis() - startTime);
+		}
+		return richAttributesToCheck;
+	}
+
+	/**
+	 * Get plan of dependency checks for the attribute. Plan contains all attributes which have to be checked,
+	 * when the attribute is changed, grouped by their namespace. Attributes of virtual modules which are not checked
+	 * during dependency checks are left out.
+	 *
+	 * Plans are compiled at initialization of dependencies and dropped whenever dependencies change.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition changed attribute
+	 * @return map of namespaces to dependant attributes from the namespace
+	 */
+	private Map<String, List<AttributeDefinition>> getDependencyCheckPlan(PerunSession sess, AttributeDefinition attributeDefinition) {
+		return dependencyCheckPlans.computeIfAbsent(attributeDefinition, attr -> {
+			Map<String, List<AttributeDefinition>> plan = new LinkedHashMap<>();
+			Set<AttributeDefinition> dependencies = getAllDependencies().get(attr);
+			if (dependencies == null) return plan;
+			for (AttributeDefinition dependency : dependencies) {
+				if (attributesManagerImpl.isVirtAttribute(sess, dependency)) {
+					AttributesModuleImplApi module = (AttributesModuleImplApi) attributesManagerImpl.getAttributesModule(sess, dependency);
+					if (module != null && module.getClass().isAnnotationPresent(SkipValueCheckDuringDependencyCheck.class)) {
+						continue;
 					}
 				}
+				plan.computeIfAbsent(dependency.getNamespace(), namespace -> new ArrayList<>()).add(dependency);
 			}
+			return plan;
+		});
+	}
 
+	/**
+	 * Get attributes from one namespace with holders related to the aiding attribute.
+	 *
+	 * Holders are resolved only for the first attribute, since all attributes from the namespace
+	 * have the same holders. Values of other attributes are then read for each holder by one query.
+	 *
+	 * @param sess perun session
+	 * @param attrDefs definitions of attributes from the same namespace
+	 * @param aidingAttr attribute with holders used to find related holders
+	 * @return attributes with values and holders
+	 * @see #getRichAttributesWithHoldersForAttributeDefinition(PerunSession, AttributeDefinition, RichAttribute)
+	 */
+	private List<RichAttribute> getRichAttributesWithHoldersForAttributeDefinitions(PerunSession sess, List<AttributeDefinition> attrDefs, RichAttribute aidingAttr) throws AttributeNotExistsException, UserNotExistsException, VoNotExistsException, WrongAttributeAssignmentException, GroupResourceMismatchException, MemberResourceMismatchException, MemberGroupMismatchException {
+		List<RichAttribute> richAttributes = new ArrayList<>(getRichAttributesWithHoldersForAttributeDefinition(sess, attrDefs.get(0), aidingAttr));
+		// holders of entityless attributes are keys of the particular attribute
+		if (attrDefs.size() == 1 || attributesManagerImpl.isFromNamespace(attrDefs.get(0), NS_ENTITYLESS_ATTR)) {
+			for (AttributeDefinition attrDef : attrDefs.subList(1, attrDefs.size())) {
+				richAttributes.addAll(getRichAttributesWithHoldersForAttributeDefinition(sess, attrDef, aidingAttr));
+			}
+			return richAttributes;
+		}
+
+		List<String> attrNames = new ArrayList<>();
+		for (AttributeDefinition attrDef : attrDefs.subList(1, attrDefs.size())) {
+			attrNames.add(attrDef.getName());
+		}
+		List<RichAttribute> otherRichAttributes = new ArrayList<>();
+		Set<Pair<Object, Object>> processedHolders = new HashSet<>();
+		for (RichAttribute<?, ?> richAttribute : richAttributes) {
+			Object primaryHolder = richAttribute.getPrimaryHolder();
+			Object secondaryHolder = richAttribute.getSecondaryHolder();
+			if (!processedHolders.add(new Pair<>(primaryHolder, secondaryHolder))) continue;
+			List<Attribute> attributes = getAttributesOfHolders(sess, primaryHolder, secondaryHolder, attrNames);
+			if (attributes == null || attributes.size() != attrNames.size()) {
+				// unexpected combination of holders, resolve attributes one by one
+				for (AttributeDefinition attrDef : attrDefs.subList(1, attrDefs.size())) {
+					richAttributes.addAll(getRichAttributesWithHoldersForAttributeDefinition(sess, attrDef, aidingAttr));
+				}
+				return richAttributes;
+			}
+			for (Attribute attribute : attributes) {
+				otherRichAttributes.add(new RichAttribute<>(primaryHolder, secondaryHolder, attribute));
+			}
 		}
+		richAttributes.addAll(otherRichAttributes);
+		return richAttributes;
+	}
 
-		// now check those dependant attributes only once
-		for (RichAttribute richAttribute : richAttributesToCheck) {
-			if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_VO_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Vo) {
-					if (richAttribute.getSecondaryHolder() != null) {
-						throw new InternalErrorException("Secondary Holder for VO Attribute must be null!");
-					} else {
-						checkAttributeSemantics(sess, (Vo) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					}
+	/**
+	 * Get attributes with given names of one holder or combination of two holders by one query.
+	 *
+	 * @param sess perun session
+	 * @param primaryHolder primary holder
+	 * @param secondaryHolder secondary holder or null
+	 * @param attrNames names of attributes from the namespace of holders
+	 * @return attributes or null, if combination of holders is not supported
+	 */
+	private List<Attribute> getAttributesOfHolders(PerunSession sess, Object primaryHolder, Object secondaryHolder, List<String> attrNames) {
+		if (secondaryHolder == null) {
+			if (primaryHolder instanceof Vo) return attributesManagerImpl.getAttributes(sess, (Vo) primaryHolder, attrNames);
+			if (primaryHolder instanceof User) return attributesManagerImpl.getAttributes(sess, (User) primaryHolder, attrNames);
+			if (primaryHolder instanceof Member) return attributesManagerImpl.getAttributes(sess, (Member) primaryHolder, attrNames);
+			if (primaryHolder instanceof Group) return attributesManagerImpl.getAttributes(sess, (Group) primaryHolder, attrNames);
+			if (primaryHolder instanceof Resource) return attributesManagerImpl.getAttributes(sess, (Resource) primaryHolder, attrNames);
+			if (primaryHolder instanceof Facility) return attributesManagerImpl.getAttributes(sess, (Facility) primaryHolder, attrNames);
+			if (primaryHolder instanceof Host) return attributesManagerImpl.getAttributes(sess, (Host) primaryHolder, attrNames);
+			if (primaryHolder instanceof UserExtSource) return attributesManagerImpl.getAttributes(sess, (UserExtSource) primaryHolder, attrNames);
+			return null;
+		}
+		if (primaryHolder instanceof Member && secondaryHolder instanceof Resource) return attributesManagerImpl.getAttributes(sess, (Member) primaryHolder, (Resource) secondaryHolder, attrNames);
+		if (primaryHolder instanceof Resource && secondaryHolder instanceof Member) return attributesManagerImpl.getAttributes(sess, (Member) secondaryHolder, (Resource) primaryHolder, attrNames);
+		if (primaryHolder instanceof Member && secondaryHolder instanceof Group) return attributesManagerImpl.getAttributes(sess, (Member) primaryHolder, (Group) secondaryHolder, attrNames);
+		if (primaryHolder instanceof Group && secondaryHolder instanceof Member) return attributesManagerImpl.getAttributes(sess, (Member) secondaryHolder, (Group) primaryHolder, attrNames);
+		if (primaryHolder instanceof Resource && secondaryHolder instanceof Group) return attributesManagerImpl.getAttributes(sess, (Resource) primaryHolder, (Group) secondaryHolder, attrNames);
+		if (primaryHolder instanceof Group && secondaryHolder instanceof Resource) return attributesManagerImpl.getAttributes(sess, (Resource) secondaryHolder, (Group) primaryHolder, attrNames);
+		if (primaryHolder instanceof User && secondaryHolder instanceof Facility) return attributesManagerImpl.getAttributes(sess, (User) primaryHolder, (Facility) secondaryHolder, attrNames);
+		if (primaryHolder instanceof Facility && secondaryHolder instanceof User) return attributesManagerImpl.getAttributes(sess, (User) secondaryHolder, (Facility) primaryHolder, attrNames);
+		return null;
+	}
+
+	/**
+	 * Check semantics of the attribute for its holders.
+	 *
+	 * @param sess perun session
+	 * @param richAttribute attribute with value and holders
+	 */
+	private void checkRichAttributeSemantics(PerunSession sess, RichAttribute richAttribute) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException {
+		if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_VO_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Vo) {
+				if (richAttribute.getSecondaryHolder() != null) {
+					throw new InternalErrorException("Secondary Holder for VO Attribute must be null!");
 				} else {
-					throw new InternalErrorException("For VO Attribute there must be VO in primaryHolder");
+					checkAttributeSemantics(sess, (Vo) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_GROUP_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Group) {
-					if (richAttribute.getSecondaryHolder() != null) {
-						throw new InternalErrorException("Secondary Holder for Group Attribute must be null!");
-					} else {
-						checkAttributeSemantics(sess, (Group) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					}
+			} else {
+				throw new InternalErrorException("For VO Attribute there must be VO in primaryHolder");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_GROUP_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Group) {
+				if (richAttribute.getSecondaryHolder() != null) {
+					throw new InternalErrorException("Secondary Holder for Group Attribute must be null!");
 				} else {
-					throw new InternalErrorException("For Group Attribute there must be Group in primaryHolder");
+					checkAttributeSemantics(sess, (Group) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_MEMBER_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Member) {
-					if (richAttribute.getSecondaryHolder() != null) {
-						throw new InternalErrorException("Secondary Holder for Member Attribute must be null!");
-					} else {
-						checkAttributeSemantics(sess, (Member) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					}
+			} else {
+				throw new InternalErrorException("For Group Attribute there must be Group in primaryHolder");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_MEMBER_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Member) {
+				if (richAttribute.getSecondaryHolder() != null) {
+					throw new InternalErrorException("Secondary Holder for Member Attribute must be null!");
 				} else {
-					throw new InternalErrorException("For Member Attribute there must be Member in primaryHolder");
+					checkAttributeSemantics(sess, (Member) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_USER_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof User) {
-					if (richAttribute.getSecondaryHolder() != null) {
-						throw new InternalErrorException("Secondary Holder for User Attribute must be null!");
-					} else {
-						checkAttributeSemantics(sess, (User) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					}
+			} else {
+				throw new InternalErrorException("For Member Attribute there must be Member in primaryHolder");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_USER_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof User) {
+				if (richAttribute.getSecondaryHolder() != null) {
+					throw new InternalErrorException("Secondary Holder for User Attribute must be null!");
 				} else {
-					throw new InternalErrorException("For User Attribute there must be User in primaryHolder");
+					checkAttributeSemantics(sess, (User) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_RESOURCE_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Resource) {
-					if (richAttribute.getSecondaryHolder() != null) {
-						throw new InternalErrorException("Secondary Holder for Resource Attribute must be null!");
-					} else {
-						checkAttributeSemantics(sess, (Resource) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					}
+			} else {
+				throw new InternalErrorException("For User Attribute there must be User in primaryHolder");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_RESOURCE_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Resource) {
+				if (richAttribute.getSecondaryHolder() != null) {
+					throw new InternalErrorException("Secondary Holder for Resource Attribute must be null!");
 				} else {
-					throw new InternalErrorException("For Resource Attribute there must be Resource in primaryHolder");
+					checkAttributeSemantics(sess, (Resource) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_FACILITY_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Facility) {
-					if (richAttribute.getSecondaryHolder() != null) {
-						throw new InternalErrorException("Secondary Holder for Facility Attribute must be null!");
-					} else {
-						checkAttributeSemantics(sess, (Facility) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					}
+			} else {
+				throw new InternalErrorException("For Resource Attribute there must be Resource in primaryHolder");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_FACILITY_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Facility) {
+				if (richAttribute.getSecondaryHolder() != null) {
+					throw new InternalErrorException("Secondary Holder for Facility Attribute must be null!");
 				} else {
-					throw new InternalErrorException("For Facility Attribute there must be Facility in primaryHolder");
+					checkAttributeSemantics(sess, (Facility) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), AttributesManager.NS_ENTITYLESS_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof String) {
-					if (richAttribute.getSecondaryHolder() != null) {
-						throw new InternalErrorException("Secondary Holder for Entityless Attribute must be null!");
-					} else {
-						checkAttributeSemantics(sess, (String) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					}
+			} else {
+				throw new InternalErrorException("For Facility Attribute there must be Facility in primaryHolder");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), AttributesManager.NS_ENTITYLESS_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof String) {
+				if (richAttribute.getSecondaryHolder() != null) {
+					throw new InternalErrorException("Secondary Holder for Entityless Attribute must be null!");
 				} else {
-					throw new InternalErrorException("For Entityless Attribute there must be String in primaryHolder");
+					checkAttributeSemantics(sess, (String) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), AttributesManager.NS_HOST_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Host) {
-					if (richAttribute.getSecondaryHolder() != null) {
-						throw new InternalErrorException("Secondary Holder for Host Attribute must be null!");
-					} else {
-						checkAttributeSemantics(sess, (Host) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					}
+			} else {
+				throw new InternalErrorException("For Entityless Attribute there must be String in primaryHolder");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), AttributesManager.NS_HOST_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Host) {
+				if (richAttribute.getSecondaryHolder() != null) {
+					throw new InternalErrorException("Secondary Holder for Host Attribute must be null!");
 				} else {
-					throw new InternalErrorException("For Host Attribute there must be Host in primaryHolder");
+					checkAttributeSemantics(sess, (Host) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_GROUP_RESOURCE_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Resource) {
-					if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Group) {
-						try {
-							checkAttributeSemantics(sess, (Resource) richAttribute.getPrimaryHolder(), (Group) richAttribute.getSecondaryHolder(), richAttribute.getAttribute());
-						} catch (GroupResourceMismatchException ex) {
-							throw new ConsistencyErrorException(ex);
-						}
-					} else {
-						throw new InternalErrorException("Secondary Holder for Group_Resource Attribute is null or its not group or resource");
-					}
-				} else if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Resource) {
-					if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Group) {
-						try {
-							checkAttributeSemantics(sess, (Resource) richAttribute.getSecondaryHolder(), (Group) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-						} catch (GroupResourceMismatchException ex) {
-							throw new ConsistencyErrorException(ex);
-						}
-					} else {
-						throw new InternalErrorException("Secondary Holder for Group_Resource Attribute is null or its not group or resource");
+			} else {
+				throw new InternalErrorException("For Host Attribute there must be Host in primaryHolder");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_GROUP_RESOURCE_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Resource) {
+				if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Group) {
+					try {
+						checkAttributeSemantics(sess, (Resource) richAttribute.getPrimaryHolder(), (Group) richAttribute.getSecondaryHolder(), richAttribute.getAttribute());
+					} catch (GroupResourceMismatchException ex) {
+						throw new ConsistencyErrorException(ex);
 					}
 				} else {
-					throw new InternalErrorException("For Group_Resource Attribute there must be Group or Resource in primaryHolder.");
+					throw new InternalErrorException("Secondary Holder for Group_Resource Attribute is null or its not group or resource");
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_MEMBER_RESOURCE_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Resource) {
-					if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Member) {
-						try {
-							checkAttributeSemantics(sess, (Member) richAttribute.getSecondaryHolder(), (Resource) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-						} catch (MemberResourceMismatchException ex) {
-							throw new ConsistencyErrorException(ex);
-						}
-					} else {
-						throw new InternalErrorException("Secondary Holder for Member_Resource Attribute is null or its not member or resource");
-					}
-				} else if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Resource) {
-					if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Member) {
-						try {
-							checkAttributeSemantics(sess, (Member) richAttribute.getPrimaryHolder(), (Resource) richAttribute.getSecondaryHolder(), richAttribute.getAttribute());
-						} catch (MemberResourceMismatchException ex) {
-							throw new ConsistencyErrorException(ex);
-						}
-					} else {
-						throw new InternalErrorException("Secondary Holder for Member_Resource Attribute is null or its not member or resource");
+			} else if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Resource) {
+				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Group) {
+					try {
+						checkAttributeSemantics(sess, (Resource) richAttribute.getSecondaryHolder(), (Group) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
+					} catch (GroupResourceMismatchException ex) {
+						throw new ConsistencyErrorException(ex);
 					}
 				} else {
-					throw new InternalErrorException("For Member_Resource Attribute there must be Member or Resource in primaryHolder.");
+					throw new InternalErrorException("Secondary Holder for Group_Resource Attribute is null or its not group or resource");
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_MEMBER_GROUP_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Group) {
-					if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Member) {
-						try {
-							checkAttributeSemantics(sess, (Member) richAttribute.getSecondaryHolder(), (Group) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-						} catch (MemberGroupMismatchException ex) {
-							throw new ConsistencyErrorException(ex);
-						}
-					} else {
-						throw new InternalErrorException("Secondary Holder for Member_Group Attribute is null or its not member or group");
+			} else {
+				throw new InternalErrorException("For Group_Resource Attribute there must be Group or Resource in primaryHolder.");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_MEMBER_RESOURCE_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Resource) {
+				if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Member) {
+					try {
+						checkAttributeSemantics(sess, (Member) richAttribute.getSecondaryHolder(), (Resource) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
+					} catch (MemberResourceMismatchException ex) {
+						throw new ConsistencyErrorException(ex);
 					}
-				} else if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Group) {
-					if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Member) {
-						try {
-							checkAttributeSemantics(sess, (Member) richAttribute.getPrimaryHolder(), (Group) richAttribute.getSecondaryHolder(), richAttribute.getAttribute());
-						} catch (MemberGroupMismatchException ex) {
-							throw new ConsistencyErrorException(ex);
-						}
-					} else {
-						throw new InternalErrorException("Secondary Holder for Member_Group Attribute is null or its not member or group");
+				} else {
+					throw new InternalErrorException("Secondary Holder for Member_Resource Attribute is null or its not member or resource");
+				}
+			} else if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Resource) {
+				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Member) {
+					try {
+						checkAttributeSemantics(sess, (Member) richAttribute.getPrimaryHolder(), (Resource) richAttribute.getSecondaryHolder(), richAttribute.getAttribute());
+					} catch (MemberResourceMismatchException ex) {
+						throw new ConsistencyErrorException(ex);
 					}
 				} else {
-					throw new InternalErrorException("For Member_Group Attribute there must be Member or Group in primaryHolder.");
+					throw new InternalErrorException("Secondary Holder for Member_Resource Attribute is null or its not member or resource");
 				}
-			} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_USER_FACILITY_ATTR)) {
-				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Facility) {
-					if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof User) {
-						checkAttributeSemantics(sess, (Facility) richAttribute.getPrimaryHolder(), (User) richAttribute.getSecondaryHolder(), richAttribute.getAttribute());
-					} else {
-						throw new InternalErrorException("Secondary Holder for Facility_User Attribute is null or its not facility or user");
+			} else {
+				throw new InternalErrorException("For Member_Resource Attribute there must be Member or Resource in primaryHolder.");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_MEMBER_GROUP_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Group) {
+				if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Member) {
+					try {
+						checkAttributeSemantics(sess, (Member) richAttribute.getSecondaryHolder(), (Group) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
+					} catch (MemberGroupMismatchException ex) {
+						throw new ConsistencyErrorException(ex);
 					}
-				} else if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Facility) {
-					if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof User) {
-						checkAttributeSemantics(sess, (Facility) richAttribute.getSecondaryHolder(), (User) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
-					} else {
-						throw new InternalErrorException("Secondary Holder for Facility_User Attribute is null or its not facility or user");
+				} else {
+					throw new InternalErrorException("Secondary Holder for Member_Group Attribute is null or its not member or group");
+				}
+			} else if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Group) {
+				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Member) {
+					try {
+						checkAttributeSemantics(sess, (Member) richAttribute.getPrimaryHolder(), (Group) richAttribute.getSecondaryHolder(), richAttribute.getAttribute());
+					} catch (MemberGroupMismatchException ex) {
+						throw new ConsistencyErrorException(ex);
 					}
 				} else {
-					throw new InternalErrorException("For Facility_User Attribute there must be Facility or User in primaryHolder.");
+					throw new InternalErrorException("Secondary Holder for Member_Group Attribute is null or its not member or group");
+				}
+			} else {
+				throw new InternalErrorException("For Member_Group Attribute there must be Member or Group in primaryHolder.");
+			}
+		} else if (getAttributesManagerImpl().isFromNamespace(richAttribute.getAttribute(), NS_USER_FACILITY_ATTR)) {
+			if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof Facility) {
+				if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof User) {
+					checkAttributeSemantics(sess, (Facility) richAttribute.getPrimaryHolder(), (User) richAttribute.getSecondaryHolder(), richAttribute.getAttribute());
+				} else {
+					throw new InternalErrorException("Secondary Holder for Facility_User Attribute is null or its not facility or user");
+				}
+			} else if (richAttribute.getSecondaryHolder() != null && richAttribute.getSecondaryHolder() instanceof Facility) {
+				if (richAttribute.getPrimaryHolder() != null && richAttribute.getPrimaryHolder() instanceof User) {
+					checkAttributeSemantics(sess, (Facility) richAttribute.getSecondaryHolder(), (User) richAttribute.getPrimaryHolder(), richAttribute.getAttribute());
+				} else {
+					throw new InternalErrorException("Secondary Holder for Facility_User Attribute is null or its not facility or user");
 				}
+			} else {
+				throw new InternalErrorException("For Facility_User Attribute there must be Facility or User in primaryHolder.");
 			}
 		}
-
 	}
 
 	@Override
@@ -7363,6 +7814,19 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		rights.add(new AttributeRights(-1, Role.GROUPADMIN, Collections.singletonList(ActionType.READ)));
 		attributes.put(attr, rights);
 
+		//urn:perun:group:attribute-def:def:groupMembersFingerprintQuery
+		attr = new AttributeDefinition();
+		attr.setNamespace(AttributesManager.NS_GROUP_ATTR_DEF);
+		attr.setType(String.class.getName());
+		attr.setFriendlyName("groupMembersFingerprintQuery");
+		attr.setDisplayName("Group members fingerprint query");
+		attr.setDescription("Query (SQL) on external source which retrieves single value changed whenever list of it's members changes.");
+		//set attribute rights (with dummy id of attribute - not known yet)
+		rights = new ArrayList<>();
+		rights.add(new AttributeRights(-1, Role.VOADMIN, Collections.singletonList(ActionType.READ)));
+		rights.add(new AttributeRights(-1, Role.GROUPADMIN, Collections.singletonList(ActionType.READ)));
+		attributes.put(attr, rights);
+
 		//urn:perun:group:attribute-def:def:synchronizationEnabled
 		attr = new AttributeDefinition();
 		attr.setNamespace(AttributesManager.NS_GROUP_ATTR_DEF);
@@ -7454,6 +7918,45 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		rights.add(new AttributeRights(-1, Role.GROUPADMIN, Collections.singletonList(ActionType.READ)));
 		attributes.put(attr, rights);
 
+		//urn:perun:group:attribute-def:def:lastSynchronizationFingerprint
+		attr = new AttributeDefinition();
+		attr.setNamespace(AttributesManager.NS_GROUP_ATTR_DEF);
+		attr.setType(String.class.getName());
+		attr.setFriendlyName("lastSynchronizationFingerprint");
+		attr.setDisplayName("Last synchronization fingerprint");
+		attr.setDescription("If group is synchronized, there will be fingerprint of external source at the last full synchronization.");
+		//set attribute rights (with dummy id of attribute - not known yet)
+		rights = new ArrayList<>();
+		rights.add(new AttributeRights(-1, Role.VOADMIN, Collections.singletonList(ActionType.READ)));
+		rights.add(new AttributeRights(-1, Role.GROUPADMIN, Collections.singletonList(ActionType.READ)));
+		attributes.put(attr, rights);
+
+		//urn:perun:group:attribute-def:def:skippedSynchronizationsCount
+		attr = new AttributeDefinition();
+		attr.setNamespace(AttributesManager.NS_GROUP_ATTR_DEF);
+		attr.setType(Integer.class.getName());
+		attr.setFriendlyName("skippedSynchronizationsCount");
+		attr.setDisplayName("Skipped synchronizations count");
+		attr.setDescription("If group is synchronized, there will be number of synchronizations skipped since the last full synchronization, because external source has not changed.");
+		//set attribute rights (with dummy id of attribute - not known yet)
+		rights = new ArrayList<>();
+		rights.add(new AttributeRights(-1, Role.VOADMIN, Collections.singletonList(ActionType.READ)));
+		rights.add(new AttributeRights(-1, Role.GROUPADMIN, Collections.singletonList(ActionType.READ)));
+		attributes.put(attr, rights);
+
+		//urn:perun:group:attribute-def:def:lastSkippedSynchronizationDuration
+		attr = new AttributeDefinition();
+		attr.setNamespace(AttributesManager.NS_GROUP_ATTR_DEF);
+		attr.setType(Integer.class.getName());
+		attr.setFriendlyName("lastSkippedSynchronizationDuration");
+		attr.setDisplayName("Last skipped synchronization duration");
+		attr.setDescription("If group is synchronized, there will be duration (in milliseconds) of checking the external source in the last skipped synchronization.");
+		//set attribute rights (with dummy id of attribute - not known yet)
+		rights = new ArrayList<>();
+		rights.add(new AttributeRights(-1, Role.VOADMIN, Collections.singletonList(ActionType.READ)));
+		rights.add(new AttributeRights(-1, Role.GROUPADMIN, Collections.singletonList(ActionType.READ)));
+		attributes.put(attr, rights);
+
 		//urn:perun:group:attribute-def:def:startOfLastSynchronization
 		attr = new AttributeDefinition();
 		attr.setNamespace(AttributesManager.NS_GROUP_ATTR_DEF);
@@ -7925,6 +8428,15 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 
 		initializeModuleDependencies(sess, allAttributesDef);
 
+		int attributesCacheSize = BeansUtils.getCoreConfig().getAttributesCacheSize();
+		if (attributesCacheSize > 0) {
+			hotAttributeCache = new HotAttributeCache(attributesCacheSize);
+			Auditer.registerAuditEventListener(hotAttributeCache);
+			int pollInterval = BeansUtils.getCoreConfig().getAttributesCachePollInterval();
+			if (pollInterval > 0) hotAttributeCache.startAuditLogPolling(sess, perunBl.getAuditMessagesManagerBl(), pollInterval);
+			log.debug("Attributes cache of size {} enabled.", attributesCacheSize);
+		}
+
 		log.debug("AttributesManagerBlImpl initialize ended.");
 	}
 
@@ -8004,6 +8516,12 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 			}
 
 			log.debug("Map of allDependencies was filled successfully.");
+
+			dependencyCheckPlans.clear();
+			for (AttributeDefinition key : allDependencies.keySet()) {
+				getDependencyCheckPlan(sess, key);
+			}
+			log.debug("Dependency check plans were compiled for {} attributes.", dependencyCheckPlans.size());
 		}
 	}
 
@@ -58,6 +58,11 @@ public class AuditMessagesManagerBlImpl implements AuditMessagesManagerBl {
 		return getAuditMessagesManagerImpl().getMessagesByCount(perunSession, count);
 	}
 
+	@Override
+	public List<AuditMessage> getMessagesAfterId(PerunSession perunSession, int lastProcessedId, int count) {
+		return getAuditMessagesManagerImpl().getMessagesAfterId(perunSession, lastProcessedId, count);
+	}
+
 	@Override
 	public List<AuditMessage> pollConsumerMessages(PerunSession perunSession, String consumerName) {
 		return getAuditMessagesManagerImpl().pollConsumerMessages(perunSession, consumerName);
@@ -0,0 +1,243 @@
+package cz.metacentrum.perun.core.blImpl;
+
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeDependencyViolated;
+import cz.metacentrum.perun.core.api.AttributeInconsistency;
+import cz.metacentrum.perun.core.api.Pair;
+import cz.metacentrum.perun.core.api.PerunBean;
+import cz.metacentrum.perun.core.api.PerunSession;
+import cz.metacentrum.perun.core.api.RichAttribute;
+import cz.metacentrum.perun.core.api.exceptions.WrongAttributeAssignmentException;
+import cz.metacentrum.perun.core.api.exceptions.WrongAttributeValueException;
+import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks of attributes depending on changed attributes, which run in the background after the change is committed.
+ *
+ * Changed attributes are queued after commit of their transaction and processed by one daemon thread in batches,
+ * so dependant attributes shared by the whole batch are checked only once. Violations are logged as
+ * AttributeDependencyViolated audit events and kept as inconsistencies until the next check of the same attribute passes.
+ *
+ * Both the queue and the inconsistencies live only in memory of this instance. Queued checks are lost on shutdown
+ * and at most MAX_INCONSISTENCIES of the latest inconsistencies are kept, the audit log is the persistent record.
+ *
+ * @see cz.metacentrum.perun.core.api.CoreConfig#isDeferredAttributeDependencyChecks()
+ */
+abstract class DeferredAttributeDependencyChecks {
+
+	private final static Logger log = LoggerFactory.getLogger(DeferredAttributeDependencyChecks.class);
+
+	static final int BATCH_SIZE = 100;
+	static final int MAX_INCONSISTENCIES = 1000;
+
+	private final BlockingQueue<Pair<PerunSession, RichAttribute>> queue = new LinkedBlockingQueue<>();
+	private final AtomicBoolean processing = new AtomicBoolean();
+	private volatile Executor executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "deferredAttributeDependencyChecks");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// oldest inconsistencies are dropped, when there is too many of them
+	private final Map<String, AttributeInconsistency> inconsistencies = new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, AttributeInconsistency> eldest) {
+			return size() > MAX_INCONSISTENCIES;
+		}
+	};
+
+	/**
+	 * Get unique set of all attributes with values and holders, which depend on the given attributes.
+	 *
+	 * @param sess perun session
+	 * @param changedAttributes changed attributes with their holders
+	 * @return dependant attributes with values and holders
+	 */
+	protected abstract Set<RichAttribute> getDependantRichAttributes(PerunSession sess, List<RichAttribute> changedAttributes);
+
+	/**
+	 * Check semantics of the attribute for its holders.
+	 *
+	 * @param sess perun session
+	 * @param richAttribute attribute with value and holders
+	 */
+	protected abstract void checkSemantics(PerunSession sess, RichAttribute richAttribute) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException;
+
+	/**
+	 * Log audit event about violated dependency.
+	 *
+	 * @param sess perun session
+	 * @param event audit event
+	 */
+	protected abstract void logViolation(PerunSession sess, AttributeDependencyViolated event);
+
+	/**
+	 * Queue dependency checks of changed attributes after commit of the current transaction.
+	 * Nothing is checked, when the transaction is rolled back.
+	 *
+	 * @param sess perun session
+	 * @param richAttributes changed attributes with their holders
+	 */
+	void deferAfterCommit(PerunSession sess, List<RichAttribute> richAttributes) {
+		List<Pair<PerunSession, RichAttribute>> uncommittedChecks = getUncommittedChecks();
+		for (RichAttribute richAttribute : richAttributes) {
+			uncommittedChecks.add(new Pair<>(sess, richAttribute));
+		}
+	}
+
+	/**
+	 * Get checks deferred in the current transaction. Checks are bound to the transaction at the first change
+	 * and queued all at once after its commit.
+	 *
+	 * @return checks waiting for commit of the current transaction
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Pair<PerunSession, RichAttribute>> getUncommittedChecks() {
+		List<Pair<PerunSession, RichAttribute>> uncommittedChecks = (List<Pair<PerunSession, RichAttribute>>) TransactionSynchronizationManager.getResource(this);
+		if (uncommittedChecks == null) {
+			List<Pair<PerunSession, RichAttribute>> checks = new ArrayList<>();
+			TransactionSynchronizationManager.bindResource(this, checks);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					enqueue(checks);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(DeferredAttributeDependencyChecks.this);
+				}
+			});
+			uncommittedChecks = checks;
+		}
+		return uncommittedChecks;
+	}
+
+	/**
+	 * Queue dependency checks of changed attributes and start their processing, if it is not running.
+	 *
+	 * @param sess perun session
+	 * @param richAttributes changed attributes with their holders
+	 */
+	void enqueue(PerunSession sess, List<RichAttribute> richAttributes) {
+		List<Pair<PerunSession, RichAttribute>> checks = new ArrayList<>();
+		for (RichAttribute richAttribute : richAttributes) {
+			checks.add(new Pair<>(sess, richAttribute));
+		}
+		enqueue(checks);
+	}
+
+	private void enqueue(List<Pair<PerunSession, RichAttribute>> checks) {
+		queue.addAll(checks);
+		if (processing.compareAndSet(false, true)) {
+			executor.execute(this::processQueue);
+		}
+	}
+
+	/**
+	 * @return number of changed attributes, which checks wait for commit of the current transaction or for processing
+	 */
+	int getQueueSize() {
+		List<?> uncommittedChecks = (List<?>) TransactionSynchronizationManager.getResource(this);
+		return queue.size() + (uncommittedChecks == null ? 0 : uncommittedChecks.size());
+	}
+
+	Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Set executor, which processes the queue. Daemon thread of this instance is used by default.
+	 *
+	 * @param executor executor processing the queue
+	 */
+	void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * @return found inconsistencies, which were not fixed yet
+	 */
+	List<AttributeInconsistency> getInconsistencies() {
+		synchronized (inconsistencies) {
+			return new ArrayList<>(inconsistencies.values());
+		}
+	}
+
+	private void processQueue() {
+		try {
+			List<Pair<PerunSession, RichAttribute>> batch = new ArrayList<>();
+			while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+				processBatch(batch);
+				batch.clear();
+			}
+		} finally {
+			processing.set(false);
+			// attributes queued after the last drain and before the flag was cleared
+			if (!queue.isEmpty() && processing.compareAndSet(false, true)) {
+				executor.execute(this::processQueue);
+			}
+		}
+	}
+
+	private void processBatch(List<Pair<PerunSession, RichAttribute>> batch) {
+		Map<PerunSession, List<RichAttribute>> changedAttributesBySession = new LinkedHashMap<>();
+		for (Pair<PerunSession, RichAttribute> check : batch) {
+			changedAttributesBySession.computeIfAbsent(check.getLeft(), sess -> new ArrayList<>()).add(check.getRight());
+		}
+		changedAttributesBySession.forEach((sess, changedAttributes) -> {
+			try {
+				for (RichAttribute richAttribute : getDependantRichAttributes(sess, changedAttributes)) {
+					check(sess, richAttribute);
+				}
+			} catch (RuntimeException ex) {
+				log.error("Deferred dependency checks of {} failed.", changedAttributes, ex);
+			}
+		});
+	}
+
+	private void check(PerunSession sess, RichAttribute richAttribute) {
+		String key = toKey(richAttribute);
+		try {
+			checkSemantics(sess, richAttribute);
+			synchronized (inconsistencies) {
+				inconsistencies.remove(key);
+			}
+		} catch (WrongAttributeValueException | WrongAttributeAssignmentException | WrongReferenceAttributeValueException ex) {
+			log.warn("Deferred dependency check of {} failed: {}", richAttribute, ex.getMessage());
+			synchronized (inconsistencies) {
+				inconsistencies.remove(key);
+				inconsistencies.put(key, new AttributeInconsistency(richAttribute, ex.getMessage(), LocalDateTime.now().toString()));
+			}
+			logViolation(sess, new AttributeDependencyViolated(richAttribute.getAttribute(),
+					richAttribute.getPrimaryHolder(), richAttribute.getSecondaryHolder(), ex.getMessage()));
+		}
+	}
+
+	private static String toKey(RichAttribute richAttribute) {
+		return richAttribute.getAttribute().getId() + ":" + toKey(richAttribute.getPrimaryHolder()) + ":" + toKey(richAttribute.getSecondaryHolder());
+	}
+
+	private static String toKey(Object holder) {
+		if (holder instanceof PerunBean) {
+			return ((PerunBean) holder).getBeanName() + ((PerunBean) holder).getId();
+		}
+		return String.valueOf(holder);
+	}
+
+}
@@ -107,6 +107,8 @@ import cz.metacentrum.perun.core.api.exceptions.WrongAttributeValueException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
 import cz.metacentrum.perun.core.bl.GroupsManagerBl;
 import cz.metacentrum.perun.core.bl.PerunBl;
+import cz.metacentrum.perun.core.impl.GroupStructureSynchronizationDiff;
+import cz.metacentrum.perun.core.impl.MembersSynchronizationDiff;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 import cz.metacentrum.perun.core.impl.SynchronizationPool;
 import cz.metacentrum.perun.core.impl.Utils;
@@ -125,8 +127,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -138,13 +144,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static cz.metacentrum.perun.core.impl.PerunLocksUtils.lockGroupMembership;
 import static java.util.Collections.reverseOrder;
@@ -173,6 +178,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	private static final String A_G_D_GROUP_STRUCTURE_RESOURCES = AttributesManager.NS_GROUP_ATTR_DEF + ":groupStructureResources";
 	private static final String A_MG_D_MEMBERSHIP_EXPIRATION = AttributesManager.NS_MEMBER_GROUP_ATTR_DEF + ":groupMembershipExpiration";
 	private static final String A_U_V_LOA = AttributesManager.NS_USER_ATTR_VIRT + ":loa";
+	private static final int SYNCHRONIZATION_CHUNK_SIZE = 1000;
 	private static final List<Status> statusesAffectedBySynchronization = Arrays.asList(Status.DISABLED, Status.EXPIRED, Status.INVALID);
 
 	private final Integer maxConcurrentGroupsStructuresToSynchronize;
@@ -198,7 +204,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		this.groupsManagerImpl = groupsManagerImpl;
 		this.groupSynchronizerThreads = new ArrayList<>();
 		this.groupStructureSynchronizerThreads = new ArrayList<>();
-		this.poolOfSynchronizations = new SynchronizationPool();
+		this.poolOfSynchronizations = new SynchronizationPool(BeansUtils.getCoreConfig().getGroupMaxConcurrentGroupsToSynchronizeFromExtSource());
 		//set maximum concurrent groups to synchronize by property
 		this.maxConcurentGroupsToSynchronize = BeansUtils.getCoreConfig().getGroupMaxConcurentGroupsToSynchronize();
 		this.maxConcurrentGroupsStructuresToSynchronize = BeansUtils.getCoreConfig().getGroupMaxConcurrentGroupsStructuresToSynchronize();
@@ -786,14 +792,9 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		// And finally update parentGroupId for moving group in database
 		this.updateParentGroupId(sess, movingGroup);
 
-		List<Member> movingGroupMembers = getGroupMembers(sess, movingGroup);
-
-		for(Member member : movingGroupMembers) {
-			if (previousParent != null) {
-
-				// calculate new member-group statuses for members from previous moving group parent
-				recalculateMemberGroupStatusRecursively(sess, member, previousParent);
-			}
+		if (previousParent != null) {
+			// calculate new member-group statuses for members from previous moving group parent
+			recalculateMembersGroupStatusRecursively(sess, getGroupMembers(sess, movingGroup), previousParent);
 		}
 
 		getPerunBl().getAuditer().log(sess, new GroupMoved(movingGroup));
@@ -863,28 +864,19 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 	@Override
 	public void addMembers(PerunSession sess, Group group,  List<Member> members) throws AlreadyMemberException, WrongAttributeValueException, WrongReferenceAttributeValueException, GroupNotExistsException {
-		Collections.sort(members);
-		for (Member member : members) {
-			// Check if the group is NOT members or administrators group
-			if (group.getName().equals(VosManager.MEMBERS_GROUP)) {
-				throw new InternalErrorException("Cannot add member directly to the members group.");
-			} else {
-				this.addDirectMember(sess, group, member);
-			}
+		if (members.isEmpty()) return;
+		// Check if the group is NOT members or administrators group
+		if (group.getName().equals(VosManager.MEMBERS_GROUP)) {
+			throw new InternalErrorException("Cannot add member directly to the members group.");
 		}
+		Collections.sort(members);
+		this.addDirectMembers(sess, group, members);
 	}
 
 
 	private List<Group> getParentGroups(PerunSession sess, Group group) {
 		if(group == null) return new ArrayList<>();
-		try {
-			if (group.getParentGroupId() == null) return new ArrayList<>();
-			List<Group> groups = getParentGroups(sess,getGroupById(sess,group.getParentGroupId()));
-			groups.add(getGroupById(sess, group.getParentGroupId()));
-			return groups;
-		} catch(GroupNotExistsException ex) {
-			throw new ConsistencyErrorException(ex);
-		}
+		return getGroupsManagerImpl().getAllParentGroups(sess, group);
 	}
 
 	/**
@@ -912,11 +904,8 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		//If member was indirect in group before, we don't need to change anything in other groups
 		if(memberWasIndirectInGroup) return;
-		// check all relations with this group and call addRelationMembers to reflect changes of adding member to group
-		List<Integer> relations = groupsManagerImpl.getResultGroupsIds(sess, group.getId());
-		for (Integer groupId : relations) {
-			addRelationMembers(sess, groupsManagerImpl.getGroupById(sess, groupId), Collections.singletonList(member), group.getId());
-		}
+		// reflect changes of adding member to group in all groups including this group
+		propagateAddedMembers(sess, group, Collections.singletonList(member));
 		setRequiredAttributes(sess, member, group);
 
 		// try to set init expiration
@@ -933,6 +922,62 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		}
 	}
 
+	/**
+	 * Add records of the members with a DIRECT membership type to the group.
+	 *
+	 * Members are processed by stages for the whole list: one query for their current memberships,
+	 * one batch insert, one propagation to each result group, one filling of required attributes
+	 * per assigned resource and one recalculation of member-group statuses.
+	 *
+	 * @param sess perun session
+	 * @param group group to add members to
+	 * @param members members to be added as DIRECT
+	 * @throws AlreadyMemberException if some member is already direct member of the group
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 * @throws GroupNotExistsException
+	 */
+	private void addDirectMembers(PerunSession sess, Group group, List<Member> members) throws AlreadyMemberException, WrongAttributeValueException, WrongReferenceAttributeValueException, GroupNotExistsException {
+
+		lockGroupMembership(group, members);
+
+		Map<Integer, Set<Integer>> sourceGroupIds = groupsManagerImpl.getSourceGroupIdsOfMembers(sess, group, members);
+		Set<Integer> processedMemberIds = new HashSet<>();
+		List<Member> newMembers = new ArrayList<>();
+		for (Member member : members) {
+			Set<Integer> memberSourceGroupIds = sourceGroupIds.getOrDefault(member.getId(), Collections.emptySet());
+			if (memberSourceGroupIds.contains(group.getId()) || !processedMemberIds.add(member.getId())) {
+				throw new AlreadyMemberException(member);
+			}
+			//If member was indirect in group before, we don't need to change anything in other groups
+			if (memberSourceGroupIds.isEmpty()) newMembers.add(member);
+		}
+
+		getGroupsManagerImpl().addMembers(sess, group, members, MembershipType.DIRECT, group.getId());
+		for (Member member : members) {
+			getPerunBl().getAuditer().log(sess, new DirectMemberAddedToGroup(member, group));
+		}
+
+		if (newMembers.isEmpty()) return;
+		// reflect changes of adding members to group in all groups including this group
+		propagateAddedMembers(sess, group, newMembers);
+		setRequiredAttributes(sess, newMembers, group);
+
+		// try to set init expiration
+		if (getMembershipExpirationRulesAttribute(sess, group) != null) {
+			for (Member member : newMembers) {
+				try {
+					extendMembershipInGroup(sess, member, group);
+				} catch (ExtendMembershipException e) {
+					throw new InternalErrorException("Failed to set initial member-group expiration date.");
+				}
+			}
+		}
+
+		// recalculate member group state
+		recalculateMembersGroupStatusRecursively(sess, newMembers, group);
+	}
+
 	/**
 	 * Add records of the members with an INDIRECT membership type to the group.
 	 *
@@ -949,15 +994,18 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	protected List<Member> addIndirectMembers(PerunSession sess, Group group, List<Member> members, int sourceGroupId) throws AlreadyMemberException, WrongAttributeValueException, WrongReferenceAttributeValueException {
 		lockGroupMembership(group, members);
 
+		Map<Integer, Set<Integer>> sourceGroupIds = groupsManagerImpl.getSourceGroupIdsOfMembers(sess, group, members);
 		List<Member> newMembers = new ArrayList<>();
 		for (Member member : members) {
+			Set<Integer> memberSourceGroupIds = sourceGroupIds.getOrDefault(member.getId(), Collections.emptySet());
+			if (memberSourceGroupIds.contains(sourceGroupId)) throw new AlreadyMemberException(member);
 			//we want to process only newly added members
-			if(!isGroupMember(sess, group, member)) newMembers.add(member);
-			groupsManagerImpl.addMember(sess, group, member, MembershipType.INDIRECT, sourceGroupId);
+			if (memberSourceGroupIds.isEmpty()) newMembers.add(member);
 		}
+		groupsManagerImpl.addMembers(sess, group, members, MembershipType.INDIRECT, sourceGroupId);
 
+		setRequiredAttributes(sess, newMembers, group);
 		for (Member member : newMembers) {
-			setRequiredAttributes(sess, member, group);
 			getPerunBl().getAuditer().log(sess, new IndirectMemberAddedToGroup(member, group));
 		}
 
@@ -988,6 +1036,45 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		}
 	}
 
+	/**
+	 * Set required attributes when adding new direct or indirect members.
+	 * Resources, facilities and users are resolved once for all the members and resources
+	 * without any required attributes are skipped.
+	 *
+	 * @param sess perun session
+	 * @param members members
+	 * @param group group
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	private void setRequiredAttributes(PerunSession sess, List<Member> members, Group group) throws WrongAttributeValueException, WrongReferenceAttributeValueException {
+		if (members.isEmpty()) return;
+		List<Resource> resources = getPerunBl().getResourcesManagerBl().getAssignedResources(sess, group);
+		resources.removeIf(resource -> getPerunBl().getAttributesManagerBl().getResourceRequiredAttributesDefinition(sess, resource).isEmpty());
+		if (resources.isEmpty()) return;
+
+		Map<Integer, User> usersById = new HashMap<>();
+		List<Integer> userIds = new ArrayList<>();
+		for (Member member : members) {
+			userIds.add(member.getUserId());
+		}
+		for (User user : getPerunBl().getUsersManagerBl().getUsersByIds(sess, userIds)) {
+			usersById.put(user.getId(), user);
+		}
+
+		for (Resource resource : resources) {
+			Facility facility = getPerunBl().getResourcesManagerBl().getFacility(sess, resource);
+			for (Member member : members) {
+				// check members attributes
+				try {
+					getPerunBl().getAttributesManagerBl().setRequiredAttributes(sess, facility, resource, usersById.get(member.getUserId()), member);
+				} catch(WrongAttributeAssignmentException | AttributeNotExistsException | MemberResourceMismatchException ex) {
+					throw new ConsistencyErrorException(ex);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Remove records of the members with an INDIRECT membership type from the group.
 	 *
@@ -1107,11 +1194,8 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			getPerunBl().getAuditer().log(sess, new MemberRemovedFromGroupTotally(member, group));
 		}
 
-		// check all relations with this group and call removeRelationMembers to reflect changes of removing member from group
-		List<Integer> relations = groupsManagerImpl.getResultGroupsIds(sess, group.getId());
-		for (Integer groupId : relations) {
-			removeRelationMembers(sess, groupsManagerImpl.getGroupById(sess, groupId), Collections.singletonList(member), group.getId());
-		}
+		// reflect changes of removing member from group in all groups including this group
+		propagateRemovedMembers(sess, group, Collections.singletonList(member));
 
 		if (!VosManager.MEMBERS_GROUP.equals(group.getName())) {
 			recalculateMemberGroupStatusRecursively(sess, member, group);
@@ -1520,12 +1604,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 	@Override
 	public List<Group> getAllSubGroups(PerunSession sess, Group parentGroup) {
-		Queue<Group> groupsInQueue = new ConcurrentLinkedQueue<>(getGroupsManagerImpl().getSubGroups(sess, parentGroup));
-		List<Group> allSubGroups = new ArrayList<>();
-		while(groupsInQueue.peek() != null) {
-			groupsInQueue.addAll(getGroupsManagerImpl().getSubGroups(sess, groupsInQueue.peek()));
-			allSubGroups.add(groupsInQueue.poll());
-		}
+		List<Group> allSubGroups = getGroupsManagerImpl().getAllSubGroups(sess, parentGroup);
 
 		// Sort
 		Collections.sort(allSubGroups);
@@ -1724,47 +1803,79 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 			log.debug("Group synchronization {}: using configuration extSource for membership {}, extSource for members {}", group, membersSource, membersSource.getName());
 
-			//Prepare containers for work with group members
-			List<Candidate> candidatesToAdd = new ArrayList<>();
-			Map<Candidate, RichMember> membersToUpdate = new HashMap<>();
-			List<RichMember> membersToRemove = new ArrayList<>();
+			//Skip synchronization if the extSource has not changed since the last full synchronization
+			String fingerprint = null;
+			if (BeansUtils.getCoreConfig().getGroupSynchronizationMaxSkips() > 0) {
+				fingerprint = getGroupSubjectsFingerprint(sess, group, source, membersSource, lightweightSynchronization);
+				if (fingerprint != null && skipUnchangedGroupSynchronization(sess, group, fingerprint, startTime)) {
+					long endTime = System.nanoTime();
+					getPerunBl().getAuditer().log(sess,new GroupSyncFinished(group, startTime, endTime));
+					log.info("Group synchronization for {} has been skipped, because extSource has not changed.", group);
+					return skippedMembers;
+				}
+			}
 
 			//get all direct members of synchronized group (only direct, because we want to set direct membership with this group by synchronization)
 			List<RichMember> actualGroupMembers = getPerunBl().getGroupsManagerBl().getGroupDirectRichMembers(sess, group);
+			boolean isAuthoritative = isAuthoritative(sess, group);
+
+			List<Candidate> candidatesToAdd = new ArrayList<>();
+			List<RichMember> membersToRemove = new ArrayList<>();
 
 			if(lightweightSynchronization) {
 				categorizeMembersForLightweightSynchronization(sess, group, source, membersSource, actualGroupMembers, candidatesToAdd, membersToRemove, skippedMembers);
 			} else {
-				//Get subjects from extSource
-				List<Map<String, String>> subjects = getSubjectsFromExtSource(sess, source, group);
-				//Convert subjects to candidates
-				List<Candidate> candidates = convertSubjectsToCandidates(sess, subjects, membersSource, source, actualGroupMembers, skippedMembers);
+				//Subjects are read and converted to candidates in chunks, so candidates are never all in memory at once,
+				//memory used by the ext source itself depends on how it streams the subjects
+				MembersSynchronizationDiff diff = new MembersSynchronizationDiff(actualGroupMembers);
+				List<AttributeDefinition> attrDefs = new ArrayList<>();
+				int subjectsCount = 0;
+
+				try (Stream<Map<String, String>> subjects = getSubjectsStreamFromExtSource(sess, source, group)) {
+					Iterator<Map<String, String>> subjectsIterator = subjects.iterator();
+					List<Map<String, String>> subjectsChunk = new ArrayList<>();
+					while (subjectsIterator.hasNext()) {
+						subjectsChunk.add(subjectsIterator.next());
+						if (subjectsChunk.size() < SYNCHRONIZATION_CHUNK_SIZE && subjectsIterator.hasNext()) continue;
+						subjectsCount += subjectsChunk.size();
+
+						//Convert subjects to candidates
+						diff.addCandidates(convertSubjectsToCandidates(sess, subjectsChunk, membersSource, source, diff, skippedMembers));
+						subjectsChunk.clear();
+
+						//Update members already presented in group
+						for (Map.Entry<Candidate, RichMember> memberToUpdate : diff.getMembersToUpdate().entrySet()) {
+							Candidate candidate = memberToUpdate.getKey();
+							//Load attrDefinitions just once for first candidate
+							if (!candidate.getAttributes().isEmpty() && attrDefs.isEmpty()) {
+								attrDefs = getAttributesToSynchronizeFromCandidates(sess, group, candidate);
+							}
+							updateExistingMemberWhileSynchronization(sess, group, candidate, memberToUpdate.getValue(), overwriteUserAttributesList, mergeMemberAttributesList, attrDefs);
+						}
+
+						//Add not presented candidates right away, they don't match any current member,
+						//so removing of former members after the last chunk can't affect them
+						addMissingMembersWhileSynchronization(sess, group, diff.getCandidatesToAdd(), overwriteUserAttributesList, mergeMemberAttributesList, skippedMembers);
+						diff.clearCandidates();
+					}
+				}
+				log.debug("Group synchronization {}: external group contains {} members.", group, subjectsCount);
 
-				categorizeMembersForSynchronization(sess, actualGroupMembers, candidates, candidatesToAdd, membersToUpdate, membersToRemove);
+				membersToRemove.addAll(diff.getMembersToRemove());
 			}
 
-			// Remove members from group who are not present in synchronized ExtSource
-			boolean isAuthoritative = isAuthoritative(sess, group);
+			// Remove members from group who are not present in synchronized ExtSource, they are known only after all subjects are read
 			Collections.sort(membersToRemove);
 			for (RichMember memberToRemove : membersToRemove) {
 				removeFormerMemberWhileSynchronization(sess, group, memberToRemove, isAuthoritative);
 			}
 
-			List<AttributeDefinition> attrDefs = new ArrayList<>();
-			//Update members already presented in group
-			for (Candidate candidate : membersToUpdate.keySet()) {
-				RichMember memberToUpdate = membersToUpdate.get(candidate);
-				//Load attrDefinitions just once for first candidate
-				if (!candidate.getAttributes().isEmpty() && attrDefs.isEmpty()) {
-					attrDefs = getAttributesToSynchronizeFromCandidates(sess, group, candidate);
-				}
-				updateExistingMemberWhileSynchronization(sess, group, candidate, memberToUpdate, overwriteUserAttributesList, mergeMemberAttributesList, attrDefs);
-			}
+			//Add not presented candidates to group, only lightweight synchronization collects them
+			addMissingMembersWhileSynchronization(sess, group, candidatesToAdd, overwriteUserAttributesList, mergeMemberAttributesList, skippedMembers);
 
-			//Add not presented candidates to group
-			Collections.sort(candidatesToAdd);
-			for (Candidate candidateToAdd : candidatesToAdd) {
-				addMissingMemberWhileSynchronization(sess, group, candidateToAdd, overwriteUserAttributesList, mergeMemberAttributesList, skippedMembers);
+			if (BeansUtils.getCoreConfig().getGroupSynchronizationMaxSkips() > 0) {
+				//Members which were skipped can be synchronized next time, so the fingerprint is not kept for them
+				saveGroupSubjectsFingerprint(sess, group, skippedMembers.isEmpty() ? fingerprint : null);
 			}
 
 			long endTime = System.nanoTime();
@@ -1792,10 +1903,6 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		//get login prefix if exists
 		String loginPrefix = getLoginPrefixForGroupStructure(sess, baseGroup);
 
-		List<CandidateGroup> candidateGroupsToAdd = new ArrayList<>();
-		Map<CandidateGroup, Group> groupsToUpdate = new HashMap<>();
-		List<Group> groupsToRemove = new ArrayList<>();
-
 		Map<String, Group> actualGroups = getAllSubGroupsWithLogins(sess, baseGroup, loginAttributeDefinition);
 		List<Map<String, String>> subjectGroups = getSubjectGroupsFromExtSource(sess, source, baseGroup);
 
@@ -1807,18 +1914,24 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		List<CandidateGroup> candidateGroups = getPerunBl().getExtSourcesManagerBl().generateCandidateGroups(sess, subjectGroups, source, loginPrefix);
 
-		categorizeGroupsForSynchronization(actualGroups, candidateGroups, candidateGroupsToAdd, groupsToUpdate, groupsToRemove);
+		GroupStructureSynchronizationDiff diff = new GroupStructureSynchronizationDiff(actualGroups, candidateGroups);
+		log.debug("Group structure synchronization {}: {} groups to add, {} to update and {} to remove in {} levels.", baseGroup,
+				diff.getCandidateGroupsToAdd().size(), diff.getGroupsToUpdate().size(), diff.getGroupsToRemove().size(), diff.getLevels().size());
 
 		//order of operations is important here
 		//removing need to go first to be able to replace groups with same name but different login
-		//updating need to be last to set right order of groups again
-		List<Integer> removedGroupsIds = removeFormerGroupsWhileSynchronization(sess, baseGroup, groupsToRemove, skippedGroups);
-		addMissingGroupsWhileSynchronization(sess, baseGroup, candidateGroupsToAdd, loginAttributeDefinition, skippedGroups);
-		updateExistingGroupsWhileSynchronization(sess, baseGroup, groupsToUpdate, removedGroupsIds, loginAttributeDefinition, skippedGroups);
+		//then the structure is built level by level from the top, so every group is created or moved directly under its final parent
+		//subgroups of removed groups are moved under the base group before removing
+		boolean groupsMoved = !diff.getGroupsToRemove().isEmpty();
+		removeFormerGroupsWhileSynchronization(sess, baseGroup, diff.getGroupsToRemove(), skippedGroups);
+		synchronizeGroupStructureLevels(sess, baseGroup, diff, groupsMoved, loginAttributeDefinition, skippedGroups);
+
+		// load the final structure once, so it can be reused for synchronization attributes and resources
+		Map<String, Group> groupsByLogins = getAllSubGroupsWithLogins(sess, baseGroup, loginAttributeDefinition);
 
-		setUpSynchronizationAttributesForAllSubGroups(sess, baseGroup, source, loginAttributeDefinition, loginPrefix);
+		setUpSynchronizationAttributesForAllSubGroups(sess, baseGroup, source, groupsByLogins, loginPrefix);
 
-		syncResourcesForSynchronization(sess, baseGroup, loginAttributeDefinition, skippedGroups);
+		syncResourcesForSynchronization(sess, baseGroup, groupsByLogins, skippedGroups);
 
 		log.info("Group structure synchronization {}: ended.", baseGroup);
 
@@ -1832,9 +1945,10 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 *
 	 * @param sess perun session
 	 * @param baseGroup group structure sync base group
+	 * @param groupsByLogins all subgroups of the base group by their logins
 	 * @param skippedMessages list where are added messages about skipped operations
 	 */
-	private void syncResourcesForSynchronization(PerunSession sess, Group baseGroup, AttributeDefinition loginAttr,
+	private void syncResourcesForSynchronization(PerunSession sess, Group baseGroup, Map<String, Group> groupsByLogins,
 	                                             List<String> skippedMessages) {
 		Attribute syncedResourcesAttr;
 
@@ -1850,9 +1964,6 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			return;
 		}
 
-		// load all subgroups with logins once, so it can be reused in other methods
-		Map<String, Group> groupsByLogins = getAllSubGroupsWithLogins(sess, baseGroup, loginAttr);
-
 		syncedResourcesAttr.valueAsMap().forEach((resourceId, groupLogins) ->
 			syncResourceInStructure(sess, resourceId, groupLogins, baseGroup, groupsByLogins, skippedMessages));
 	}
@@ -1965,7 +2076,9 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		if(syncEnabled) {
 			//Check if the group is not currently in synchronization process
-			if (poolOfSynchronizations.putGroupToPoolOfWaitingGroups(group, true)) {
+			String extSourceName = getGroupExtSourceName(sess, group);
+			int synchronizationInterval = getSynchronizationInterval(sess, group, GroupsManager.GROUPSYNCHROINTERVAL_ATTRNAME, "Group");
+			if (poolOfSynchronizations.putGroupToPoolOfWaitingGroups(group, true, extSourceName, synchronizationInterval)) {
 				log.debug("Scheduling synchronization for the group {} by force!", group);
 			} else {
 				throw new GroupSynchronizationAlreadyRunningException(group);
@@ -2029,19 +2142,27 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		// Get the groups with synchronization enabled
 		List<Group> groups = groupsManagerImpl.getGroupsToSynchronize(sess);
+		poolOfSynchronizations.retainSynchronizationDurations(groups);
 		List<Group> timeCompliantGroups = new ArrayList<>();
+		Map<Group, String> extSourceNames = new HashMap<>();
+		Map<Group, Integer> synchronizationIntervals = new HashMap<>();
 
 		int numberOfNewlyAddedGroups;
 		for (Group group: groups) {
 
 			try {
 				Attribute synchronizationTimesAttr = getPerunBl().getAttributesManagerBl().getAttribute(sess,group,GroupsManager.GROUP_SYNCHRO_TIMES_ATTRNAME);
+				int synchronizationInterval = getSynchronizationInterval(sess, group, GroupsManager.GROUPSYNCHROINTERVAL_ATTRNAME, "Group");
+				boolean timeCompliant;
 				if (synchronizationTimesAttr.getValue() != null) {
-					if (isTimeCompliantWithExactTimes(localDateTime, synchronizationTimesAttr.valueAsList())) {
-						timeCompliantGroups.add(group);
-					}
-				} else if (isTimeCompliantWithGroupInterval(sess, group, minutesFromEpoch, GroupsManager.GROUPSYNCHROINTERVAL_ATTRNAME,"Group")) {
+					timeCompliant = isTimeCompliantWithExactTimes(localDateTime, synchronizationTimesAttr.valueAsList());
+				} else {
+					timeCompliant = (minutesFromEpoch % synchronizationInterval) == 0;
+				}
+				if (timeCompliant) {
 					timeCompliantGroups.add(group);
+					extSourceNames.put(group, getGroupExtSourceName(sess, group));
+					synchronizationIntervals.put(group, synchronizationInterval);
 				}
 			} catch (AttributeNotExistsException e) {
 				log.error("Required attribute {} isn't defined in Perun!", GroupsManager.GROUP_SYNCHRO_TIMES_ATTRNAME);
@@ -2051,7 +2172,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		}
 
-		numberOfNewlyAddedGroups = poolOfSynchronizations.putGroupsToPoolOfWaitingGroups(timeCompliantGroups);
+		numberOfNewlyAddedGroups = poolOfSynchronizations.putGroupsToPoolOfWaitingGroups(timeCompliantGroups, extSourceNames, synchronizationIntervals);
 
 		// Save state of synchronization to the info log
 		log.info("SynchronizeGroups method ends with these states: " +
@@ -2153,7 +2274,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 						log.error("Info about exception from synchronization: {}", skippedMembersMessage);
 					}
 					//Remove job from running jobs
-					if(!poolOfSynchronizations.removeGroup(group)) {
+					if(!poolOfSynchronizations.removeGroup(group, System.currentTimeMillis() - startTime)) {
 						log.error("Can't remove running job for object " + group + " from pool of running jobs because it is not containing it.");
 					}
 
@@ -2852,6 +2973,20 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @throws InternalErrorException
 	 */
 	private boolean isTimeCompliantWithGroupInterval(PerunSession sess, Group group, long minutesFromEpoch, String attributeName, String objectName) {
+		// If the minutesFromEpoch can be divided by the interval, then synchronize
+		return (minutesFromEpoch % getSynchronizationInterval(sess, group, attributeName, objectName)) == 0;
+	}
+
+	/**
+	 * Get synchronization interval of the group from the interval attribute or the default value from the configuration.
+	 *
+	 * @param sess perun session
+	 * @param group group to get the interval for
+	 * @param attributeName name of the interval attribute
+	 * @param objectName name of the synchronized object for logging
+	 * @return synchronization interval in minutes
+	 */
+	private int getSynchronizationInterval(PerunSession sess, Group group, String attributeName, String objectName) {
 		int defaultIntervalMultiplier = BeansUtils.getCoreConfig().getGroupSynchronizationInterval();
 		// Get the synchronization interval for the group
 		int intervalMultiplier;
@@ -2872,10 +3007,24 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		}
 
 		// Multiply with 5 to get real minutes
-		intervalMultiplier = intervalMultiplier*5;
+		return intervalMultiplier*5;
+	}
 
-		// If the minutesFromEpoch can be divided by the intervalMultiplier, then synchronize
-		return (minutesFromEpoch % intervalMultiplier) == 0;
+	/**
+	 * Get name of the extSource the group is synchronized from.
+	 *
+	 * @param sess perun session
+	 * @param group synchronized group
+	 * @return name of the extSource or null, if it is not set
+	 */
+	private String getGroupExtSourceName(PerunSession sess, Group group) {
+		try {
+			Attribute extSourceNameAttr = getPerunBl().getAttributesManagerBl().getAttribute(sess, group, GroupsManager.GROUPEXTSOURCE_ATTRNAME);
+			return extSourceNameAttr.valueAsString();
+		} catch (AttributeNotExistsException | WrongAttributeAssignmentException e) {
+			log.error("Cannot get attribute " + GroupsManager.GROUPEXTSOURCE_ATTRNAME + " for group " + group + " due to exception.", e);
+			return null;
+		}
 	}
 
     private void saveInformationAboutGroupSynchronization(PerunSession sess, Group group, long startTime, boolean failedDueToException, String exceptionMessage) throws AttributeNotExistsException, WrongReferenceAttributeValueException, WrongAttributeAssignmentException, WrongAttributeValueException {
@@ -2975,76 +3124,82 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @param skippedMembers
 	 */
 	private void categorizeMembersForLightweightSynchronization(PerunSession sess, Group group, ExtSource loginSource, ExtSource memberSource, List<RichMember> groupMembers, List<Candidate> candidatesToAdd, List<RichMember> membersToRemove, List<String> skippedMembers) {
-		//Get subjects from loginSource
-		List<Map<String, String>> subjects = getSubjectsFromExtSource(sess, loginSource, group);
-
 		//Prepare structure of userIds with richMembers to better work with actual members
 		Map<Integer, RichMember> idsOfUsersInGroup = new HashMap<>();
 		for(RichMember richMember: groupMembers) {
 			idsOfUsersInGroup.put(richMember.getUserId(), richMember);
 		}
-		//try to find users by login and loginSource
-		for(Map<String, String> subjectFromLoginSource : subjects) {
-			if (subjectFromLoginSource == null) {
-				log.error("Null value in the subjects list. Skipping.");
-				continue;
-			}
-			String login = subjectFromLoginSource.get("login");
-			// Skip subjects, which doesn't have login
-			if (login == null || login.isEmpty()) {
-				log.debug("Subject {} doesn't contain attribute login, skipping.", subjectFromLoginSource);
-				skippedMembers.add("MemberEntry:[" + subjectFromLoginSource + "] was skipped because login is missing");
-				continue;
-			}
+		//Prepare ids of users who are members of the group's vo, so they are not read for each subject
+		Vo groupVo = getVo(sess, group);
+		Set<Integer> idsOfUsersInVo = new HashSet<>();
+		for(Member voMember: getPerunBl().getMembersManagerBl().getMembers(sess, groupVo)) {
+			idsOfUsersInVo.add(voMember.getUserId());
+		}
+		//Get subjects from loginSource and try to find users by login and loginSource
+		try (Stream<Map<String, String>> subjects = getSubjectsStreamFromExtSource(sess, loginSource, group)) {
+			Iterator<Map<String, String>> subjectsIterator = subjects.iterator();
+			while (subjectsIterator.hasNext()) {
+				Map<String, String> subjectFromLoginSource = subjectsIterator.next();
+				if (subjectFromLoginSource == null) {
+					log.error("Null value in the subjects list. Skipping.");
+					continue;
+				}
+				String login = subjectFromLoginSource.get("login");
+				// Skip subjects, which doesn't have login
+				if (login == null || login.isEmpty()) {
+					log.debug("Subject {} doesn't contain attribute login, skipping.", subjectFromLoginSource);
+					skippedMembers.add("MemberEntry:[" + subjectFromLoginSource + "] was skipped because login is missing");
+					continue;
+				}
 
-			//try to find user from perun by login and member extSource (need to use memberSource because loginSource is not saved by synchronization)
-			User user = null;
+				//try to find user from perun by login and member extSource (need to use memberSource because loginSource is not saved by synchronization)
+				User user = null;
 
-			List<UserExtSource> userExtSources = new ArrayList<>();
-			try {
-				UserExtSource userExtSource = getPerunBl().getUsersManagerBl().getUserExtSourceByExtLogin(sess, memberSource, login);
-				userExtSources.add(userExtSource);
-			} catch (UserExtSourceNotExistsException e) {
-				//skipping, this extSource does not exist and thus won't be in the list
-			}
-			Vo groupVo = getVo(sess, group);
-			List<UserExtSource> additionalUserExtSources = Utils.extractAdditionalUserExtSources(sess, subjectFromLoginSource).stream().map(RichUserExtSource::asUserExtSource).collect(toList());
-			userExtSources.addAll(additionalUserExtSources);
-			for (UserExtSource source : userExtSources) {
+				List<UserExtSource> userExtSources = new ArrayList<>();
 				try {
-					user = getPerunBl().getUsersManagerBl().getUserByUserExtSource(sess, source);
-					// check if user is already member of group's vo
-					if (getPerunBl().getUsersManagerBl().getVosWhereUserIsMember(sess, user).contains(groupVo)) {
-						if (idsOfUsersInGroup.containsKey(user.getId())) {
-							//we can skip this one, because he is already in group, and remove him from the map
-							//but first we need to also validate him if he was disabled before (invalidate and then validate)
-							RichMember richMember = idsOfUsersInGroup.get(user.getId());
-							if (richMember != null && Status.DISABLED.equals(richMember.getStatus())) {
-								getPerunBl().getMembersManagerBl().invalidateMember(sess, richMember);
-								try {
-									getPerunBl().getMembersManagerBl().validateMember(sess, richMember);
-								} catch (WrongAttributeValueException | WrongReferenceAttributeValueException e) {
-									log.info("Switching member id {} into INVALID state from DISABLED, because there was problem with attributes {}.", richMember.getId(), e);
+					UserExtSource userExtSource = getPerunBl().getUsersManagerBl().getUserExtSourceByExtLogin(sess, memberSource, login);
+					userExtSources.add(userExtSource);
+				} catch (UserExtSourceNotExistsException e) {
+					//skipping, this extSource does not exist and thus won't be in the list
+				}
+				List<UserExtSource> additionalUserExtSources = Utils.extractAdditionalUserExtSources(sess, subjectFromLoginSource).stream().map(RichUserExtSource::asUserExtSource).collect(toList());
+				userExtSources.addAll(additionalUserExtSources);
+				for (UserExtSource source : userExtSources) {
+					try {
+						user = getPerunBl().getUsersManagerBl().getUserByUserExtSource(sess, source);
+						// check if user is already member of group's vo
+						if (idsOfUsersInVo.contains(user.getId())) {
+							if (idsOfUsersInGroup.containsKey(user.getId())) {
+								//we can skip this one, because he is already in group, and remove him from the map
+								//but first we need to also validate him if he was disabled before (invalidate and then validate)
+								RichMember richMember = idsOfUsersInGroup.get(user.getId());
+								if (richMember != null && Status.DISABLED.equals(richMember.getStatus())) {
+									getPerunBl().getMembersManagerBl().invalidateMember(sess, richMember);
+									try {
+										getPerunBl().getMembersManagerBl().validateMember(sess, richMember);
+									} catch (WrongAttributeValueException | WrongReferenceAttributeValueException e) {
+										log.info("Switching member id {} into INVALID state from DISABLED, because there was problem with attributes {}.", richMember.getId(), e);
+									}
 								}
+								idsOfUsersInGroup.remove(user.getId());
+							} else {
+								//he is not yet in group, so we need to create a candidate
+								Candidate candidate = new Candidate(user, source);
+								//for lightweight synchronization we want to skip all update of attributes
+								candidate.setAttributes(new HashMap<>());
+								candidatesToAdd.add(candidate);
 							}
-							idsOfUsersInGroup.remove(user.getId());
-						} else {
-							//he is not yet in group, so we need to create a candidate
-							Candidate candidate = new Candidate(user, source);
-							//for lightweight synchronization we want to skip all update of attributes
-							candidate.setAttributes(new HashMap<>());
-							candidatesToAdd.add(candidate);
+							break;
 						}
-						break;
+					} catch(UserNotExistsException e) {
+						//skip because the user from this ExtSource does not exist so we can continue
 					}
-				} catch(UserNotExistsException e) {
-					//skip because the user from this ExtSource does not exist so we can continue
 				}
-			}
 
-			// If user not found in group's vo, skip him and log it
-			if (user == null) {
-				log.debug("Subject {} with login {} was skipped during lightweight synchronization of group {} because he is not in vo of the group yet.", subjectFromLoginSource, login, group);
+				// If user not found in group's vo, skip him and log it
+				if (user == null) {
+					log.debug("Subject {} with login {} was skipped during lightweight synchronization of group {} because he is not in vo of the group yet.", subjectFromLoginSource, login, group);
+				}
 			}
 		}
 
@@ -3052,41 +3207,6 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		membersToRemove.addAll(idsOfUsersInGroup.values());
 	}
 
-	/**
-	 * This method fill 3 member structures which get as parameters:
-	 * 1. membersToUpdate - Candidates with equivalent Members from Perun for purpose of updating attributes and statuses
-	 * 2. candidateToAdd - New members of the group
-	 * 3. membersToRemove - Former members who are not in synchronized ExtSource now
-	 *
-	 * @param sess
-	 * @param groupMembers current group members
-	 * @param candidates to be synchronized from extSource
-	 * @param membersToUpdate 1. container (more above)
-	 * @param candidatesToAdd 2. container (more above)
-	 * @param membersToRemove 3. container (more above)
-	 *
-	 */
-	private void categorizeMembersForSynchronization(PerunSession sess, List<RichMember> groupMembers, List<Candidate> candidates, List<Candidate> candidatesToAdd, Map<Candidate, RichMember> membersToUpdate, List<RichMember> membersToRemove) {
-		candidatesToAdd.addAll(candidates);
-		membersToRemove.addAll(groupMembers);
-		//mapping structure for more efficient searching
-		Map<UserExtSource, RichMember> mappingStructure = this.createMappingStructure(groupMembers);
-
-		//try to find already existing candidates between members in group
-		for(Candidate candidate: candidates) {
-			List<UserExtSource> candidateExtSources = candidate.getUserExtSources();
-			for(UserExtSource key: candidateExtSources) {
-				//candidate exists, will be updated
-				if(mappingStructure.containsKey(key)) {
-					membersToUpdate.put(candidate, mappingStructure.get(key));
-					candidatesToAdd.remove(candidate);
-					membersToRemove.remove(mappingStructure.get(key));
-					break;
-				}
-			}
-		}
-	}
-
 	/**
 	 * Get ExtSource by name from attribute group:groupMembersExtSource.
 	 * Attribute can be null so if is not set, use default source.
@@ -3234,16 +3354,17 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		Map<String, Group> listOfSubGroupsWithLogins = new HashMap<>();
 
 		List<Group> groups = this.getAllSubGroups(sess, baseGroup);
+		Map<Group, Attribute> logins;
+		try {
+			logins = perunBl.getAttributesManagerBl().getAttributeForGroups(sess, groups, loginAttributeDefinition.getName());
+		} catch (WrongAttributeAssignmentException ex) {
+			//it does mean wrong behavior of other methods
+			throw new InternalErrorException(ex);
+		} catch (AttributeNotExistsException ex) {
+			throw new InternalErrorException("There is missing attribute login " + loginAttributeDefinition + " for groups in structure under base group " + baseGroup, ex);
+		}
 		for(Group group: groups) {
-			try {
-				Attribute loginValue = perunBl.getAttributesManagerBl().getAttribute(sess, group, loginAttributeDefinition.getName());
-				listOfSubGroupsWithLogins.put(loginValue.valueAsString(), group);
-			} catch (WrongAttributeAssignmentException ex) {
-				//it does mean wrong behavior of other methods
-				throw new InternalErrorException(ex);
-			} catch (AttributeNotExistsException ex) {
-				throw new InternalErrorException("There is missing attribute login " + loginAttributeDefinition + " for group " + group + " in structure under base group " + baseGroup, ex);
-			}
+			listOfSubGroupsWithLogins.put(logins.get(group).valueAsString(), group);
 		}
 
 		return listOfSubGroupsWithLogins;
@@ -3302,19 +3423,14 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	}
 
 	/**
-	 * Return List of subjects, where subject is map of attribute names and attribute values.
-	 * Every subject is structure for creating Candidate from ExtSource.
+	 * Get all group attributes and store them to map (info like query, time interval etc.) for querying the extSource.
 	 *
 	 * @param sess
-	 * @param source to get subjects from
 	 * @param group to be synchronized
 	 *
-	 * @return list of subjects
-	 *
-	 * @throws InternalErrorException if internal error occurs
+	 * @return map of attribute names and values
 	 */
-	private List<Map<String, String>> getSubjectsFromExtSource(PerunSession sess, ExtSource source, Group group) {
-		//Get all group attributes and store tham to map (info like query, time interval etc.)
+	private Map<String, String> getGroupAttributesForExtSource(PerunSession sess, Group group) {
 		List<Attribute> groupAttributes = getPerunBl().getAttributesManagerBl().getAttributes(sess, group);
 		Map<String, String> groupAttributesMap = new HashMap<>();
 		for (Attribute attr: groupAttributes) {
@@ -3322,15 +3438,117 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			String name = attr.getName();
 			groupAttributesMap.put(name, value);
 		}
+		return groupAttributesMap;
+	}
+
+	/**
+	 * Get fingerprint of the group in the extSource together with the configuration of its synchronization,
+	 * so the change of configuration is not skipped either.
+	 *
+	 * @param sess
+	 * @param group to be synchronized
+	 * @param source default group ExtSource
+	 * @param membersSource ExtSource of members
+	 * @param lightweightSynchronization true if the synchronization is lightweight
+	 *
+	 * @return fingerprint or null, if the extSource can't provide it
+	 *
+	 * @throws InternalErrorException if internal error occurs
+	 */
+	private String getGroupSubjectsFingerprint(PerunSession sess, Group group, ExtSource source, ExtSource membersSource, boolean lightweightSynchronization) {
+		Map<String, String> groupAttributesMap = getGroupAttributesForExtSource(sess, group);
+		String sourceFingerprint = ((ExtSourceSimpleApi) source).getGroupSubjectsFingerprint(groupAttributesMap);
+		if (sourceFingerprint == null) return null;
+
+		String fingerprint = String.join("\n", sourceFingerprint, source.getName(), membersSource.getName(), String.valueOf(lightweightSynchronization),
+			groupAttributesMap.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME), groupAttributesMap.get(GroupsManager.GROUPMEMBERSFILTER_ATTRNAME),
+			groupAttributesMap.get(GroupsManager.GROUPMEMBERSFINGERPRINTQUERY_ATTRNAME));
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new InternalErrorException("Can't compute fingerprint of " + group, e);
+		}
+	}
+
+	/**
+	 * Check if the fingerprint is the same as at the last full synchronization and the maximal number
+	 * of skipped synchronizations is not reached. If so, increase number of skipped synchronizations
+	 * and save duration of the check.
+	 *
+	 * @param sess
+	 * @param group to be synchronized
+	 * @param fingerprint current fingerprint of the group
+	 * @param startTime start of the synchronization (from System.nanoTime())
+	 *
+	 * @return true if the synchronization can be skipped
+	 *
+	 * @throws AttributeNotExistsException if some of synchronization attributes not exists
+	 * @throws WrongAttributeAssignmentException if some of synchronization attributes is wrongly assigned
+	 */
+	private boolean skipUnchangedGroupSynchronization(PerunSession sess, Group group, String fingerprint, long startTime) throws AttributeNotExistsException, WrongAttributeAssignmentException {
+		Attribute lastFingerprint = getPerunBl().getAttributesManagerBl().getAttribute(sess, group, GroupsManager.GROUP_LAST_SYNC_FINGERPRINT_ATTRNAME);
+		Attribute skippedCount = getPerunBl().getAttributesManagerBl().getAttribute(sess, group, GroupsManager.GROUP_SKIPPED_SYNCS_COUNT_ATTRNAME);
+		int skipped = skippedCount.getValue() == null ? 0 : (Integer) skippedCount.getValue();
+
+		if (!fingerprint.equals(lastFingerprint.getValue()) || skipped >= BeansUtils.getCoreConfig().getGroupSynchronizationMaxSkips()) {
+			return false;
+		}
+
+		Attribute skippedDuration = new Attribute(getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUP_LAST_SKIPPED_SYNC_DURATION_ATTRNAME));
+		skippedCount.setValue(skipped + 1);
+		skippedDuration.setValue((int) ((System.nanoTime() - startTime) / 1000000));
+		try {
+			getPerunBl().getAttributesManagerBl().setAttributes(sess, group, Arrays.asList(skippedCount, skippedDuration));
+		} catch (WrongAttributeValueException | WrongReferenceAttributeValueException e) {
+			throw new InternalErrorException("Can't save information about skipped synchronization of " + group, e);
+		}
+		return true;
+	}
+
+	/**
+	 * Save fingerprint of the group after its full synchronization and reset number of skipped synchronizations.
+	 *
+	 * @param sess
+	 * @param group synchronized group
+	 * @param fingerprint fingerprint of the group or null, if next synchronization can't be skipped
+	 *
+	 * @throws AttributeNotExistsException if some of synchronization attributes not exists
+	 * @throws WrongAttributeAssignmentException if some of synchronization attributes is wrongly assigned
+	 */
+	private void saveGroupSubjectsFingerprint(PerunSession sess, Group group, String fingerprint) throws AttributeNotExistsException, WrongAttributeAssignmentException {
+		Attribute lastFingerprint = new Attribute(getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUP_LAST_SYNC_FINGERPRINT_ATTRNAME));
+		Attribute skippedCount = new Attribute(getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUP_SKIPPED_SYNCS_COUNT_ATTRNAME));
+		lastFingerprint.setValue(fingerprint);
+		//null value removes the attribute
+		skippedCount.setValue(null);
+		try {
+			getPerunBl().getAttributesManagerBl().setAttributes(sess, group, Arrays.asList(lastFingerprint, skippedCount));
+		} catch (WrongAttributeValueException | WrongReferenceAttributeValueException e) {
+			throw new InternalErrorException("Can't save fingerprint of " + group, e);
+		}
+	}
+
+	/**
+	 * Return Stream of subjects, where subject is map of attribute names and attribute values.
+	 * Every subject is structure for creating Candidate from ExtSource.
+	 * Subjects are read from ExtSource while the stream is consumed, the stream has to be closed.
+	 *
+	 * @param sess
+	 * @param source to get subjects from
+	 * @param group to be synchronized
+	 *
+	 * @return stream of subjects
+	 *
+	 * @throws InternalErrorException if internal error occurs
+	 */
+	private Stream<Map<String, String>> getSubjectsStreamFromExtSource(PerunSession sess, ExtSource source, Group group) {
+		Map<String, String> groupAttributesMap = getGroupAttributesForExtSource(sess, group);
 		//-- Get Subjects in form of map where left string is name of attribute and right string is value of attribute, every subject is one map
-		List<Map<String, String>> subjects;
 		try {
-			subjects = ((ExtSourceSimpleApi) source).getGroupSubjects(groupAttributesMap);
-			log.debug("Group synchronization {}: external group contains {} members.", group, subjects.size());
+			return ((ExtSourceSimpleApi) source).getGroupSubjectsStream(groupAttributesMap);
 		} catch (ExtSourceUnsupportedOperationException e2) {
 			throw new InternalErrorException("ExtSource " + source.getName() + " doesn't support getGroupSubjects", e2);
 		}
-		return subjects;
 	}
 
 	/**
@@ -3347,19 +3565,16 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @param subjects list of subjects from ExtSource (at least login should be here)
 	 * @param membersSource optional member ExtSource (if members attributes are from other source then their logins)
 	 * @param source default group ExtSource
-	 * @param actualGroupMembers actual members of synchronized group
+	 * @param diff difference with actual members of synchronized group
 	 * @param skippedMembers not successfully synchronized members are skipped and information about it should be added here
 	 *
 	 * @return list of successfully created candidates from subjects
 	 *
 	 * @throws InternalErrorException if some internal error occurs
 	 */
-	private List<Candidate> convertSubjectsToCandidates(PerunSession sess, List<Map<String, String>> subjects, ExtSource membersSource, ExtSource source, List<RichMember> actualGroupMembers, List<String> skippedMembers) {
+	private List<Candidate> convertSubjectsToCandidates(PerunSession sess, List<Map<String, String>> subjects, ExtSource membersSource, ExtSource source, MembersSynchronizationDiff diff, List<String> skippedMembers) {
 		List<Candidate> candidates = new ArrayList<>();
 
-		//mapping structure for more efficient searching of actual group members
-		Map<UserExtSource, RichMember> mappingStructure = this.createMappingStructure(actualGroupMembers);
-
 		for (Map<String, String> subject: subjects) {
 			String login = subject.get("login");
 			// Skip subjects, which doesn't have login
@@ -3391,8 +3606,8 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 				//If member can't be find in the member's extSource (we are missing other attributes) we can try find him in the group
 				UserExtSource subjectUserExtSource = new UserExtSource(membersSource, login);
 				//If member is in the group, we can create a simple object from him to preserve his existence in the group
-				if(mappingStructure.containsKey(subjectUserExtSource)) {
-					RichMember richMember = mappingStructure.get(subjectUserExtSource);
+				RichMember richMember = diff.getMemberByUserExtSource(subjectUserExtSource);
+				if(richMember != null) {
 					//convert richMember to simple candidate object (to prevent wrong attribute updating)
 					candidates.add(BeansUtils.convertRichMemberToCandidate(richMember, subjectUserExtSource));
 					skippedMembers.add("MemberEntry:[" + richMember + "] was skipped from updating in the group, because he can't be found by login:'" + login + "' in extSource " + membersSource);
@@ -3411,6 +3626,23 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		return candidates;
 	}
 
+	/**
+	 * Sort candidates and add them to the group one by one.
+	 *
+	 * @param sess perun session
+	 * @param group to be synchronized
+	 * @param candidatesToAdd new members of the group
+	 * @param overwriteUserAttributesList list of user attributes to be updated instead of merged
+	 * @param mergeMemberAttributesList list of member attributes to be merged instead of updated
+	 * @param skippedMembers not successfully synchronized members are skipped and information about it should be added here
+	 */
+	private void addMissingMembersWhileSynchronization(PerunSession sess, Group group, List<Candidate> candidatesToAdd, List<String> overwriteUserAttributesList, List<String> mergeMemberAttributesList, List<String> skippedMembers) {
+		Collections.sort(candidatesToAdd);
+		for (Candidate candidateToAdd : candidatesToAdd) {
+			addMissingMemberWhileSynchronization(sess, group, candidateToAdd, overwriteUserAttributesList, mergeMemberAttributesList, skippedMembers);
+		}
+	}
+
 	/**
 	 * Get candidate and corresponding memberToUpdate and update his attributes, extSources, expiration and status.
 	 *
@@ -3977,16 +4209,19 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	}
 
 	/**
-	 * For given group, set up attributes specified in the given map.
+	 * For given groups, set up attributes specified in the given maps.
 	 * This method can only set group def attributes. Old values are
-	 * replaced with the new ones.
+	 * replaced with the new ones. Each attribute is set for all groups at once.
 	 *
 	 * @param sess session
-	 * @param group group
-	 * @param additionalAttributes map with attrNames and values
+	 * @param additionalAttributes map of groups to maps with attrNames and values
 	 */
-	private void setUpAdditionalAttributes(PerunSession sess, Group group, Map<String, String> additionalAttributes) {
-		additionalAttributes.forEach((attrName, rawValue) -> {
+	private void setUpAdditionalAttributes(PerunSession sess, Map<Group, Map<String, String>> additionalAttributes) {
+		Map<String, Map<Group, String>> rawValuesByAttrNames = new HashMap<>();
+		additionalAttributes.forEach((group, attributes) -> attributes.forEach((attrName, rawValue) ->
+				rawValuesByAttrNames.computeIfAbsent(attrName, name -> new HashMap<>()).put(group, rawValue)));
+
+		rawValuesByAttrNames.forEach((attrName, rawValues) -> {
 			if (!attrName.startsWith(AttributesManager.NS_GROUP_ATTR_DEF)) {
 				throw new InternalErrorException("Cannot synchronize a non group-def attribute - " + attrName);
 			}
@@ -3997,10 +4232,10 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 				throw new InternalErrorException("Not existing attribute specified to be set for a group during group" +
 						"structure synchronization: " + attrName, exception);
 			}
-			Object value = BeansUtils.stringToAttributeValue(rawValue, definition.getType());
-			Attribute attribute = new Attribute(definition, value);
+			Map<Group, Object> values = new HashMap<>();
+			rawValues.forEach((group, rawValue) -> values.put(group, BeansUtils.stringToAttributeValue(rawValue, definition.getType())));
 			try {
-				getPerunBl().getAttributesManagerBl().setAttribute(sess, group, attribute);
+				getPerunBl().getAttributesManagerBl().setAttributeForGroups(sess, definition, values);
 			} catch (WrongAttributeValueException | WrongAttributeAssignmentException | WrongReferenceAttributeValueException e) {
 				// Probably should not happen
 				throw new InternalErrorException("Failed to set synced group attribute.", e);
@@ -4010,13 +4245,14 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 	/**
 	 * Set up attributes, which are necessary for members synchronization,for all subgroups of given base group.
+	 * Each attribute is set for all subgroups at once and only changed values are written.
 	 *
 	 * Method used by group structure synchronization
 	 *
 	 * @param sess
 	 * @param baseGroup from which are sub groups taken
 	 * @param source from which members are synchronized
-	 * @param loginAttributeDefinition attribute definition of group's login in the structure
+	 * @param groupsByLogins all subgroups of the base group by their logins
 	 * @param loginPrefix prefix for login in structure
 	 * @throws InternalErrorException
 	 * @throws AttributeNotExistsException
@@ -4024,43 +4260,71 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @throws WrongAttributeValueException
 	 * @throws WrongReferenceAttributeValueException
 	 */
-	private void setUpSynchronizationAttributesForAllSubGroups(PerunSession sess, Group baseGroup, ExtSource source, AttributeDefinition loginAttributeDefinition, String loginPrefix) throws AttributeNotExistsException, WrongAttributeAssignmentException, WrongAttributeValueException, WrongReferenceAttributeValueException {
+	private void setUpSynchronizationAttributesForAllSubGroups(PerunSession sess, Group baseGroup, ExtSource source, Map<String, Group> groupsByLogins, String loginPrefix) throws AttributeNotExistsException, WrongAttributeAssignmentException, WrongAttributeValueException, WrongReferenceAttributeValueException {
 		Attribute baseMembersQuery = getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
 
 		if (baseMembersQuery.getValue() == null) {
 			throw new WrongAttributeValueException("Group members query attribute is not set for base group " + baseGroup + "!");
 		}
 
-		Attribute membersQueryAttribute = new Attribute(getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUPMEMBERSQUERY_ATTRNAME));
-		Attribute baseMemberExtsource = getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUPMEMBERSEXTSOURCE_ATTRNAME);
-		Attribute lightWeightSynchronization = getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUPLIGHTWEIGHTSYNCHRONIZATION_ATTRNAME);
-		Attribute synchronizationInterval = getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUPSYNCHROINTERVAL_ATTRNAME);
-		Attribute extSourceNameAttr = new Attribute(getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUPEXTSOURCE_ATTRNAME));
-		Attribute synchroEnabled = new Attribute(getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUPSYNCHROENABLED_ATTRNAME));
-		Attribute synchronizationTimes = getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUP_SYNCHRO_TIMES_ATTRNAME);
-
-		extSourceNameAttr.setValue(source.getName());
-		synchroEnabled.setValue("true");
+		AttributeDefinition membersQueryDefinition = getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
+		AttributeDefinition extSourceNameDefinition = getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUPEXTSOURCE_ATTRNAME);
+		AttributeDefinition synchroEnabledDefinition = getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUPSYNCHROENABLED_ATTRNAME);
+		List<Attribute> baseAttributes = new ArrayList<>(Arrays.asList(
+				getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUPMEMBERSEXTSOURCE_ATTRNAME),
+				getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUPLIGHTWEIGHTSYNCHRONIZATION_ATTRNAME),
+				getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUPSYNCHROINTERVAL_ATTRNAME),
+				getPerunBl().getAttributesManagerBl().getAttribute(sess, baseGroup, GroupsManager.GROUP_SYNCHRO_TIMES_ATTRNAME)));
 
-		List<Group> groupsForMemberSynchronization = getAllSubGroups(sess, baseGroup);
+		List<Group> groupsForMemberSynchronization = new ArrayList<>(groupsByLogins.values());
+		if (groupsForMemberSynchronization.isEmpty()) return;
 
-		//for each group set attributes for members synchronization, synchronize them and save the result
+		//assign ext source only to groups which don't have it assigned yet, assigned groups are loaded at once
+		Set<Integer> groupsWithExtSource = getGroupsWithAssignedExtSourceInVo(sess, source, getVo(sess, baseGroup)).stream()
+				.map(Group::getId)
+				.collect(Collectors.toSet());
 		for (Group group: groupsForMemberSynchronization) {
+			if (groupsWithExtSource.contains(group.getId())) continue;
 			try {
 				getPerunBl().getExtSourcesManagerBl().addExtSource(sess, group, source);
 			} catch (ExtSourceAlreadyAssignedException e) {
 				log.info("ExtSource already assigned to group: {}", group);
 			}
+		}
 
+		Map<Group, Object> membersQueries = new HashMap<>();
+		for (Map.Entry<String, Group> entry : groupsByLogins.entrySet()) {
 			//we want to set login of group
-			Attribute loginAttribute = getPerunBl().getAttributesManagerBl().getAttribute(sess, group, loginAttributeDefinition.getName());
-			if(loginAttribute.getValue() == null) throw new InternalErrorException("For purpose of setting attributes for " + group + " we need to have not empty group login " + loginAttribute);
+			if(entry.getKey() == null) throw new InternalErrorException("For purpose of setting attributes for " + entry.getValue() + " we need to have not empty group login.");
 			//replace question mark for login without prefix (strip prefix from it)
-			membersQueryAttribute.setValue(baseMembersQuery.getValue().toString().replace("?", loginAttribute.valueAsString().replaceFirst(loginPrefix, "")));
+			membersQueries.put(entry.getValue(), baseMembersQuery.getValue().toString().replace("?", entry.getKey().replaceFirst(loginPrefix, "")));
+		}
 
-			getPerunBl().getAttributesManagerBl().setAttributes(sess, group, Arrays.asList(baseMemberExtsource, lightWeightSynchronization, synchronizationInterval, synchroEnabled, membersQueryAttribute, synchronizationTimes, extSourceNameAttr));
+		//removed values go first, so mutually exclusive attributes (synchronization interval and times) are never set together
+		baseAttributes.sort(Comparator.comparing((Attribute attribute) -> attribute.getValue() != null));
+		for (Attribute baseAttribute : baseAttributes) {
+			setAttributeForGroups(sess, new AttributeDefinition(baseAttribute), groupsForMemberSynchronization, baseAttribute.getValue());
 		}
+		getPerunBl().getAttributesManagerBl().setAttributeForGroups(sess, membersQueryDefinition, membersQueries);
+		setAttributeForGroups(sess, extSourceNameDefinition, groupsForMemberSynchronization, source.getName());
+		//synchronization can be enabled only when the other attributes are set
+		setAttributeForGroups(sess, synchroEnabledDefinition, groupsForMemberSynchronization, "true");
+	}
 
+	/**
+	 * Set the same value of the attribute for all the groups at once.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition definition of the group attribute
+	 * @param groups groups to set the attribute for
+	 * @param value value of the attribute, null removes the attribute
+	 */
+	private void setAttributeForGroups(PerunSession sess, AttributeDefinition attributeDefinition, List<Group> groups, Object value) throws WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException {
+		Map<Group, Object> values = new HashMap<>();
+		for (Group group : groups) {
+			values.put(group, value);
+		}
+		getPerunBl().getAttributesManagerBl().setAttributeForGroups(sess, attributeDefinition, values);
 	}
 
 	/**
@@ -4236,32 +4500,6 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		return attributeToProcess;
 	}
 
-	/**
-	 * This method categorize candidate groups to groups to add, update and remove
-	 *
-	 * Method used by group structure synchronization
-	 *
-	 * @param currentGroups current groups
-	 * @param candidateGroups to be synchronized from extSource
-	 * @param groupsToUpdate Candidate groups with equivalent Groups from Perun for purpose of updating attributes
-	 * @param candidateGroupsToAdd  New groups
-	 * @param groupsToRemove Former groups which are not in synchronized ExtSource now
-	 */
-	private void categorizeGroupsForSynchronization(Map<String, Group> currentGroups, List<CandidateGroup> candidateGroups, List<CandidateGroup> candidateGroupsToAdd, Map<CandidateGroup, Group> groupsToUpdate, List<Group> groupsToRemove) {
-		candidateGroupsToAdd.addAll(candidateGroups);
-		groupsToRemove.addAll(currentGroups.values());
-
-		for(CandidateGroup candidateGroup : candidateGroups) {
-			String loginOfCandidateGroup = candidateGroup.getLogin();
-
-			if(currentGroups.containsKey(loginOfCandidateGroup)) {
-				groupsToUpdate.put(candidateGroup, currentGroups.get(loginOfCandidateGroup));
-				candidateGroupsToAdd.remove(candidateGroup);
-				groupsToRemove.remove(currentGroups.get(loginOfCandidateGroup));
-			}
-		}
-	}
-
 	/**
 	 * Method checks if group structure synchronization has to respect hierarchy of groups in external source.
 	 *
@@ -4322,6 +4560,91 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		return subjects;
 	}
 
+	/**
+	 * Build the group structure by the plan of synchronization level by level from the top.
+	 * Groups of each level are moved or created directly under their final parents, which are already
+	 * on their final places. Logins of new groups and additional attributes are set for many groups at once.
+	 *
+	 * If some problem occurs, the group is added to skippedGroups and skipped. Its subgroups are then placed under the base group.
+	 *
+	 * Method is used by group structure synchronization.
+	 *
+	 * @param sess
+	 * @param baseGroup under which will be group structure synchronized
+	 * @param diff plan of the synchronization
+	 * @param groupsMoved true if groups of the structure were already moved, so the loaded groups are out of date
+	 * @param loginAttributeDefinition attribute definition for login of group
+	 * @param skippedGroups groups to be skipped because of any expected problem
+	 *
+	 * @throws InternalErrorException if some internal error occurs
+	 */
+	private void synchronizeGroupStructureLevels(PerunSession sess, Group baseGroup, GroupStructureSynchronizationDiff diff, boolean groupsMoved, AttributeDefinition loginAttributeDefinition, List<String> skippedGroups) {
+		Map<String, Group> groupsByLogins = new HashMap<>();
+		diff.getGroupsToUpdate().forEach((candidateGroup, group) -> groupsByLogins.put(candidateGroup.getLogin(), group));
+		Map<Group, Map<String, String>> additionalAttributes = new HashMap<>();
+
+		// moving of a group changes names of all its subgroups, so the groups have to be loaded again
+		if (groupsMoved) reloadGroupsOfStructure(sess, baseGroup, groupsByLogins);
+
+		for (List<CandidateGroup> level : diff.getLevels()) {
+			Map<CandidateGroup, Group> groupsToUpdate = new LinkedHashMap<>();
+			List<CandidateGroup> candidateGroupsToAdd = new ArrayList<>();
+			for (CandidateGroup candidateGroup : level) {
+				if (diff.getGroupsToUpdate().containsKey(candidateGroup)) {
+					groupsToUpdate.put(candidateGroup, groupsByLogins.get(candidateGroup.getLogin()));
+				} else {
+					candidateGroupsToAdd.add(candidateGroup);
+				}
+			}
+
+			//existing groups go first, so they don't block names of new groups under their former parents
+			if (updateExistingGroupsWhileSynchronization(sess, baseGroup, diff, groupsToUpdate, groupsByLogins, skippedGroups)) {
+				reloadGroupsOfStructure(sess, baseGroup, groupsByLogins);
+			}
+			Map<CandidateGroup, Group> createdGroups = addMissingGroupsWhileSynchronization(sess, baseGroup, diff, candidateGroupsToAdd, groupsByLogins, loginAttributeDefinition, skippedGroups);
+
+			groupsToUpdate.forEach((candidateGroup, group) -> additionalAttributes.put(group, candidateGroup.getAdditionalAttributes()));
+			createdGroups.forEach((candidateGroup, group) -> additionalAttributes.put(group, candidateGroup.getAdditionalAttributes()));
+		}
+
+		setUpAdditionalAttributes(sess, additionalAttributes);
+	}
+
+	/**
+	 * Replace loaded groups of the structure by their current state.
+	 *
+	 * Method is used by group structure synchronization.
+	 *
+	 * @param sess
+	 * @param baseGroup base group of the structure
+	 * @param groupsByLogins loaded groups of the structure by their logins
+	 */
+	private void reloadGroupsOfStructure(PerunSession sess, Group baseGroup, Map<String, Group> groupsByLogins) {
+		Map<Integer, Group> groupsByIds = new HashMap<>();
+		for (Group group : getAllSubGroups(sess, baseGroup)) {
+			groupsByIds.put(group.getId(), group);
+		}
+		groupsByLogins.replaceAll((login, group) -> groupsByIds.getOrDefault(group.getId(), group));
+	}
+
+	/**
+	 * Return final parent group for the candidate group.
+	 *
+	 * Method is used by group structure synchronization.
+	 *
+	 * @param baseGroup base group in structure
+	 * @param diff plan of the synchronization
+	 * @param candidateGroup candidate group
+	 * @param groupsByLogins groups of the structure by their logins
+	 * @return parent group of candidate group, if there is none, return base group
+	 */
+	private Group getParentGroupForSynchronization(Group baseGroup, GroupStructureSynchronizationDiff diff, CandidateGroup candidateGroup, Map<String, Group> groupsByLogins) {
+		String parentGroupLogin = diff.getParentLogin(candidateGroup.getLogin());
+		if (parentGroupLogin == null) return baseGroup;
+		//parent group could be skipped, its subgroups are placed under the base group then
+		return groupsByLogins.getOrDefault(parentGroupLogin, baseGroup);
+	}
+
 	/**
 	 * Get Map groupsToUpdate and update their parent group and description.
 	 * We don't have to update short name, because if short name has changed, group will be removed and created with new name.
@@ -4332,29 +4655,30 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 *
 	 * @param sess
 	 * @param baseGroup under which will be group structure synchronized
-	 * @param groupsToUpdate list of groups for updating in Perun by information from extSource
-	 * @param removedGroupsIds list of ids already removed groups (these groups not exists in Perun anymore)
-	 * @param loginAttributeDefinition attribute definition for login of group
+	 * @param diff plan of the synchronization
+	 * @param groupsToUpdate groups of one level for updating in Perun by information from extSource
+	 * @param groupsByLogins groups of the structure by their logins
 	 * @param skippedGroups groups to be skipped because of any expected problem
+	 * @return true if any group was moved
 	 *
 	 * @throws InternalErrorException if some internal error occurs
 	 */
-	private void updateExistingGroupsWhileSynchronization(PerunSession sess, Group baseGroup, Map<CandidateGroup, Group> groupsToUpdate, List<Integer> removedGroupsIds, AttributeDefinition loginAttributeDefinition, List<String> skippedGroups) {
-
-		for(CandidateGroup candidateGroup: groupsToUpdate.keySet()) {
-			Group groupToUpdate = groupsToUpdate.get(candidateGroup);
-			//If group had parent which was already removed from perun, it was moved under base group, change it's parent group id properly for updating
-			if(removedGroupsIds.contains(groupToUpdate.getParentGroupId())) groupToUpdate.setParentGroupId(baseGroup.getId());
+	private boolean updateExistingGroupsWhileSynchronization(PerunSession sess, Group baseGroup, GroupStructureSynchronizationDiff diff, Map<CandidateGroup, Group> groupsToUpdate, Map<String, Group> groupsByLogins, List<String> skippedGroups) {
+		boolean groupsMoved = false;
 
-			setUpAdditionalAttributes(sess, groupToUpdate, candidateGroup.getAdditionalAttributes());
+		for(Map.Entry<CandidateGroup, Group> entry: groupsToUpdate.entrySet()) {
+			CandidateGroup candidateGroup = entry.getKey();
+			Group groupToUpdate = entry.getValue();
 
-			Group newParentGroup = specifyParentForUpdatedGroup(sess, groupToUpdate, baseGroup, candidateGroup, loginAttributeDefinition.getName());
+			Group newParentGroup = getParentGroupForSynchronization(baseGroup, diff, candidateGroup, groupsByLogins);
 
-			if(newParentGroup != null) {
+			if(!Objects.equals(groupToUpdate.getParentGroupId(), newParentGroup.getId())) {
+				Integer oldParentGroupId = groupToUpdate.getParentGroupId();
 				try {
 					moveGroup(sess, newParentGroup, groupToUpdate);
+					groupsMoved = true;
 					log.trace("Group structure synchronization {}: value of the parentGroupId for groupId {} changed. Original value {}, new value {}.",
-							baseGroup, groupToUpdate.getId(), groupToUpdate.getParentGroupId(), newParentGroup.getId());
+							baseGroup, groupToUpdate.getId(), oldParentGroupId, newParentGroup.getId());
 				} catch (GroupMoveNotAllowedException e) {
 					log.warn("Can't update group {} due to group move not allowed exception {}.", groupToUpdate, e);
 					skippedGroups.add("GroupEntry:[" + groupToUpdate + "] was skipped because group move is not allowed: Exception: " + e.getName() + " => " + e.getMessage() + "]");
@@ -4377,109 +4701,8 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			}
 
 		}
-	}
-
-	/**
-	 * Specify parent group for group which is updated by synchronization
-	 *
-	 * Method is used by group structure synchronization.
-	 *
-	 * @param groupToUpdate for which will be parent specified
-	 * @param baseGroup under which may be new parent
-	 * @param candidateGroup with potential new parent group
-	 * @param loginAttributeName attribute name for login of group
-	 * @return updated parent group (if null, parent group hasn't changed)
-	 * @throws InternalErrorException
-	 */
-	private Group specifyParentForUpdatedGroup(PerunSession sess, Group groupToUpdate, Group baseGroup, CandidateGroup candidateGroup, String loginAttributeName) {
-		//get current parent of updated group, if there is no group (null), it means the group is under the base group
-		String oldParentGroupLogin = getOldParentGroupLogin(sess, groupToUpdate, baseGroup, loginAttributeName);
-
-		//check if there is difference between parents of current and new group, if not, return null
-		if(Objects.equals(oldParentGroupLogin, candidateGroup.getParentGroupLogin())) return null;
-
-		//if there is difference, we need to find a new parent group
-		Group newParentGroup = getNewParentGroup(sess, candidateGroup, baseGroup, loginAttributeName);
-
-		//check if the new parent group is also under the base group somewhere (if not, set base group as new parent group)
-		if(!newParentGroup.equals(baseGroup) && !getAllSubGroups(sess, baseGroup).contains(newParentGroup)) {
-			newParentGroup = baseGroup;
-		}
-
-		//check situation, where group is already under base group and the destination parent group is now base group too
-		if(oldParentGroupLogin == null && newParentGroup.equals(baseGroup)) {
-			return null;
-		}
-
-		return newParentGroup;
-	}
-
-	/**
-	 * Return parent group for the candidate group
-	 *
-	 * @param sess perun session
-	 * @param candidateGroup candidate group
-	 * @param baseGroup base group in structure
-	 * @param loginAttributeName attribute name of login in the structure
-	 * @return parent group of candidate group, if there is none, return base group
-	 */
-	private Group getNewParentGroup(PerunSession sess, CandidateGroup candidateGroup, Group baseGroup, String loginAttributeName) {
-		Group newParentGroup = baseGroup;
-
-		//if parent group login is not null, we need to find this new parent group (otherwise it is base group)
-		if(candidateGroup.getParentGroupLogin() != null) {
-			try {
-				//we need to have vo to filter groups, base group has to be from the same vo as new parent of candidate group
-				Vo baseGroupVo = getPerunBl().getVosManagerBl().getVoById(sess, baseGroup.getVoId());
-				List<Group> groupsWithLogin = getPerunBl().getSearcherBl().getGroups(sess, baseGroupVo, Collections.singletonMap(loginAttributeName, candidateGroup.getParentGroupLogin()));
-				//if there is missing the destination parent group, set base group as parent, there could be missing parent group in the extSource data
-				if (!groupsWithLogin.isEmpty()) {
-					//if there are more than one group with login, there is no way how to choose correct behavior
-					if (groupsWithLogin.size() > 1)
-						throw new InternalErrorException("More than 1 group has login attribute '" + loginAttributeName + "' set with the same login " + candidateGroup.getParentGroupLogin());
-					//our new parent group is exactly the one with the login set
-					return groupsWithLogin.get(0);
-				}
-			} catch (VoNotExistsException ex) {
-				throw new InternalErrorException("Vo of base group: " + baseGroup + " can't be found. Unexpected situation, can't continue.");
-			} catch (AttributeNotExistsException ex) {
-				throw new InternalErrorException("Can't find attribute definition for '" + loginAttributeName + "'.");
-			}
-		}
-
-		return newParentGroup;
-	}
-
-	/**
-	 * Return parent group login for the group to update in the group structure.
-	 *
-	 * @param sess perun session
-	 * @param groupToUpdate group to update
-	 * @param baseGroup base group in structure
-	 * @param loginAttributeName attribute name of login in the structure
-	 * @return current parent group login of group to update, null if there is none (it means base group should be parent)
-	 */
-	private String getOldParentGroupLogin(PerunSession sess, Group groupToUpdate, Group baseGroup, String  loginAttributeName) {
-		String oldParentGroupLogin = null;
-
-		//if group to update has parent group, return it and also it's login in the structure
-		if(groupToUpdate.getParentGroupId() != null && groupToUpdate.getParentGroupId() != baseGroup.getId()) {
-			try {
-				Group actualParentGroup = getGroupById(sess, groupToUpdate.getParentGroupId());
-				Attribute parentGroupLoginAttribute = getPerunBl().getAttributesManagerBl().getAttribute(sess, actualParentGroup, loginAttributeName);
-				//if there is missing login attribute of parent, throw an exception
-				if(parentGroupLoginAttribute.getValue() == null) throw new InternalErrorException("Can't work with parent group " + actualParentGroup + " without proper login attribute set.");
-				oldParentGroupLogin = parentGroupLoginAttribute.valueAsString();
-			} catch (WrongAttributeAssignmentException | GroupNotExistsException ex) {
-				//group should exist and wrong assignment means problem with setting of structure login attribute
-				throw new InternalErrorException(ex);
-			} catch (AttributeNotExistsException ex) {
-				//parent group need to have login or we can't really work with it
-				throw new InternalErrorException("Can't work with parent group of group: " + groupToUpdate + " without proper login attribute set.", ex);
-			}
-		}
 
-		return oldParentGroupLogin;
+		return groupsMoved;
 	}
 
 	/**
@@ -4521,7 +4744,8 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	}
 
 	/**
-	 * Add missing groups under base group in Perun
+	 * Add missing groups of one level under their parent groups in Perun.
+	 * Logins of all created groups are set at once.
 	 *
 	 * If some problem occurs, add candidateGroup to skippedGroups and skip it.
 	 *
@@ -4529,30 +4753,30 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 *
 	 * @param sess
 	 * @param baseGroup under which we will be synchronizing groups
-	 * @param candidateGroupsToAdd list of new groups (candidateGroups)
+	 * @param diff plan of the synchronization
+	 * @param candidateGroupsToAdd list of new groups (candidateGroups) of one level
+	 * @param groupsByLogins groups of the structure by their logins, created groups are added there
 	 * @param loginAttributeDefinition attribute definition for login of group
 	 * @param skippedGroups groups to be skipped because of any expected problem
+	 * @return created groups by their candidate groups
 	 *
 	 * @throws InternalErrorException if some internal error occurs
 	 */
-	private void addMissingGroupsWhileSynchronization(PerunSession sess, Group baseGroup, List<CandidateGroup> candidateGroupsToAdd, AttributeDefinition loginAttributeDefinition, List<String> skippedGroups) {
-		Map<CandidateGroup, Group> groupsToUpdate = new HashMap<>();
+	private Map<CandidateGroup, Group> addMissingGroupsWhileSynchronization(PerunSession sess, Group baseGroup, GroupStructureSynchronizationDiff diff, List<CandidateGroup> candidateGroupsToAdd, Map<String, Group> groupsByLogins, AttributeDefinition loginAttributeDefinition, List<String> skippedGroups) {
+		Map<CandidateGroup, Group> createdGroups = new LinkedHashMap<>();
+		Map<Group, Object> logins = new HashMap<>();
 
-		//create all groups under base group first
 		for (CandidateGroup candidateGroup: candidateGroupsToAdd) {
+			String login = candidateGroup.getLogin();
+			if(login == null) throw new InternalErrorException("Login of candidate group " + candidateGroup + " can't be null!");
+			Group parentGroup = getParentGroupForSynchronization(baseGroup, diff, candidateGroup, groupsByLogins);
 			try {
-				//create group
-				Group createdGroup = createGroup(sess, baseGroup, candidateGroup.asGroup());
-				groupsToUpdate.put(candidateGroup, createdGroup);
+				//create group directly under its parent
+				Group createdGroup = createGroup(sess, parentGroup, candidateGroup.asGroup());
+				createdGroups.put(candidateGroup, createdGroup);
+				groupsByLogins.put(login, createdGroup);
+				logins.put(createdGroup, login);
 				log.info("Group structure synchronization under base group {}: New Group id {} created during synchronization.", baseGroup, createdGroup.getId());
-
-				//set login for group
-				String login = candidateGroup.getLogin();
-				if(login == null) throw new InternalErrorException("Login of candidate group " + candidateGroup + " can't be null!");
-				Attribute loginAttribute = new Attribute(loginAttributeDefinition);
-				loginAttribute.setValue(login);
-				getPerunBl().getAttributesManagerBl().setAttribute(sess, createdGroup, loginAttribute);
-
 			} catch (GroupExistsException e) {
 				log.warn("Group {} was added to group structure {} before adding process. Skip this group.", candidateGroup, baseGroup);
 				skippedGroups.add("GroupEntry:[" + candidateGroup + "] was skipped because it was added to group structure before adding process: Exception: " + e.getName() + " => " + e.getMessage() + "]");
@@ -4562,16 +4786,22 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			} catch (GroupRelationAlreadyExists e) {
 				log.warn("Can't create group from candidate group {} due to group relation already exists exception {}.", candidateGroup, e);
 				skippedGroups.add("GroupEntry:[" + candidateGroup + "] was skipped because group relation already exists: Exception: " + e.getName() + " => " + e.getMessage() + "]");
-			} catch (WrongAttributeAssignmentException ex) {
-				//this means wrong setting of login attribute
-				throw new InternalErrorException(ex);
-			} catch (WrongAttributeValueException | WrongReferenceAttributeValueException ex) {
-				throw new InternalErrorException("Group login can't be set because of wrong value!", ex);
 			}
 		}
-		// update newly added groups cause the hierarchy could be incorrect
-		//no need to send list of removed parent groups here, because it is no need to resolve it for new groups at all
-		updateExistingGroupsWhileSynchronization(sess, baseGroup, groupsToUpdate, Collections.emptyList(), loginAttributeDefinition, skippedGroups);
+
+		if (logins.isEmpty()) return createdGroups;
+
+		//set logins for all created groups
+		try {
+			getPerunBl().getAttributesManagerBl().setAttributeForGroups(sess, loginAttributeDefinition, logins);
+		} catch (WrongAttributeAssignmentException ex) {
+			//this means wrong setting of login attribute
+			throw new InternalErrorException(ex);
+		} catch (WrongAttributeValueException | WrongReferenceAttributeValueException ex) {
+			throw new InternalErrorException("Group login can't be set because of wrong value!", ex);
+		}
+
+		return createdGroups;
 	}
 
 	/**
@@ -4664,10 +4894,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			return;
 		}
 
-		List<Integer> relations = groupsManagerImpl.getResultGroupsIds(sess, resultGroup.getId());
-		for (Integer groupId : relations) {
-			addRelationMembers(sess, groupsManagerImpl.getGroupById(sess, groupId), newMembers, resultGroup.getId());
-		}
+		propagateAddedMembers(sess, resultGroup, newMembers);
 	}
 
 	@Override
@@ -4680,9 +4907,95 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			return;
 		}
 
-		List<Integer> relations = groupsManagerImpl.getResultGroupsIds(sess, resultGroup.getId());
-		for (Integer groupId : relations) {
-			removeRelationMembers(sess, groupsManagerImpl.getGroupById(sess, groupId), members, resultGroup.getId());
+		propagateRemovedMembers(sess, resultGroup, members);
+	}
+
+	/**
+	 * Add members newly added to the group to all groups, which include the group at any level of relations.
+	 *
+	 * Groups are found in the transitive closure of relations and records of all relations are inserted
+	 * by one statement. Required attributes are set and audit messages are logged only for members,
+	 * who were not in the including group before.
+	 *
+	 * @param sess perun session
+	 * @param group group members were added to
+	 * @param members members, who were not in the group before
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	private void propagateAddedMembers(PerunSession sess, Group group, List<Member> members) throws WrongAttributeValueException, WrongReferenceAttributeValueException {
+		if (members.isEmpty()) return;
+		List<Integer> resultGroupsIds = groupsManagerImpl.getAllResultGroupsIds(sess, group.getId());
+		if (resultGroupsIds.isEmpty()) return;
+
+		List<Group> resultGroups = groupsManagerImpl.getGroupsByIds(sess, resultGroupsIds);
+		Collections.sort(resultGroups);
+		for (Group resultGroup : resultGroups) {
+			lockGroupMembership(resultGroup, members);
+		}
+
+		Map<Integer, Set<Integer>> groupIdsBefore = groupsManagerImpl.getGroupIdsOfMembers(sess, resultGroupsIds, members);
+		groupsManagerImpl.addMembersToAllResultGroups(sess, group, members);
+
+		for (Group resultGroup : resultGroups) {
+			List<Member> newMembers = new ArrayList<>();
+			for (Member member : members) {
+				if (!groupIdsBefore.getOrDefault(member.getId(), Collections.emptySet()).contains(resultGroup.getId())) {
+					newMembers.add(member);
+				}
+			}
+			setRequiredAttributes(sess, newMembers, resultGroup);
+			for (Member member : newMembers) {
+				getPerunBl().getAuditer().log(sess, new IndirectMemberAddedToGroup(member, resultGroup));
+			}
+		}
+	}
+
+	/**
+	 * Remove members removed from the group from all groups, which include the group at any level of relations,
+	 * unless they are there by another way.
+	 *
+	 * Indirect records, whose source group doesn't contain the member any more, are removed level by level
+	 * by set-based deletes. Member-group attributes are removed and audit messages are logged only for members,
+	 * who are not in the including group any more.
+	 *
+	 * @param sess perun session
+	 * @param group group members were removed from
+	 * @param members members, who are not in the group any more
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	private void propagateRemovedMembers(PerunSession sess, Group group, List<Member> members) throws WrongAttributeValueException, WrongReferenceAttributeValueException {
+		if (members.isEmpty()) return;
+		List<Integer> resultGroupsIds = groupsManagerImpl.getAllResultGroupsIds(sess, group.getId());
+		if (resultGroupsIds.isEmpty()) return;
+
+		List<Group> resultGroups = groupsManagerImpl.getGroupsByIds(sess, resultGroupsIds);
+		Collections.sort(resultGroups);
+		for (Group resultGroup : resultGroups) {
+			lockGroupMembership(resultGroup, members);
+		}
+
+		Map<Integer, Set<Integer>> groupIdsBefore = groupsManagerImpl.getGroupIdsOfMembers(sess, resultGroupsIds, members);
+		groupsManagerImpl.removeIndirectMembersWithoutSource(sess, resultGroupsIds, members);
+		Map<Integer, Set<Integer>> groupIdsAfter = groupsManagerImpl.getGroupIdsOfMembers(sess, resultGroupsIds, members);
+
+		for (Group resultGroup : resultGroups) {
+			for (Member member : members) {
+				if (!groupIdsBefore.getOrDefault(member.getId(), Collections.emptySet()).contains(resultGroup.getId()) ||
+						groupIdsAfter.getOrDefault(member.getId(), Collections.emptySet()).contains(resultGroup.getId())) {
+					continue;
+				}
+				addMemberToGroupsFromTriggerAttribute(sess, resultGroup, member);
+				notifyMemberRemovalFromGroup(sess, resultGroup, member);
+				//remove all member-group attributes because member is not part of group any more
+				try {
+					getPerunBl().getAttributesManagerBl().removeAllAttributes(sess, member, resultGroup);
+				} catch (MemberGroupMismatchException e) {
+					throw new InternalErrorException("Member we tried to remove all member-group attributes is not from the same VO as Group.", e);
+				}
+				getPerunBl().getAuditer().log(sess, new IndirectMemberRemovedFromGroup(member, resultGroup));
+			}
 		}
 	}
 
@@ -4734,9 +5047,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		}
 
 		// calculate new member-group statuses
-		for (Member member : getGroupMembers(sess, operandGroup)) {
-			recalculateMemberGroupStatusRecursively(sess, member, operandGroup);
-		}
+		recalculateMembersGroupStatusRecursively(sess, getGroupMembers(sess, operandGroup), operandGroup);
 
 		return resultGroup;
 	}
@@ -4763,9 +5074,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		groupsManagerImpl.removeGroupUnion(sess, resultGroup, operandGroup);
 
 		// recalculates statuses of members in result group
-		for (Member member : getGroupMembers(sess, resultGroup)) {
-			recalculateMemberGroupStatusRecursively(sess, member, resultGroup);
-		}
+		recalculateMembersGroupStatusRecursively(sess, getGroupMembers(sess, resultGroup), resultGroup);
 	}
 
 	@Override
@@ -4843,6 +5152,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 	/**
 	 * Check if cycle would be created by adding union between these groups.
+	 * Cycle would be created, if the result group is already included in the operand group at any level.
 	 *
 	 * @param sess perun session
 	 * @param resultGroupId result group id
@@ -4851,19 +5161,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @throws InternalErrorException
 	 */
 	private boolean checkGroupsCycle(PerunSession sess, int resultGroupId, int operandGroupId) {
-		List<Integer> groupsIds = groupsManagerImpl.getResultGroupsIds(sess, resultGroupId);
-
-		if (groupsIds.contains(operandGroupId)) {
-			return true;
-		}
-
-		for (Integer id: groupsIds) {
-			if(checkGroupsCycle(sess, id, operandGroupId)) {
-				return true;
-			}
-		}
-
-		return false;
+		return groupsManagerImpl.isTransitiveRelationBetweenGroups(sess, operandGroupId, resultGroupId);
 	}
 
 	/**
@@ -4993,6 +5291,43 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	}
 
 
+	@Override
+	public void expireMembersInGroup(PerunSession sess, List<Member> members, Group group) {
+		setMembersGroupStatus(sess, members, group, MemberGroupStatus.EXPIRED);
+	}
+
+	@Override
+	public void validateMembersInGroup(PerunSession sess, List<Member> members, Group group) {
+		setMembersGroupStatus(sess, members, group, MemberGroupStatus.VALID);
+	}
+
+	/**
+	 * Set direct status of members in the group and recalculate their statuses
+	 * in the group and all groups including it at once.
+	 *
+	 * @param sess perun session
+	 * @param members members whose status will be changed
+	 * @param group group in which the status is changed
+	 * @param status new status
+	 */
+	private void setMembersGroupStatus(PerunSession sess, List<Member> members, Group group, MemberGroupStatus status) {
+		if (group == null) {
+			throw new InternalErrorException("Group can not be null.");
+		}
+
+		if (VosManager.MEMBERS_GROUP.equals(group.getName())) {
+			throw new InternalErrorException("Can not change status of members in members group.");
+		}
+
+		if (members == null) {
+			throw new InternalErrorException("Members to change status can not be null");
+		}
+
+		groupsManagerImpl.setDirectGroupStatus(sess, members, group, status);
+
+		recalculateMembersGroupStatusRecursively(sess, members, group);
+	}
+
 	@Override
 	public MemberGroupStatus getDirectMemberGroupStatus(PerunSession session, Member member, Group group) {
 		return groupsManagerImpl.getDirectMemberGroupStatus(session, member, group);
@@ -5023,37 +5358,66 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			throw new InternalErrorException("Group, where members status should be recalculated, can not be null.");
 		}
 
+		recalculateMembersGroupStatusRecursively(sess, Collections.singletonList(member), group);
+	}
+
+	@Override
+	public void recalculateMembersGroupStatusRecursively(PerunSession sess, List<Member> members, Group group) {
+
+		if (members == null) {
+			throw new InternalErrorException("Members, which should be checked, can not be null.");
+		}
+
+		if (group == null) {
+			throw new InternalErrorException("Group, where members status should be recalculated, can not be null.");
+		}
+
 		// skip members group where all members are valid all the time
-		if (group.getName().equals(VosManager.MEMBERS_GROUP)) {
+		if (members.isEmpty() || group.getName().equals(VosManager.MEMBERS_GROUP)) {
 			return;
 		}
 
-		MemberGroupStatus newStatus = getTotalMemberGroupStatus(sess, member, group);
+		// group and all groups including it, every group is processed after all included groups
+		List<Integer> affectedGroupsIds = new ArrayList<>();
+		affectedGroupsIds.add(group.getId());
+		affectedGroupsIds.addAll(groupsManagerImpl.getAllResultGroupsIds(sess, group.getId()));
+		Map<Integer, Integer> numbersOfResultGroups = groupsManagerImpl.getNumbersOfAllResultGroups(sess, affectedGroupsIds);
+		affectedGroupsIds.sort(Comparator.comparing((Integer id) -> numbersOfResultGroups.getOrDefault(id, 0)).reversed());
 
-		boolean saveStatuses = true;
-		// member has been removed from group, we need to calculate its statuses in any result groups
-		// but we can not save statuses because the relations should be already removed
-		if (newStatus == null) {
-			saveStatuses = false;
+		Map<Integer, Group> affectedGroups = new HashMap<>();
+		affectedGroups.put(group.getId(), group);
+		if (affectedGroupsIds.size() > 1) {
+			for (Group resultGroup : groupsManagerImpl.getGroupsByIds(sess, affectedGroupsIds)) {
+				affectedGroups.put(resultGroup.getId(), resultGroup);
+			}
 		}
 
-		// get all possibly affected groups and member's statuses for them
-		List<Group> affectedGroups = new ArrayList<>(groupsManagerImpl.getResultGroups(sess, group.getId()));
-
-		// if the new status is not null, update statuses received from the group to other groups
-		if (saveStatuses) {
-			groupsManagerImpl.setIndirectGroupStatus(sess, member, group, newStatus);
+		for (Integer affectedGroupId : affectedGroupsIds) {
+			Group affectedGroup = affectedGroups.get(affectedGroupId);
+			Map<Integer, MemberGroupStatus> newStatuses = groupsManagerImpl.getTotalMemberGroupStatuses(sess, members, affectedGroup);
 
-			if (newStatus.equals(MemberGroupStatus.EXPIRED)) {
-				getPerunBl().getAuditer().log(sess, new MemberExpiredInGroup(member, group));
-			} else if (newStatus.equals(MemberGroupStatus.VALID)) {
-				getPerunBl().getAuditer().log(sess, new MemberValidatedInGroup(member, group));
+			// members removed from the group have no status, their statuses in result groups are calculated from other sources
+			List<Member> validMembers = new ArrayList<>();
+			List<Member> expiredMembers = new ArrayList<>();
+			for (Member member : members) {
+				MemberGroupStatus newStatus = newStatuses.get(member.getId());
+				if (MemberGroupStatus.VALID.equals(newStatus)) {
+					validMembers.add(member);
+				} else if (MemberGroupStatus.EXPIRED.equals(newStatus)) {
+					expiredMembers.add(member);
+				}
 			}
-		}
 
-		// check recursively all parent groups
-		for (Group affectedGroup : affectedGroups) {
-			recalculateMemberGroupStatusRecursively(sess, member, affectedGroup);
+			// update statuses received from the group to other groups
+			groupsManagerImpl.setIndirectGroupStatus(sess, validMembers, affectedGroup, MemberGroupStatus.VALID);
+			groupsManagerImpl.setIndirectGroupStatus(sess, expiredMembers, affectedGroup, MemberGroupStatus.EXPIRED);
+
+			for (Member member : expiredMembers) {
+				getPerunBl().getAuditer().log(sess, new MemberExpiredInGroup(member, affectedGroup));
+			}
+			for (Member member : validMembers) {
+				getPerunBl().getAuditer().log(sess, new MemberValidatedInGroup(member, affectedGroup));
+			}
 		}
 	}
 
@@ -5461,24 +5825,6 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		return filteredMembers;
 	}
 
-	/**
-	 * Convert list of RichMembers to map where keys are UserExtSources and value is RichMember with such UserExtSource.
-	 * This will help to find a RichMember who has specific UserExtSource.
-	 *
-	 * @param richMembers list of richMembers with userExtSources
-	 * @return map of RichMembers mapped on UserExtSources
-	 */
-	private Map<UserExtSource, RichMember> createMappingStructure(List<RichMember> richMembers) {
-
-		Map<UserExtSource, RichMember> mappingStructure = new HashMap<>();
-		for (RichMember rm : richMembers) {
-			for (UserExtSource ues : rm.getUserExtSources()) {
-				mappingStructure.put(ues, rm);
-			}
-		}
-		return mappingStructure;
-	}
-
 	@Override
 	public List<Group> getGroupsWhereGroupIsAdmin(PerunSession perunSession, Group group) {
 		return this.getGroupsManagerImpl().getGroupsWhereGroupIsAdmin(perunSession, group);
@@ -0,0 +1,312 @@
+package cz.metacentrum.perun.core.blImpl;
+
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AllAttributesRemovedForMember;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AllAttributesRemovedForUser;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeDeleted;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeRemovedForMember;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeRemovedForUser;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeSetForMember;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeSetForUser;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeUpdated;
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.api.PerunBean;
+import cz.metacentrum.perun.core.api.PerunSession;
+import cz.metacentrum.perun.core.bl.AuditMessagesManagerBl;
+import cz.metacentrum.perun.core.implApi.AuditEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache of non-virtual attributes of users and members keyed by holder and attribute id.
+ *
+ * At most the configured number of attributes is cached, holders with all their attributes are evicted
+ * in LRU order to keep it. Callers always get copies of cached attributes.
+ *
+ * Every invalidation leaves a tombstone with a new version of the cache on the invalidated attribute or holder.
+ * Values read from the DB are stored only if there is no newer tombstone on them, so value read before a change
+ * is never stored after it, while reads of other attributes are not affected. Only the latest tombstones are kept,
+ * values read before the oldest dropped tombstone are not stored at all.
+ *
+ * Cache is invalidated synchronously on changes made by this instance and by audit events about changes
+ * of attribute values. Events of other Perun instances are read from the audit log periodically. Ids of audit
+ * messages are not committed in order, so missing ids below the last read one are re-read until their messages
+ * appear or for GAP_TIMEOUT at most.
+ *
+ * @see cz.metacentrum.perun.core.api.CoreConfig#getAttributesCacheSize()
+ */
+final class HotAttributeCache implements AuditEventListener {
+
+	private final static Logger log = LoggerFactory.getLogger(HotAttributeCache.class);
+
+	private static final int POLLED_MESSAGES_COUNT = 1000;
+	static final int MAX_TOMBSTONES = 10000;
+	// longer transactions are not expected, ids missing for this time are considered rolled back
+	static final long GAP_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+	static final int MAX_GAPS = 10000;
+
+	private final int maxSize;
+	// guarded by itself, together with all other fields of cached values and tombstones
+	private final Map<String, Map<Integer, Attribute>> attributesByHolders = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, Long> tombstones = new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+			if (size() > MAX_TOMBSTONES) {
+				droppedTombstonesVersion = Math.max(droppedTombstonesVersion, eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+	};
+	private int size;
+	private long droppedTombstonesVersion;
+	private long clearedVersion;
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private ScheduledExecutorService auditLogPoller;
+	// used only by the poller thread, missing id => time when it was found missing
+	private final NavigableMap<Integer, Long> auditLogGaps = new TreeMap<>();
+	private int lastPolledMessageId;
+
+	/**
+	 * @param maxSize max number of cached attributes
+	 */
+	HotAttributeCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get copy of cached attribute. Hits and misses are counted.
+	 *
+	 * @param holder user or member
+	 * @param attributeId id of the attribute
+	 * @return copy of cached attribute or null, if it is not cached
+	 */
+	Attribute get(PerunBean holder, int attributeId) {
+		Attribute attribute;
+		synchronized (attributesByHolders) {
+			Map<Integer, Attribute> attributes = attributesByHolders.get(toKey(holder));
+			attribute = attributes == null ? null : attributes.get(attributeId);
+		}
+		if (attribute == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		return copyOf(attribute);
+	}
+
+	/**
+	 * @return current version, which has to be read before the attribute is read from the DB
+	 */
+	long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Store attribute read from the DB, if neither the attribute nor its holder was invalidated since the version.
+	 *
+	 * @param holder user or member
+	 * @param attribute attribute read from the DB
+	 * @param readVersion version read before reading of the attribute
+	 */
+	void put(PerunBean holder, Attribute attribute, long readVersion) {
+		Attribute copy = copyOf(attribute);
+		String holderKey = toKey(holder);
+		synchronized (attributesByHolders) {
+			if (isInvalidatedAfter(holderKey, attribute.getId(), readVersion)) return;
+			if (attributesByHolders.computeIfAbsent(holderKey, key -> new HashMap<>()).put(attribute.getId(), copy) == null) {
+				size++;
+			}
+			Iterator<Map<Integer, Attribute>> eldest = attributesByHolders.values().iterator();
+			while (size > maxSize && eldest.hasNext()) {
+				int evicted = eldest.next().size();
+				eldest.remove();
+				size -= evicted;
+				evictions.addAndGet(evicted);
+			}
+		}
+	}
+
+	/**
+	 * Remove attribute of the holder from the cache.
+	 *
+	 * @param holder user or member
+	 * @param attributeId id of the attribute
+	 */
+	void invalidate(PerunBean holder, int attributeId) {
+		String holderKey = toKey(holder);
+		synchronized (attributesByHolders) {
+			addTombstone(holderKey + ":" + attributeId);
+			Map<Integer, Attribute> attributes = attributesByHolders.get(holderKey);
+			if (attributes != null && attributes.remove(attributeId) != null) size--;
+		}
+	}
+
+	/**
+	 * Remove all attributes of the holder from the cache.
+	 *
+	 * @param holder user or member
+	 */
+	void invalidate(PerunBean holder) {
+		String holderKey = toKey(holder);
+		synchronized (attributesByHolders) {
+			addTombstone(holderKey);
+			Map<Integer, Attribute> attributes = attributesByHolders.remove(holderKey);
+			if (attributes != null) size -= attributes.size();
+		}
+	}
+
+	/**
+	 * Remove all attributes from the cache.
+	 */
+	void clear() {
+		synchronized (attributesByHolders) {
+			clearedVersion = version.incrementAndGet();
+			attributesByHolders.clear();
+			tombstones.clear();
+			size = 0;
+		}
+	}
+
+	/**
+	 * @return numbers of hits, misses and evicted attributes, number of cached attributes and max number of cached attributes
+	 */
+	Map<String, Long> getStatistics() {
+		Map<String, Long> statistics = new LinkedHashMap<>();
+		statistics.put("hits", hits.get());
+		statistics.put("misses", misses.get());
+		statistics.put("evictions", evictions.get());
+		synchronized (attributesByHolders) {
+			statistics.put("size", (long) size);
+		}
+		statistics.put("maxSize", (long) maxSize);
+		return statistics;
+	}
+
+	private void addTombstone(String key) {
+		// removed first, so the tombstone moves to the end of the eviction order
+		tombstones.remove(key);
+		tombstones.put(key, version.incrementAndGet());
+	}
+
+	private boolean isInvalidatedAfter(String holderKey, int attributeId, long readVersion) {
+		if (clearedVersion > readVersion || droppedTombstonesVersion > readVersion) return true;
+		Long holderVersion = tombstones.get(holderKey);
+		if (holderVersion != null && holderVersion > readVersion) return true;
+		Long attributeVersion = tombstones.get(holderKey + ":" + attributeId);
+		return attributeVersion != null && attributeVersion > readVersion;
+	}
+
+	@Override
+	public void notifyWith(AuditEvent event) {
+		if (event instanceof AttributeSetForUser) {
+			invalidate(((AttributeSetForUser) event).getUser(), ((AttributeSetForUser) event).getAttribute().getId());
+		} else if (event instanceof AttributeRemovedForUser) {
+			invalidate(((AttributeRemovedForUser) event).getUser(), ((AttributeRemovedForUser) event).getAttribute().getId());
+		} else if (event instanceof AllAttributesRemovedForUser) {
+			invalidate(((AllAttributesRemovedForUser) event).getUser());
+		} else if (event instanceof AttributeSetForMember) {
+			invalidate(((AttributeSetForMember) event).getMember(), ((AttributeSetForMember) event).getAttribute().getId());
+		} else if (event instanceof AttributeRemovedForMember) {
+			invalidate(((AttributeRemovedForMember) event).getMember(), ((AttributeRemovedForMember) event).getAttribute().getId());
+		} else if (event instanceof AllAttributesRemovedForMember) {
+			invalidate(((AllAttributesRemovedForMember) event).getMember());
+		} else if (event instanceof AttributeUpdated || event instanceof AttributeDeleted) {
+			clear();
+		}
+	}
+
+	/**
+	 * Start periodic reading of the audit log, so changes made by other Perun instances invalidate the cache.
+	 * Only messages stored after the start are read.
+	 *
+	 * @param sess perun session
+	 * @param auditMessagesManagerBl audit messages manager
+	 * @param interval interval in seconds
+	 */
+	synchronized void startAuditLogPolling(PerunSession sess, AuditMessagesManagerBl auditMessagesManagerBl, int interval) {
+		if (auditLogPoller != null) return;
+		lastPolledMessageId = auditMessagesManagerBl.getLastMessageId(sess);
+		auditLogPoller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "hotAttributeCacheAuditLogPoller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		auditLogPoller.scheduleWithFixedDelay(() -> pollAuditLog(sess, auditMessagesManagerBl), interval, interval, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Read audit messages stored after the last read one and messages missing below it, which were committed
+	 * later than messages with higher ids. Missing ids are waited for GAP_TIMEOUT at most.
+	 */
+	void pollAuditLog(PerunSession sess, AuditMessagesManagerBl auditMessagesManagerBl) {
+		try {
+			long now = System.currentTimeMillis();
+			auditLogGaps.values().removeIf(foundAt -> now - foundAt > GAP_TIMEOUT);
+			int lastReadId = auditLogGaps.isEmpty() ? lastPolledMessageId : auditLogGaps.firstKey() - 1;
+			List<AuditMessage> messages;
+			do {
+				messages = auditMessagesManagerBl.getMessagesAfterId(sess, lastReadId, POLLED_MESSAGES_COUNT);
+				for (AuditMessage message : messages) {
+					lastReadId = message.getId();
+					if (message.getId() <= lastPolledMessageId) {
+						// ids which are not missing were processed already
+						if (auditLogGaps.remove(message.getId()) != null) notifyWith(message.getEvent());
+						continue;
+					}
+					for (int id = lastPolledMessageId + 1; id < message.getId() && auditLogGaps.size() <= MAX_GAPS; id++) {
+						auditLogGaps.put(id, now);
+					}
+					notifyWith(message.getEvent());
+					lastPolledMessageId = message.getId();
+				}
+			} while (messages.size() == POLLED_MESSAGES_COUNT);
+			if (auditLogGaps.size() > MAX_GAPS) {
+				// too many missing messages to wait for them, so drop everything they could change
+				log.warn("Too many missing audit messages for attributes cache, cache is cleared.");
+				auditLogGaps.clear();
+				clear();
+			}
+		} catch (RuntimeException ex) {
+			// we can't tell what was changed, so drop everything
+			log.error("Reading of audit log for attributes cache failed, cache is cleared.", ex);
+			clear();
+		}
+	}
+
+	private static String toKey(PerunBean holder) {
+		return holder.getBeanName() + ":" + holder.getId();
+	}
+
+	/**
+	 * Copy attribute including its list or map value, since values of cached attributes must not be shared.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Attribute copyOf(Attribute attribute) {
+		Attribute copy = new Attribute(attribute, true);
+		if (attribute.getValue() instanceof ArrayList) {
+			copy.setValue(new ArrayList<>((ArrayList<String>) attribute.getValue()));
+		} else if (attribute.getValue() instanceof LinkedHashMap) {
+			copy.setValue(new LinkedHashMap<>((LinkedHashMap<String, String>) attribute.getValue()));
+		}
+		return copy;
+	}
+
+}
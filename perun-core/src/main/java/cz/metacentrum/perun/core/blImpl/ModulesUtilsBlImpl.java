@@ -27,6 +27,7 @@ import cz.metacentrum.perun.core.api.exceptions.WrongAttributeValueException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
 import cz.metacentrum.perun.core.bl.ModulesUtilsBl;
 import cz.metacentrum.perun.core.bl.PerunBl;
+import cz.metacentrum.perun.core.impl.FreeIdAllocator;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 import cz.metacentrum.perun.core.impl.Utils;
 import org.apache.commons.codec.binary.Base64;
@@ -296,32 +297,18 @@ public class ModulesUtilsBlImpl implements ModulesUtilsBl {
 			throw new InternalErrorException("Value in GID ranges attribute where we are looking for free gid is not in correct format " + gidRangesAttribute, ex);
 		}
 		if(gidRanges.isEmpty()) return 0;
-		List<Integer> allMinimums = gidRanges.keySet().stream().sorted().collect(Collectors.toList());
 
-		List<Integer> allGids = new ArrayList<>();
-		Attribute usedGids = sess.getPerunBl().getAttributesManagerBl().getAttribute(sess, gidNamespace, A_E_usedGids);
+		//IMPORTANT: for update lock row in table of attr values, so concurrent fills in the namespace wait for each other
+		Attribute usedGids = sess.getPerunBl().getAttributesManagerBl().getEntitylessAttributeForUpdate(sess, gidNamespace, A_E_usedGids);
 
-		//return the minimum from all ranges
-		if(usedGids.getValue() == null) return allMinimums.get(0);
-		else {
-			Map<String,String> usedGidsValue = usedGids.valueAsMap();
-			Set<String> keys = usedGidsValue.keySet();
-
-			for(String key: keys) {
-				allGids.add(Integer.parseInt(usedGidsValue.get(key)));
-			}
-		}
-
-		for(Integer minimum: allMinimums) {
-			Integer maximum = gidRanges.get(minimum);
-			for (int i = minimum; i <= maximum; i++) {
-				if (!allGids.contains(i)) {
-					return i;
-				}
+		FreeIdAllocator allocator = new FreeIdAllocator(gidRanges);
+		if(usedGids.getValue() != null) {
+			for(String usedGid: usedGids.valueAsMap().values()) {
+				allocator.markUsed(Integer.parseInt(usedGid));
 			}
 		}
 
-		return null;
+		return allocator.allocateLowest();
 	}
 
 	@Override
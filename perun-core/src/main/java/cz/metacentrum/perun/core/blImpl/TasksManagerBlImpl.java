@@ -1,10 +1,12 @@
 package cz.metacentrum.perun.core.blImpl;
 
+import com.google.common.collect.Lists;
 import cz.metacentrum.perun.controller.model.FacilityState;
 import cz.metacentrum.perun.controller.model.ResourceState;
 import cz.metacentrum.perun.controller.model.ServiceState;
 import cz.metacentrum.perun.core.api.Destination;
 import cz.metacentrum.perun.core.api.Facility;
+import cz.metacentrum.perun.core.api.Pair;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.RichDestination;
@@ -19,6 +21,8 @@ import cz.metacentrum.perun.core.bl.TasksManagerBl;
 import cz.metacentrum.perun.core.implApi.TasksManagerImplApi;
 import cz.metacentrum.perun.taskslib.model.Task;
 import cz.metacentrum.perun.taskslib.model.TaskResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,6 +38,8 @@ import java.util.Set;
  */
 public class TasksManagerBlImpl implements TasksManagerBl {
 
+	private final static Logger log = LoggerFactory.getLogger(TasksManagerBlImpl.class);
+
 	@Autowired
 	private ServicesManagerBl servicesManagerBl;
 	@Autowired
@@ -84,6 +90,37 @@ public class TasksManagerBlImpl implements TasksManagerBl {
 		return getTasksManagerImpl().deleteOldTaskResults(numDays);
 	}
 
+	@Override
+	public int compactTaskResults(PerunSession sess, int keepNewest, int keepOutput, int batchSize) {
+		if (keepNewest < 1) throw new IllegalArgumentException("At least one TaskResult must be kept for each Task and Destination.");
+		if (batchSize < 1) throw new IllegalArgumentException("Batch size must be positive.");
+
+		// each TaskResult is ranked only once, Task and Destination pairs are iterated by a keyset cursor
+		int processed = 0;
+		Pair<Integer, Integer> after = new Pair<>(0, 0);
+		List<Pair<Integer, Integer>> pairs;
+		do {
+			pairs = getTasksManagerImpl().getTaskAndDestinationIdsOfTaskResults(after, batchSize);
+			if (pairs.isEmpty()) break;
+			Pair<Integer, Integer> last = pairs.get(pairs.size() - 1);
+
+			List<Integer> ids = getTasksManagerImpl().getIdsOfTaskResultsOverLimit(after, last, keepNewest, false);
+			for (List<Integer> batch : Lists.partition(ids, batchSize)) {
+				processed += getTasksManagerImpl().deleteTaskResults(batch);
+			}
+			if (keepOutput < keepNewest) {
+				ids = getTasksManagerImpl().getIdsOfTaskResultsOverLimit(after, last, Math.max(keepOutput, 0), true);
+				for (List<Integer> batch : Lists.partition(ids, batchSize)) {
+					processed += getTasksManagerImpl().clearOutputOfTaskResults(batch);
+				}
+			}
+			after = last;
+		} while (pairs.size() == batchSize);
+
+		log.debug("Compacted {} TaskResults, kept {} newest for each task and destination, {} of them with output.", processed, keepNewest, keepOutput);
+		return processed;
+	}
+
 	@Override
 	public void deleteTask(PerunSession sess, Task task) {
 
@@ -697,6 +697,12 @@ public class UsersManagerBlImpl implements UsersManagerBl {
 		return getUsersManagerImpl().getUserExtSources(sess, user);
 	}
 
+	@Override
+	public List<UserExtSource> getUserExtSources(PerunSession sess, List<User> users) {
+		if (users.isEmpty()) return new ArrayList<>();
+		return getUsersManagerImpl().getUserExtSources(sess, users);
+	}
+
 	@Override
 	public List<RichUserExtSource> getRichUserExtSources(PerunSession sess, User user, List<String> attrsNames) {
 		return getUserExtSources(sess, user).stream()
@@ -3,6 +3,7 @@ package cz.metacentrum.perun.core.entry;
 import cz.metacentrum.perun.core.api.ActionType;
 import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.core.api.AttributeInconsistency;
 import cz.metacentrum.perun.core.api.AttributeRights;
 import cz.metacentrum.perun.core.api.AttributesManager;
 import cz.metacentrum.perun.core.api.AuthzResolver;
@@ -801,6 +802,28 @@ public class AttributesManagerEntry implements AttributesManager {
 		return getAttributesManagerBl().getEntitylessKeys(sess, attributeDefinition);
 	}
 
+	@Override
+	public List<AttributeInconsistency> getAttributeInconsistencies(PerunSession sess) throws PrivilegeException {
+		Utils.checkPerunSession(sess);
+
+		if(!AuthzResolver.authorizedInternal(sess, "getAttributeInconsistencies_policy")) {
+			throw new PrivilegeException("getAttributeInconsistencies");
+		}
+
+		return getAttributesManagerBl().getAttributeInconsistencies(sess);
+	}
+
+	@Override
+	public Map<String, Long> getAttributesCacheStatistics(PerunSession sess) throws PrivilegeException {
+		Utils.checkPerunSession(sess);
+
+		if(!AuthzResolver.authorizedInternal(sess, "getAttributesCacheStatistics_policy")) {
+			throw new PrivilegeException("getAttributesCacheStatistics");
+		}
+
+		return getAttributesManagerBl().getAttributesCacheStatistics(sess);
+	}
+
 	@Override
 	public List<Attribute> getAttributesByAttributeDefinition(PerunSession sess, AttributeDefinition attributeDefinition) throws AttributeNotExistsException, WrongAttributeAssignmentException, PrivilegeException {
 		Utils.checkPerunSession(sess);
@@ -1546,6 +1569,41 @@ public class AttributesManagerEntry implements AttributesManager {
 		getAttributesManagerBl().setAttribute(sess, user, attribute);
 	}
 
+	@Override
+	public void setAttributeForHolders(PerunSession sess, AttributeDefinition attributeDefinition, Map<Integer, Object> values) throws PrivilegeException, MemberNotExistsException, UserNotExistsException, AttributeNotExistsException, WrongAttributeValueException, WrongAttributeAssignmentException, WrongReferenceAttributeValueException {
+		Utils.checkPerunSession(sess);
+		Utils.notNull(values, "values");
+		getAttributesManagerBl().checkAttributeExists(sess, attributeDefinition);
+
+		if (getAttributesManagerBl().isFromNamespace(sess, attributeDefinition, NS_MEMBER_ATTR)) {
+			Map<Member, Object> memberValues = new HashMap<>();
+			for (Member member : getPerunBl().getMembersManagerBl().getMembersByIds(sess, new ArrayList<>(values.keySet()))) {
+				if(!AuthzResolver.isAuthorizedForAttribute(sess, ActionType.WRITE, attributeDefinition, member)) throw new PrivilegeException("Principal has no access to set attribute = " + attributeDefinition);
+				memberValues.put(member, values.get(member.getId()));
+			}
+			if (memberValues.size() != values.size()) {
+				Set<Integer> missingIds = new HashSet<>(values.keySet());
+				memberValues.keySet().forEach(member -> missingIds.remove(member.getId()));
+				throw new MemberNotExistsException("Members with ids=" + missingIds + " don't exist.");
+			}
+			getAttributesManagerBl().setAttributeForMembers(sess, attributeDefinition, memberValues);
+		} else if (getAttributesManagerBl().isFromNamespace(sess, attributeDefinition, NS_USER_ATTR)) {
+			Map<User, Object> userValues = new HashMap<>();
+			for (User user : getPerunBl().getUsersManagerBl().getUsersByIds(sess, new ArrayList<>(values.keySet()))) {
+				if(!AuthzResolver.isAuthorizedForAttribute(sess, ActionType.WRITE, attributeDefinition, user)) throw new PrivilegeException("Principal has no access to set attribute = " + attributeDefinition);
+				userValues.put(user, values.get(user.getId()));
+			}
+			if (userValues.size() != values.size()) {
+				Set<Integer> missingIds = new HashSet<>(values.keySet());
+				userValues.keySet().forEach(user -> missingIds.remove(user.getId()));
+				throw new UserNotExistsException("Users with ids=" + missingIds + " don't exist.");
+			}
+			getAttributesManagerBl().setAttributeForUsers(sess, attributeDefinition, userValues);
+		} else {
+			throw new WrongAttributeAssignmentException(attributeDefinition);
+		}
+	}
+
 	@Override
 	public void setAttribute(PerunSession sess, Host host, Attribute attribute) throws PrivilegeException, HostNotExistsException,AttributeNotExistsException,WrongAttributeValueException,WrongAttributeAssignmentException {
 		Utils.checkPerunSession(sess);
@@ -0,0 +1,153 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.AttributeDefinition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of all attribute definitions indexed by id, name and namespace.
+ *
+ * Snapshot is never modified, changes are made by creating a new snapshot (copy-on-write),
+ * so it can be read by any number of threads without locking. Stored definitions are never
+ * passed outside, callers always get their copies.
+ *
+ * Snapshot also holds names of attribute modules for all attribute names and their base names,
+ * so they don't have to be computed on each module lookup.
+ *
+ * @see AttributesManagerImpl
+ */
+final class AttributeDefinitionRegistry {
+
+	private static final String ATTRIBUTES_MODULES_PACKAGE = "cz.metacentrum.perun.core.impl.modules.attributes";
+
+	private final Map<Integer, AttributeDefinition> byId;
+	private final Map<String, AttributeDefinition> byName;
+	private final Map<String, List<AttributeDefinition>> byNamespace;
+	private final Map<String, String> moduleNames;
+	private final long createdAt;
+
+	private AttributeDefinitionRegistry(Map<Integer, AttributeDefinition> byId, long createdAt) {
+		this.byId = byId;
+		this.createdAt = createdAt;
+		Map<String, AttributeDefinition> names = new HashMap<>();
+		Map<String, List<AttributeDefinition>> namespaces = new HashMap<>();
+		Map<String, String> modules = new HashMap<>();
+		for (AttributeDefinition definition : byId.values()) {
+			names.put(definition.getName(), definition);
+			namespaces.computeIfAbsent(definition.getNamespace(), namespace -> new ArrayList<>()).add(definition);
+			modules.put(definition.getName(), toModuleName(definition.getName()));
+			String baseName = definition.getNamespace() + ":" + definition.getBaseFriendlyName();
+			modules.put(baseName, toModuleName(baseName));
+		}
+		this.byName = names;
+		this.byNamespace = namespaces;
+		this.moduleNames = modules;
+	}
+
+	/**
+	 * Create new snapshot from loaded definitions.
+	 *
+	 * @param definitions all attribute definitions
+	 * @return new snapshot
+	 */
+	static AttributeDefinitionRegistry of(Collection<AttributeDefinition> definitions) {
+		Map<Integer, AttributeDefinition> byId = new HashMap<>();
+		for (AttributeDefinition definition : definitions) {
+			byId.put(definition.getId(), new AttributeDefinition(definition));
+		}
+		return new AttributeDefinitionRegistry(byId, System.currentTimeMillis());
+	}
+
+	/**
+	 * Create new snapshot with added or replaced attribute definition.
+	 *
+	 * @param definition created or updated definition
+	 * @return new snapshot
+	 */
+	AttributeDefinitionRegistry with(AttributeDefinition definition) {
+		Map<Integer, AttributeDefinition> copy = new HashMap<>(byId);
+		copy.put(definition.getId(), new AttributeDefinition(definition));
+		return new AttributeDefinitionRegistry(copy, createdAt);
+	}
+
+	/**
+	 * Create new snapshot without attribute definition.
+	 *
+	 * @param id id of deleted definition
+	 * @return new snapshot
+	 */
+	AttributeDefinitionRegistry without(int id) {
+		if (!byId.containsKey(id)) return this;
+		Map<Integer, AttributeDefinition> copy = new HashMap<>(byId);
+		copy.remove(id);
+		return new AttributeDefinitionRegistry(copy, createdAt);
+	}
+
+	/**
+	 * @return time of loading of the snapshot from DB in millis
+	 */
+	long getCreatedAt() {
+		return createdAt;
+	}
+
+	AttributeDefinition getById(int id) {
+		return copyOf(byId.get(id));
+	}
+
+	AttributeDefinition getByName(String name) {
+		return copyOf(byName.get(name));
+	}
+
+	List<AttributeDefinition> getByNamespace(String namespace) {
+		return copyOf(byNamespace.getOrDefault(namespace, Collections.emptyList()));
+	}
+
+	List<AttributeDefinition> getAll() {
+		return copyOf(byId.values());
+	}
+
+	/**
+	 * Get name of attribute module for the attribute name.
+	 *
+	 * @param attributeName full name or base name of attribute (namespace:friendlyName)
+	 * @return name of module class
+	 */
+	String getModuleName(String attributeName) {
+		String moduleName = moduleNames.get(attributeName);
+		return moduleName == null ? toModuleName(attributeName) : moduleName;
+	}
+
+	/**
+	 * Convert name of the attribute to name of the appropriate attribute module.
+	 *
+	 * @param attributeName name to convert
+	 * @return name of attribute module
+	 */
+	static String toModuleName(String attributeName) {
+		StringBuilder moduleName = new StringBuilder(ATTRIBUTES_MODULES_PACKAGE.length() + 1 + attributeName.length());
+		moduleName.append(ATTRIBUTES_MODULES_PACKAGE).append('.');
+		for (int i = 0; i < attributeName.length(); i++) {
+			char c = attributeName.charAt(i);
+			moduleName.append(c == ':' || c == '-' || c == '.' ? '_' : c);
+		}
+		return moduleName.toString();
+	}
+
+	private static AttributeDefinition copyOf(AttributeDefinition definition) {
+		return definition == null ? null : new AttributeDefinition(definition);
+	}
+
+	private static List<AttributeDefinition> copyOf(Collection<AttributeDefinition> definitions) {
+		List<AttributeDefinition> copies = new ArrayList<>(definitions.size());
+		for (AttributeDefinition definition : definitions) {
+			copies.add(new AttributeDefinition(definition));
+		}
+		return copies;
+	}
+
+}
@@ -0,0 +1,141 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.ActionType;
+import cz.metacentrum.perun.core.api.Pair;
+import org.springframework.jdbc.core.JdbcPerunTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable matrix of attribute rights: attribute id x action type -> roles with their action types.
+ *
+ * Rights for requested action type contain all stored action types starting with its name,
+ * e.g. READ contains READ, READ_VO and READ_PUBLIC, the same way as "like 'read%'" query on attributes_authz.
+ * Returned maps are unmodifiable and shared, changes are made by creating a new matrix (copy-on-write).
+ *
+ * @see AuthzResolverImpl#getRolesWhichCanWorkWithAttribute(ActionType, cz.metacentrum.perun.core.api.AttributeDefinition)
+ */
+final class AttributeRightsMatrix {
+
+	private static final String SELECT_RIGHTS = "select attributes_authz.attr_id, roles.name, action_types.action_type from attributes_authz " +
+			"join roles on attributes_authz.role_id=roles.id " +
+			"join action_types on attributes_authz.action_type_id=action_types.id";
+
+	private static final RowMapper<Pair<Integer, Pair<String, ActionType>>> RIGHT_MAPPER = (rs, i) ->
+			new Pair<>(rs.getInt("attr_id"), new Pair<>(rs.getString("name").toUpperCase(), ActionType.valueOf(rs.getString("action_type").toUpperCase())));
+
+	// marks, that attribute rights were changed in current transaction
+	private static final TransactionChangeFlag RIGHTS_CHANGED = new TransactionChangeFlag();
+
+	private final Map<Integer, Map<ActionType, Map<String, Set<ActionType>>>> matrix;
+	private final long createdAt;
+
+	private AttributeRightsMatrix(Map<Integer, Map<ActionType, Map<String, Set<ActionType>>>> matrix, long createdAt) {
+		this.matrix = matrix;
+		this.createdAt = createdAt;
+	}
+
+	/**
+	 * Load rights of all attributes from the DB.
+	 *
+	 * @param jdbc jdbc template
+	 * @return new matrix
+	 */
+	static AttributeRightsMatrix load(JdbcPerunTemplate jdbc) {
+		Map<Integer, Map<String, Set<ActionType>>> rights = new HashMap<>();
+		for (Pair<Integer, Pair<String, ActionType>> right : jdbc.query(SELECT_RIGHTS, RIGHT_MAPPER)) {
+			rights.computeIfAbsent(right.getLeft(), id -> new HashMap<>())
+					.computeIfAbsent(right.getRight().getLeft(), role -> EnumSet.noneOf(ActionType.class))
+					.add(right.getRight().getRight());
+		}
+		Map<Integer, Map<ActionType, Map<String, Set<ActionType>>>> matrix = new HashMap<>();
+		rights.forEach((attributeId, roles) -> matrix.put(attributeId, byActionType(roles)));
+		return new AttributeRightsMatrix(matrix, System.currentTimeMillis());
+	}
+
+	/**
+	 * Create new matrix with rights of one attribute reloaded from the DB.
+	 *
+	 * @param jdbc jdbc template
+	 * @param attributeId id of attribute with changed rights
+	 * @return new matrix
+	 */
+	AttributeRightsMatrix reload(JdbcPerunTemplate jdbc, int attributeId) {
+		Map<String, Set<ActionType>> roles = new HashMap<>();
+		List<Pair<Integer, Pair<String, ActionType>>> rights = jdbc.query(SELECT_RIGHTS + " where attributes_authz.attr_id=?", RIGHT_MAPPER, attributeId);
+		for (Pair<Integer, Pair<String, ActionType>> right : rights) {
+			roles.computeIfAbsent(right.getRight().getLeft(), role -> EnumSet.noneOf(ActionType.class)).add(right.getRight().getRight());
+		}
+		Map<Integer, Map<ActionType, Map<String, Set<ActionType>>>> copy = new HashMap<>(matrix);
+		if (roles.isEmpty()) {
+			copy.remove(attributeId);
+		} else {
+			copy.put(attributeId, byActionType(roles));
+		}
+		return new AttributeRightsMatrix(copy, createdAt);
+	}
+
+	/**
+	 * Get roles which can work with attribute and their action types matching requested action type.
+	 *
+	 * @param attributeId id of attribute
+	 * @param actionType requested action type
+	 * @return unmodifiable map of role names to action types
+	 */
+	Map<String, Set<ActionType>> getRoles(int attributeId, ActionType actionType) {
+		Map<ActionType, Map<String, Set<ActionType>>> rights = matrix.get(attributeId);
+		if (rights == null) return Collections.emptyMap();
+		return rights.getOrDefault(actionType, Collections.emptyMap());
+	}
+
+	/**
+	 * @return time of loading of the matrix from DB in millis
+	 */
+	long getCreatedAt() {
+		return createdAt;
+	}
+
+	/**
+	 * Mark attribute rights as changed in the current transaction, so matrix is bypassed until the transaction ends.
+	 */
+	static void markChanged() {
+		RIGHTS_CHANGED.markChanged();
+	}
+
+	/**
+	 * @return TRUE if attribute rights were changed in the current transaction
+	 */
+	static boolean isChangedInTransaction() {
+		return RIGHTS_CHANGED.isChangedInTransaction();
+	}
+
+	/**
+	 * Precompute roles for each requested action type, so no filtering is done on lookup.
+	 */
+	private static Map<ActionType, Map<String, Set<ActionType>>> byActionType(Map<String, Set<ActionType>> roles) {
+		Map<ActionType, Map<String, Set<ActionType>>> result = new EnumMap<>(ActionType.class);
+		for (ActionType requested : ActionType.values()) {
+			Map<String, Set<ActionType>> matching = new HashMap<>();
+			roles.forEach((role, actionTypes) -> {
+				for (ActionType actionType : actionTypes) {
+					if (actionType.getActionType().startsWith(requested.getActionType())) {
+						matching.computeIfAbsent(role, r -> EnumSet.noneOf(ActionType.class)).add(actionType);
+					}
+				}
+			});
+			if (!matching.isEmpty()) {
+				matching.replaceAll((role, actionTypes) -> Collections.unmodifiableSet(actionTypes));
+				result.put(requested, Collections.unmodifiableMap(matching));
+			}
+		}
+		return result;
+	}
+
+}
@@ -5,6 +5,10 @@ import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.AttributeRights;
 import cz.metacentrum.perun.core.api.AttributesManager;
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeCreated;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeDeleted;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeUpdated;
 import cz.metacentrum.perun.core.api.Auditable;
 import cz.metacentrum.perun.core.api.BeansUtils;
 import cz.metacentrum.perun.core.api.Facility;
@@ -35,6 +39,7 @@ import cz.metacentrum.perun.core.api.exceptions.WrongModuleTypeException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
 import cz.metacentrum.perun.core.bl.DatabaseManagerBl;
 import cz.metacentrum.perun.core.implApi.AttributesManagerImplApi;
+import cz.metacentrum.perun.core.implApi.AuditEventListener;
 import cz.metacentrum.perun.core.implApi.modules.attributes.AttributesModuleImplApi;
 import cz.metacentrum.perun.core.implApi.modules.attributes.EntitylessAttributesModuleImplApi;
 import cz.metacentrum.perun.core.implApi.modules.attributes.FacilityAttributesModuleImplApi;
@@ -91,6 +96,7 @@ import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_ENTITYLESS_ATTR;
@@ -119,7 +125,6 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	//Can't contain regex special symbols
 	public static final char LIST_DELIMITER = ',';
 	public static final char KEY_VALUE_DELIMITER = ':';
-	private static final String ATTRIBUTES_MODULES_PACKAGE = "cz.metacentrum.perun.core.impl.modules.attributes";
 	private static final int MERGE_TRY_CNT = 10;
 	private static final long MERGE_RAND_SLEEP_MAX = 100;  //max sleep time between SQL merge attempt in millisecond
 
@@ -138,6 +143,13 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	private AttributesManagerImplApi self;
 
+	// snapshot of all attribute definitions, replaced as a whole on every change
+	private volatile AttributeDefinitionRegistry attributeDefinitionRegistry;
+	private final Object attributeDefinitionRegistryLock = new Object();
+	// marks, that attribute definitions were changed in current transaction
+	private final TransactionChangeFlag attributeDefinitionsChanged = new TransactionChangeFlag();
+	private final AuditEventListener attributeDefinitionsListener = this::updateAttributeDefinitionRegistry;
+
 	// mapping of the perun bean names to the attribute namespaces
 	public static final Map<String, String> BEANS_TO_NAMESPACES_MAP = new LinkedHashMap<>();
 	private static final Map<String, String> ENTITIES_TO_BEANS_MAP = new HashMap<>();
@@ -187,6 +199,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		this.jdbc = new JdbcPerunTemplate(perunPool);
 		this.namedParameterJdbcTemplate.getJdbcTemplate().setQueryTimeout(BeansUtils.getCoreConfig().getQueryTimeout());
 		this.jdbc.setQueryTimeout(BeansUtils.getCoreConfig().getQueryTimeout());
+		Auditer.registerAuditEventListener(attributeDefinitionsListener);
 	}
 
 	protected final static String attributeDefinitionMappingSelectQuery =
@@ -543,6 +556,53 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		}
 	}
 
+	/**
+	 * Computes values of virtual member or member-resource attribute for all the members at once.
+	 * Batch method of the attribute module is used for member-resource attributes.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition virtual attribute
+	 * @param members members for which you want the attribute value
+	 * @param resource resource for member-resource attribute, null for member attribute
+	 * @return map of members to attributes with computed value
+	 */
+	private Map<Member, Attribute> getVirtualAttributeValues(PerunSession sess, AttributeDefinition attributeDefinition, List<Member> members, Resource resource) {
+		if (resource != null && isFromNamespace(attributeDefinition, AttributesManager.NS_MEMBER_RESOURCE_ATTR_VIRT)) {
+			MemberResourceVirtualAttributesModuleImplApi attributeModule = getResourceMemberVirtualAttributeModule(sess, attributeDefinition);
+			return attributeModule.getAttributeValues((PerunSessionImpl) sess, members, resource, attributeDefinition);
+		}
+		Map<Member, Attribute> attributes = new HashMap<>();
+		for (Member member : members) {
+			attributes.put(member, setValueForVirtualAttribute(sess, this, new Attribute(attributeDefinition), member, resource));
+		}
+		return attributes;
+	}
+
+	/**
+	 * Computes values of virtual user or user-facility attribute for all the users at once
+	 * using batch method of the attribute module.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition virtual attribute
+	 * @param users users for which you want the attribute value
+	 * @param facility facility for user-facility attribute, null for user attribute
+	 * @return map of users to attributes with computed value
+	 */
+	private Map<User, Attribute> getVirtualAttributeValues(PerunSession sess, AttributeDefinition attributeDefinition, List<User> users, Facility facility) {
+		if (facility != null && isFromNamespace(attributeDefinition, AttributesManager.NS_USER_FACILITY_ATTR_VIRT)) {
+			UserFacilityVirtualAttributesModuleImplApi attributeModule = getFacilityUserVirtualAttributeModule(sess, attributeDefinition);
+			return attributeModule.getAttributeValues((PerunSessionImpl) sess, users, facility, attributeDefinition);
+		} else if (isFromNamespace(attributeDefinition, AttributesManager.NS_USER_ATTR_VIRT)) {
+			UserVirtualAttributesModuleImplApi attributeModule = getUserVirtualAttributeModule(sess, attributeDefinition);
+			return attributeModule.getAttributeValues((PerunSessionImpl) sess, users, attributeDefinition);
+		}
+		Map<User, Attribute> attributes = new HashMap<>();
+		for (User user : users) {
+			attributes.put(user, setValueForVirtualAttribute(sess, this, new Attribute(attributeDefinition), user, facility));
+		}
+		return attributes;
+	}
+
 	/**
 	 * Sets values for core and virtual attributes. If it gets attributes that are not virtual or core, it returns them as they are.
 	 *
@@ -1318,6 +1378,19 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		}
 	}
 
+	@Override
+	public List<Object> getAttributeValuesByAttributeDefinition(PerunSession sess, AttributeDefinition attributeDefinition) {
+		String entity = attributeDefinition.getEntity();
+		try {
+			return jdbc.query("select attr_value from " + entity + "_attr_values where attr_id=? and attr_value is not null",
+					(rs, i) -> BeansUtils.stringToAttributeValue(rs.getString("attr_value"), attributeDefinition.getType()), attributeDefinition.getId());
+		} catch (EmptyResultDataAccessException ex) {
+			return new ArrayList<>();
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
 	@Override
 	public List<RichAttribute<User, Facility>> getAllUserFacilityRichAttributes(PerunSession sess, User user) {
 		try {
@@ -1540,8 +1613,127 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		}
 	}
 
+	@Override
+	public Map<User, Attribute> getAttributeForUsers(PerunSession sess, List<User> users, AttributeDefinition attributeDefinition) {
+		return getAttributeForHolders(sess, users, attributeDefinition,
+				"select " + getAttributeMappingSelectQuery("usr") + ", usr.user_id as holder_id from attr_names " +
+						"join user_attr_values usr on attr_names.id=usr.attr_id " +
+						"where attr_names.id=? and usr.user_id " + Compatibility.getStructureForInClause());
+	}
+
+	@Override
+	public Map<UserExtSource, Attribute> getAttributeForUserExtSources(PerunSession sess, List<UserExtSource> userExtSources, AttributeDefinition attributeDefinition) {
+		return getAttributeForHolders(sess, userExtSources, attributeDefinition,
+				"select " + getAttributeMappingSelectQuery("ues") + ", ues.user_ext_source_id as holder_id from attr_names " +
+						"join user_ext_source_attr_values ues on attr_names.id=ues.attr_id " +
+						"where attr_names.id=? and ues.user_ext_source_id " + Compatibility.getStructureForInClause());
+	}
+
+	@Override
+	public Map<Group, Attribute> getAttributeForGroups(PerunSession sess, List<Group> groups, AttributeDefinition attributeDefinition) {
+		return getAttributeForHolders(sess, groups, attributeDefinition,
+				"select " + getAttributeMappingSelectQuery("grp") + ", grp.group_id as holder_id from attr_names " +
+						"join group_attr_values grp on attr_names.id=grp.attr_id " +
+						"where attr_names.id=? and grp.group_id " + Compatibility.getStructureForInClause());
+	}
+
+	@Override
+	public <T extends PerunBean> Set<T> setAttributeForHolders(PerunSession sess, AttributeDefinition attributeDefinition, Map<T, Attribute> attributes) throws WrongAttributeValueException {
+		String holderName;
+		if (isFromNamespace(attributeDefinition, AttributesManager.NS_MEMBER_ATTR)) {
+			holderName = "member";
+		} else if (isFromNamespace(attributeDefinition, AttributesManager.NS_USER_ATTR)) {
+			holderName = "user";
+		} else if (isFromNamespace(attributeDefinition, AttributesManager.NS_GROUP_ATTR)) {
+			holderName = "group";
+		} else {
+			throw new InternalErrorException(new IllegalArgumentException("Setting attribute " + attributeDefinition + " for many holders is not allowed."));
+		}
+		try {
+			//check that attribute definition is current, non-altered by upper tiers
+			getAttributeDefinitionById(sess, attributeDefinition.getId()).checkEquality(attributeDefinition);
+		} catch (AttributeNotExistsException e) {
+			throw new InternalErrorException("cannot verify attribute definition", e);
+		}
+		String tableName = holderName + "_attr_values";
+		String columnName = holderName + "_id";
+
+		// compare new values with the stored ones in memory, so only changed values are written
+		Map<T, Attribute> storedAttributes = getAttributeForHolders(sess, new ArrayList<>(attributes.keySet()), attributeDefinition,
+				"select " + getAttributeMappingSelectQuery("hav") + ", hav." + columnName + " as holder_id from attr_names " +
+						"join " + tableName + " hav on attr_names.id=hav.attr_id " +
+						"where attr_names.id=? and hav." + columnName + " " + Compatibility.getStructureForInClause());
+		Set<T> changedHolders = new HashSet<>();
+		List<Object[]> batchArgs = new ArrayList<>();
+		for (Map.Entry<T, Attribute> entry : attributes.entrySet()) {
+			Attribute attribute = entry.getValue();
+			if (attribute.getValue().equals(storedAttributes.get(entry.getKey()).getValue())) continue;
+			changedHolders.add(entry.getKey());
+			batchArgs.add(new Object[] {entry.getKey().getId(), attributeDefinition.getId(), BeansUtils.attributeValueToString(attribute),
+					sess.getPerunPrincipal().getActor(), sess.getPerunPrincipal().getActor(),
+					sess.getPerunPrincipal().getUserId(), sess.getPerunPrincipal().getUserId()});
+		}
+		if (batchArgs.isEmpty()) return changedHolders;
+
+		try {
+			jdbc.batchUpdate("insert into " + tableName + " (" + columnName + ", attr_id, attr_value, created_by, modified_by, created_by_uid, modified_by_uid, created_at, modified_at) " +
+					"values (?,?,?,?,?,?,?," + Compatibility.getSysdate() + "," + Compatibility.getSysdate() + ") " +
+					"on conflict (" + columnName + ", attr_id) do update set attr_value=excluded.attr_value, modified_by=excluded.modified_by, " +
+					"modified_by_uid=excluded.modified_by_uid, modified_at=excluded.modified_at", batchArgs);
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+
+		if (attributeDefinition.isUnique()) {
+			for (T holder : changedHolders) {
+				setUniqueAttributeValues(attributes.get(holder), Arrays.asList("attr_id", columnName), Arrays.asList(attributeDefinition.getId(), holder.getId()), holder, null);
+			}
+		}
+		return changedHolders;
+	}
+
+	/**
+	 * Get stored values of one attribute for all the holders by one query.
+	 *
+	 * @param sess perun session
+	 * @param holders holders of the attribute
+	 * @param attributeDefinition definition of the attribute
+	 * @param query query with attribute id and array of holder ids as parameters, returning holder id as "holder_id"
+	 * @return map of holders to their attribute, holders without value have attribute with null value
+	 */
+	private <T extends PerunBean> Map<T, Attribute> getAttributeForHolders(PerunSession sess, List<T> holders, AttributeDefinition attributeDefinition, String query) {
+		Map<Integer, T> holdersById = new HashMap<>();
+		for (T holder : holders) {
+			holdersById.put(holder.getId(), holder);
+		}
+		Map<T, Attribute> attributes = new HashMap<>();
+		try {
+			jdbc.execute(query, (PreparedStatementCallback<Void>) preparedStatement -> {
+				preparedStatement.setInt(1, attributeDefinition.getId());
+				preparedStatement.setArray(2, DatabaseManagerBl.prepareSQLArrayOfNumbers(holders, preparedStatement));
+				ResultSet rs = preparedStatement.executeQuery();
+				while (rs.next()) {
+					T holder = holdersById.get(rs.getInt("holder_id"));
+					attributes.put(holder, new SingleBeanAttributeRowMapper<>(sess, this, holder).mapRow(rs, rs.getRow()));
+				}
+				return null;
+			});
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+		for (T holder : holders) {
+			attributes.computeIfAbsent(holder, h -> new Attribute(attributeDefinition));
+		}
+		return attributes;
+	}
+
 	@Override
 	public AttributeDefinition getAttributeDefinition(PerunSession sess, String attributeName) throws AttributeNotExistsException {
+		AttributeDefinitionRegistry registry = getAttributeDefinitionRegistry();
+		if (registry != null) {
+			AttributeDefinition attributeDefinition = registry.getByName(attributeName);
+			if (attributeDefinition != null) return attributeDefinition;
+		}
 		try {
 			return jdbc.queryForObject("SELECT " + attributeDefinitionMappingSelectQuery + " FROM attr_names WHERE attr_name=?", ATTRIBUTE_DEFINITION_MAPPER, attributeName);
 		} catch (EmptyResultDataAccessException ex) {
@@ -1553,8 +1745,10 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public List<AttributeDefinition> getAttributesDefinition(PerunSession sess) {
+		AttributeDefinitionRegistry registry = getAttributeDefinitionRegistry();
+		if (registry != null) return registry.getAll();
 		try {
-			return jdbc.query("SELECT " + attributeDefinitionMappingSelectQuery + ", NULL AS attr_value FROM attr_names", ATTRIBUTE_DEFINITION_MAPPER);
+			return loadAttributesDefinitions();
 		} catch (EmptyResultDataAccessException ex) {
 			log.debug("No attribute definition exists.");
 			return new ArrayList<>();
@@ -1565,6 +1759,8 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public List<AttributeDefinition> getAttributesDefinitionByNamespace(PerunSession sess, String namespace) {
+		AttributeDefinitionRegistry registry = getAttributeDefinitionRegistry();
+		if (registry != null) return registry.getByNamespace(namespace);
 		try {
 			return jdbc.query("SELECT " + attributeDefinitionMappingSelectQuery + ", NULL AS attr_value FROM attr_names WHERE namespace=?", ATTRIBUTE_DEFINITION_MAPPER, namespace);
 		} catch (EmptyResultDataAccessException ex) {
@@ -1577,6 +1773,11 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public AttributeDefinition getAttributeDefinitionById(PerunSession sess, int id) throws AttributeNotExistsException {
+		AttributeDefinitionRegistry registry = getAttributeDefinitionRegistry();
+		if (registry != null) {
+			AttributeDefinition attributeDefinition = registry.getById(id);
+			if (attributeDefinition != null) return attributeDefinition;
+		}
 		try {
 			return jdbc.queryForObject("SELECT " + attributeDefinitionMappingSelectQuery + " FROM attr_names WHERE id=?", ATTRIBUTE_DEFINITION_MAPPER, id);
 		} catch (EmptyResultDataAccessException ex) {
@@ -2077,6 +2278,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		if (!attribute.getFriendlyName().matches(AttributesManager.ATTRIBUTES_REGEXP)) {
 			throw new InternalErrorException(new IllegalArgumentException("Wrong attribute name " + attribute.getFriendlyName() + ", attribute name must match " + AttributesManager.ATTRIBUTES_REGEXP));
 		}
+		markAttributeDefinitionsChanged();
 		try {
 			int attributeId = Utils.getNewId(jdbc, "attr_names_id_seq");
 
@@ -2109,6 +2311,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public void deleteAttribute(PerunSession sess, AttributeDefinition attribute) {
+		markAttributeDefinitionsChanged();
 		try {
 			// unique attributes get deleted by deletion from entity_attr_values
 			jdbc.update("DELETE FROM "+ attributeToTablePrefix(attribute)+"_attr_values WHERE attr_id=?", attribute.getId());
@@ -2122,6 +2325,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public void deleteAllAttributeAuthz(PerunSession sess, AttributeDefinition attribute) {
+		AttributeRightsMatrix.markChanged();
 		try {
 			if (0 < jdbc.update("DELETE FROM attributes_authz WHERE attr_id=?", attribute.getId())) {
 				log.debug("All attribute_authz were deleted for {}.", attribute);
@@ -2650,6 +2854,10 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 				memberObjectMap.put(member.getId(), member);
 			}
 
+			// virtual attributes are computed for all members at once after reading the result set
+			Map<Integer, AttributeDefinition> virtualAttributes = new LinkedHashMap<>();
+			Map<Integer, List<Member>> virtualAttributesHolders = new HashMap<>();
+
 			while (rs.next()) {
 				// fetch from map by ID
 				Integer id = rs.getInt("id");
@@ -2657,6 +2865,14 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 				map.computeIfAbsent(mem, k -> new ArrayList<>());
 				// if not present, put in map
+
+				AttributeDefinition attributeDefinition = ATTRIBUTE_DEFINITION_MAPPER.mapRow(rs, rs.getRow());
+				if (attributesManager.isVirtAttribute(sess, attributeDefinition)) {
+					virtualAttributes.putIfAbsent(attributeDefinition.getId(), attributeDefinition);
+					virtualAttributesHolders.computeIfAbsent(attributeDefinition.getId(), k -> new ArrayList<>()).add(mem);
+					continue;
+				}
+
 				AttributeRowMapper attributeRowMapper;
 				if (resource != null) {
 					attributeRowMapper = new MemberResourceAttributeRowMapper(sess, attributesManager, mem, resource);
@@ -2670,6 +2886,11 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 					map.get(mem).add(attribute);
 				}
 			}
+
+			for (AttributeDefinition attributeDefinition : virtualAttributes.values()) {
+				attributesManager.getVirtualAttributeValues(sess, attributeDefinition, virtualAttributesHolders.get(attributeDefinition.getId()), resource)
+						.forEach((member, attribute) -> map.get(member).add(attribute));
+			}
 			return map;
 		}
 	}
@@ -2759,6 +2980,10 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 				userObjectMap.put(user.getId(), user);
 			}
 
+			// virtual attributes are computed for all users at once after reading the result set
+			Map<Integer, AttributeDefinition> virtualAttributes = new LinkedHashMap<>();
+			Map<Integer, List<User>> virtualAttributesHolders = new HashMap<>();
+
 			while (rs.next()) {
 				// fetch from map by ID
 				Integer id = rs.getInt("id");
@@ -2767,6 +2992,13 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 				map.computeIfAbsent(user, k -> new ArrayList<>());
 				// if not preset, put in map
 
+				AttributeDefinition attributeDefinition = ATTRIBUTE_DEFINITION_MAPPER.mapRow(rs, rs.getRow());
+				if (attributesManager.isVirtAttribute(sess, attributeDefinition)) {
+					virtualAttributes.putIfAbsent(attributeDefinition.getId(), attributeDefinition);
+					virtualAttributesHolders.computeIfAbsent(attributeDefinition.getId(), k -> new ArrayList<>()).add(user);
+					continue;
+				}
+
 				AttributeRowMapper attributeRowMapper = new UserFacilityAttributeRowMapper(sess, attributesManager, user, facility);
 				Attribute attribute = attributeRowMapper.mapRow(rs, rs.getRow());
 
@@ -2775,6 +3007,11 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 					map.get(user).add(attribute);
 				}
 			}
+
+			for (AttributeDefinition attributeDefinition : virtualAttributes.values()) {
+				attributesManager.getVirtualAttributeValues(sess, attributeDefinition, virtualAttributesHolders.get(attributeDefinition.getId()), facility)
+						.forEach((usr, attribute) -> map.get(usr).add(attribute));
+			}
 			return map;
 		}
 	}
@@ -4091,7 +4328,89 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	 * @return name of attribute module
 	 */
 	private String attributeNameToModuleName(String attributeName) {
-		return ATTRIBUTES_MODULES_PACKAGE + "." + attributeName.replaceAll(":|-|[.]", "_");
+		AttributeDefinitionRegistry registry = attributeDefinitionRegistry;
+		return registry == null ? AttributeDefinitionRegistry.toModuleName(attributeName) : registry.getModuleName(attributeName);
+	}
+
+	/**
+	 * Load all attribute definitions from the DB.
+	 *
+	 * @return all attribute definitions
+	 */
+	private List<AttributeDefinition> loadAttributesDefinitions() {
+		return jdbc.query("SELECT " + attributeDefinitionMappingSelectQuery + ", NULL AS attr_value FROM attr_names", ATTRIBUTE_DEFINITION_MAPPER);
+	}
+
+	/**
+	 * Get current snapshot of all attribute definitions. Snapshot is loaded on the first use and reloaded
+	 * after configured refresh interval, so changes made by other Perun instances are eventually visible.
+	 *
+	 * Returns NULL when registry is disabled or attribute definitions were changed in the current transaction,
+	 * since such changes are not in the registry until the transaction is committed. Callers must read from the DB then.
+	 *
+	 * @return snapshot of attribute definitions or NULL
+	 */
+	private AttributeDefinitionRegistry getAttributeDefinitionRegistry() {
+		int refreshInterval = BeansUtils.getCoreConfig().getAttributeDefinitionsRefreshInterval();
+		if (refreshInterval < 0) return null;
+		if (attributeDefinitionsChanged.isChangedInTransaction()) return null;
+
+		AttributeDefinitionRegistry registry = attributeDefinitionRegistry;
+		if (registry != null && (refreshInterval == 0 ||
+				System.currentTimeMillis() - registry.getCreatedAt() < TimeUnit.SECONDS.toMillis(refreshInterval))) {
+			return registry;
+		}
+		synchronized (attributeDefinitionRegistryLock) {
+			if (registry == attributeDefinitionRegistry) {
+				try {
+					attributeDefinitionRegistry = AttributeDefinitionRegistry.of(loadAttributesDefinitions());
+					log.debug("Attribute definitions registry loaded.");
+				} catch (RuntimeException ex) {
+					throw new InternalErrorException(ex);
+				}
+			}
+			return attributeDefinitionRegistry;
+		}
+	}
+
+	/**
+	 * Mark attribute definitions as changed in the current transaction, so registry is bypassed until the transaction ends.
+	 * Registry itself is updated from audit events after the transaction is committed.
+	 */
+	private void markAttributeDefinitionsChanged() {
+		attributeDefinitionsChanged.markChanged();
+	}
+
+	/**
+	 * Update registry of attribute definitions by stored audit event.
+	 * Definitions are re-read from the DB, since changes are already committed.
+	 *
+	 * @param event stored audit event
+	 */
+	private void updateAttributeDefinitionRegistry(AuditEvent event) {
+		Integer id = null;
+		if (event instanceof AttributeCreated) {
+			id = ((AttributeCreated) event).getAttribute().getId();
+		} else if (event instanceof AttributeUpdated) {
+			id = ((AttributeUpdated) event).getAttributeDefinition().getId();
+		} else if (event instanceof AttributeDeleted) {
+			id = ((AttributeDeleted) event).getAttributeDefinition().getId();
+		}
+		if (id == null) return;
+
+		synchronized (attributeDefinitionRegistryLock) {
+			AttributeDefinitionRegistry registry = attributeDefinitionRegistry;
+			// not loaded yet, it will be loaded with the change
+			if (registry == null) return;
+			try {
+				List<AttributeDefinition> definitions = jdbc.query("SELECT " + attributeDefinitionMappingSelectQuery + " FROM attr_names WHERE id=?", ATTRIBUTE_DEFINITION_MAPPER, id);
+				attributeDefinitionRegistry = definitions.isEmpty() ? registry.without(id) : registry.with(definitions.get(0));
+			} catch (RuntimeException ex) {
+				// drop whole snapshot, it will be loaded again on the next use
+				log.error("Failed to update attribute definitions registry by {}.", event, ex);
+				attributeDefinitionRegistry = null;
+			}
+		}
 	}
 
 	/**
@@ -4718,6 +5037,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public AttributeDefinition updateAttributeDefinition(PerunSession perunSession, AttributeDefinition attributeDefinition) {
+		markAttributeDefinitionsChanged();
 		try {
 			Map<String, Object> map = jdbc.queryForMap("SELECT attr_name, friendly_name, namespace, type, dsc, display_name, is_unique FROM attr_names WHERE id=?", attributeDefinition.getId());
 
@@ -4836,6 +5156,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public void setAttributeRight(PerunSession sess, AttributeRights rights) {
+		AttributeRightsMatrix.markChanged();
 		try {
 			// get action types of the attribute and role from the database
 			List<ActionType> dbActionTypes = jdbc.query("SELECT action_types.action_type AS action_type FROM attributes_authz JOIN action_types "
@@ -174,6 +174,17 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 		}
 	}
 
+	@Override
+	public List<AuditMessage> getMessagesAfterId(PerunSession perunSession, int lastProcessedId, int count) {
+		try {
+			return jdbc.query("select " + auditMessageMappingSelectQuery + " from auditer_log where id > ? order by id limit ?", AUDIT_MESSAGE_MAPPER, lastProcessedId, count);
+		} catch (EmptyResultDataAccessException ex) {
+			return new ArrayList<>();
+		} catch (RuntimeException err) {
+			throw new InternalErrorException(err);
+		}
+	}
+
 	@Override
 	public int getLastMessageId(PerunSession perunSession) {
 		try {
@@ -9,6 +9,7 @@ import cz.metacentrum.perun.core.api.exceptions.AttributeNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.WrongAttributeAssignmentException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
+import cz.metacentrum.perun.core.implApi.AuditEventListener;
 import cz.metacentrum.perun.core.implApi.modules.attributes.AttributesModuleImplApi;
 import net.jcip.annotations.GuardedBy;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -31,6 +32,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * This class is responsible for runtime logging of audit events. It gets messages and assocaites them with current transaction.
@@ -98,6 +100,25 @@ public class Auditer {
 		}
 	}
 
+	private static final Set<AuditEventListener> registeredAuditEventListeners = new CopyOnWriteArraySet<>();
+
+	/**
+	 * Register listener to be notified about every audit event stored to the auditer log.
+	 *
+	 * @param listener listener to register
+	 */
+	public static void registerAuditEventListener(AuditEventListener listener) {
+		if (listener != null && registeredAuditEventListeners.add(listener)) {
+			log.debug("Auditer: Listener {} was registered for audit events.", listener.getClass().getName());
+		}
+	}
+
+	public static void unregisterAuditEventListener(AuditEventListener listener) {
+		if (listener != null && registeredAuditEventListeners.remove(listener)) {
+			log.debug("Auditer: Listener {} was removed from audit events.", listener.getClass().getName());
+		}
+	}
+
 	public Auditer() {
 	}
 
@@ -367,6 +388,26 @@ public class Auditer {
 
 		}
 
+		notifyAuditEventListeners(auditerMessages);
+
+	}
+
+	/**
+	 * Pass stored messages to all registered listeners. Failure of one listener doesn't affect the others.
+	 *
+	 * @param auditerMessages stored messages
+	 */
+	private void notifyAuditEventListeners(List<AuditerMessage> auditerMessages) {
+		if (registeredAuditEventListeners.isEmpty()) return;
+		for (AuditerMessage message : auditerMessages) {
+			for (AuditEventListener listener : registeredAuditEventListeners) {
+				try {
+					listener.notifyWith(message.getEvent());
+				} catch (RuntimeException ex) {
+					log.error("Listener {} failed to process audit event {}.", listener.getClass().getName(), message.getEvent(), ex);
+				}
+			}
+		}
 	}
 
 	/**
@@ -1,5 +1,8 @@
 package cz.metacentrum.perun.core.impl;
 
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeAuthzDeleted;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeRightsSet;
 import cz.metacentrum.perun.core.api.ActionType;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.BeansUtils;
@@ -26,6 +29,7 @@ import cz.metacentrum.perun.core.api.exceptions.RoleAlreadySetException;
 import cz.metacentrum.perun.core.api.exceptions.RoleManagementRulesNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.RoleNotSetException;
 import cz.metacentrum.perun.core.api.exceptions.UserNotAdminException;
+import cz.metacentrum.perun.core.implApi.AuditEventListener;
 import cz.metacentrum.perun.core.implApi.AuthzResolverImplApi;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -46,6 +50,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,6 +80,11 @@ public class AuthzResolverImpl implements AuthzResolverImplApi {
 	private static JdbcPerunTemplate jdbc;
 	private static NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
+	// rights of all attributes, replaced as a whole on every change
+	private static volatile AttributeRightsMatrix attributeRightsMatrix;
+	private static final Object attributeRightsMatrixLock = new Object();
+	private static final AuditEventListener attributeRightsListener = AuthzResolverImpl::updateAttributeRightsMatrix;
+
 	private final static Pattern patternForExtractingPerunBean = Pattern.compile("^pb_([a-z_]+)_id$");
 
 	private final static String authzRoleMappingSelectQuery = " authz.user_id as authz_user_id, authz.role_id as authz_role_id," +
@@ -140,6 +150,7 @@ public class AuthzResolverImpl implements AuthzResolverImplApi {
 		jdbc.setQueryTimeout(BeansUtils.getCoreConfig().getQueryTimeout());
 		namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(perunPool);
 		namedParameterJdbcTemplate.getJdbcTemplate().setQueryTimeout(BeansUtils.getCoreConfig().getQueryTimeout());
+		Auditer.registerAuditEventListener(attributeRightsListener);
 	}
 
 	@Override
@@ -217,7 +228,18 @@ public class AuthzResolverImpl implements AuthzResolverImplApi {
 		perunPoliciesContainer.setRolesManagementRules(this.perunRolesLoader.loadPerunRolesManagement());
 	}
 
+	/**
+	 * Get roles which can work with attribute and their action types matching requested action type.
+	 * Rights are read from the in-memory matrix, DB is queried only when rights were changed in the current transaction.
+	 *
+	 * @param actionType requested action type
+	 * @param attrDef attribute definition
+	 * @return unmodifiable map of role names to action types
+	 */
 	public static Map<String, Set<ActionType>> getRolesWhichCanWorkWithAttribute(ActionType actionType, AttributeDefinition attrDef) {
+		AttributeRightsMatrix matrix = getAttributeRightsMatrix();
+		if (matrix != null) return matrix.getRoles(attrDef.getId(), actionType);
+
 		String actType = actionType.getActionType().toLowerCase() + "%";
 		try {
 			List<Pair<String, ActionType>> pairs = jdbc.query("select distinct roles.name, action_types.action_type from attributes_authz " +
@@ -246,6 +268,61 @@ public class AuthzResolverImpl implements AuthzResolverImplApi {
 		}
 	}
 
+	/**
+	 * Get current matrix of attribute rights. Matrix is loaded on the first use and reloaded
+	 * after configured refresh interval, so changes made by other Perun instances are eventually visible.
+	 *
+	 * @return matrix of attribute rights or NULL, if it is disabled or rights were changed in the current transaction
+	 */
+	private static AttributeRightsMatrix getAttributeRightsMatrix() {
+		int refreshInterval = BeansUtils.getCoreConfig().getAttributeRightsRefreshInterval();
+		if (refreshInterval < 0 || AttributeRightsMatrix.isChangedInTransaction()) return null;
+
+		AttributeRightsMatrix matrix = attributeRightsMatrix;
+		if (matrix != null && (refreshInterval == 0 ||
+				System.currentTimeMillis() - matrix.getCreatedAt() < TimeUnit.SECONDS.toMillis(refreshInterval))) {
+			return matrix;
+		}
+		synchronized (attributeRightsMatrixLock) {
+			if (matrix == attributeRightsMatrix) {
+				try {
+					attributeRightsMatrix = AttributeRightsMatrix.load(jdbc);
+					log.debug("Attribute rights matrix loaded.");
+				} catch (RuntimeException e) {
+					throw new InternalErrorException(e);
+				}
+			}
+			return attributeRightsMatrix;
+		}
+	}
+
+	/**
+	 * Update matrix of attribute rights by stored audit event. Rights are re-read from the DB, since changes are already committed.
+	 *
+	 * @param event stored audit event
+	 */
+	private static void updateAttributeRightsMatrix(AuditEvent event) {
+		Integer attributeId = null;
+		if (event instanceof AttributeRightsSet) {
+			attributeId = ((AttributeRightsSet) event).getRights().getAttributeId();
+		} else if (event instanceof AttributeAuthzDeleted) {
+			attributeId = ((AttributeAuthzDeleted) event).getAttributeDefinition().getId();
+		}
+		if (attributeId == null) return;
+
+		synchronized (attributeRightsMatrixLock) {
+			AttributeRightsMatrix matrix = attributeRightsMatrix;
+			if (matrix == null) return;
+			try {
+				attributeRightsMatrix = matrix.reload(jdbc, attributeId);
+			} catch (RuntimeException e) {
+				// drop whole matrix, it will be loaded again on the next use
+				log.error("Failed to update attribute rights matrix by {}.", event, e);
+				attributeRightsMatrix = null;
+			}
+		}
+	}
+
 	@Override
 	public void removeAllUserAuthz(PerunSession sess, User user) {
 		try {
@@ -61,6 +61,13 @@ public class Compatibility {
 		return "unaccent(" + columnName + ")";
 	}
 
+	/**
+	 * Same as {@link #convertToAscii(String)}, but uses immutable function, so it matches expression indexes.
+	 */
+	static String convertToAsciiIndexed(String columnName) {
+		return "unaccent_immutable(" + columnName + ")";
+	}
+
 	public static String toDate(String value, String format) {
 		return "to_timestamp(" + value + ", " + format + ")";
 	}
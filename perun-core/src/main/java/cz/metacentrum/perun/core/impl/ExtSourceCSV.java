@@ -16,11 +16,24 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Ext source for CSV files. It expects them to have 1st row as a header.
@@ -147,6 +160,53 @@ public class ExtSourceCSV extends ExtSource implements ExtSourceApi {
         return null;
     }
 
+    @Override
+    public Stream<Map<String, String>> getGroupSubjectsStream(Map<String, String> attributes) {
+        // Get the query for the group subjects
+        String queryForGroup = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
+
+        // If there is no query for group, throw exception
+        if (queryForGroup == null) {
+            throw new InternalErrorException("Attribute " + GroupsManager.GROUPMEMBERSQUERY_ATTRNAME + " can't be null.");
+        }
+
+        // Get CSV file
+        prepareFile();
+
+        try {
+            return csvStreaming(queryForGroup);
+        } catch (IOException ex) {
+            log.error("IOException in getGroupSubjectsStream() method while parsing csv file", ex);
+            throw new InternalErrorException("Reading of CSV file failed.", ex);
+        }
+    }
+
+    /**
+     * Get fingerprint of the CSV file from its modification time and SHA-256 hash of its content.
+     * Content is streamed through the digest, so the file is never read into memory at once.
+     *
+     * @param attributes map of attributes used for quering the external source
+     * @return fingerprint of the file
+     * @throws InternalErrorException When reading of the file fails
+     */
+    @Override
+    public String getGroupSubjectsFingerprint(Map<String, String> attributes) {
+        // Get CSV file
+        prepareFile();
+
+        try {
+            Path csvFile = Paths.get(file);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream content = new DigestInputStream(Files.newInputStream(csvFile), digest)) {
+                content.transferTo(OutputStream.nullOutputStream());
+            }
+            return Files.getLastModifiedTime(csvFile).toMillis() + ":" + Base64.getEncoder().encodeToString(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            log.error("Exception in getGroupSubjectsFingerprint() method while reading csv file", ex);
+            throw new InternalErrorException("Reading of CSV file failed.", ex);
+        }
+    }
+
 	@Override
 	public List<Map<String, String>> getUsersSubjects() {
 		try {
@@ -203,7 +263,23 @@ public class ExtSourceCSV extends ExtSource implements ExtSourceApi {
      */
     private List<Map<String, String>> csvParsing(String query, int maxResults) throws IOException {
 
-        List<Map<String, String>> subjects = new ArrayList<>();
+        try (Stream<Map<String, String>> subjects = csvStreaming(query)) {
+            // limit results if we required limited response
+            return (maxResults > 0 ? subjects.limit(maxResults) : subjects).collect(Collectors.toList());
+        }
+
+    }
+
+    /**
+     * Parse CSV file into stream of our standard "subject" (aka candidates). Rows are read
+     * from the file while the stream is consumed, stream has to be closed to close the file.
+     *
+     * @param query query to check CSV file content against
+     * @return Stream of Maps representing subjects for synchronization (perun_attr/constant = value).
+     * @throws InternalErrorException When implementation fails
+     * @throws IOException When opening CSV file fails
+     */
+    private Stream<Map<String, String>> csvStreaming(String query) throws IOException {
 
         Map<String,String> attributeMapping = getCsvMapping();
 
@@ -213,33 +289,26 @@ public class ExtSourceCSV extends ExtSource implements ExtSourceApi {
         CsvSchema schema = CsvSchema.emptySchema().withHeader();
 
         MappingIterator<Map<String,String>> it = mapper.readerFor(Map.class).with(schema).readValues(csvFile);
-        while (it.hasNext()) {
 
-            Map<String,String> rowAsMap = it.next();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .filter(rowAsMap -> compareRowToQuery(rowAsMap, query))
+                .map(rowAsMap -> {
+                    Map<String,String> singleSubject = new HashMap<>();
 
-            if (compareRowToQuery(rowAsMap, query)) {
-
-                Map<String,String> singleSubject = new HashMap<>();
-
-                // translate CSV column names to perun attribute URNs
-                for (String key : rowAsMap.keySet()) {
-                    singleSubject.put(attributeMapping.get(key), rowAsMap.get(key));
-                }
-
-                subjects.add(singleSubject);
-
-                // break if we required limited response
-                if (maxResults > 0) {
-                    if (subjects.size() >= maxResults) {
-                        break;
+                    // translate CSV column names to perun attribute URNs
+                    for (String key : rowAsMap.keySet()) {
+                        singleSubject.put(attributeMapping.get(key), rowAsMap.get(key));
                     }
-                }
 
-            }
-
-        }
-
-        return subjects;
+                    return singleSubject;
+                })
+                .onClose(() -> {
+                    try {
+                        it.close();
+                    } catch (IOException ex) {
+                        throw new InternalErrorException("Closing of CSV file failed.", ex);
+                    }
+                });
 
     }
 
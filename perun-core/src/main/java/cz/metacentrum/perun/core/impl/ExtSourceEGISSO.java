@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * This extSource is just for use loading users from LDAP of EGI SSO
@@ -39,6 +40,18 @@ public class ExtSourceEGISSO extends ExtSourceLdap implements ExtSourceApi {
 		return getUsersOrGroupSubjects(query);
 	}
 
+	@Override
+	public Stream<Map<String, String>> getGroupSubjectsStream(Map<String, String> attributes) {
+		// subjects are found by one search, not by members of LDAP group
+		return getGroupSubjects(attributes).stream();
+	}
+
+	@Override
+	public String getGroupSubjectsFingerprint(Map<String, String> attributes) {
+		// subjects are not members of LDAP group, so its modifyTimestamp can't be used
+		return null;
+	}
+
 	@Override
 	public List<Map<String, String>> getSubjectGroups(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException {
 		throw new ExtSourceUnsupportedOperationException();
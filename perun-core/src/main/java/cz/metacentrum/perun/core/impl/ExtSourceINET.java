@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * This is a specific version of SQL extSource extension for SQL Complex.
@@ -19,6 +20,15 @@ public class ExtSourceINET extends ExtSourceSqlComplex {
 
 	@Override
 	public List<Map<String, String>> getGroupSubjects(Map<String, String> attributes) {
+		return this.querySource(getGroupSubjectsQuery(attributes), null, 0);
+	}
+
+	@Override
+	public Stream<Map<String, String>> getGroupSubjectsStream(Map<String, String> attributes) {
+		return this.streamSource(getGroupSubjectsQuery(attributes));
+	}
+
+	private String getGroupSubjectsQuery(Map<String, String> attributes) {
 		// Parameters of query in the combination "workspace:groupname"
 		String sqlParametersForQuery = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
 		Matcher sqlParametersMatcher = queryParametersPattern.matcher(sqlParametersForQuery);
@@ -30,8 +40,6 @@ public class ExtSourceINET extends ExtSourceSqlComplex {
 		if(!queryTemplate.contains("?")) throw new InternalErrorException("There is missing first occurrence of '?' character to replace workplace number for!");
 		String query = queryTemplate.replaceFirst("[?]", numberOfWorkplace);
 		if(!query.contains("?")) throw new InternalErrorException("There is missing second occurrence of '?' character to replace group name for!");
-		query = query.replaceFirst("[?]", "'" + nameOfTheGroup + "'");
-
-		return this.querySource(query, null, 0);
+		return query.replaceFirst("[?]", "'" + nameOfTheGroup + "'");
 	}
 }
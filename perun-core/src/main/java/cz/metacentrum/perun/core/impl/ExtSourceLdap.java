@@ -21,16 +21,28 @@ import javax.naming.directory.InitialDirContext;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Ext source implementation for LDAP.
  *
+ * Connections are pooled by JNDI LDAP connection pool, so they are reused by all ext sources connecting
+ * with the same URL and credentials. Closing the ext source returns its connection to the pool. Pool is
+ * configured by system properties 'com.sun.jndi.ldap.connect.pool.*', idle connections are evicted after
+ * 10 minutes and at most 10 connections are kept for each URL and credentials by default.
+ *
  * @author Michal Prochazka michalp@ics.muni.cz
  * @author Pavel Zlámal <zlamal@cesnet.cz>
  */
@@ -43,6 +55,17 @@ public class ExtSourceLdap extends ExtSource implements ExtSourceApi {
 	protected DirContext dirContext = null;
 	protected String filteredQuery = null;
 
+	static {
+		// default configuration of the JNDI LDAP connection pool, if it is not set on the command line
+		setSystemPropertyIfAbsent("com.sun.jndi.ldap.connect.pool.maxsize", "10");
+		setSystemPropertyIfAbsent("com.sun.jndi.ldap.connect.pool.timeout", "600000");
+		setSystemPropertyIfAbsent("com.sun.jndi.ldap.connect.pool.protocol", "plain ssl");
+	}
+
+	private static void setSystemPropertyIfAbsent(String name, String value) {
+		if (System.getProperty(name) == null) System.setProperty(name, value);
+	}
+
 	protected DirContext getContext() {
 		if (dirContext == null) {
 			initContext();
@@ -110,57 +133,129 @@ public class ExtSourceLdap extends ExtSource implements ExtSourceApi {
 
 	@Override
 	public List<Map<String, String>> getGroupSubjects(Map<String, String> attributes) {
+		List<Map<String, String>> subjects = new ArrayList<>();
+		try (Stream<Map<String, String>> subjectsStream = getGroupSubjectsStream(attributes)) {
+			subjectsStream.forEach(subjects::add);
+		}
+		return subjects;
+	}
 
-		List<String> ldapGroupSubjects = new ArrayList<>();
+	/**
+	 * Get the subjects in the LDAP group as a stream. DNs of the subjects are read from the member attribute
+	 * of the group entry by ranged retrieval and entries of the subjects are searched one by one while the stream
+	 * is consumed, so only one range of DNs is held in memory.
+	 *
+	 * @param attributes map of attributes used for quering the external source
+	 * @return stream of subjects
+	 * @throws InternalErrorException if the group entry can't be read
+	 */
+	@Override
+	public Stream<Map<String, String>> getGroupSubjectsStream(Map<String, String> attributes) {
+		// Reading of the first range of DNs initializes the context including the default filter
+		GroupSubjectsDNs ldapGroupSubjects = new GroupSubjectsDNs(attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME),
+				getAttributes().getOrDefault("memberAttribute", "uniqueMember"));
 
-		// Get the LDAP group name
-		String ldapGroupName = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
 		// Get optional filter for members filtering
 		String filter = attributes.get(GroupsManager.GROUPMEMBERSFILTER_ATTRNAME);
+		// If attribute filter not exists, use optional default filter from extSource definition
+		String subjectsFilter = filter == null ? filteredQuery : filter;
 
-		try {
-			log.trace("LDAP External Source: searching for group subjects [{}]", ldapGroupName);
-
-			String attrName;
-			// Default value
-			attrName = getAttributes().getOrDefault("memberAttribute", "uniqueMember");
-			List<String> retAttrs = new ArrayList<>();
-			retAttrs.add(attrName);
-
-			String[] retAttrsArray = retAttrs.toArray(new String[0]);
-			Attributes attrs = getContext().getAttributes(ldapGroupName, retAttrsArray);
-
-			Attribute ldapAttribute = null;
-			// Get the list of returned groups, should be only one
-			if (attrs.get(attrName) != null) {
-				// Get the attribute which holds group subjects
-				ldapAttribute = attrs.get(attrName);
-			}
+		// Now query LDAP again and search for each subject
+		return StreamSupport.stream(ldapGroupSubjects, false)
+				.flatMap(ldapSubjectName -> this.querySource(subjectsFilter, ldapSubjectName, 0).stream());
+	}
 
-			if (ldapAttribute != null) {
-				// Get the DNs of the subjects
-				for (int i=0; i < ldapAttribute.size(); i++) {
-					String ldapSubjectDN = (String) ldapAttribute.get(i);
-					ldapGroupSubjects.add(ldapSubjectDN);
-					log.trace("LDAP External Source: found group subject [{}].", ldapSubjectDN);
-				}
-			}
+	/**
+	 * Get modifyTimestamp of the LDAP group entry, which changes with every change of its members.
+	 * Changes of the subject entries themselves are not reflected.
+	 *
+	 * @param attributes map of attributes used for quering the external source
+	 * @return modifyTimestamp of the group entry or null, if it can't be read
+	 */
+	@Override
+	public String getGroupSubjectsFingerprint(Map<String, String> attributes) {
+		// Get the LDAP group name
+		String ldapGroupName = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
 
-			List<Map<String, String>> subjects = new ArrayList<>();
+		try {
+			Attribute modifyTimestamp = getContext().getAttributes(ldapGroupName, new String[] {"modifyTimestamp"}).get("modifyTimestamp");
+			return modifyTimestamp == null ? null : (String) modifyTimestamp.get();
+		} catch (NamingException e) {
+			log.warn("LDAP exception during reading modifyTimestamp of '{}': {}", ldapGroupName, e.getMessage());
+			return null;
+		}
+	}
 
-			// If attribute filter not exists, use optional default filter from extSource definition
-			if(filter == null) filter = filteredQuery;
+	/**
+	 * DNs of the subjects from the member attribute of the LDAP group read range by range
+	 * (e.g. 'member;range=1500-*'), the next range is read when the previous one is consumed.
+	 * Size of the ranges is set by the server. Servers which don't support ranged retrieval
+	 * return all values of the attribute in the first range.
+	 */
+	private class GroupSubjectsDNs extends Spliterators.AbstractSpliterator<String> {
+
+		private final String ldapGroupName;
+		private final String attrName;
+		private Iterator<String> range = Collections.emptyIterator();
+		// start of the next range or null, if all ranges were read
+		private Integer nextRangeStart = 0;
+
+		private GroupSubjectsDNs(String ldapGroupName, String attrName) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.ldapGroupName = ldapGroupName;
+			this.attrName = attrName;
+			readNextRange();
+		}
 
-			// Now query LDAP again and search for each subject
-			for (String ldapSubjectName : ldapGroupSubjects) {
-				subjects.addAll(this.querySource(filter, ldapSubjectName, 0));
+		@Override
+		public boolean tryAdvance(Consumer<? super String> action) {
+			while (!range.hasNext()) {
+				if (nextRangeStart == null) return false;
+				readNextRange();
 			}
+			action.accept(range.next());
+			return true;
+		}
 
-			return subjects;
+		private void readNextRange() {
+			log.trace("LDAP External Source: searching for group subjects [{}] from {}", ldapGroupName, nextRangeStart);
 
-		} catch (NamingException e) {
-			log.error("LDAP exception during running query '{}'", ldapGroupName);
-			throw new InternalErrorException("Entry '"+ldapGroupName+"' was not found in LDAP." , e);
+			String rangedAttrName = attrName + ";range=" + nextRangeStart + "-*";
+			// plain attribute is requested too, for servers which don't support ranged retrieval
+			String[] retAttrs = nextRangeStart == 0 ? new String[] {attrName, rangedAttrName} : new String[] {rangedAttrName};
+			try {
+				Attributes attrs = getContext().getAttributes(ldapGroupName, retAttrs);
+
+				List<String> plainDNs = new ArrayList<>();
+				List<String> rangedDNs = null;
+				nextRangeStart = null;
+				NamingEnumeration<? extends Attribute> ldapAttributes = attrs.getAll();
+				while (ldapAttributes.hasMore()) {
+					Attribute ldapAttribute = ldapAttributes.next();
+					String id = ldapAttribute.getID();
+					if (id.equalsIgnoreCase(attrName)) {
+						readValues(ldapAttribute, plainDNs);
+					} else if (id.toLowerCase().startsWith(attrName.toLowerCase() + ";range=")) {
+						rangedDNs = new ArrayList<>();
+						readValues(ldapAttribute, rangedDNs);
+						// returned range is 'start-end' or 'start-*' for the last one
+						String rangeEnd = id.substring(id.lastIndexOf('-') + 1);
+						if (!rangeEnd.equals("*")) nextRangeStart = Integer.parseInt(rangeEnd) + 1;
+					}
+				}
+				range = (rangedDNs == null ? plainDNs : rangedDNs).iterator();
+			} catch (NamingException e) {
+				log.error("LDAP exception during running query '{}'", ldapGroupName);
+				throw new InternalErrorException("Entry '"+ldapGroupName+"' was not found in LDAP." , e);
+			}
+		}
+
+		private void readValues(Attribute ldapAttribute, List<String> dns) throws NamingException {
+			for (int i = 0; i < ldapAttribute.size(); i++) {
+				String ldapSubjectDN = (String) ldapAttribute.get(i);
+				dns.add(ldapSubjectDN);
+				log.trace("LDAP External Source: found group subject [{}].", ldapSubjectDN);
+			}
 		}
 	}
 
@@ -183,6 +278,7 @@ public class ExtSourceLdap extends ExtSource implements ExtSourceApi {
 
 		env.put(Context.INITIAL_CONTEXT_FACTORY,"com.sun.jndi.ldap.LdapCtxFactory");
 		env.put(Context.SECURITY_AUTHENTICATION, "simple");
+		env.put("com.sun.jndi.ldap.connect.pool", "true");
 		if (getAttributes().containsKey("referral")) {
 			env.put(Context.REFERRAL, getAttributes().get("referral"));
 		}
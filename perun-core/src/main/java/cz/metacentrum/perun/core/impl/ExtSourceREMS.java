@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * ExtSource class for REMS, filters subjects that does not have a corresponding user in Perun
@@ -78,6 +79,12 @@ public class ExtSourceREMS extends ExtSourceSqlComplex implements ExtSourceApi {
 		return filterNonExistingUsers(subjects);
 	}
 
+	@Override
+	public Stream<Map<String, String>> getGroupSubjectsStream(Map<String, String> attributes) {
+		// subjects are filtered as a whole
+		return getGroupSubjects(attributes).stream();
+	}
+
 	@Override
 	public List<Map<String, String>> getSubjectGroups(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException {
 		throw new ExtSourceUnsupportedOperationException();
@@ -8,6 +8,8 @@ import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.SubjectNotExistsException;
 import cz.metacentrum.perun.core.blImpl.PerunBlImpl;
 import cz.metacentrum.perun.core.implApi.ExtSourceSimpleApi;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +19,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -26,21 +27,43 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Properties;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static cz.metacentrum.perun.core.blImpl.GroupsManagerBlImpl.GROUP_SYNC_DEFAULT_DATA;
 import static java.util.stream.Collectors.toMap;
 
 /**
+ * Ext source for SQL databases.
+ *
+ * Connections are taken from a pool shared by all instances of the ext source with the same name, so they are reused
+ * across synchronizations and threads. Each operation returns its connection to the pool when it is done.
+ * Pool can be configured by ext source attributes 'poolMaxSize' (5 by default) and 'poolIdleTimeout' in milliseconds
+ * (10 minutes by default), after which idle connections are closed. Pool is replaced when the url or credentials
+ * of the ext source change and it is closed when the ext source is deleted or updated and on shutdown. Replaced
+ * or closed pool keeps connections borrowed by running operations until they are returned.
+ * Pool metrics are exposed as JMX MBeans of HikariCP named 'perun-extsource-' followed by the name of the ext source,
+ * where characters other than letters, digits, '.' and '-' are replaced by '_', and by the sequence number of the pool.
+ *
  * @author Michal Prochazka michalp@ics.muni.cz
  */
 public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 
 	private final static Logger log = LoggerFactory.getLogger(ExtSourceSql.class);
+	private static final int DEFAULT_FETCH_SIZE = 1000;
+	private static final int DEFAULT_POOL_MAX_SIZE = 5;
+	private static final long DEFAULT_POOL_IDLE_TIMEOUT = 600000;
 	private static final Map<String, String> attributeNameMapping = new HashMap<>();
+	//Pools of connections per ext source name
+	private static final Map<String, ConnectionPool> connectionPools = new ConcurrentHashMap<>();
+	private static final AtomicInteger poolSequence = new AtomicInteger();
 	private Connection con;
-	private boolean isOracle = false;
-	private boolean isSQLite = false;
+	private ConnectionPool pool;
 
 	private static PerunBlImpl perunBl;
 
@@ -111,6 +134,41 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 		return this.querySource(sqlQueryForGroup, null, 0);
 	}
 
+	@Override
+	public Stream<Map<String, String>> getGroupSubjectsStream(Map<String, String> attributes) {
+		// Get the sql query for the group subjects
+		String sqlQueryForGroup = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
+
+		return this.streamSource(sqlQueryForGroup);
+	}
+
+	/**
+	 * Get fingerprint of the group by the optional query from group attribute groupMembersFingerprintQuery.
+	 * Value of the first column of the first row is returned, e.g. result of checksum or max modification time.
+	 *
+	 * @param attributes map of attributes used for quering the external source
+	 * @return fingerprint of the group or null, if the query is not set
+	 * @throws InternalErrorException if query fails
+	 */
+	@Override
+	public String getGroupSubjectsFingerprint(Map<String, String> attributes) {
+		String fingerprintQuery = attributes.get(GroupsManager.GROUPMEMBERSFINGERPRINTQUERY_ATTRNAME);
+		if (fingerprintQuery == null || fingerprintQuery.isEmpty()) return null;
+
+		boolean connectionCreated = this.checkAndSetPrerequisites();
+
+		try (PreparedStatement st = getPreparedStatement(fingerprintQuery, null, 1)) {
+			try (ResultSet rs = st.executeQuery()) {
+				return rs.next() ? rs.getString(1) : null;
+			}
+		} catch (SQLException e) {
+			log.error("SQL exception during getting fingerprint '{}'", fingerprintQuery);
+			throw new InternalErrorException(e);
+		} finally {
+			releaseConnection(connectionCreated);
+		}
+	}
+
 	@Override
 	public List<Map<String,String>> getUsersSubjects() {
 		String query = getAttributes().get(UsersManager.USERS_QUERY);
@@ -125,7 +183,7 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 	protected List<Map<String,String>> querySource(String query, String searchString, int maxResults) {
 		log.debug("Searching for '{}' in external source 'url:{}'", searchString, getAttributes().get("url"));
 
-		this.checkAndSetPrerequisites();
+		boolean connectionCreated = this.checkAndSetPrerequisites();
 
 		try (PreparedStatement st = getPreparedStatement(query, searchString, maxResults)) {
 			try (ResultSet rs = st.executeQuery()) {
@@ -134,89 +192,7 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 				log.trace("Query {}", query);
 
 				while (rs.next()) {
-					Map<String, String> map = new HashMap<>();
-
-					try {
-						map.put("firstName", rs.getString("firstName"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("firstName", null);
-					}
-					try {
-						map.put("lastName", rs.getString("lastName"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("lastName", null);
-					}
-					try {
-						map.put("middleName", rs.getString("middleName"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("middleName", null);
-					}
-					try {
-						map.put("titleBefore", rs.getString("titleBefore"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("titleBefore", null);
-					}
-					try {
-						map.put("titleAfter", rs.getString("titleAfter"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("titleAfter", null);
-					}
-					try {
-						map.put("login", rs.getString("login"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("login", null);
-					}
-
-					for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
-						String columnName = rs.getMetaData().getColumnLabel(i);
-						log.trace("Iterating through attribute {}", columnName);
-						// Now go through all other attributes. If the column name(=attribute name) contains ":", then it represents an attribute
-						if (columnName.contains(":")) {
-							// Decode the attribute name (column name has limited size, so we need to code the attribute names)
-							// Coded attribute name: x:y:z
-							// x - m: member, u: user, f: facility, r: resource, mr: member-resource, uf: user-facility, h: host, v: vo, g: group, gr: group-resource
-							// y - d: def, o: opt
-							String[] attributeRaw = columnName.split(":", 3);
-							String attributeName = null;
-							if (!attributeNameMapping.containsKey(attributeRaw[0])) {
-								log.warn("Unknown attribute type '{}' for user {} {}, attributeRaw {}", attributeRaw[0], map.get("firstName"), map.get("lastName"), attributeRaw);
-							} else if (!attributeNameMapping.containsKey(attributeRaw[1])) {
-								log.warn("Unknown attribute type '{}' for user {} {}, attributeRaw {}", attributeRaw[1], map.get("firstName"), map.get("lastName"), attributeRaw);
-							} else {
-								attributeName = attributeNameMapping.get(attributeRaw[0]) + attributeNameMapping.get(attributeRaw[1]) + attributeRaw[2];
-								if (!Objects.equals(rs.getMetaData().getColumnTypeName(i), "BLOB")) {
-									// trace only string data
-									log.trace("Adding attribute {} with value {}", attributeName, rs.getString(i));
-								} else {
-									log.trace("Adding attribute {} with BLOB value", attributeName);
-								}
-							}
-							String attributeValue = null;
-							if (Objects.equals(rs.getMetaData().getColumnTypeName(i), "BLOB")) {
-								// source column is binary
-								attributeValue = parseBlobValue(rs.getBinaryStream(i), columnName);
-							} else {
-								// let driver to convert type to string
-								attributeValue = rs.getString(i);
-							}
-							if (rs.wasNull()) {
-								map.put(attributeName, null);
-							} else {
-								map.put(attributeName, attributeValue);
-							}
-						} else if (columnName.toLowerCase().startsWith(ExtSourcesManagerImpl.USEREXTSOURCEMAPPING)) {
-							// additionalUserExtSources, we must do lower case because some DBs changes lower to upper
-							map.put(columnName.toLowerCase(), rs.getString(i));
-							log.trace("Adding attribute {} with value {}", columnName, rs.getString(i));
-						}
-					}
-					subjects.add(map);
+					subjects.add(readSubject(rs));
 				}
 
 				log.debug("Returning {} subjects from external source {} for searchString {}", subjects.size(), this, searchString);
@@ -225,56 +201,315 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 		} catch (SQLException e) {
 			log.error("SQL exception during searching for subject '{}'", query);
 			throw new InternalErrorException(e);
+		} finally {
+			releaseConnection(connectionCreated);
 		}
 	}
 
-	protected void createConnection() {
-		try {
+	/**
+	 * Query external source and read subjects while the returned stream is consumed.
+	 *
+	 * Rows are fetched from the DB in batches of size from the ext source attribute 'fetchSize' (1000 by default).
+	 * Auto-commit is disabled while the stream is open, since some drivers (e.g. PostgreSQL) use cursors only without it,
+	 * MySQL needs 'useCursorFetch=true' in the URL. Stream has to be closed to release the statement.
+	 *
+	 * @param query query returning subjects
+	 * @return stream of subjects
+	 * @throws InternalErrorException if query fails
+	 */
+	protected Stream<Map<String,String>> streamSource(String query) {
+		log.debug("Streaming subjects from external source 'url:{}'", getAttributes().get("url"));
+
+		boolean connectionCreated = this.checkAndSetPrerequisites();
 
-			String connectionUrl = getAttributes().get("url");
-			String user = getAttributes().get("user");
-			String pass = getAttributes().get("password");
-			Properties connectionProperties = new Properties();
+		String fetchSizeValue = getAttributes().get("fetchSize");
+		int fetchSize = fetchSizeValue == null ? DEFAULT_FETCH_SIZE : Integer.parseInt(fetchSizeValue);
 
-			// set user/pass to properties if present
-			if (user != null && pass != null) {
-				connectionProperties.put("user", user);
-				connectionProperties.put("password", pass);
+		PreparedStatement st = null;
+		try {
+			boolean autoCommit = this.con.getAutoCommit();
+			st = getPreparedStatement(query, null, 0);
+			st.setFetchSize(fetchSize);
+			this.con.setAutoCommit(false);
+			ResultSet rs = executeStreamingQuery(st, autoCommit);
+			PreparedStatement statement = st;
+			log.trace("Query {}", query);
+
+			Spliterator<Map<String, String>> subjects = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+				@Override
+				public boolean tryAdvance(Consumer<? super Map<String, String>> action) {
+					try {
+						if (!rs.next()) return false;
+						action.accept(readSubject(rs));
+						return true;
+					} catch (SQLException e) {
+						log.error("SQL exception during reading subjects of query '{}'", query);
+						throw new InternalErrorException(e);
+					}
+				}
+			};
+
+			return StreamSupport.stream(subjects, false).onClose(() -> {
+				try {
+					rs.close();
+					statement.close();
+					// connection could be already closed by close() of the ext source
+					if (this.con != null) this.con.setAutoCommit(autoCommit);
+				} catch (SQLException e) {
+					throw new InternalErrorException(e);
+				} finally {
+					releaseConnection(connectionCreated);
+				}
+			});
+		} catch (SQLException e) {
+			log.error("SQL exception during searching for subjects '{}'", query);
+			try {
+				if (st != null) st.close();
+			} catch (SQLException ex) {
+				e.addSuppressed(ex);
 			}
+			releaseConnection(connectionCreated);
+			throw new InternalErrorException(e);
+		}
+	}
 
-			// set connection read_only for SQLite (doesn't follow JDBC standard)
-			if (connectionUrl.startsWith("jdbc:sqlite:")) {
-				isSQLite = true;
-				connectionProperties.put("open_mode","1");
+	/**
+	 * Execute the query of the stream, auto-commit is restored if it fails.
+	 */
+	private ResultSet executeStreamingQuery(PreparedStatement st, boolean autoCommit) throws SQLException {
+		try {
+			return st.executeQuery();
+		} catch (SQLException e) {
+			this.con.setAutoCommit(autoCommit);
+			throw e;
+		}
+	}
+
+	/**
+	 * Read subject from the current row of the result set.
+	 *
+	 * @param rs result set positioned on the row
+	 * @return map of subject attribute names to values
+	 * @throws SQLException if reading of the row fails
+	 */
+	private Map<String, String> readSubject(ResultSet rs) throws SQLException {
+		Map<String, String> map = new HashMap<>();
+
+		try {
+			map.put("firstName", rs.getString("firstName"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("firstName", null);
+		}
+		try {
+			map.put("lastName", rs.getString("lastName"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("lastName", null);
+		}
+		try {
+			map.put("middleName", rs.getString("middleName"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("middleName", null);
+		}
+		try {
+			map.put("titleBefore", rs.getString("titleBefore"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("titleBefore", null);
+		}
+		try {
+			map.put("titleAfter", rs.getString("titleAfter"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("titleAfter", null);
+		}
+		try {
+			map.put("login", rs.getString("login"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("login", null);
+		}
+
+		for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+			String columnName = rs.getMetaData().getColumnLabel(i);
+			log.trace("Iterating through attribute {}", columnName);
+			// Now go through all other attributes. If the column name(=attribute name) contains ":", then it represents an attribute
+			if (columnName.contains(":")) {
+				// Decode the attribute name (column name has limited size, so we need to code the attribute names)
+				// Coded attribute name: x:y:z
+				// x - m: member, u: user, f: facility, r: resource, mr: member-resource, uf: user-facility, h: host, v: vo, g: group, gr: group-resource
+				// y - d: def, o: opt
+				String[] attributeRaw = columnName.split(":", 3);
+				String attributeName = null;
+				if (!attributeNameMapping.containsKey(attributeRaw[0])) {
+					log.warn("Unknown attribute type '{}' for user {} {}, attributeRaw {}", attributeRaw[0], map.get("firstName"), map.get("lastName"), attributeRaw);
+				} else if (!attributeNameMapping.containsKey(attributeRaw[1])) {
+					log.warn("Unknown attribute type '{}' for user {} {}, attributeRaw {}", attributeRaw[1], map.get("firstName"), map.get("lastName"), attributeRaw);
+				} else {
+					attributeName = attributeNameMapping.get(attributeRaw[0]) + attributeNameMapping.get(attributeRaw[1]) + attributeRaw[2];
+					if (!Objects.equals(rs.getMetaData().getColumnTypeName(i), "BLOB")) {
+						// trace only string data
+						log.trace("Adding attribute {} with value {}", attributeName, rs.getString(i));
+					} else {
+						log.trace("Adding attribute {} with BLOB value", attributeName);
+					}
+				}
+				String attributeValue = null;
+				if (Objects.equals(rs.getMetaData().getColumnTypeName(i), "BLOB")) {
+					// source column is binary
+					attributeValue = parseBlobValue(rs.getBinaryStream(i), columnName);
+				} else {
+					// let driver to convert type to string
+					attributeValue = rs.getString(i);
+				}
+				if (rs.wasNull()) {
+					map.put(attributeName, null);
+				} else {
+					map.put(attributeName, attributeValue);
+				}
+			} else if (columnName.toLowerCase().startsWith(ExtSourcesManagerImpl.USEREXTSOURCEMAPPING)) {
+				// additionalUserExtSources, we must do lower case because some DBs changes lower to upper
+				map.put(columnName.toLowerCase(), rs.getString(i));
+				log.trace("Adding attribute {} with value {}", columnName, rs.getString(i));
 			}
+		}
+		return map;
+	}
 
-			// create connection
-			this.con = DriverManager.getConnection(connectionUrl, connectionProperties);
+	protected void createConnection() {
+		while (true) {
+			ConnectionPool connectionPool = getConnectionPool();
+			// pool could be replaced by other thread in the meantime, so take the current one
+			if (!connectionPool.reserve()) continue;
 
-			// Set connection to read-only mode for standard JDBC drivers
-			if (!isSQLite) {
-				this.con.setReadOnly(true);
+			boolean borrowed = false;
+			try {
+				this.con = connectionPool.getDataSource().getConnection();
+				this.pool = connectionPool;
+				borrowed = true;
+				return;
+			} catch (SQLException e) {
+				log.error("SQL exception during creating the connection to URL {}", getAttributes().get("url"));
+				throw new InternalErrorException(e);
+			} finally {
+				if (!borrowed) connectionPool.release();
 			}
+		}
+	}
 
-			if (this.con.getMetaData().getDriverName().toLowerCase().contains("oracle")) {
-				this.isOracle = true;
-				this.isSQLite = false;
+	/**
+	 * Get pool of connections of this ext source. Pool is created on the first use and it is replaced by a new one,
+	 * when the connection attributes of the ext source change.
+	 *
+	 * @return pool of connections
+	 */
+	private ConnectionPool getConnectionPool() {
+		String connectionUrl = getAttributes().get("url");
+		String user = getAttributes().get("user");
+		String pass = getAttributes().get("password");
+		// set user/pass only if both are present
+		if (user == null || pass == null) {
+			user = null;
+			pass = null;
+		}
+		String poolUser = user;
+		String poolPass = pass;
+
+		return connectionPools.compute(getName(), (name, connectionPool) -> {
+			if (connectionPool != null && connectionPool.matches(connectionUrl, poolUser, poolPass)) {
+				return connectionPool;
 			}
+			if (connectionPool != null) connectionPool.retire();
 
-		} catch (SQLException e) {
-			log.error("SQL exception during creating the connection to URL", getAttributes().get("url"));
-			throw new InternalErrorException(e);
+			log.debug("Creating pool of connections for external source {}.", name);
+			return new ConnectionPool(createDataSource(name, connectionUrl, poolUser, poolPass), connectionUrl, poolUser, poolPass);
+		});
+	}
+
+	/**
+	 * Create pool of connections for the ext source.
+	 *
+	 * @param name name of the ext source
+	 * @param connectionUrl url of the database
+	 * @param user user or null
+	 * @param pass password or null
+	 * @return new pool of connections
+	 */
+	protected HikariDataSource createDataSource(String name, String connectionUrl, String user, String pass) {
+		HikariConfig config = new HikariConfig();
+		// JMX doesn't allow some characters (e.g. ':') in the pool name
+		config.setPoolName("perun-extsource-" + name.replaceAll("[^\\w.-]", "_") + "-" + poolSequence.incrementAndGet());
+		config.setJdbcUrl(connectionUrl);
+		config.setUsername(user);
+		config.setPassword(pass);
+		config.setMinimumIdle(0);
+		config.setMaximumPoolSize((int) getLongAttribute("poolMaxSize", DEFAULT_POOL_MAX_SIZE));
+		config.setIdleTimeout(getLongAttribute("poolIdleTimeout", DEFAULT_POOL_IDLE_TIMEOUT));
+		// don't fail on creation of the pool, errors are reported when the connection is requested
+		config.setInitializationFailTimeout(-1);
+		config.setRegisterMbeans(true);
+		if (connectionUrl.startsWith("jdbc:sqlite:")) {
+			// set connection read_only for SQLite (doesn't follow JDBC standard)
+			config.addDataSourceProperty("open_mode", "1");
+		} else {
+			// Set connection to read-only mode for standard JDBC drivers
+			config.setReadOnly(true);
+		}
+		return new HikariDataSource(config);
+	}
+
+	/**
+	 * Close pool of connections of the ext source, e.g. when the ext source is deleted or updated.
+	 * Connections borrowed from the pool are closed when they are returned.
+	 *
+	 * @param name name of the ext source
+	 */
+	static void closeConnectionPool(String name) {
+		ConnectionPool connectionPool = connectionPools.remove(name);
+		if (connectionPool != null) {
+			log.debug("Closing pool of connections for external source {}.", name);
+			connectionPool.retire();
+		}
+	}
+
+	/**
+	 * Close pools of connections of all ext sources, e.g. on shutdown.
+	 */
+	static void closeConnectionPools() {
+		for (String name : connectionPools.keySet()) {
+			closeConnectionPool(name);
 		}
 	}
 
+	private long getLongAttribute(String name, long defaultValue) {
+		String value = getAttributes().get(name);
+		return value == null ? defaultValue : Long.parseLong(value);
+	}
+
+	/**
+	 * Return the connection to the pool, if it was taken by the operation which is done.
+	 *
+	 * @param connectionCreated true if the connection was taken by the operation
+	 */
+	private void releaseConnection(boolean connectionCreated) {
+		if (connectionCreated) close();
+	}
+
 	@Override
 	public void close() {
 		if (this.con != null) {
+			Connection connection = this.con;
+			ConnectionPool connectionPool = this.pool;
+			this.con = null;
+			this.pool = null;
 			try {
-				this.con.close();
-				this.con = null;
+				connection.close();
 			} catch (SQLException e) {
 				throw new InternalErrorException(e);
+			} finally {
+				if (connectionPool != null) connectionPool.release();
 			}
 		}
 	}
@@ -297,7 +532,7 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 	 */
 	protected List<Map<String,String>> groupQuery(String query, String searchString, int maxResults) {
 
-		this.checkAndSetPrerequisites();
+		boolean connectionCreated = this.checkAndSetPrerequisites();
 
 		try (PreparedStatement st = getPreparedStatement(query, searchString, maxResults)) {
 			try (ResultSet rs = st.executeQuery()) {
@@ -321,6 +556,8 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 		} catch (SQLException e) {
 			log.error("SQL exception during searching for subject '{}'", query);
 			throw new InternalErrorException(e);
+		} finally {
+			releaseConnection(connectionCreated);
 		}
 	}
 
@@ -419,10 +656,12 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 
 	/**
 	 * Check if needed prerequisites are set to be able to call query.
+	 * Take connection from the pool, if this ext source doesn't hold one yet.
 	 *
+	 * @return true if connection was taken from the pool and should be returned after the query
 	 * @throws InternalErrorException if expected attributes are not set
 	 */
-	private void checkAndSetPrerequisites() {
+	private boolean checkAndSetPrerequisites() {
 		if (getAttributes().get("url") == null) {
 			throw new InternalErrorException("url attribute is required");
 		}
@@ -436,14 +675,12 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 			}
 		}
 
-		try {
-			// Check if we have existing connection. In case of Oracle also checks the connection validity
-			if (this.con == null || (this.isOracle && !this.con.isValid(0))) {
-				this.createConnection();
-			}
-		} catch (SQLException ex) {
-			throw new InternalErrorException("Can't check if connection to database is still valid in SQL ExtSource.", ex);
+		// Check if we have existing connection, validity of connections is checked by the pool
+		if (this.con == null) {
+			this.createConnection();
+			return true;
 		}
+		return false;
 	}
 
 	/**
@@ -475,4 +712,72 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 
 		return st;
 	}
+
+	/**
+	 * Pool of connections of one ext source with the count of connections borrowed from it.
+	 * Retired pool doesn't lend connections and it is closed after the last borrowed connection is returned,
+	 * so operations running when the pool is replaced or closed aren't broken.
+	 */
+	static class ConnectionPool {
+
+		private final HikariDataSource dataSource;
+		private final String url;
+		private final String user;
+		private final String password;
+		private int borrowed;
+		private boolean retired;
+
+		ConnectionPool(HikariDataSource dataSource, String url, String user, String password) {
+			this.dataSource = dataSource;
+			this.url = url;
+			this.user = user;
+			this.password = password;
+		}
+
+		HikariDataSource getDataSource() {
+			return dataSource;
+		}
+
+		/**
+		 * @return true if the pool connects to the given url with the given credentials
+		 */
+		boolean matches(String url, String user, String password) {
+			return Objects.equals(this.url, url) && Objects.equals(this.user, user) && Objects.equals(this.password, password);
+		}
+
+		/**
+		 * Reserve connection before it is taken from the pool.
+		 *
+		 * @return false if the pool is retired and connection can't be taken from it
+		 */
+		synchronized boolean reserve() {
+			if (retired) return false;
+			borrowed++;
+			return true;
+		}
+
+		/**
+		 * Release reserved connection after it is returned to the pool.
+		 */
+		synchronized void release() {
+			borrowed--;
+			if (retired && borrowed == 0) dataSource.close();
+		}
+
+		/**
+		 * Stop lending connections and close the pool, when no connection is borrowed.
+		 */
+		synchronized void retire() {
+			retired = true;
+			if (borrowed == 0) dataSource.close();
+		}
+
+		synchronized int getBorrowed() {
+			return borrowed;
+		}
+
+		synchronized boolean isRetired() {
+			return retired;
+		}
+	}
 }
@@ -89,6 +89,13 @@ public class ExtSourcesManagerImpl implements ExtSourcesManagerImplApi {
 		this.self = self;
 	}
 
+	/**
+	 * Close pools of connections of SQL ext sources on shutdown.
+	 */
+	public void destroy() {
+		ExtSourceSql.closeConnectionPools();
+	}
+
 	@Override
 	public ExtSource createExtSource(PerunSession sess, ExtSource extSource, Map<String, String> attributes) throws ExtSourceExistsException {
 		Utils.notNull(extSource.getName(), "extSource.getName()");
@@ -155,6 +162,7 @@ public class ExtSourcesManagerImpl implements ExtSourcesManagerImplApi {
 		} catch (RuntimeException e) {
 			throw new InternalErrorException(e);
 		}
+		ExtSourceSql.closeConnectionPool(extSource.getName());
 	}
 
 
@@ -167,6 +175,7 @@ public class ExtSourcesManagerImpl implements ExtSourcesManagerImplApi {
 
 		// Check the name
 		if (!extSourceDb.getName().equals(extSource.getName())) {
+			ExtSourceSql.closeConnectionPool(extSourceDb.getName());
 			try {
 				jdbc.update("update ext_sources set name=? ,modified_by=?, modified_by_uid=?, modified_at=" + Compatibility.getSysdate() + " where id=?", extSource.getName(), sess.getPerunPrincipal().getActor(), sess.getPerunPrincipal().getUserId(), extSource.getId());
 			} catch (RuntimeException e) {
@@ -186,6 +195,8 @@ public class ExtSourcesManagerImpl implements ExtSourcesManagerImplApi {
 		// Check the attributes
 		if (!getAttributes(extSourceDb).equals(attributes)) {
 			log.debug("There is a change in attributes for {}", extSource);
+			// pool is created again with the new attributes
+			ExtSourceSql.closeConnectionPool(extSource.getName());
 			try {
 				// Firstly delete all attributes, then store new ones
 				jdbc.update("DELETE FROM ext_sources_attributes WHERE ext_sources_id=?", extSource.getId());
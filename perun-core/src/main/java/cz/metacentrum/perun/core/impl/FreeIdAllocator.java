@@ -0,0 +1,96 @@
+package cz.metacentrum.perun.core.impl;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Allocator of free numeric identifiers (UIDs, GIDs) from ranges of one namespace.
+ *
+ * Used identifiers are kept in a bitmap relative to the lowest minimum of ranges, so marking
+ * an identifier as used is constant and looking for a free one skips whole words of used identifiers.
+ * Allocated identifiers are marked as used, so repeated allocations continue where the previous one ended.
+ *
+ * Allocator is not thread-safe and it is meant to be built for one allocation from used identifiers
+ * read under the DB lock of the namespace.
+ *
+ * @see cz.metacentrum.perun.core.bl.AttributesManagerBl#getEntitylessAttributeForUpdate
+ */
+public class FreeIdAllocator {
+
+	// minimum => maximum (both inclusive)
+	private final TreeMap<Integer, Integer> ranges;
+	private final BitSet used = new BitSet();
+	private final int offset;
+	private Integer highestUsed;
+
+	/**
+	 * Create allocator for given ranges.
+	 *
+	 * @param ranges map of minimums to maximums of ranges, both inclusive, ranges must not overlap
+	 */
+	public FreeIdAllocator(Map<Integer, Integer> ranges) {
+		Utils.notNull(ranges, "ranges");
+		this.ranges = new TreeMap<>(ranges);
+		this.offset = this.ranges.isEmpty() ? 0 : this.ranges.firstKey();
+	}
+
+	/**
+	 * Create allocator for one range.
+	 *
+	 * @param min minimum of the range (inclusive)
+	 * @param max maximum of the range (inclusive)
+	 */
+	public FreeIdAllocator(int min, int max) {
+		this(Map.of(min, max));
+	}
+
+	/**
+	 * Mark identifier as used. Identifiers out of ranges are taken into account only by increment policy.
+	 *
+	 * @param id used identifier
+	 */
+	public void markUsed(int id) {
+		if (highestUsed == null || id > highestUsed) highestUsed = id;
+		if (id >= offset && isInRanges(id)) used.set(id - offset);
+	}
+
+	/**
+	 * Allocate the lowest free identifier from ranges (recycle policy).
+	 *
+	 * @return free identifier or null, if all ranges are full
+	 */
+	public Integer allocateLowest() {
+		for (Map.Entry<Integer, Integer> range : ranges.entrySet()) {
+			int free = used.nextClearBit(range.getKey() - offset) + offset;
+			if (free <= range.getValue()) {
+				markUsed(free);
+				return free;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Allocate identifier following the highest used one (increment policy).
+	 * If there is no used identifier, the lowest minimum of ranges is allocated.
+	 *
+	 * @return next identifier or null, if there are no ranges
+	 */
+	public Integer allocateNext() {
+		if (highestUsed == null) {
+			if (ranges.isEmpty()) return null;
+			markUsed(offset);
+			return offset;
+		}
+		int next = highestUsed + 1;
+		markUsed(next);
+		return next;
+	}
+
+	private boolean isInRanges(int id) {
+		Map.Entry<Integer, Integer> range = ranges.floorEntry(id);
+		return range != null && id <= range.getValue();
+	}
+
+}
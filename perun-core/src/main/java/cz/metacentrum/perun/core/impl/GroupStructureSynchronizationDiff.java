@@ -0,0 +1,151 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.CandidateGroup;
+import cz.metacentrum.perun.core.api.Group;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plan of group structure synchronization computed in memory from current groups of the structure
+ * and candidate groups from its external source.
+ *
+ * Candidate groups are matched with current groups by their logins. Each candidate group gets its final parent,
+ * which is the candidate group with its parent login or the base group (marked by null), if there is no such
+ * candidate group or if the parent logins form a cycle. Candidate groups are then divided into levels by their
+ * depth in the final structure, so the structure can be built from the top, with every parent group
+ * already on its final place.
+ *
+ * @see cz.metacentrum.perun.core.bl.GroupsManagerBl#synchronizeGroupStructure
+ */
+public class GroupStructureSynchronizationDiff {
+
+	private final List<CandidateGroup> candidateGroupsToAdd = new ArrayList<>();
+	private final Map<CandidateGroup, Group> groupsToUpdate = new LinkedHashMap<>();
+	private final List<Group> groupsToRemove = new ArrayList<>();
+	private final Map<String, String> parentLoginsByLogins = new HashMap<>();
+	private final List<List<CandidateGroup>> levels = new ArrayList<>();
+
+	/**
+	 * Compute the plan.
+	 *
+	 * @param currentGroups current groups of the structure by their logins
+	 * @param candidateGroups candidate groups from the external source
+	 */
+	public GroupStructureSynchronizationDiff(Map<String, Group> currentGroups, List<CandidateGroup> candidateGroups) {
+		Utils.notNull(currentGroups, "currentGroups");
+		Utils.notNull(candidateGroups, "candidateGroups");
+
+		Map<String, CandidateGroup> candidateGroupsByLogins = new LinkedHashMap<>();
+		Set<Group> matchedGroups = new LinkedHashSet<>();
+		for (CandidateGroup candidateGroup : candidateGroups) {
+			candidateGroupsByLogins.putIfAbsent(candidateGroup.getLogin(), candidateGroup);
+			Group group = currentGroups.get(candidateGroup.getLogin());
+			if (group == null) {
+				candidateGroupsToAdd.add(candidateGroup);
+			} else {
+				groupsToUpdate.put(candidateGroup, group);
+				matchedGroups.add(group);
+			}
+		}
+		for (Group group : currentGroups.values()) {
+			if (!matchedGroups.contains(group)) groupsToRemove.add(group);
+		}
+
+		for (CandidateGroup candidateGroup : candidateGroupsByLogins.values()) {
+			String parentLogin = candidateGroup.getParentGroupLogin();
+			if (parentLogin != null && !parentLogin.equals(candidateGroup.getLogin()) && candidateGroupsByLogins.containsKey(parentLogin)) {
+				parentLoginsByLogins.put(candidateGroup.getLogin(), parentLogin);
+			} else {
+				parentLoginsByLogins.put(candidateGroup.getLogin(), null);
+			}
+		}
+
+		Map<String, Integer> depthsByLogins = new HashMap<>();
+		for (CandidateGroup candidateGroup : candidateGroups) {
+			int depth = computeDepth(candidateGroup.getLogin(), depthsByLogins);
+			while (levels.size() < depth) {
+				levels.add(new ArrayList<>());
+			}
+			levels.get(depth - 1).add(candidateGroup);
+		}
+	}
+
+	/**
+	 * Compute depth of the group in the final structure, groups directly under the base group have depth 1.
+	 * Cycles of parent logins are broken by placing the group, where the cycle is found, under the base group.
+	 *
+	 * @param login login of the group
+	 * @param depthsByLogins already computed depths
+	 * @return depth of the group
+	 */
+	private int computeDepth(String login, Map<String, Integer> depthsByLogins) {
+		List<String> path = new ArrayList<>();
+		String current = login;
+		int depth = 0;
+		while (current != null) {
+			Integer knownDepth = depthsByLogins.get(current);
+			if (knownDepth != null) {
+				depth = knownDepth;
+				break;
+			}
+			if (path.contains(current)) {
+				// cycle, the group found twice is moved under the base group
+				parentLoginsByLogins.put(current, null);
+				depthsByLogins.put(current, 1);
+				return computeDepth(login, depthsByLogins);
+			}
+			path.add(current);
+			current = parentLoginsByLogins.get(current);
+		}
+		for (int i = path.size() - 1; i >= 0; i--) {
+			depthsByLogins.put(path.get(i), ++depth);
+		}
+		return depthsByLogins.get(login);
+	}
+
+	/**
+	 * @return candidate groups not matching any current group, they are new groups of the structure
+	 */
+	public List<CandidateGroup> getCandidateGroupsToAdd() {
+		return candidateGroupsToAdd;
+	}
+
+	/**
+	 * @return candidate groups with matching current groups, whose parents, descriptions and attributes should be updated
+	 */
+	public Map<CandidateGroup, Group> getGroupsToUpdate() {
+		return groupsToUpdate;
+	}
+
+	/**
+	 * @return current groups not matching any candidate group, they are former groups of the structure
+	 */
+	public List<Group> getGroupsToRemove() {
+		return groupsToRemove;
+	}
+
+	/**
+	 * @param login login of the candidate group
+	 * @return login of the final parent group or null, if the final parent group is the base group
+	 */
+	public String getParentLogin(String login) {
+		return parentLoginsByLogins.get(login);
+	}
+
+	/**
+	 * Get candidate groups divided by their depth in the final structure. The first level contains
+	 * candidate groups placed directly under the base group.
+	 *
+	 * @return levels of candidate groups from the top
+	 */
+	public List<List<CandidateGroup>> getLevels() {
+		return levels;
+	}
+
+}
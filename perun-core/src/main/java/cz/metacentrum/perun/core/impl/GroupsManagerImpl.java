@@ -44,8 +44,10 @@ import javax.sql.DataSource;
 import java.sql.Array;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -471,6 +473,37 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 		}
 	}
 
+	@Override
+	public List<Group> getAllSubGroups(PerunSession sess, Group parentGroup) {
+		try {
+			return jdbc.query("with recursive subgroups (id) as (" +
+							"select id from groups where parent_group_id=? " +
+							"union all select groups.id from groups join subgroups on groups.parent_group_id=subgroups.id) " +
+							"select " + groupMappingSelectQuery + " from groups join subgroups on groups.id=subgroups.id",
+					GROUP_MAPPER, parentGroup.getId());
+		} catch (EmptyResultDataAccessException e) {
+			return new ArrayList<>();
+		} catch(RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public List<Group> getAllParentGroups(PerunSession sess, Group group) {
+		if (group.getParentGroupId() == null) return new ArrayList<>();
+		try {
+			return jdbc.query("with recursive parents (id, parent_group_id, depth) as (" +
+							"select id, parent_group_id, 0 from groups where id=? " +
+							"union all select groups.id, groups.parent_group_id, parents.depth + 1 from groups join parents on groups.id=parents.parent_group_id) " +
+							"select " + groupMappingSelectQuery + " from groups join parents on groups.id=parents.id order by parents.depth desc",
+					GROUP_MAPPER, group.getParentGroupId());
+		} catch (EmptyResultDataAccessException e) {
+			return new ArrayList<>();
+		} catch(RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
 	@Override
 	public int getSubGroupsCount(PerunSession sess, Group parentGroup) {
 		try {
@@ -550,6 +583,25 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 
 	}
 
+	@Override
+	public void addMembers(PerunSession sess, Group group, List<Member> members, MembershipType type, int sourceGroupId) throws AlreadyMemberException {
+		List<Object[]> batchArgs = new ArrayList<>();
+		for (Member member : members) {
+			member.setMembershipType(type);
+			member.setSourceGroupId(sourceGroupId);
+			batchArgs.add(new Object[] {group.getId(), member.getId(), sess.getPerunPrincipal().getActor(), sess.getPerunPrincipal().getActor(),
+					sess.getPerunPrincipal().getUserId(), sess.getPerunPrincipal().getUserId(), type.getCode(), sourceGroupId});
+		}
+		try {
+			jdbc.batchUpdate("insert into groups_members (group_id, member_id, created_by, created_at, modified_by, modified_at, created_by_uid, modified_by_uid, membership_type, source_group_id) " +
+					"values (?,?,?," + Compatibility.getSysdate() + ",?," + Compatibility.getSysdate() + ",?,?,?,?)", batchArgs);
+		} catch(DuplicateKeyException ex) {
+			throw new AlreadyMemberException("Some of members are already in group " + group + " from source group with id " + sourceGroupId + ".", ex);
+		} catch(RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
 	@Override
 	public List<Group> getAllMemberGroups(PerunSession sess, Member member) {
 		try {
@@ -626,6 +678,29 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 		}
 	}
 
+	@Override
+	public Map<Integer, Set<Integer>> getSourceGroupIdsOfMembers(PerunSession sess, Group group, List<Member> members) {
+		List<Integer> memberIds = new ArrayList<>();
+		for (Member member : members) {
+			memberIds.add(member.getId());
+		}
+		try {
+			return jdbc.execute("select member_id, source_group_id from groups_members where group_id=? and member_id " + Compatibility.getStructureForInClause(),
+				(PreparedStatementCallback<Map<Integer, Set<Integer>>>) preparedStatement -> {
+					preparedStatement.setInt(1, group.getId());
+					preparedStatement.setArray(2, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(memberIds, preparedStatement));
+					ResultSet rs = preparedStatement.executeQuery();
+					Map<Integer, Set<Integer>> sourceGroupIds = new HashMap<>();
+					while (rs.next()) {
+						sourceGroupIds.computeIfAbsent(rs.getInt("member_id"), id -> new HashSet<>()).add(rs.getInt("source_group_id"));
+					}
+					return sourceGroupIds;
+				});
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
 	@Override
 	public void removeMember(PerunSession sess, Group group, Member member) throws NotGroupMemberException {
 		if (member.getSourceGroupId() == null) {
@@ -828,6 +903,7 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 					resultGroup.getId(), operandGroup.getId())) {
 				throw new GroupRelationDoesNotExist("Union between " + resultGroup + " and " + operandGroup + " does not exist.");
 			}
+			removeRelationFromClosure(resultGroup.getId(), operandGroup.getId());
 		} catch (RuntimeException e) {
 			throw new InternalErrorException(e);
 		}
@@ -836,18 +912,61 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 	@Override
 	public void removeResultGroupRelations(PerunSession sess, Group resultGroup) {
 		try {
+			List<Integer> operandGroupsIds = jdbc.queryForList("SELECT operand_gid FROM groups_groups WHERE result_gid = ?", Integer.class, resultGroup.getId());
 			jdbc.update("DELETE FROM groups_groups WHERE result_gid = ?", resultGroup.getId());
+			for (Integer operandGroupId : operandGroupsIds) {
+				removeRelationFromClosure(resultGroup.getId(), operandGroupId);
+			}
 		} catch (RuntimeException e) {
 			throw new InternalErrorException(e);
 		}
 	}
 
+	/**
+	 * Select all pairs of groups connected by the relation between given groups with numbers of paths
+	 * going through the relation: result group and all groups including it at any level combined
+	 * with operand group and all groups included in it at any level.
+	 */
+	private static final String RELATION_CLOSURE_PAIRS_QUERY = "SELECT r.gid AS result_gid, o.gid AS operand_gid, sum(r.paths * o.paths) AS paths FROM " +
+			"(SELECT ? AS gid, 1 AS paths UNION ALL SELECT result_gid, paths FROM groups_groups_closure WHERE operand_gid = ?) r, " +
+			"(SELECT ? AS gid, 1 AS paths UNION ALL SELECT operand_gid, paths FROM groups_groups_closure WHERE result_gid = ?) o " +
+			"GROUP BY r.gid, o.gid";
+
+	/**
+	 * Add paths going through the new relation to the transitive closure of relations.
+	 *
+	 * @param resultGroupId id of the result group of the relation
+	 * @param operandGroupId id of the operand group of the relation
+	 */
+	private void addRelationToClosure(int resultGroupId, int operandGroupId) {
+		jdbc.update("INSERT INTO groups_groups_closure (result_gid, operand_gid, paths) " + RELATION_CLOSURE_PAIRS_QUERY +
+				" ON CONFLICT (result_gid, operand_gid) DO UPDATE SET paths = groups_groups_closure.paths + excluded.paths",
+				resultGroupId, resultGroupId, operandGroupId, operandGroupId);
+	}
+
+	/**
+	 * Remove paths going through the removed relation from the transitive closure of relations.
+	 * Pairs of groups without any remaining path are deleted.
+	 *
+	 * @param resultGroupId id of the result group of the relation
+	 * @param operandGroupId id of the operand group of the relation
+	 */
+	private void removeRelationFromClosure(int resultGroupId, int operandGroupId) {
+		jdbc.update("DELETE FROM groups_groups_closure c USING (" + RELATION_CLOSURE_PAIRS_QUERY + ") d " +
+				"WHERE c.result_gid = d.result_gid AND c.operand_gid = d.operand_gid AND c.paths <= d.paths",
+				resultGroupId, resultGroupId, operandGroupId, operandGroupId);
+		jdbc.update("UPDATE groups_groups_closure c SET paths = c.paths - d.paths FROM (" + RELATION_CLOSURE_PAIRS_QUERY + ") d " +
+				"WHERE c.result_gid = d.result_gid AND c.operand_gid = d.operand_gid",
+				resultGroupId, resultGroupId, operandGroupId, operandGroupId);
+	}
+
 	@Override
 	public void saveGroupRelation(PerunSession sess, Group resultGroup, Group operandGroup, boolean parentFlag) {
 		try {
 			jdbc.update("INSERT INTO groups_groups(result_gid, operand_gid, created_at, created_by, " +
 						"modified_at, modified_by, parent_flag) VALUES(?,?," + Compatibility.getSysdate() + ",?," + Compatibility.getSysdate() + ",?,?)",
 					resultGroup.getId(), operandGroup.getId(), sess.getPerunPrincipal().getActor(), sess.getPerunPrincipal().getActor(), parentFlag);
+			addRelationToClosure(resultGroup.getId(), operandGroup.getId());
 		} catch (RuntimeException e) {
 			throw new InternalErrorException(e);
 		}
@@ -903,6 +1022,104 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 		}
 	}
 
+	@Override
+	public boolean isTransitiveRelationBetweenGroups(PerunSession sess, int resultGroupId, int operandGroupId) {
+		try {
+			return 1 <= jdbc.queryForInt("SELECT count(1) FROM groups_groups_closure WHERE result_gid = ? AND operand_gid = ?",
+					resultGroupId, operandGroupId);
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
+	@Override
+	public List<Integer> getAllResultGroupsIds(PerunSession sess, int groupId) {
+		try {
+			return jdbc.queryForList("SELECT result_gid FROM groups_groups_closure WHERE operand_gid=?", Integer.class, groupId);
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
+	@Override
+	public Map<Integer, Set<Integer>> getGroupIdsOfMembers(PerunSession sess, List<Integer> groupIds, List<Member> members) {
+		List<Integer> memberIds = new ArrayList<>();
+		for (Member member : members) {
+			memberIds.add(member.getId());
+		}
+		try {
+			return jdbc.execute("SELECT DISTINCT member_id, group_id FROM groups_members WHERE group_id " + Compatibility.getStructureForInClause() +
+							"AND member_id " + Compatibility.getStructureForInClause(),
+				(PreparedStatementCallback<Map<Integer, Set<Integer>>>) preparedStatement -> {
+					preparedStatement.setArray(1, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(groupIds, preparedStatement));
+					preparedStatement.setArray(2, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(memberIds, preparedStatement));
+					ResultSet rs = preparedStatement.executeQuery();
+					Map<Integer, Set<Integer>> groupIdsOfMembers = new HashMap<>();
+					while (rs.next()) {
+						groupIdsOfMembers.computeIfAbsent(rs.getInt("member_id"), id -> new HashSet<>()).add(rs.getInt("group_id"));
+					}
+					return groupIdsOfMembers;
+				});
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
+	@Override
+	public void addMembersToAllResultGroups(PerunSession sess, Group group, List<Member> members) {
+		List<Integer> memberIds = new ArrayList<>();
+		for (Member member : members) {
+			memberIds.add(member.getId());
+		}
+		try {
+			// every relation from the group or from groups including it gets record of each member, missing records are added
+			jdbc.execute("INSERT INTO groups_members (group_id, member_id, created_by, created_at, modified_by, modified_at, created_by_uid, modified_by_uid, membership_type, source_group_id) " +
+							"SELECT groups_groups.result_gid, m.id, ?, " + Compatibility.getSysdate() + ", ?, " + Compatibility.getSysdate() + ", ?, ?, ?, groups_groups.operand_gid " +
+							"FROM groups_groups CROSS JOIN unnest(?) AS m(id) " +
+							"WHERE groups_groups.operand_gid = ? OR groups_groups.operand_gid IN (SELECT result_gid FROM groups_groups_closure WHERE operand_gid = ?) " +
+							"ON CONFLICT DO NOTHING",
+				(PreparedStatementCallback<Integer>) preparedStatement -> {
+					preparedStatement.setString(1, sess.getPerunPrincipal().getActor());
+					preparedStatement.setString(2, sess.getPerunPrincipal().getActor());
+					preparedStatement.setObject(3, sess.getPerunPrincipal().getUserId());
+					preparedStatement.setObject(4, sess.getPerunPrincipal().getUserId());
+					preparedStatement.setInt(5, MembershipType.INDIRECT.getCode());
+					preparedStatement.setArray(6, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(memberIds, preparedStatement));
+					preparedStatement.setInt(7, group.getId());
+					preparedStatement.setInt(8, group.getId());
+					return preparedStatement.executeUpdate();
+				});
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
+	@Override
+	public void removeIndirectMembersWithoutSource(PerunSession sess, List<Integer> groupIds, List<Member> members) {
+		List<Integer> memberIds = new ArrayList<>();
+		for (Member member : members) {
+			memberIds.add(member.getId());
+		}
+		try {
+			// each round removes one more level of records, whose source group doesn't contain the member any more
+			int removed;
+			do {
+				removed = jdbc.execute("DELETE FROM groups_members WHERE membership_type = ? AND group_id " + Compatibility.getStructureForInClause() +
+								"AND member_id " + Compatibility.getStructureForInClause() +
+								"AND NOT EXISTS (SELECT 1 FROM groups_members s WHERE s.group_id = groups_members.source_group_id " +
+								"AND s.member_id = groups_members.member_id)",
+					(PreparedStatementCallback<Integer>) preparedStatement -> {
+						preparedStatement.setInt(1, MembershipType.INDIRECT.getCode());
+						preparedStatement.setArray(2, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(groupIds, preparedStatement));
+						preparedStatement.setArray(3, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(memberIds, preparedStatement));
+						return preparedStatement.executeUpdate();
+					});
+			} while (removed > 0);
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
 	@Override
 	public List<Integer> getResultGroupsIds(PerunSession sess, int groupId) {
 		try {
@@ -965,6 +1182,81 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 		}
 	}
 
+	@Override
+	public Map<Integer, MemberGroupStatus> getTotalMemberGroupStatuses(PerunSession session, List<Member> members, Group group) {
+		try {
+			// VALID status has the lowest code, so it wins over EXPIRED
+			return jdbc.execute("SELECT member_id, min(source_group_status) AS status FROM groups_members " +
+							"WHERE group_id=? AND member_id " + Compatibility.getStructureForInClause() + "GROUP BY member_id",
+				(PreparedStatementCallback<Map<Integer, MemberGroupStatus>>) preparedStatement -> {
+					preparedStatement.setInt(1, group.getId());
+					preparedStatement.setArray(2, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(getMemberIds(members), preparedStatement));
+					ResultSet rs = preparedStatement.executeQuery();
+					Map<Integer, MemberGroupStatus> statuses = new HashMap<>();
+					while (rs.next()) {
+						statuses.put(rs.getInt("member_id"), MemberGroupStatus.getMemberGroupStatus(rs.getInt("status")));
+					}
+					return statuses;
+				});
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
+	@Override
+	public void setIndirectGroupStatus(PerunSession sess, List<Member> members, Group group, MemberGroupStatus status) {
+		setGroupStatus(sess, members, group, status, "group_id <> source_group_id");
+	}
+
+	@Override
+	public void setDirectGroupStatus(PerunSession sess, List<Member> members, Group group, MemberGroupStatus status) {
+		setGroupStatus(sess, members, group, status, "group_id = source_group_id");
+	}
+
+	private void setGroupStatus(PerunSession sess, List<Member> members, Group group, MemberGroupStatus status, String membershipCondition) {
+		if (members.isEmpty()) return;
+		try {
+			jdbc.execute("UPDATE groups_members SET source_group_status=?, modified_by=?, modified_at=" + Compatibility.getSysdate() +
+							" WHERE source_group_id=? AND " + membershipCondition + " AND member_id " + Compatibility.getStructureForInClause(),
+				(PreparedStatementCallback<Integer>) preparedStatement -> {
+					preparedStatement.setInt(1, status.getCode());
+					preparedStatement.setString(2, sess.getPerunPrincipal().getActor());
+					preparedStatement.setInt(3, group.getId());
+					preparedStatement.setArray(4, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(getMemberIds(members), preparedStatement));
+					return preparedStatement.executeUpdate();
+				});
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
+	@Override
+	public Map<Integer, Integer> getNumbersOfAllResultGroups(PerunSession sess, List<Integer> groupIds) {
+		try {
+			return jdbc.execute("SELECT operand_gid, count(*) AS count FROM groups_groups_closure " +
+							"WHERE operand_gid " + Compatibility.getStructureForInClause() + "GROUP BY operand_gid",
+				(PreparedStatementCallback<Map<Integer, Integer>>) preparedStatement -> {
+					preparedStatement.setArray(1, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(groupIds, preparedStatement));
+					ResultSet rs = preparedStatement.executeQuery();
+					Map<Integer, Integer> numbers = new HashMap<>();
+					while (rs.next()) {
+						numbers.put(rs.getInt("operand_gid"), rs.getInt("count"));
+					}
+					return numbers;
+				});
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
+	private static List<Integer> getMemberIds(List<Member> members) {
+		List<Integer> memberIds = new ArrayList<>();
+		for (Member member : members) {
+			memberIds.add(member.getId());
+		}
+		return memberIds;
+	}
+
 	@Override
 	public List<Facility> getFacilitiesWhereGroupIsAdmin(PerunSession session, Group group) {
 		try {
@@ -0,0 +1,127 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.Candidate;
+import cz.metacentrum.perun.core.api.RichMember;
+import cz.metacentrum.perun.core.api.UserExtSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Difference between current direct members of a synchronized group and candidates from its external source.
+ *
+ * Members are indexed by their user ext sources and matched members and candidates are tracked by identity,
+ * so the difference is computed in time linear to the number of members and candidates. Order of members
+ * and candidates is preserved in the results.
+ *
+ * Candidates can be added in chunks, so they don't have to be all in memory at once. Matched members are
+ * remembered across chunks, so members to remove are known after the last chunk is added.
+ *
+ * @see cz.metacentrum.perun.core.bl.GroupsManagerBl#synchronizeGroup
+ */
+public class MembersSynchronizationDiff {
+
+	private final List<RichMember> groupMembers;
+	private final Map<UserExtSource, RichMember> membersByUserExtSources = new HashMap<>();
+	private final Set<RichMember> matchedMembers = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final List<Candidate> candidatesToAdd = new ArrayList<>();
+	private final Map<Candidate, RichMember> membersToUpdate = new HashMap<>();
+
+	/**
+	 * Prepare the difference without any candidates.
+	 *
+	 * @param groupMembers current direct members of the group with their user ext sources
+	 */
+	public MembersSynchronizationDiff(List<RichMember> groupMembers) {
+		Utils.notNull(groupMembers, "groupMembers");
+
+		this.groupMembers = groupMembers;
+		for (RichMember member : groupMembers) {
+			for (UserExtSource userExtSource : member.getUserExtSources()) {
+				membersByUserExtSources.put(userExtSource, member);
+			}
+		}
+	}
+
+	/**
+	 * Compute the difference.
+	 *
+	 * @param groupMembers current direct members of the group with their user ext sources
+	 * @param candidates candidates from the external source
+	 */
+	public MembersSynchronizationDiff(List<RichMember> groupMembers, List<Candidate> candidates) {
+		this(groupMembers);
+		addCandidates(candidates);
+	}
+
+	/**
+	 * Add next chunk of candidates to the difference.
+	 *
+	 * @param candidates candidates from the external source
+	 */
+	public void addCandidates(List<Candidate> candidates) {
+		Utils.notNull(candidates, "candidates");
+
+		for (Candidate candidate : candidates) {
+			RichMember member = null;
+			for (UserExtSource userExtSource : candidate.getUserExtSources()) {
+				member = membersByUserExtSources.get(userExtSource);
+				if (member != null) break;
+			}
+			if (member == null) {
+				candidatesToAdd.add(candidate);
+			} else {
+				membersToUpdate.put(candidate, member);
+				matchedMembers.add(member);
+			}
+		}
+	}
+
+	/**
+	 * Forget candidates to add and members to update, when they were already processed.
+	 * Matched members are kept, so they are not removed.
+	 */
+	public void clearCandidates() {
+		candidatesToAdd.clear();
+		membersToUpdate.clear();
+	}
+
+	/**
+	 * @param userExtSource user ext source
+	 * @return current member of the group with the user ext source or null, if there is none
+	 */
+	public RichMember getMemberByUserExtSource(UserExtSource userExtSource) {
+		return membersByUserExtSources.get(userExtSource);
+	}
+
+	/**
+	 * @return candidates not matching any member, they are new members of the group
+	 */
+	public List<Candidate> getCandidatesToAdd() {
+		return candidatesToAdd;
+	}
+
+	/**
+	 * @return candidates with matching members, whose attributes and statuses should be updated
+	 */
+	public Map<Candidate, RichMember> getMembersToUpdate() {
+		return membersToUpdate;
+	}
+
+	/**
+	 * @return members not matching any candidate, they are former members of the group
+	 */
+	public List<RichMember> getMembersToRemove() {
+		List<RichMember> membersToRemove = new ArrayList<>();
+		for (RichMember member : groupMembers) {
+			if (!matchedMembers.contains(member)) membersToRemove.add(member);
+		}
+		return membersToRemove;
+	}
+
+}
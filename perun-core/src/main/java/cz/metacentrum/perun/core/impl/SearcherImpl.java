@@ -46,7 +46,7 @@ public class SearcherImpl implements SearcherImplApi {
 	@Override
 	public List<User> getUsers(PerunSession sess, Map<Attribute, String> attributesWithSearchingValues) {
 		StringBuilder query = new StringBuilder();
-		query.append("select distinct " + UsersManagerImpl.userMappingSelectQuery + " from users ");
+		query.append("select " + UsersManagerImpl.userMappingSelectQuery + " from users ");
 
 		MapSqlParameterSource parameters = new MapSqlParameterSource();
 
@@ -64,7 +64,7 @@ public class SearcherImpl implements SearcherImplApi {
 	@Override
 	public List<Group> getGroups(PerunSession sess, Map<Attribute, String> attributesWithSearchingValues) {
 		StringBuilder query = new StringBuilder();
-		query.append("select distinct " + GroupsManagerImpl.groupMappingSelectQuery + " from groups ");
+		query.append("select " + GroupsManagerImpl.groupMappingSelectQuery + " from groups ");
 
 		MapSqlParameterSource parameters = new MapSqlParameterSource();
 
@@ -126,7 +126,7 @@ public class SearcherImpl implements SearcherImplApi {
 	@Override
 	public List<Facility> getFacilities(PerunSession sess, Map<Attribute, String> attributesWithSearchingValues) {
 		StringBuilder query = new StringBuilder();
-		query.append("select distinct " + FacilitiesManagerImpl.facilityMappingSelectQuery + " from facilities ");
+		query.append("select " + FacilitiesManagerImpl.facilityMappingSelectQuery + " from facilities ");
 
 		MapSqlParameterSource parameters = new MapSqlParameterSource();
 
@@ -144,7 +144,7 @@ public class SearcherImpl implements SearcherImplApi {
 	@Override
 	public List<Resource> getResources(PerunSession sess, Map<Attribute, String> attributesWithSearchingValues, boolean allowPartialMatchForString) {
 		StringBuilder query = new StringBuilder();
-		query.append("select distinct " + ResourcesManagerImpl.resourceMappingSelectQuery + " from resources ");
+		query.append("select " + ResourcesManagerImpl.resourceMappingSelectQuery + " from resources ");
 
 		MapSqlParameterSource parameters = new MapSqlParameterSource();
 
@@ -181,6 +181,10 @@ public class SearcherImpl implements SearcherImplApi {
 	 * Generates into given query 'WHERE' clauses based on values from
 	 * given Map. Into given parameters adds objects needed in generated clauses.
 	 *
+	 * Each attribute is matched by 'EXISTS' subquery on its values, so no 'DISTINCT' is needed. Values are compared
+	 * by LIKE on the same expressions as in trigram indexes on attribute values, so the planner can use them
+	 * instead of reading all values of the attribute.
+	 *
 	 * @param query output where are the generated clauses appended
 	 * @param parameters output where are added objects used in where clauses
 	 * @param attributesWithSearchingValues attributes with values used for generating WHERE clauses
@@ -188,50 +192,44 @@ public class SearcherImpl implements SearcherImplApi {
 	 * @throws InternalErrorException internal error
 	 */
 	@SuppressWarnings("ConstantConditions")
-	private void insertWhereClausesAndQueryParametersFromAttributes(StringBuilder query, MapSqlParameterSource parameters,
-	                                                                String attrValueTableName, String entityName, String entityTableName,
-	                                                                Map<Attribute, String> attributesWithSearchingValues, boolean allowPartialMatchForString) {
+	static void insertWhereClausesAndQueryParametersFromAttributes(StringBuilder query, MapSqlParameterSource parameters,
+	                                                               String attrValueTableName, String entityName, String entityTableName,
+	                                                               Map<Attribute, String> attributesWithSearchingValues, boolean allowPartialMatchForString) {
 		List<String> whereClauses = new ArrayList<>();
 		int counter = 0;
 		for(Attribute key: attributesWithSearchingValues.keySet()) {
 			counter++;
 			String value = attributesWithSearchingValues.get(key);
-			query.append("left join ").append(attrValueTableName).append(" val").append(counter).append(" ");
-			query.append("on val").append(counter).append(".").append(entityName).append("_id=").append(entityTableName).append(".id and val").append(counter).append(".attr_id=").append(key.getId()).append(" ");
-			query.append("left join attr_names nam").append(counter).append(" on val").append(counter).append(".attr_id=nam").append(counter).append(".id ");
+			String val = "val" + counter;
+			String subquery = "select 1 from " + attrValueTableName + " " + val + " where " + val + "." + entityName + "_id=" + entityTableName + ".id and " + val + ".attr_id=:a" + counter + " and ";
+			parameters.addValue("a" + counter, key.getId());
 
 			if (value == null || value.isEmpty()) {
-				whereClauses.add("val" + counter + ".attr_value IS NULL ");
+				whereClauses.add("not exists (" + subquery + val + ".attr_value IS NOT NULL) ");
 			} else {
 				if (key.getType().equals(Integer.class.getName())) {
 					key.setValue(Integer.valueOf(value));
-					whereClauses.add("val" + counter + ".attr_value=:v" + counter + " ");
-					whereClauses.add("nam" + counter + ".type=:n" + counter + " ");
-					parameters.addValue("n" + counter, Integer.class.getName());
+					// LIKE without wildcards is exact match, which can use trigram index
+					whereClauses.add("exists (" + subquery + val + ".attr_value LIKE :v" + counter + ") ");
 					parameters.addValue("v" + counter, BeansUtils.attributeValueToString(key));
 				} else if (key.getType().equals(String.class.getName())) {
 					key.setValue(value);
 					if(allowPartialMatchForString) {
-						whereClauses.add("lower(" + Compatibility.convertToAscii("val" + counter + ".attr_value") + ") LIKE CONCAT('%', CONCAT(lower(" + Compatibility.convertToAscii(":v" + counter) + "), '%')) ");
+						whereClauses.add("exists (" + subquery + "lower(" + Compatibility.convertToAsciiIndexed(val + ".attr_value") + ") LIKE CONCAT('%', CONCAT(lower(" + Compatibility.convertToAsciiIndexed(":v" + counter) + "), '%'))) ");
+						parameters.addValue("v" + counter, BeansUtils.attributeValueToString(key));
 					} else {
-						whereClauses.add("lower(" + Compatibility.convertToAscii("val" + counter + ".attr_value") + ")=lower(" + Compatibility.convertToAscii(":v" + counter) + ") ");
+						whereClauses.add("exists (" + subquery + "lower(" + Compatibility.convertToAsciiIndexed(val + ".attr_value") + ") LIKE lower(" + Compatibility.convertToAsciiIndexed(":v" + counter) + ")) ");
+						parameters.addValue("v" + counter, escapeLikePattern(BeansUtils.attributeValueToString(key)));
 					}
-					whereClauses.add("nam" + counter + ".type=:n" + counter + " ");
-					parameters.addValue("n" + counter, key.getType());
-					parameters.addValue("v" + counter, BeansUtils.attributeValueToString(key));
 				} else if (key.getType().equals(Boolean.class.getName())) {
 					key.setValue(value);
-					whereClauses.add("lower("+Compatibility.convertToAscii("val" + counter + ".attr_value")+")=lower("+Compatibility.convertToAscii(":v"+counter)+") ");
-					whereClauses.add("nam" + counter + ".type=:n" + counter + " ");
-					parameters.addValue("n" + counter, Boolean.class.getName());
-					parameters.addValue("v" + counter, BeansUtils.attributeValueToString(key));
+					whereClauses.add("exists (" + subquery + "lower(" + Compatibility.convertToAsciiIndexed(val + ".attr_value") + ") LIKE lower(" + Compatibility.convertToAsciiIndexed(":v" + counter) + ")) ");
+					parameters.addValue("v" + counter, escapeLikePattern(BeansUtils.attributeValueToString(key)));
 				} else if (key.getType().equals(ArrayList.class.getName())) {
 					List<String> list = new ArrayList<>();
 					list.add(value);
 					key.setValue(list);
-					whereClauses.add("val" + counter + ".attr_value LIKE :v" + counter + " ");
-					whereClauses.add("nam" + counter + ".type=:n" + counter + " ");
-					parameters.addValue("n" + counter, key.getType());
+					whereClauses.add("exists (" + subquery + val + ".attr_value LIKE :v" + counter + ") ");
 					// key can not be null because value is not null due to previous check
 					parameters.addValue("v" + counter, '%' + BeansUtils.attributeValueToString(key).substring(0, BeansUtils.attributeValueToString(key).length() - 1) + '%');
 				} else if (key.getType().equals(LinkedHashMap.class.getName())) {
@@ -248,9 +246,7 @@ public class SearcherImpl implements SearcherImplApi {
 					Map<String, String> map = new LinkedHashMap<>();
 					map.put(splitKey, splitValue.length() == 0 ? null : splitValue.toString());
 					key.setValue(map);
-					whereClauses.add("val" + counter + ".attr_value LIKE :v" + counter + " or val" + counter + ".attr_value LIKE :vv" + counter + " ");
-					whereClauses.add("nam" + counter + ".type=:n" + counter + " ");
-					parameters.addValue("n" + counter, LinkedHashMap.class.getName());
+					whereClauses.add("exists (" + subquery + "(" + val + ".attr_value LIKE :v" + counter + " or " + val + ".attr_value LIKE :vv" + counter + ")) ");
 					parameters.addValue("v" + counter, BeansUtils.attributeValueToString(key) + '%');
 					parameters.addValue("vv" + counter,  "%," +  BeansUtils.attributeValueToString(key) + '%');
 				} else {
@@ -273,6 +269,13 @@ public class SearcherImpl implements SearcherImplApi {
 		}
 	}
 
+	/**
+	 * Escapes wildcards of LIKE in the value, so it can be used for exact match.
+	 */
+	private static String escapeLikePattern(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
 	@Override
 	public List<Member> getMembersByGroupExpiration(PerunSession sess, Group group, String operator, LocalDate date, int days) {
 
@@ -7,9 +7,14 @@ import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.Semaphore;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -17,6 +22,14 @@ import java.util.concurrent.locks.ReentrantLock;
  * Class used for scheduling group and group structure synchronizations.
  * It does not run any scheduler, it just provides the functionality for the scheduling of synchronizations.
  *
+ * Waiting groups are ordered by priority computed from the time they were put to the pool, their synchronization
+ * interval and the duration of their last synchronization. Number of running synchronizations of groups from
+ * the same extSource can be limited, so one slow extSource can't occupy all synchronization threads.
+ *
+ * Only one waiting thread is woken up by a change of the pool, which can let it take a group or a group structure.
+ * Thread which took a job wakes up the next one, if there are more waiting jobs, so no job is left waiting
+ * for a free thread, while threads don't re-check the whole pool for every change.
+ *
  * Methods in this class are thread safe
  *
  * @author Peter Balčirák peter.balcirak@gmail.com
@@ -26,16 +39,42 @@ public class SynchronizationPool {
 	private final PerunBeanProcessingPool<Group> poolOfGroupsStructuresToBeSynchronized = new PerunBeanProcessingPool<>();
 	//Access lock to create concurrent access by any operation to any pool of this class.
 	private final Lock poolAccessLock = new ReentrantLock(true);
-	//Semaphore which takes care about emptiness of list of waiting groups (threads will wait for another group)
-	//Counter in this semaphore counts number of waiting groups in the pool (0 means no groups are waiting to be processed)
-	private final Semaphore notEmptyGroupsPoolSemaphore = new Semaphore(0, true);
-	//Semaphore which takes care about emptiness of list of waiting groups structures (threads will wait for another group structure)
-	//Counter in this semaphore counts number of waiting groups structures in the pool (0 means no groups structures are waiting to be processed)
-	private final Semaphore notEmptyGroupsStructuresPoolSemaphore = new Semaphore(0, true);
-	private final static Random random = new Random();
+	//Condition signalled when some waiting group could be taken (threads will wait for another group)
+	private final Condition groupsChanged = poolAccessLock.newCondition();
+	//Condition signalled when some waiting group structure could be taken (threads will wait for another group structure)
+	private final Condition groupsStructuresChanged = poolAccessLock.newCondition();
+	//Names of extSources of waiting and running groups
+	private final Map<Group, String> extSourcesOfGroups = new HashMap<>();
+	//Numbers of running groups per extSource name
+	private final Map<String, Integer> runningGroupsOfExtSources = new HashMap<>();
+	//Durations of last synchronizations in milliseconds per group id, only for groups with enabled synchronization
+	private final Map<Integer, Long> lastSynchronizationDurations = new HashMap<>();
+	//Maximal number of running groups from one extSource, 0 or less means no limit
+	private final int maxRunningGroupsOfExtSource;
+
+	//Max delay of a group by duration of its last synchronization, as a fraction of its synchronization interval
+	private final static int MAX_DELAY_DIVISOR = 4;
+	//Synchronization interval used for computing of the max delay, when the interval is shorter or not known
+	private final static int MIN_SYNCHRONIZATION_INTERVAL = 5;
 
 	private final static Logger log = LoggerFactory.getLogger(SynchronizationPool.class);
 
+	/**
+	 * Create pool without limit of running groups from one extSource.
+	 */
+	public SynchronizationPool() {
+		this(0);
+	}
+
+	/**
+	 * Create pool with limit of running groups from one extSource.
+	 *
+	 * @param maxRunningGroupsOfExtSource maximal number of groups from one extSource synchronized at once, 0 or less means no limit
+	 */
+	public SynchronizationPool(int maxRunningGroupsOfExtSource) {
+		this.maxRunningGroupsOfExtSource = maxRunningGroupsOfExtSource;
+	}
+
 	/**
 	 * Put group to the pool of waiting groups structures.
 	 *
@@ -48,7 +87,7 @@ public class SynchronizationPool {
 		try {
 			poolAccessLock.lock();
 			if (poolOfGroupsStructuresToBeSynchronized.putJobIfAbsent(group, asFirst)) {
-				notEmptyGroupsStructuresPoolSemaphore.release();
+				groupsStructuresChanged.signal();
 				return true;
 			}
 			return false;
@@ -62,14 +101,17 @@ public class SynchronizationPool {
 	 *
 	 * @param group which will be added to the pool of waiting groups
 	 * @param asFirst true if group will skip order and will be placed to the list as first (LIFO)
-	 * @return
+	 * @param extSourceName name of the extSource of the group, null if it is not known
+	 * @param synchronizationInterval synchronization interval of the group in minutes
+	 * @return true if group was added, false if it is already running or waiting (and asFirst is false)
 	 * @throws InternalErrorException
 	 */
-	public boolean putGroupToPoolOfWaitingGroups(Group group, boolean asFirst) {
+	public boolean putGroupToPoolOfWaitingGroups(Group group, boolean asFirst, String extSourceName, int synchronizationInterval) {
 		try {
 			poolAccessLock.lock();
-			if (poolOfGroupsToBeSynchronized.putJobIfAbsent(group, asFirst)) {
-				notEmptyGroupsPoolSemaphore.release();
+			if (poolOfGroupsToBeSynchronized.putJobIfAbsent(group, asFirst, getPriority(group, synchronizationInterval))) {
+				if (extSourceName != null) extSourcesOfGroups.put(group, extSourceName);
+				groupsChanged.signal();
 				return true;
 			}
 			return false;
@@ -82,16 +124,17 @@ public class SynchronizationPool {
 	 * Put list of groups to the pool of waiting groups.
 	 *
 	 * @param groups which will be added to the pool of waiting groups
-	 * @return
+	 * @param extSourceNames names of extSources of the groups
+	 * @param synchronizationIntervals synchronization intervals of the groups in minutes
+	 * @return number of added groups
 	 * @throws InternalErrorException
 	 */
-	public int putGroupsToPoolOfWaitingGroups(List<Group> groups) {
+	public int putGroupsToPoolOfWaitingGroups(List<Group> groups, Map<Group, String> extSourceNames, Map<Group, Integer> synchronizationIntervals) {
 		int numberOfAddedGroups = 0;
 		try {
 			poolAccessLock.lock();
 			for (Group group: groups){
-				if (poolOfGroupsToBeSynchronized.putJobIfAbsent(group, false)) {
-					notEmptyGroupsPoolSemaphore.release();
+				if (putGroupToPoolOfWaitingGroups(group, false, extSourceNames.get(group), synchronizationIntervals.getOrDefault(group, 0))) {
 					log.debug("Group {} was added to the pool of groups waiting for synchronization.", group);
 					numberOfAddedGroups++;
 				} else {
@@ -117,7 +160,7 @@ public class SynchronizationPool {
 			poolAccessLock.lock();
 			for (Group group: groups){
 				if (poolOfGroupsStructuresToBeSynchronized.putJobIfAbsent(group, false)) {
-					notEmptyGroupsStructuresPoolSemaphore.release();
+					groupsStructuresChanged.signal();
 					log.debug("Group structure {} was added to the pool of groups structures waiting for synchronization.", group);
 					numberOfAddedGroups++;
 				} else {
@@ -132,9 +175,10 @@ public class SynchronizationPool {
 
 	/**
 	 * Take a first group, which can be safely synchronized, from the pool of waiting groups and add it to the pool of running groups.
-	 * If the group does not exists anymore, remove it from the pool of waiting groups, wait 1-2 seconds and try the whole process again.
-	 * We cannot remove more than one group during the one while loop because of the concurrent use of semaphore.
-	 * If none of the waiting groups can be synchronized, wait 1-2 seconds and try the whole process again.
+	 * Group can't be synchronized if it is under a group with waiting or running structure synchronization,
+	 * or if there is already maximal number of running groups from its extSource.
+	 * If the group does not exists anymore, remove it from the pool and try next one.
+	 * If none of the waiting groups can be synchronized, wait until the pool changes and try the whole process again.
 	 *
 	 * @param sess
 	 * @return
@@ -142,53 +186,51 @@ public class SynchronizationPool {
 	 * @throws InternalErrorException
 	 */
 	public Group takeGroup(PerunSessionImpl sess) throws InterruptedException {
-		while(true) {
-			//I can take only if there is not empty list of waiting jobs
-			notEmptyGroupsPoolSemaphore.acquire();
-
-			try {
-				poolAccessLock.lock();
-				boolean removedGroup = false;
+		try {
+			poolAccessLock.lock();
+			while(true) {
 				//Take group which is not in all subGroups of group, which is in the pool of waiting or running group structures.
+				Set<Group> groupsUnderStructures = new HashSet<>();
+				List<Group> groupStructureJobs = poolOfGroupsStructuresToBeSynchronized.getWaitingJobs();
+				groupStructureJobs.addAll(poolOfGroupsStructuresToBeSynchronized.getRunningJobs());
+				for (Group groupStructure : groupStructureJobs) {
+					groupsUnderStructures.addAll(sess.getPerunBl().getGroupsManagerBl().getAllSubGroups(sess, groupStructure));
+				}
+
 				for (Group group : poolOfGroupsToBeSynchronized.getWaitingJobs()) {
-					boolean allowed = true;
-					List<Group> groupStructureJobs = poolOfGroupsStructuresToBeSynchronized.getWaitingJobs();
-					groupStructureJobs.addAll(poolOfGroupsStructuresToBeSynchronized.getRunningJobs());
-					for (Group groupStructure : groupStructureJobs) {
-						List<Group> allSubGroups = sess.getPerunBl().getGroupsManagerBl().getAllSubGroups(sess, groupStructure);
-						if (allSubGroups.contains(group)) {
-							allowed = false;
-							break;
-						}
-					}
-					if (allowed) {
-						//Set the group to the first place in the pool of waiting groups.
-						poolOfGroupsToBeSynchronized.putJobIfAbsent(group, true);
-						try {
-							//Group could be removed during some group structure synchronization, so there is no need to synchronize it anymore.
-							sess.getPerunBl().getGroupsManagerBl().checkGroupExists(sess, group);
-						} catch (GroupNotExistsException e) {
-							log.warn("Group {} was removed from a Vo while it was waiting for a synchronization.", group);
-							poolOfGroupsToBeSynchronized.removeJob(poolOfGroupsToBeSynchronized.takeJob());
-							removedGroup = true;
-							break;
-						}
-						//Put the first group in the pool of waiting groups to the pool of running groups
-						return poolOfGroupsToBeSynchronized.takeJob();
+					if (groupsUnderStructures.contains(group)) continue;
+					String extSourceName = extSourcesOfGroups.get(group);
+					if (maxRunningGroupsOfExtSource > 0 && extSourceName != null &&
+						runningGroupsOfExtSources.getOrDefault(extSourceName, 0) >= maxRunningGroupsOfExtSource) continue;
+
+					//Set the group to the first place in the pool of waiting groups and put it to the pool of running groups.
+					poolOfGroupsToBeSynchronized.putJobIfAbsent(group, true);
+					Group takenGroup = poolOfGroupsToBeSynchronized.takeJob();
+					try {
+						//Group could be removed during some group structure synchronization, so there is no need to synchronize it anymore.
+						sess.getPerunBl().getGroupsManagerBl().checkGroupExists(sess, takenGroup);
+					} catch (GroupNotExistsException e) {
+						log.warn("Group {} was removed from a Vo while it was waiting for a synchronization.", takenGroup);
+						poolOfGroupsToBeSynchronized.removeJob(takenGroup);
+						extSourcesOfGroups.remove(takenGroup);
+						lastSynchronizationDurations.remove(takenGroup.getId());
+						continue;
 					}
+					if (extSourceName != null) runningGroupsOfExtSources.merge(extSourceName, 1, Integer::sum);
+					//Other waiting groups could be taken by another thread
+					if (!poolOfGroupsToBeSynchronized.getWaitingJobs().isEmpty()) groupsChanged.signal();
+					return takenGroup;
 				}
-				//If no group was removed or taken we have to increase the semaphore.
-				if (!removedGroup) notEmptyGroupsPoolSemaphore.release();
-			} finally {
-				poolAccessLock.unlock();
+				groupsChanged.await();
 			}
-			Thread.sleep(1000 + random.nextInt(1001));
+		} finally {
+			poolAccessLock.unlock();
 		}
 	}
 
 	/**
 	 * Take a first group, which can be safely synchronized, from the pool of waiting groups structures and add it to the pool of running groups structures.
-	 * If none of the waiting groups can be taken, wait 1-2 seconds and try again.
+	 * If none of the waiting groups can be taken, wait until the pool changes and try again.
 	 *
 	 * @param sess
 	 * @return
@@ -196,62 +238,108 @@ public class SynchronizationPool {
 	 * @throws InternalErrorException
 	 */
 	public Group takeGroupStructure(PerunSessionImpl sess) throws InterruptedException {
-		while(true) {
-			//I can take only if there is not empty list of waiting jobs
-			notEmptyGroupsStructuresPoolSemaphore.acquire();
-
-			try{
-				poolAccessLock.lock();
+		try {
+			poolAccessLock.lock();
+			while(true) {
+				Set<Group> runningGroups = poolOfGroupsToBeSynchronized.getRunningJobs();
 				//Take the group which does not have any subGroup in the pool of running groups.
 				for (Group groupStructure : poolOfGroupsStructuresToBeSynchronized.getWaitingJobs()) {
-					boolean allowed = true;
 					List<Group> allSubGroups = sess.getPerunBl().getGroupsManagerBl().getAllSubGroups(sess, groupStructure);
-					for (Group runningGroup : poolOfGroupsToBeSynchronized.getRunningJobs()) {
-						if (allSubGroups.contains(runningGroup)) {
-							allowed = false;
-							break;
-						}
-					}
-					if (allowed) {
+					if (allSubGroups.stream().noneMatch(runningGroups::contains)) {
 						//Set the group to the first place in the pool of waiting groups structures.
 						poolOfGroupsStructuresToBeSynchronized.putJobIfAbsent(groupStructure, true);
 						//Put the first group in the pool of waiting groups structures to the pool of running groups structures.
-						return poolOfGroupsStructuresToBeSynchronized.takeJob();
+						Group takenGroupStructure = poolOfGroupsStructuresToBeSynchronized.takeJob();
+						//Other waiting groups structures could be taken by another thread
+						if (!poolOfGroupsStructuresToBeSynchronized.getWaitingJobs().isEmpty()) groupsStructuresChanged.signal();
+						return takenGroupStructure;
 					}
 				}
-				//None of the groups was taken so we have to increase the semaphore.
-				notEmptyGroupsStructuresPoolSemaphore.release();
-			} finally {
-				poolAccessLock.unlock();
+				groupsStructuresChanged.await();
 			}
-			Thread.sleep(1000 + random.nextInt(1001));
+		} finally {
+			poolAccessLock.unlock();
 		}
 	}
 
 	/**
 	 * Remove group from the pool of running groups structures
 	 *
-	 * This method does not use poolAccessLock because of performance improvement.
-	 * Locking is done in PerunBeanProcessingPool.
-	 *
 	 * @param group which will be removed from the pool of running groups structures
 	 * @return
 	 */
 	public boolean removeGroupStructure(Group group) {
-			return poolOfGroupsStructuresToBeSynchronized.removeJob(group);
+		try {
+			poolAccessLock.lock();
+			boolean removed = poolOfGroupsStructuresToBeSynchronized.removeJob(group);
+			//Groups under the structure can be synchronized now
+			groupsChanged.signal();
+			return removed;
+		} finally {
+			poolAccessLock.unlock();
+		}
 	}
 
 	/**
-	 * Remove group from the pool of running groups
-	 *
-	 * This method does not use poolAccessLock because of performance improvement.
-	 * Locking is done in PerunBeanProcessingPool.
+	 * Remove group from the pool of running groups and remember duration of its synchronization.
 	 *
-	 * @param group which will be removed from the pool of running groups structures
+	 * @param group which will be removed from the pool of running groups
+	 * @param duration duration of the synchronization in milliseconds
 	 * @return
 	 */
-	public boolean removeGroup(Group group) {
-			return poolOfGroupsToBeSynchronized.removeJob(group);
+	public boolean removeGroup(Group group, long duration) {
+		try {
+			poolAccessLock.lock();
+			boolean removed = poolOfGroupsToBeSynchronized.removeJob(group);
+			String extSourceName = extSourcesOfGroups.remove(group);
+			if (removed && extSourceName != null) {
+				runningGroupsOfExtSources.computeIfPresent(extSourceName, (name, running) -> running > 1 ? running - 1 : null);
+			}
+			if (group != null) lastSynchronizationDurations.put(group.getId(), duration);
+			//Freed place of the extSource can be taken by another group and structures over the group can be synchronized now
+			groupsChanged.signal();
+			groupsStructuresChanged.signal();
+			return removed;
+		} finally {
+			poolAccessLock.unlock();
+		}
+	}
+
+	/**
+	 * Get priority of waiting group, groups with lower value are synchronized sooner.
+	 *
+	 * Priority is the time of putting the group to the pool delayed by the duration of its last synchronization
+	 * multiplied by number of 5 minutes periods in its synchronization interval. The delay is at most a quarter
+	 * of the synchronization interval, so the group is still synchronized before its next planned synchronization.
+	 * Fast groups synchronized often go before slow groups synchronized rarely, but every group gets its turn eventually.
+	 *
+	 * @param group waiting group
+	 * @param synchronizationInterval synchronization interval of the group in minutes
+	 * @return priority of the group
+	 */
+	private long getPriority(Group group, int synchronizationInterval) {
+		long lastDuration = lastSynchronizationDurations.getOrDefault(group.getId(), 0L);
+		long maxDelay = TimeUnit.MINUTES.toMillis(Math.max(synchronizationInterval, MIN_SYNCHRONIZATION_INTERVAL)) / MAX_DELAY_DIVISOR;
+		return System.currentTimeMillis() + Math.min(lastDuration * Math.max(synchronizationInterval / 5, 1), maxDelay);
+	}
+
+	/**
+	 * Forget durations of last synchronizations of groups, which are not synchronized anymore,
+	 * because they were deleted or their synchronization was disabled.
+	 *
+	 * @param synchronizedGroups all groups with enabled synchronization
+	 */
+	public void retainSynchronizationDurations(Collection<Group> synchronizedGroups) {
+		Set<Integer> synchronizedGroupIds = new HashSet<>();
+		for (Group group : synchronizedGroups) {
+			synchronizedGroupIds.add(group.getId());
+		}
+		try {
+			poolAccessLock.lock();
+			lastSynchronizationDurations.keySet().retainAll(synchronizedGroupIds);
+		} finally {
+			poolAccessLock.unlock();
+		}
 	}
 
 	/**
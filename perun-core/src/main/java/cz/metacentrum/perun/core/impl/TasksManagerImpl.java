@@ -2,6 +2,7 @@ package cz.metacentrum.perun.core.impl;
 
 import cz.metacentrum.perun.core.api.BeansUtils;
 import cz.metacentrum.perun.core.api.Facility;
+import cz.metacentrum.perun.core.api.Pair;
 import cz.metacentrum.perun.core.api.Service;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.implApi.TasksManagerImplApi;
@@ -211,6 +212,58 @@ public class TasksManagerImpl implements TasksManagerImplApi {
 		}
 	}
 
+	@Override
+	public List<Pair<Integer, Integer>> getTaskAndDestinationIdsOfTaskResults(Pair<Integer, Integer> after, int limit) {
+		try {
+			// keyset cursor is resolved by idx_taskres_task_dest_newest index
+			return jdbc.query("select distinct task_id, destination_id from tasks_results" +
+					" where (task_id, destination_id) > (?, ?) order by task_id, destination_id limit ?",
+				(resultSet, i) -> new Pair<>(resultSet.getInt("task_id"), resultSet.getInt("destination_id")),
+				after.getLeft(), after.getRight(), limit);
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public List<Integer> getIdsOfTaskResultsOverLimit(Pair<Integer, Integer> after, Pair<Integer, Integer> last, int keepNewest, boolean onlyWithOutput) {
+		try {
+			return jdbc.queryForList("select ordered.id from (" +
+					" select tr.id, tr.std_message, tr.err_message, row_number() over (partition by tr.task_id, tr.destination_id order by tr.modified_at desc, tr.id desc) as result_order" +
+					" from tasks_results tr" +
+					" where (tr.task_id, tr.destination_id) > (?, ?) and (tr.task_id, tr.destination_id) <= (?, ?)) ordered" +
+					" where ordered.result_order > ?" +
+					(onlyWithOutput ? " and (ordered.std_message is not null or ordered.err_message is not null)" : ""),
+				Integer.class, after.getLeft(), after.getRight(), last.getLeft(), last.getRight(), keepNewest);
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public int deleteTaskResults(List<Integer> ids) {
+		if (ids.isEmpty()) return 0;
+		MapSqlParameterSource parameters = new MapSqlParameterSource();
+		parameters.addValue("ids", ids);
+		try {
+			return getNamedParameterJdbcTemplate().update("delete from tasks_results where id in ( :ids )", parameters);
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public int clearOutputOfTaskResults(List<Integer> ids) {
+		if (ids.isEmpty()) return 0;
+		MapSqlParameterSource parameters = new MapSqlParameterSource();
+		parameters.addValue("ids", ids);
+		try {
+			return getNamedParameterJdbcTemplate().update("update tasks_results set std_message=null, err_message=null where id in ( :ids )", parameters);
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
 	@Override
 	public int deleteAllTaskResults() {
 		try {
@@ -236,28 +289,18 @@ public class TasksManagerImpl implements TasksManagerImplApi {
 	@Override
 	public List<TaskResult> getTaskResultsByTaskOnlyNewest(int taskId) {
 		// jdbc template cannot be null
+		// newest result for each destination is found by idx_taskres_task_dest_newest index
 		return jdbc.query(
 			"select " + taskResultMappingSelectQuery + ", " + ServicesManagerImpl.destinationMappingSelectQuery + ", " +
 				ServicesManagerImpl.serviceMappingSelectQuery +
-				" from tasks_results" +
+				" from (" +
+				" SELECT tr.*, row_number() over (partition by tr.destination_id order by tr.modified_at desc, tr.id desc) AS result_order" +
+				" FROM tasks_results tr where tr.task_id=?) tasks_results" +
 				" left join destinations on tasks_results.destination_id = destinations.id" +
 				" left join tasks on tasks.id = tasks_results.task_id" +
 				" left join services on services.id = tasks.service_id" +
-				" inner join (" +
-				" SELECT destination_id, MAX(modified_at) AS modified_at_max" +
-				" FROM tasks_results where task_id=?" +
-				" GROUP BY destination_id) tr2" +
-				" on tasks_results.destination_id = tr2.destination_id" +
-				" and tasks_results.modified_at = tr2.modified_at_max" +
-				" inner join (" +
-				" SELECT destination_id, modified_at, MAX(id) AS id_max" +
-				" FROM tasks_results where task_id=?" +
-				" GROUP BY destination_id, modified_at) tr3" +
-				" on tasks_results.destination_id = tr3.destination_id" +
-				" and tasks_results.modified_at = tr3.modified_at" +
-				" and tasks_results.id   = tr3.id_max" +
-				" where tasks_results.task_id=?",
-			TASKRESULT_ROWMAPPER, taskId, taskId, taskId);
+				" where tasks_results.result_order = 1",
+			TASKRESULT_ROWMAPPER, taskId);
 	}
 
 	@Override
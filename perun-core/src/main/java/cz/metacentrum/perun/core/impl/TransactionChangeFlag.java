@@ -0,0 +1,37 @@
+package cz.metacentrum.perun.core.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Flag marking that some cached data were changed in the current transaction, so the cache is bypassed
+ * until the transaction ends. Cache itself is refreshed by its owner after the commit.
+ *
+ * Flag is bound to the transaction as its resource at the first change and unbound after the transaction completes.
+ * Changes made outside of transaction synchronization are not marked.
+ */
+public class TransactionChangeFlag {
+
+	/**
+	 * Mark data as changed in the current transaction.
+	 */
+	public void markChanged() {
+		if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(this)) {
+			TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(TransactionChangeFlag.this);
+				}
+			});
+		}
+	}
+
+	/**
+	 * @return TRUE if data were changed in the current transaction
+	 */
+	public boolean isChangedInTransaction() {
+		return TransactionSynchronizationManager.hasResource(this);
+	}
+
+}
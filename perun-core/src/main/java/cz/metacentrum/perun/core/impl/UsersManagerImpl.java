@@ -706,6 +706,26 @@ public class UsersManagerImpl implements UsersManagerImplApi {
 
 	}
 
+	@Override
+	public List<UserExtSource> getUserExtSources(PerunSession sess, List<User> users) {
+		try {
+			return jdbc.execute("select " + userExtSourceMappingSelectQuery + "," + ExtSourcesManagerImpl.extSourceMappingSelectQuery +
+					"  from user_ext_sources left join ext_sources on user_ext_sources.ext_sources_id=ext_sources.id where user_ext_sources.user_id " + Compatibility.getStructureForInClause(),
+				(PreparedStatementCallback<List<UserExtSource>>) preparedStatement -> {
+					Array sqlArray = DatabaseManagerBl.prepareSQLArrayOfNumbers(users, preparedStatement);
+					preparedStatement.setArray(1, sqlArray);
+					ResultSet rs = preparedStatement.executeQuery();
+					List<UserExtSource> userExtSources = new ArrayList<>();
+					while (rs.next()) {
+						userExtSources.add(USEREXTSOURCE_MAPPER.mapRow(rs, rs.getRow()));
+					}
+					return userExtSources;
+				});
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
 	@Override
 	public void removeUserExtSource(PerunSession sess, User user, UserExtSource userExtSource) throws UserExtSourceAlreadyRemovedException {
 		try {
@@ -11,6 +11,8 @@ import cz.metacentrum.perun.audit.events.ResourceManagerEvents.BanUpdatedForReso
 import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.AttributesManager;
+import cz.metacentrum.perun.core.api.BanOnFacility;
+import cz.metacentrum.perun.core.api.BanOnResource;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Member;
 import cz.metacentrum.perun.core.api.Pair;
@@ -31,7 +33,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Module for getting information if member is banned on resource.
@@ -75,6 +81,29 @@ public class urn_perun_member_resource_attribute_def_virt_isBanned extends Membe
 
     }
 
+	/**
+	 * Reads all bans on the resource and its facility at once instead of checking the bans for each member.
+	 */
+	@Override
+	public Map<Member, Attribute> getAttributeValues(PerunSessionImpl sess, List<Member> members, Resource resource, AttributeDefinition attributeDefinition) {
+		Set<Integer> bannedMembers = new HashSet<>();
+		for (BanOnResource ban : sess.getPerunBl().getResourcesManagerBl().getBansForResource(sess, resource.getId())) {
+			bannedMembers.add(ban.getMemberId());
+		}
+		Set<Integer> bannedUsers = new HashSet<>();
+		for (BanOnFacility ban : sess.getPerunBl().getFacilitiesManagerBl().getBansForFacility(sess, resource.getFacilityId())) {
+			bannedUsers.add(ban.getUserId());
+		}
+
+		Map<Member, Attribute> attributes = new HashMap<>();
+		for (Member member : members) {
+			Attribute attribute = new Attribute(attributeDefinition);
+			attribute.setValue(bannedMembers.contains(member.getId()) || bannedUsers.contains(member.getUserId()));
+			attributes.put(member, attribute);
+		}
+		return attributes;
+	}
+
 	@Override
 	public List<AuditEvent> resolveVirtualAttributeValueChange(PerunSessionImpl perunSession, AuditEvent message) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<AuditEvent> resolvingMessages = new ArrayList<>();
@@ -10,15 +10,13 @@ import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.WrongAttributeAssignmentException;
 import cz.metacentrum.perun.core.api.exceptions.WrongAttributeValueException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
+import cz.metacentrum.perun.core.impl.FreeIdAllocator;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 import cz.metacentrum.perun.core.implApi.modules.attributes.UserAttributesModuleAbstract;
 import cz.metacentrum.perun.core.implApi.modules.attributes.UserAttributesModuleImplApi;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 /**
  * Checks and fills at specified facility users UID.
@@ -85,7 +83,10 @@ public class urn_perun_user_attribute_def_def_uid_namespace extends UserAttribut
 
 	/**
 	 * Fills the new UID for the user at the specified facility. First empty slot
-	 * in range (minUID, maxUID) is returned.
+	 * in range (minUID, maxUID) is returned, maxUID itself is never recycled.
+	 *
+	 * Row with minUID of the namespace is locked till the end of transaction,
+	 * so concurrent fills in the same namespace can't return the same UID.
 	 */
 	@Override
 	public Attribute fillAttribute(PerunSessionImpl sess, User user, AttributeDefinition attribute) throws WrongAttributeAssignmentException {
@@ -95,7 +96,8 @@ public class urn_perun_user_attribute_def_def_uid_namespace extends UserAttribut
 		Attribute minUidAttribute;
 		Attribute maxUidAttribute;
 		try {
-			minUidAttribute = sess.getPerunBl().getAttributesManagerBl().getAttribute(sess, uidNamespace, A_E_namespace_minUID);
+			//IMPORTANT: for update lock row in table of attr values, be careful when using
+			minUidAttribute = sess.getPerunBl().getAttributesManagerBl().getEntitylessAttributeForUpdate(sess, uidNamespace, A_E_namespace_minUID);
 			maxUidAttribute = sess.getPerunBl().getAttributesManagerBl().getAttribute(sess, uidNamespace, A_E_namespace_maxUID);
 		} catch (AttributeNotExistsException e) {
 			throw new ConsistencyErrorException("minUid and maxUid attributes are required", e);
@@ -107,15 +109,14 @@ public class urn_perun_user_attribute_def_def_uid_namespace extends UserAttribut
 			return atr; //we couldnt determine necessary attributes for getting new uID
 		}
 
-		SortedSet<Integer> values = new TreeSet<>();
-
-		// Get all attributes urn:perun:member:attribute-def:def:uid-namespace:[uid-namespace], then we can get the new UID
-		List<Attribute> uidAttributes = sess.getPerunBl().getAttributesManagerBl().getAttributesByAttributeDefinition(sess, attribute);
-		for (Attribute uidAttribute: uidAttributes) {
-			if(uidAttribute.getValue() != null) values.add((Integer) uidAttribute.getValue());
+		// Get all values of urn:perun:member:attribute-def:def:uid-namespace:[uid-namespace], then we can get the new UID
+		// recycling never returned maxUID, so it is kept out of the range
+		FreeIdAllocator allocator = new FreeIdAllocator(min, max - 1);
+		List<Object> uids = sess.getPerunBl().getAttributesManagerBl().getAttributeValuesByAttributeDefinition(sess, attribute);
+		for (Object uid : uids) {
+			allocator.markUsed((Integer) uid);
 		}
 
-
 		String uidPolicy;
 		try {
 			uidPolicy = (String) sess.getPerunBl().getAttributesManagerBl().getAttribute(sess, uidNamespace, A_E_namespace_namespace_uid_policy).getValue();
@@ -125,28 +126,15 @@ public class urn_perun_user_attribute_def_def_uid_namespace extends UserAttribut
 
 		if (UID_POLICY_INCREMENT.equals(uidPolicy)) {
 			// Only use +1 for max UID
-			if(values.isEmpty()) {
-				atr.setValue(min);
-			} else {
-				atr.setValue(Collections.max(values)+1);
-			}
-			return atr;
+			atr.setValue(allocator.allocateNext());
+		} else if (max <= min) {
+			// Recycle UIDs from empty range, only the first UID of the namespace gets minUID
+			atr.setValue(uids.isEmpty() ? min : null);
 		} else {
 			// Recycle UIDs
-
-			if (values.size() == 0) {
-				atr.setValue(min);
-				return atr;
-			} else {
-				for (int i = min; i < max; i++) {
-					if (!values.contains(i)) {
-						atr.setValue(i);
-						return atr;
-					}
-				}
-				return atr;
-			}
+			atr.setValue(allocator.allocateLowest());
 		}
+		return atr;
 	}
 
 	@Override
@@ -4,7 +4,6 @@ import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AllAttributesRe
 import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeRemovedForUes;
 import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeSetForUes;
 import cz.metacentrum.perun.core.api.Attribute;
-import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
@@ -41,11 +40,9 @@ public class urn_perun_user_attribute_def_virt_additionalIdentifiers extends Use
 	}
 
 	@Override
-	public Attribute getAttributeValue(PerunSessionImpl sess, User user, AttributeDefinition destinationAttributeDefinition) {
-		//get already filled value obtained from UserExtSources
-		Attribute attribute = super.getAttributeValue(sess, user, destinationAttributeDefinition);
-
-		Attribute destinationAttribute = new Attribute(destinationAttributeDefinition);
+	protected Attribute finishAttributeValue(PerunSessionImpl sess, User user, Attribute attribute) {
+		//attribute is already filled with value obtained from UserExtSources
+		Attribute destinationAttribute = new Attribute(attribute);
 		//get values previously obtained and add them to Set representing final value
 		//for values use set because of avoiding duplicities
 		Set<String> valuesWithoutDuplicities = new HashSet<>(attribute.valueAsList());
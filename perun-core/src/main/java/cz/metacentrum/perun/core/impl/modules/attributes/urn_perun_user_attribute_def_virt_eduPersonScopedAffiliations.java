@@ -113,11 +113,9 @@ public class urn_perun_user_attribute_def_virt_eduPersonScopedAffiliations exten
 	}
 
 	@Override
-	public Attribute getAttributeValue(PerunSessionImpl sess, User user, AttributeDefinition destinationAttributeDefinition) {
-		//get already filled value obtained from UserExtSources
-		Attribute attribute = super.getAttributeValue(sess, user, destinationAttributeDefinition);
-
-		Attribute destinationAttribute = new Attribute(destinationAttributeDefinition);
+	protected Attribute finishAttributeValue(PerunSessionImpl sess, User user, Attribute attribute) {
+		//attribute is already filled with value obtained from UserExtSources
+		Attribute destinationAttribute = new Attribute(attribute);
 		//get values previously obtained and add them to Set representing final value
 		//for values use set because of avoiding duplicities
 		Set<String> valuesWithoutDuplicities = new HashSet<>(attribute.valueAsList());
@@ -1,7 +1,6 @@
 package cz.metacentrum.perun.core.impl.modules.attributes;
 
 import cz.metacentrum.perun.core.api.Attribute;
-import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
@@ -36,12 +35,11 @@ public class urn_perun_user_attribute_def_virt_loaFenix extends UserVirtualAttri
 	}
 
 	@Override
-	public Attribute getAttributeValue(PerunSessionImpl sess, User user, AttributeDefinition destinationAttributeDefinition) {
-		Attribute destinationAttribute = new Attribute(destinationAttributeDefinition);
+	protected Attribute finishAttributeValue(PerunSessionImpl sess, User user, Attribute attribute) {
+		Attribute destinationAttribute = new Attribute(attribute);
 
-		// get already filled value obtained from UserExtSources
+		// attribute is already filled with value obtained from UserExtSources
 		// IMPORTANT: value get from super method is type of ArrayList (destination attribute has String type), this situation is known and resolved below in code
-		Attribute attribute = super.getAttributeValue(sess, user, destinationAttributeDefinition);
 
 		if (attribute.valueAsList().isEmpty()) {
 			// there are no loaFenix values, return default null
@@ -18,7 +18,9 @@ import cz.metacentrum.perun.core.implApi.modules.attributes.UserFacilityVirtualA
 import cz.metacentrum.perun.core.implApi.modules.attributes.UserFacilityVirtualAttributesModuleImplApi;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Checks and fills at specified facility users UID.
@@ -103,6 +105,40 @@ public class urn_perun_user_facility_attribute_def_virt_UID extends UserFacility
 		return attr;
 	}
 
+	/**
+	 * Gets the value of the attribute f:uid-namespace once and then finds the values of the attribute u:uid-namespace:[uid-namespace] for all users by one query
+	 */
+	@Override
+	public Map<User, Attribute> getAttributeValues(PerunSessionImpl sess, List<User> users, Facility facility, AttributeDefinition attributeDefinition) {
+		Map<User, Attribute> attributes = new HashMap<>();
+
+		try {
+			// Get the f:uid-namespace attribute
+			Attribute uidNamespaceAttribute = sess.getPerunBl().getAttributesManagerBl().getAttribute(sess, facility, AttributesManager.NS_FACILITY_ATTR_DEF + ":uid-namespace");
+
+			Map<User, Attribute> uidAttributes = new HashMap<>();
+			if (uidNamespaceAttribute.getValue() != null) {
+				// Get the u:uid-namespace[uidNamespaceAttribute] of all users
+				uidAttributes = sess.getPerunBl().getAttributesManagerBl().getAttributeForUsers(sess, users, AttributesManager.NS_USER_ATTR_DEF + ":uid-namespace:" + uidNamespaceAttribute.getValue());
+			}
+
+			for (User user : users) {
+				Attribute attr = new Attribute(attributeDefinition);
+				Attribute uidAttribute = uidAttributes.get(user);
+				if (uidAttribute != null) {
+					Utils.copyAttributeToVirtualAttributeWithValue(uidAttribute, attr);
+				} else {
+					attr.setValue(null);
+				}
+				attributes.put(user, attr);
+			}
+		} catch (AttributeNotExistsException | WrongAttributeAssignmentException e) {
+			throw new ConsistencyErrorException(e);
+		}
+
+		return attributes;
+	}
+
 	@Override
 	public boolean setAttributeValue(PerunSessionImpl sess, User user, Facility facility, Attribute attribute) throws WrongReferenceAttributeValueException {
 		AttributeDefinition userUidAttributeDefinition;
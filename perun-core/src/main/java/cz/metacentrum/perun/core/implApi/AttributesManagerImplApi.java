@@ -435,6 +435,16 @@ public interface AttributesManagerImplApi {
 	 */
 	List<Attribute> getAttributesByAttributeDefinition(PerunSession sess, AttributeDefinition attributeDefinition);
 
+	/**
+	 * Returns all not-null values of the attribute without loading whole attributes. Can't process core or virtual attributes.
+	 *
+	 * @param sess perun session
+	 * @param attributeDefinition attribute definition
+	 * @return list of values
+	 * @throws InternalErrorException
+	 */
+	List<Object> getAttributeValuesByAttributeDefinition(PerunSession sess, AttributeDefinition attributeDefinition);
+
 	/**
 	 * Get all virtual attributes associated with the user on the facility.
 	 *
@@ -689,6 +699,60 @@ public interface AttributesManagerImplApi {
 	 */
 	Attribute getAttribute(PerunSession sess, UserExtSource ues, String attributeName) throws AttributeNotExistsException;
 
+	/**
+	 * Get particular attribute for all the users by one query.
+	 * Only attributes with values stored in the DB are supported (def and opt).
+	 *
+	 * @param sess
+	 * @param users
+	 * @param attributeDefinition definition of the attribute
+	 * @return map of users to their attribute, users without value have attribute with null value
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	Map<User, Attribute> getAttributeForUsers(PerunSession sess, List<User> users, AttributeDefinition attributeDefinition);
+
+	/**
+	 * Get particular attribute for all the User External Sources by one query.
+	 * Only attributes with values stored in the DB are supported (def and opt).
+	 *
+	 * @param sess
+	 * @param userExtSources
+	 * @param attributeDefinition definition of the attribute
+	 * @return map of user external sources to their attribute, user external sources without value have attribute with null value
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	Map<UserExtSource, Attribute> getAttributeForUserExtSources(PerunSession sess, List<UserExtSource> userExtSources, AttributeDefinition attributeDefinition);
+
+	/**
+	 * Get particular attribute for all the groups by one query.
+	 * Only attributes with values stored in the DB are supported (def and opt).
+	 *
+	 * @param sess
+	 * @param groups
+	 * @param attributeDefinition definition of the attribute
+	 * @return map of groups to their attribute, groups without value have attribute with null value
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	Map<Group, Attribute> getAttributeForGroups(PerunSession sess, List<Group> groups, AttributeDefinition attributeDefinition);
+
+	/**
+	 * Store values of one attribute for many members, users or groups by one JDBC batch of upserts.
+	 * Only attributes with values stored in the DB are supported (def and opt) and all values must not be null.
+	 * Values equal to the stored ones are not written.
+	 *
+	 * @param sess
+	 * @param attributeDefinition definition of member, user or group attribute
+	 * @param attributes map of members, users or groups to attributes with new values
+	 * @return holders with changed value of the attribute
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 * @throws WrongAttributeValueException if value of unique attribute is not unique
+	 */
+	<T extends PerunBean> Set<T> setAttributeForHolders(PerunSession sess, AttributeDefinition attributeDefinition, Map<T, Attribute> attributes) throws WrongAttributeValueException;
+
 	/**
 	 * Get attributes definition (attribute without defined value).
 	 *
@@ -0,0 +1,22 @@
+package cz.metacentrum.perun.core.implApi;
+
+import cz.metacentrum.perun.audit.events.AuditEvent;
+
+/**
+ * This interface represents classes which can be registered to Auditer to be notified about stored audit events.
+ *
+ * Listeners are notified only after events are stored to the auditer log, which means after
+ * the transaction which produced them was committed. Events of rolled back transactions are never passed to listeners.
+ *
+ * @see cz.metacentrum.perun.core.impl.Auditer#registerAuditEventListener(AuditEventListener)
+ */
+public interface AuditEventListener {
+
+	/**
+	 * This method process stored audit event.
+	 * Auditer sends events via this method, so it must not block.
+	 *
+	 * @param event stored audit event
+	 */
+	void notifyWith(AuditEvent event);
+}
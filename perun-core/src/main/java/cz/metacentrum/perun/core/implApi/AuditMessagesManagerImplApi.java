@@ -37,6 +37,17 @@ public interface AuditMessagesManagerImplApi {
 	 */
 	List<AuditMessage> getMessagesByCount(PerunSession perunSession, int count);
 
+	/**
+	 * Returns at most 'count' oldest messages with IDs greater than 'lastProcessedId', ordered by ID.
+	 *
+	 * @param perunSession perun session
+	 * @param lastProcessedId id of the last already processed message
+	 * @param count max number of returned messages
+	 * @return List of audit messages
+	 * @throws InternalErrorException When implementation fails
+	 */
+	List<AuditMessage> getMessagesAfterId(PerunSession perunSession, int lastProcessedId, int count);
+
 	/**
 	 * Returns list of <b>AuditMessages</b> from audit log with IDs > lastProcessedId for registered auditer consumer.
 	 *
@@ -7,6 +7,7 @@ import cz.metacentrum.perun.core.api.exceptions.SubjectNotExistsException;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Definition of simple extSource api.
@@ -67,6 +68,38 @@ public interface ExtSourceSimpleApi {
 	 */
 	List<Map<String, String>> getGroupSubjects(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException;
 
+	/**
+	 * Get the subjects in the external group as a stream. Ext sources able to do so read subjects
+	 * from the external source while the stream is consumed. How much of the group is held in memory
+	 * depends on the ext source, see its implementation.
+	 * Stream must be closed after use to release resources of the external source.
+	 *
+	 * By default, subjects are read at once by getGroupSubjects.
+	 *
+	 * @param attributes map of attributes used for quering the external source
+	 * @return stream of maps, which contains attr_name-&gt;attr_value, e.g. firstName-&gt;Michal
+	 * @throws InternalErrorException
+	 * @throws ExtSourceUnsupportedOperationException
+	 */
+	default Stream<Map<String, String>> getGroupSubjectsStream(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException {
+		return getGroupSubjects(attributes).stream();
+	}
+
+	/**
+	 * Get cheap marker of the external group content, e.g. modification time of the group entry.
+	 * If the marker is the same as at the last synchronization, the group members have not changed
+	 * and the synchronization can be skipped.
+	 *
+	 * By default, ext source is not able to provide it.
+	 *
+	 * @param attributes map of attributes used for quering the external source
+	 * @return fingerprint of the external group or null, if it can't be provided
+	 * @throws InternalErrorException
+	 */
+	default String getGroupSubjectsFingerprint(Map<String, String> attributes) {
+		return null;
+	}
+
 	/**
 	 * If extSource needs to be closed, this method must be called.
 	 *
@@ -25,6 +25,8 @@ import cz.metacentrum.perun.core.api.exceptions.NotGroupMemberException;
 import cz.metacentrum.perun.core.api.exceptions.ParentGroupNotExistsException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author  Michal Prochazka
@@ -184,6 +186,20 @@ public interface GroupsManagerImplApi {
 	 */
 	Member addMember(PerunSession perunSession, Group group,  Member member, MembershipType type, int sourceGroupId) throws AlreadyMemberException;
 
+	/**
+	 * Adds members of the VO to the group in the same VO by one batch.
+	 *
+	 * @param perunSession
+	 * @param group
+	 * @param members members to add, their MembershipType and source group are set
+	 * @param type
+	 * @param sourceGroupId
+	 *
+	 * @throws InternalErrorException
+	 * @throws AlreadyMemberException if some member already has a record from the source group
+	 */
+	void addMembers(PerunSession perunSession, Group group, List<Member> members, MembershipType type, int sourceGroupId) throws AlreadyMemberException;
+
 
 	/**
 	 * Removes member form the group. The member object MUST have sourceGroupId parameter.
@@ -357,6 +373,28 @@ public interface GroupsManagerImplApi {
 	 */
 	List<Group> getSubGroups(PerunSession perunSession, Group parentGroup);
 
+	/**
+	 * Get all subgroups of the parent group at any level by one recursive query.
+	 *
+	 * @param perunSession
+	 * @param parentGroup
+	 *
+	 * @throws InternalErrorException
+	 * @return list of groups
+	 */
+	List<Group> getAllSubGroups(PerunSession perunSession, Group parentGroup);
+
+	/**
+	 * Get all parent groups of the group by one recursive query.
+	 *
+	 * @param perunSession
+	 * @param group
+	 *
+	 * @throws InternalErrorException
+	 * @return list of groups ordered from the top level group to the immediate parent
+	 */
+	List<Group> getAllParentGroups(PerunSession perunSession, Group group);
+
 	/** Gets list of all administrators of this group.
 	 * If some group is administrator of the given group, all members are included in the list.
 	 *
@@ -537,6 +575,19 @@ public interface GroupsManagerImplApi {
 	 */
 	boolean isDirectGroupMember(PerunSession sess, Group group, Member member);
 
+	/**
+	 * Get ids of source groups of all membership records of given members in the group.
+	 * Direct membership has the group itself as the source group.
+	 *
+	 * @param sess
+	 * @param group
+	 * @param members
+	 * @return map of ids of members, which are in the group, to ids of their source groups
+	 *
+	 * @throws InternalErrorException
+	 */
+	Map<Integer, Set<Integer>> getSourceGroupIdsOfMembers(PerunSession sess, Group group, List<Member> members);
+
 	/**
 	 * Return list of IDs of all applications, which belongs to Group.
 	 *
@@ -669,6 +720,56 @@ public interface GroupsManagerImplApi {
 	 */
 	List<Group> getOperandGroups(PerunSession sess, int groupId);
 
+	/**
+	 * Check if the operand group is included in the result group at any level of relations.
+	 * Lookup in the transitive closure of group relations.
+	 *
+	 * @param sess perun session
+	 * @param resultGroupId id of the result group
+	 * @param operandGroupId id of the operand group
+	 * @return true if members of the operand group flow to the result group
+	 */
+	boolean isTransitiveRelationBetweenGroups(PerunSession sess, int resultGroupId, int operandGroupId);
+
+	/**
+	 * Return ids of all groups, which include requested group at any level of relations.
+	 *
+	 * @param sess perun session
+	 * @param groupId group id
+	 * @return list of group ids
+	 */
+	List<Integer> getAllResultGroupsIds(PerunSession sess, int groupId);
+
+	/**
+	 * Get ids of groups from given ones, in which members are (directly or indirectly).
+	 *
+	 * @param sess perun session
+	 * @param groupIds ids of groups
+	 * @param members members
+	 * @return map of member ids to ids of groups they are in, members without any group are missing
+	 */
+	Map<Integer, Set<Integer>> getGroupIdsOfMembers(PerunSession sess, List<Integer> groupIds, List<Member> members);
+
+	/**
+	 * Add members as indirect to all groups, which include the group at any level of relations.
+	 * Missing records for all relations are created by one statement, existing records are kept.
+	 *
+	 * @param sess perun session
+	 * @param group group the members were added to
+	 * @param members members
+	 */
+	void addMembersToAllResultGroups(PerunSession sess, Group group, List<Member> members);
+
+	/**
+	 * Remove indirect memberships of members in given groups, which lost their source membership.
+	 * Removal is repeated until there is nothing to remove, so memberships coming through removed ones are removed too.
+	 *
+	 * @param sess perun session
+	 * @param groupIds ids of groups
+	 * @param members members
+	 */
+	void removeIndirectMembersWithoutSource(PerunSession sess, List<Integer> groupIds, List<Member> members);
+
 	/**
 	 * Return list of all result groups ids of requested operand group.
 	 *
@@ -723,6 +824,47 @@ public interface GroupsManagerImplApi {
 	 */
 	MemberGroupStatus getTotalMemberGroupStatus(PerunSession session, Member member, Group group);
 
+	/**
+	 * Returns total statuses of members in given group computed by one query.
+	 *
+	 * @param session session
+	 * @param members members
+	 * @param group group
+	 * @return map of member ids to their total status in the group, members without relation to the group are missing
+	 */
+	Map<Integer, MemberGroupStatus> getTotalMemberGroupStatuses(PerunSession session, List<Member> members, Group group);
+
+	/**
+	 * Set statuses of members to specified status for indirect relations
+	 * where the given group is the source group.
+	 *
+	 * @param sess perun session
+	 * @param members members whose status will be changed
+	 * @param group group where members' status will be changed
+	 * @param status status that will be set
+	 */
+	void setIndirectGroupStatus(PerunSession sess, List<Member> members, Group group, MemberGroupStatus status);
+
+	/**
+	 * Set statuses of members to specified status for direct relations to the given group.
+	 *
+	 * @param sess perun session
+	 * @param members members whose status will be changed
+	 * @param group group where members' status will be changed
+	 * @param status status that will be set
+	 */
+	void setDirectGroupStatus(PerunSession sess, List<Member> members, Group group, MemberGroupStatus status);
+
+	/**
+	 * Get numbers of groups, which include given groups at any level of relations.
+	 * Group included in another group has always more including groups than that group.
+	 *
+	 * @param sess perun session
+	 * @param groupIds ids of groups
+	 * @return map of group ids to numbers of groups including them, groups not included anywhere are missing
+	 */
+	Map<Integer, Integer> getNumbersOfAllResultGroups(PerunSession sess, List<Integer> groupIds);
+
 	/**
 	 * Returns all facilities where given group si FACILITYADMIN.
 	 *
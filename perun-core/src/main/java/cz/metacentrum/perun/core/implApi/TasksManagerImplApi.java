@@ -1,6 +1,7 @@
 package cz.metacentrum.perun.core.implApi;
 
 import cz.metacentrum.perun.core.api.Facility;
+import cz.metacentrum.perun.core.api.Pair;
 import cz.metacentrum.perun.core.api.Service;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.taskslib.model.Task;
@@ -35,6 +36,44 @@ public interface TasksManagerImplApi {
 	 */
 	int deleteOldTaskResults(int numDays);
 
+	/**
+	 * Get pairs of Task and Destination ids having any TaskResults. Pairs are ordered by Task id and Destination id
+	 * and only pairs following the given one are returned, so they can be iterated by a keyset cursor.
+	 *
+	 * @param after Pair of Task id and Destination id to continue after, use (0, 0) to start from the beginning
+	 * @param limit Max number of returned pairs
+	 * @return ordered pairs of Task id and Destination id
+	 */
+	List<Pair<Integer, Integer>> getTaskAndDestinationIdsOfTaskResults(Pair<Integer, Integer> after, int limit);
+
+	/**
+	 * Get ids of TaskResults which are not between the newest ones of their Task and Destination.
+	 * Only TaskResults of Task and Destination pairs in range (after, last] are ranked.
+	 *
+	 * @param after Pair of Task id and Destination id preceding the range (exclusive)
+	 * @param last Last pair of Task id and Destination id in the range (inclusive)
+	 * @param keepNewest Number of the newest TaskResults of each Task and Destination, which are not returned
+	 * @param onlyWithOutput TRUE to return only TaskResults having standard or error output
+	 * @return ids of older TaskResults
+	 */
+	List<Integer> getIdsOfTaskResultsOverLimit(Pair<Integer, Integer> after, Pair<Integer, Integer> last, int keepNewest, boolean onlyWithOutput);
+
+	/**
+	 * Delete TaskResults by their ids.
+	 *
+	 * @param ids ids of TaskResults
+	 * @return number of deleted TaskResults
+	 */
+	int deleteTaskResults(List<Integer> ids);
+
+	/**
+	 * Drop standard and error output of TaskResults.
+	 *
+	 * @param ids ids of TaskResults
+	 * @return number of updated TaskResults
+	 */
+	int clearOutputOfTaskResults(List<Integer> ids);
+
 	/**
 	 * Delete TaskResult by its ID
 	 *
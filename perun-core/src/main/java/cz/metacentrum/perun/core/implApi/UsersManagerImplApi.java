@@ -366,6 +366,15 @@ public interface UsersManagerImplApi {
 	 */
 	List<UserExtSource> getUserExtSources(PerunSession sess, User user);
 
+	/**
+	 * Get List of user ext sources of all the users
+	 *
+	 * @param sess session
+	 * @param users owners of extSources
+	 * @return List of UserExtSources of all the users
+	 */
+	List<UserExtSource> getUserExtSources(PerunSession sess, List<User> users);
+
 	/**
 	 * Adds user's external sources.
 	 *
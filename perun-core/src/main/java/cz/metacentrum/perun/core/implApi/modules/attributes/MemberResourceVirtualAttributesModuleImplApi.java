@@ -7,6 +7,10 @@ import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * This interface serves as a template for virtual attributes.
  *
@@ -27,6 +31,27 @@ public interface MemberResourceVirtualAttributesModuleImplApi extends MemberReso
 	 */
 	Attribute getAttributeValue(PerunSessionImpl sess, Member member, Resource resource, AttributeDefinition attribute);
 
+	/**
+	 * This method will return computed values for all the members on the resource.
+	 * Default implementation computes value for each member separately, modules which can
+	 * get the inputs for all the members at once should override it.
+	 *
+	 * @param sess perun session
+	 * @param members members which are needed for computing the values
+	 * @param resource resource which is needed for computing the values
+	 * @param attribute attribute to operate on
+	 * @return map of members to their attributes with computed value
+	 * @throws InternalErrorException if an exception is raised in particular
+	 *         implementation, the exception is wrapped in InternalErrorException
+	 */
+	default Map<Member, Attribute> getAttributeValues(PerunSessionImpl sess, List<Member> members, Resource resource, AttributeDefinition attribute) {
+		Map<Member, Attribute> attributes = new HashMap<>();
+		for (Member member : members) {
+			attributes.put(member, getAttributeValue(sess, member, resource, attribute));
+		}
+		return attributes;
+	}
+
 	/**
 	 * Method sets attributes' values which are dependent on this virtual attribute.
 	 *
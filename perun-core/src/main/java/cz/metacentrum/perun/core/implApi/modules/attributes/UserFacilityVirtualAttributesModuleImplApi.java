@@ -8,6 +8,10 @@ import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * This interface serves as a template for virtual attributes.
  *
@@ -28,6 +32,27 @@ public interface UserFacilityVirtualAttributesModuleImplApi extends UserFacility
 	 */
 	Attribute getAttributeValue(PerunSessionImpl perunSession, User user, Facility facility, AttributeDefinition attribute);
 
+	/**
+	 * This method will return computed values for all the users on the facility.
+	 * Default implementation computes value for each user separately, modules which can
+	 * get the inputs for all the users at once should override it.
+	 *
+	 * @param perunSession perun session
+	 * @param users users which are needed for computing the values
+	 * @param facility facility which is needed for computing the values
+	 * @param attribute attribute to operate on
+	 * @return map of users to their attributes with computed value
+	 * @throws InternalErrorException if an exception is raised in particular
+	 *         implementation, the exception is wrapped in InternalErrorException
+	 */
+	default Map<User, Attribute> getAttributeValues(PerunSessionImpl perunSession, List<User> users, Facility facility, AttributeDefinition attribute) {
+		Map<User, Attribute> attributes = new HashMap<>();
+		for (User user : users) {
+			attributes.put(user, getAttributeValue(perunSession, user, facility, attribute));
+		}
+		return attributes;
+	}
+
 	/**
 	 * Method sets attributes' values which are dependent on this virtual attribute.
 	 *
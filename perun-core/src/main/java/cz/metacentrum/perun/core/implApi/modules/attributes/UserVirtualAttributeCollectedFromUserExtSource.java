@@ -23,8 +23,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -128,31 +130,79 @@ public abstract class UserVirtualAttributeCollectedFromUserExtSource<T extends U
 
 	@Override
 	public Attribute getAttributeValue(PerunSessionImpl sess, User user, AttributeDefinition destinationAttributeDefinition) {
-		T ctx = initModifyValueContext(sess, user, destinationAttributeDefinition);
-		Attribute destinationAttribute = new Attribute(destinationAttributeDefinition);
-		//for values use set because of avoiding duplicities
-		Set<String> valuesWithoutDuplicities = new HashSet<>();
-
-		String sourceAttributeFriendlyName = getSourceAttributeFriendlyName();
 		List<UserExtSource> userExtSources = sess.getPerunBl().getUsersManagerBl().getUserExtSources(sess, user);
 		AttributesManagerBl am = sess.getPerunBl().getAttributesManagerBl();
 
+		Map<UserExtSource, Attribute> sourceAttributes = new HashMap<>();
 		for (UserExtSource userExtSource : userExtSources) {
 			try {
-				String sourceAttributeName = getSourceAttributeName();
-				Attribute a = am.getAttribute(sess, userExtSource, sourceAttributeName);
-				Object value = a.getValue();
-				if (value != null && value instanceof String) {
-					//Apache mod_shib joins multiple values with ';', split them again
-					String[] rawValues = ((String) value).split(";");
-					//add non-null values returned by modifyValue()
-					Arrays.stream(rawValues).map(v -> modifyValue(sess, ctx, userExtSource, v)).filter(Objects::nonNull).forEachOrdered(valuesWithoutDuplicities::add);
-				} else if (value != null && value instanceof ArrayList) {
-					//If values are already separated to list of strings
-					a.valueAsList().stream().map(v -> modifyValue(sess, ctx, userExtSource, v)).filter(Objects::nonNull).forEachOrdered(valuesWithoutDuplicities::add);
-				}
+				sourceAttributes.put(userExtSource, am.getAttribute(sess, userExtSource, getSourceAttributeName()));
 			} catch (WrongAttributeAssignmentException | AttributeNotExistsException e) {
-				log.error("cannot read " + sourceAttributeFriendlyName + " from userExtSource " + userExtSource.getId() + " of user " + user.getId(), e);
+				log.error("cannot read " + getSourceAttributeFriendlyName() + " from userExtSource " + userExtSource.getId() + " of user " + user.getId(), e);
+			}
+		}
+
+		return finishAttributeValue(sess, user, collectValues(sess, user, destinationAttributeDefinition, userExtSources, sourceAttributes));
+	}
+
+	/**
+	 * Reads userExtSources of all users and their source attributes at once and then collects values for each user.
+	 */
+	@Override
+	public Map<User, Attribute> getAttributeValues(PerunSessionImpl sess, List<User> users, AttributeDefinition destinationAttributeDefinition) {
+		Map<User, Attribute> attributes = new HashMap<>();
+		if (users.isEmpty()) return attributes;
+
+		List<UserExtSource> userExtSources = sess.getPerunBl().getUsersManagerBl().getUserExtSources(sess, users);
+		Map<Integer, List<UserExtSource>> userExtSourcesByUser = new HashMap<>();
+		for (UserExtSource userExtSource : userExtSources) {
+			userExtSourcesByUser.computeIfAbsent(userExtSource.getUserId(), id -> new ArrayList<>()).add(userExtSource);
+		}
+
+		Map<UserExtSource, Attribute> sourceAttributes = new HashMap<>();
+		try {
+			sourceAttributes = sess.getPerunBl().getAttributesManagerBl().getAttributeForUserExtSources(sess, userExtSources, getSourceAttributeName());
+		} catch (WrongAttributeAssignmentException | AttributeNotExistsException e) {
+			log.error("cannot read " + getSourceAttributeFriendlyName() + " from userExtSources of users", e);
+		}
+
+		for (User user : users) {
+			List<UserExtSource> userExtSourcesOfUser = userExtSourcesByUser.getOrDefault(user.getId(), new ArrayList<>());
+			attributes.put(user, finishAttributeValue(sess, user, collectValues(sess, user, destinationAttributeDefinition, userExtSourcesOfUser, sourceAttributes)));
+		}
+		return attributes;
+	}
+
+	/**
+	 * Override this method if you need to change the values collected from userExtSources,
+	 * e.g. to add values from other sources. The default implementation makes no modification.
+	 *
+	 * @param sess PerunSession
+	 * @param user user
+	 * @param collectedAttribute destination attribute with list of values collected from userExtSources
+	 * @return destination attribute with final value
+	 */
+	protected Attribute finishAttributeValue(PerunSessionImpl sess, User user, Attribute collectedAttribute) {
+		return collectedAttribute;
+	}
+
+	private Attribute collectValues(PerunSessionImpl sess, User user, AttributeDefinition destinationAttributeDefinition, List<UserExtSource> userExtSources, Map<UserExtSource, Attribute> sourceAttributes) {
+		T ctx = initModifyValueContext(sess, user, destinationAttributeDefinition);
+		Attribute destinationAttribute = new Attribute(destinationAttributeDefinition);
+		//for values use set because of avoiding duplicities
+		Set<String> valuesWithoutDuplicities = new HashSet<>();
+
+		for (UserExtSource userExtSource : userExtSources) {
+			Attribute a = sourceAttributes.get(userExtSource);
+			Object value = a == null ? null : a.getValue();
+			if (value != null && value instanceof String) {
+				//Apache mod_shib joins multiple values with ';', split them again
+				String[] rawValues = ((String) value).split(";");
+				//add non-null values returned by modifyValue()
+				Arrays.stream(rawValues).map(v -> modifyValue(sess, ctx, userExtSource, v)).filter(Objects::nonNull).forEachOrdered(valuesWithoutDuplicities::add);
+			} else if (value != null && value instanceof ArrayList) {
+				//If values are already separated to list of strings
+				a.valueAsList().stream().map(v -> modifyValue(sess, ctx, userExtSource, v)).filter(Objects::nonNull).forEachOrdered(valuesWithoutDuplicities::add);
 			}
 		}
 
@@ -0,0 +1,62 @@
+package cz.metacentrum.perun.core.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ParsedAttributeValueCacheTest {
+
+	private static final String CLASS_NAME = "ParsedAttributeValueCacheTest.";
+
+	@Test
+	public void cacheIsBoundedByTotalLength() {
+		System.out.println(CLASS_NAME + "cacheIsBoundedByTotalLength");
+
+		ParsedAttributeValueCache<String> cache = new ParsedAttributeValueCache<>(100, 50);
+		for (int i = 0; i < 10; i++) {
+			cache.get(String.valueOf(i).repeat(40), String::new);
+			assertEquals(Math.min(i + 1, 2) * 40, cache.totalLength());
+		}
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void leastRecentlyUsedValueIsEvicted() {
+		System.out.println(CLASS_NAME + "leastRecentlyUsedValueIsEvicted");
+
+		ParsedAttributeValueCache<String> cache = new ParsedAttributeValueCache<>(100, 50);
+		String first = cache.get("a".repeat(40), String::new);
+		String second = cache.get("b".repeat(40), String::new);
+		// first value is used again, so the second one is the least recently used
+		assertSame(first, cache.get("a".repeat(40), String::new));
+		cache.get("c".repeat(40), String::new);
+
+		assertEquals(2, cache.size());
+		assertSame(first, cache.get("a".repeat(40), String::new));
+		assertNotSame(second, cache.get("b".repeat(40), String::new));
+	}
+
+	@Test
+	public void cachedValueIsReused() {
+		System.out.println(CLASS_NAME + "cachedValueIsReused");
+
+		ParsedAttributeValueCache<String> cache = new ParsedAttributeValueCache<>(100, 50);
+		String first = cache.get("a".repeat(50), String::new);
+		assertSame(first, cache.get("a".repeat(50), String::new));
+		assertEquals(50, cache.totalLength());
+	}
+
+	@Test
+	public void tooLongValueIsNotCached() {
+		System.out.println(CLASS_NAME + "tooLongValueIsNotCached");
+
+		ParsedAttributeValueCache<String> cache = new ParsedAttributeValueCache<>(100, 50);
+		String first = cache.get("a".repeat(51), String::new);
+		assertNotSame(first, cache.get("a".repeat(51), String::new));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.totalLength());
+	}
+
+}
@@ -0,0 +1,76 @@
+package cz.metacentrum.perun.core.benchmark;
+
+import cz.metacentrum.perun.core.api.BeansUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of parsing list and map attribute values from their DB representation,
+ * e.g. entityless usedGids maps or lists of group members.
+ *
+ * It is not run with tests, run it from IDE or by main method with test classpath.
+ *
+ * @see BeansUtils#stringToAttributeValue(String, String)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeValueParsingBenchmark {
+
+	@Param({"10", "1000", "10000"})
+	private int size;
+
+	private String listValue;
+	private String mapValue;
+
+	@Setup
+	public void setUp() {
+		ArrayList<String> list = new ArrayList<>();
+		LinkedHashMap<String, String> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			list.add("member" + i + "@some,escaped:domain");
+			map.put("D" + (10000 + i), "gid:" + i);
+		}
+		listValue = BeansUtils.attributeValueToString(list, ArrayList.class.getName());
+		mapValue = BeansUtils.attributeValueToString(map, LinkedHashMap.class.getName());
+	}
+
+	@Benchmark
+	public Object parseListValue() {
+		return BeansUtils.stringToAttributeValue(listValue, ArrayList.class.getName());
+	}
+
+	@Benchmark
+	public Object parseMapValue() {
+		return BeansUtils.stringToAttributeValue(mapValue, LinkedHashMap.class.getName());
+	}
+
+	@Benchmark
+	public Object parseListValueWithoutCache() {
+		return BeansUtils.parseEscapedListValue(listValue);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AttributeValueParsingBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,81 @@
+package cz.metacentrum.perun.core.benchmark;
+
+import cz.metacentrum.perun.core.api.Candidate;
+import cz.metacentrum.perun.core.api.ExtSource;
+import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.RichMember;
+import cz.metacentrum.perun.core.api.Status;
+import cz.metacentrum.perun.core.api.UserExtSource;
+import cz.metacentrum.perun.core.impl.MembersSynchronizationDiff;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of categorization of group members and candidates during group synchronization.
+ * One tenth of members is removed and one tenth of subjects is new, the rest is updated,
+ * so time per subject should stay the same for all sizes.
+ *
+ * It is not run with tests, run it from IDE or by main method with test classpath.
+ *
+ * @see MembersSynchronizationDiff
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class MembersSynchronizationDiffBenchmark {
+
+	@Param({"1000", "10000", "100000", "500000"})
+	private int size;
+
+	private List<RichMember> groupMembers;
+	private List<Candidate> candidates;
+
+	@Setup
+	public void setUp() {
+		ExtSource extSource = new ExtSource(1, "ldap", "cz.metacentrum.perun.core.impl.ExtSourceLdap");
+		int removed = size / 10;
+		groupMembers = new ArrayList<>(size);
+		candidates = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			UserExtSource userExtSource = new UserExtSource(i, extSource, "member" + i + "@ldap");
+			groupMembers.add(new RichMember(null, new Member(i, i, 1, Status.VALID), List.of(userExtSource)));
+		}
+		for (int i = removed; i < size + removed; i++) {
+			Map<String, String> attributes = new HashMap<>();
+			attributes.put("urn:perun:user:attribute-def:core:lastName", "Member" + i);
+			attributes.put("urn:perun:user:attribute-def:def:preferredMail", "member" + i + "@example.com");
+			candidates.add(new Candidate(new UserExtSource(extSource, "member" + i + "@ldap"), attributes));
+		}
+	}
+
+	@Benchmark
+	public MembersSynchronizationDiff categorize() {
+		return new MembersSynchronizationDiff(groupMembers, candidates);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MembersSynchronizationDiffBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
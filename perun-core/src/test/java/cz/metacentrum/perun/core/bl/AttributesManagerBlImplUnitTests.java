@@ -36,6 +36,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_USER_ATTR;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -83,6 +84,7 @@ public class AttributesManagerBlImplUnitTests {
 	@Before
 	public void setUp() {
 		ReflectionTestUtils.setField(attrManagerBlImplMock, "attributesManagerImpl", attrManagerImplMock);
+		ReflectionTestUtils.setField(attrManagerBlImplMock, "dependencyCheckPlans", new ConcurrentHashMap<>());
 		attrManagerBlImpl = new AttributesManagerBlImpl(attrManagerImplMock);
 		attrManagerBlImpl.setPerunBl(perunBlMock);
 	}
@@ -537,6 +539,40 @@ public class AttributesManagerBlImplUnitTests {
 		verify(attrManagerBlImplMock, times(0)).checkAttributeSemantics(any(), (User)any(), any());
 	}
 
+	@Test
+	public void checkAttributeDependenciesResolvesHoldersOncePerNamespace() throws Exception {
+		System.out.println(CLASS_NAME + "checkAttributeDependenciesResolvesHoldersOncePerNamespace");
+		// set the mock to call the real tested method
+		doCallRealMethod().when(attrManagerBlImplMock).checkAttributeDependencies(any(), any());
+
+		User user = new User();
+		RichAttribute<User, Void> A1 = setUpVirtualRichAttribute(user, null, "A1");
+		RichAttribute<User, Void> A2 = setUpVirtualRichAttribute(user, null, "A2");
+		RichAttribute<User, Void> B = setUpVirtualRichAttribute(user, null, "B");
+
+		// Set dependencies(inverse):
+		//    A1 -> B
+		//    A2 -> B
+		Map<AttributeDefinition, Set<AttributeDefinition>> dependencies = new HashMap<>();
+		dependencies.put(
+			new AttributeDefinition(B.getAttribute()),
+			Sets.newHashSet(new AttributeDefinition(A1.getAttribute()), new AttributeDefinition(A2.getAttribute()))
+		);
+		when(attrManagerBlImplMock.getAllDependencies()).thenReturn(dependencies);
+
+		when(attrManagerBlImplMock.getRichAttributesWithHoldersForAttributeDefinition(any(), any(), any()))
+			.thenReturn(new ArrayList<>(Collections.singletonList(A1)));
+		when(attrManagerImplMock.getAttributes(any(), any(User.class), anyList()))
+			.thenReturn(Collections.singletonList(A2.getAttribute()));
+		when(attrManagerImplMock.isFromNamespace(any(), eq(NS_USER_ATTR)))
+			.thenReturn(true);
+
+		attrManagerBlImplMock.checkAttributeDependencies(sessionMock, B);
+		verify(attrManagerBlImplMock, times(1)).getRichAttributesWithHoldersForAttributeDefinition(any(), any(), any());
+		verify(attrManagerImplMock, times(1)).getAttributes(any(), any(User.class), anyList());
+		verify(attrManagerBlImplMock, times(2)).checkAttributeSemantics(any(), (User)any(), any());
+	}
+
 	// ## ----------- PRIVATE METHODS ------------ ##
 
 	/**
@@ -245,6 +245,30 @@ public class TasksManagerBlImplTest {
 		assertEquals(2, tasksManager.getTaskResults(perunSession).size());
 	}
 
+	@Test
+	public void testCompactTaskResults() {
+		System.out.println("TasksManagerBlImplTest.testCompactTaskResults");
+		// only older result for task1 and destination1 is over the limit, batch of size 1 must continue until done
+		assertEquals(1, tasksManager.compactTaskResults(perunSession, 1, 1, 1));
+		assertEquals(2, tasksManager.getTaskResults(perunSession).size());
+		assertEquals(1, tasksManager.getTaskResultsByTaskAndDestination(perunSession, task1Id, testDestinationId1).size());
+		assertEquals(1, tasksManager.getTaskResultsByTaskAndDestination(perunSession, task1Id, testDestinationId2).size());
+	}
+
+	@Test
+	public void testCompactTaskResultsClearsOutput() {
+		System.out.println("TasksManagerBlImplTest.testCompactTaskResultsClearsOutput");
+		jdbcTemplate.update("update tasks_results set std_message='out', err_message='err' where task_id=?", task1Id);
+		// both results for task1 and destination1 are kept, only the newest one with output
+		assertEquals(1, tasksManager.compactTaskResults(perunSession, 2, 1, 1));
+		assertEquals(3, tasksManager.getTaskResults(perunSession).size());
+		List<TaskResult> results = tasksManager.getTaskResultsByTaskAndDestination(perunSession, task1Id, testDestinationId1);
+		assertEquals(1, results.stream().filter(result -> result.getStandardMessage() == null && result.getErrorMessage() == null).count());
+		assertEquals("out", tasksManager.getTaskResultsByTaskAndDestination(perunSession, task1Id, testDestinationId2).get(0).getStandardMessage());
+		// nothing left to compact
+		assertEquals(0, tasksManager.compactTaskResults(perunSession, 2, 1, 1));
+	}
+
 	@Test 
 	public void testDeleteTask() {
 		System.out.println("TasksManagerBlImplTest.testDeleteTask");
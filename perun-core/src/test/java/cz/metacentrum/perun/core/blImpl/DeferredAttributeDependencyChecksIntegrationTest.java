@@ -0,0 +1,105 @@
+package cz.metacentrum.perun.core.blImpl;
+
+import cz.metacentrum.perun.core.AbstractPerunIntegrationTest;
+import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.AttributeInconsistency;
+import cz.metacentrum.perun.core.api.AttributesManager;
+import cz.metacentrum.perun.core.api.BeansUtils;
+import cz.metacentrum.perun.core.api.RichAttribute;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DeferredAttributeDependencyChecksIntegrationTest extends AbstractPerunIntegrationTest {
+
+	private static final String CLASS_NAME = "DeferredAttributeDependencyChecksIntegrationTest.";
+	private static final String A_E_namespaceMinUID = AttributesManager.NS_ENTITYLESS_ATTR_DEF + ":namespace-minUID";
+	private static final String A_E_namespaceMaxUID = AttributesManager.NS_ENTITYLESS_ATTR_DEF + ":namespace-maxUID";
+	private static final String NAMESPACE = "deferredChecksTest";
+
+	private AttributesManagerBlImpl attributesManagerBl;
+	private DeferredAttributeDependencyChecks checks;
+	private boolean deferredChecks;
+	private Executor executor;
+
+	@Before
+	public void setUp() {
+		attributesManagerBl = AopTestUtils.getUltimateTargetObject(perun.getAttributesManagerBl());
+		checks = attributesManagerBl.getDeferredDependencyChecks();
+		deferredChecks = BeansUtils.getCoreConfig().isDeferredAttributeDependencyChecks();
+		// run checks in the test transaction, so they see the test data
+		executor = checks.getExecutor();
+		checks.setExecutor(Runnable::run);
+	}
+
+	@After
+	public void tearDown() {
+		BeansUtils.getCoreConfig().setDeferredAttributeDependencyChecks(deferredChecks);
+		checks.setExecutor(executor);
+	}
+
+	@Test
+	public void setAttributeDefersDependencyChecksUntilCommit() throws Exception {
+		System.out.println(CLASS_NAME + "setAttributeDefersDependencyChecksUntilCommit");
+
+		BeansUtils.getCoreConfig().setDeferredAttributeDependencyChecks(true);
+		attributesManagerBl.setAttribute(sess, NAMESPACE, createAttribute(A_E_namespaceMaxUID, 100));
+
+		// checks are queued after commit, the test transaction is rolled back, so they never run
+		assertEquals(1, checks.getQueueSize());
+	}
+
+	@Test
+	public void setAttributeChecksDependenciesImmediatelyWhenNotDeferred() throws Exception {
+		System.out.println(CLASS_NAME + "setAttributeChecksDependenciesImmediatelyWhenNotDeferred");
+
+		BeansUtils.getCoreConfig().setDeferredAttributeDependencyChecks(false);
+		attributesManagerBl.setAttribute(sess, NAMESPACE, createAttribute(A_E_namespaceMaxUID, 100));
+
+		assertEquals(0, checks.getQueueSize());
+	}
+
+	@Test
+	public void violatedDependencyIsKeptAsInconsistency() throws Exception {
+		System.out.println(CLASS_NAME + "violatedDependencyIsKeptAsInconsistency");
+
+		Attribute maxUID = createAttribute(A_E_namespaceMaxUID, 100);
+		Attribute minUID = createAttribute(A_E_namespaceMinUID, 200);
+		attributesManagerBl.setAttributeWithoutCheck(sess, NAMESPACE, maxUID);
+		attributesManagerBl.setAttributeWithoutCheck(sess, NAMESPACE, minUID);
+
+		checks.enqueue(sess, List.of(new RichAttribute<>(NAMESPACE, null, minUID)));
+
+		List<AttributeInconsistency> inconsistencies = getInconsistenciesOfNamespace();
+		assertEquals(1, inconsistencies.size());
+		assertEquals(NAMESPACE, inconsistencies.get(0).getRichAttribute().getPrimaryHolder());
+		assertEquals(A_E_namespaceMaxUID, inconsistencies.get(0).getRichAttribute().getAttribute().getName());
+
+		minUID.setValue(50);
+		attributesManagerBl.setAttributeWithoutCheck(sess, NAMESPACE, minUID);
+		checks.enqueue(sess, List.of(new RichAttribute<>(NAMESPACE, null, minUID)));
+
+		assertTrue(getInconsistenciesOfNamespace().isEmpty());
+	}
+
+	private List<AttributeInconsistency> getInconsistenciesOfNamespace() {
+		return checks.getInconsistencies().stream()
+				.filter(inconsistency -> NAMESPACE.equals(inconsistency.getRichAttribute().getPrimaryHolder()))
+				.collect(Collectors.toList());
+	}
+
+	private Attribute createAttribute(String name, Integer value) throws Exception {
+		Attribute attribute = new Attribute(attributesManagerBl.getAttributeDefinition(sess, name));
+		attribute.setValue(value);
+		return attribute;
+	}
+
+}
@@ -0,0 +1,246 @@
+package cz.metacentrum.perun.core.blImpl;
+
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeDependencyViolated;
+import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.AttributeInconsistency;
+import cz.metacentrum.perun.core.api.PerunSession;
+import cz.metacentrum.perun.core.api.RichAttribute;
+import cz.metacentrum.perun.core.api.User;
+import cz.metacentrum.perun.core.api.exceptions.WrongAttributeValueException;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class DeferredAttributeDependencyChecksTest {
+
+	private static final String CLASS_NAME = "DeferredAttributeDependencyChecksTest.";
+	private static final int MARKER_ID = -1;
+
+	private final PerunSession sess = mock(PerunSession.class);
+	private final User user = createUser(1);
+	private TestChecks checks;
+
+	@Before
+	public void setUp() {
+		checks = new TestChecks();
+	}
+
+	@Test
+	public void checksAreQueuedAfterCommit() throws Exception {
+		System.out.println(CLASS_NAME + "checksAreQueuedAfterCommit");
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			checks.deferAfterCommit(sess, List.of(createRichAttribute(10)));
+			checks.deferAfterCommit(sess, List.of(createRichAttribute(11)));
+			assertTrue(checks.checkedAttributeIds.isEmpty());
+			assertEquals(2, checks.getQueueSize());
+			assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCommit();
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+			}
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		checks.awaitChecks(2);
+		assertEquals(List.of(1010, 1011), checks.checkedAttributeIds);
+	}
+
+	@Test
+	public void nothingIsCheckedAfterRollback() throws Exception {
+		System.out.println(CLASS_NAME + "nothingIsCheckedAfterRollback");
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			checks.deferAfterCommit(sess, List.of(createRichAttribute(10)));
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+			}
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		// checks run in order on one thread, so the rolled back change would be checked before this one
+		checks.enqueue(sess, List.of(createRichAttribute(20)));
+		checks.awaitChecks(1);
+		assertEquals(List.of(1020), checks.checkedAttributeIds);
+	}
+
+	@Test
+	public void changesAreCheckedInBatches() throws Exception {
+		System.out.println(CLASS_NAME + "changesAreCheckedInBatches");
+
+		CountDownLatch firstBatchStarted = new CountDownLatch(1);
+		CountDownLatch firstBatchReleased = new CountDownLatch(1);
+		checks.dependants = changedAttributes -> {
+			if (firstBatchStarted.getCount() > 0) {
+				firstBatchStarted.countDown();
+				await(firstBatchReleased);
+			}
+			// dependant shared by all changed attributes
+			return Set.of(createRichAttribute(1));
+		};
+
+		checks.enqueue(sess, List.of(createRichAttribute(0)));
+		assertTrue(firstBatchStarted.await(10, TimeUnit.SECONDS));
+		List<RichAttribute> changedAttributes = new ArrayList<>();
+		for (int i = 1; i <= 250; i++) {
+			changedAttributes.add(createRichAttribute(1000 + i));
+		}
+		checks.enqueue(sess, changedAttributes);
+		firstBatchReleased.countDown();
+
+		checks.awaitChecks(4);
+		assertEquals(List.of(1, DeferredAttributeDependencyChecks.BATCH_SIZE, DeferredAttributeDependencyChecks.BATCH_SIZE, 50), checks.batchSizes);
+		assertEquals(List.of(1, 1, 1, 1), checks.checkedAttributeIds);
+	}
+
+	@Test
+	public void inconsistencyIsKeptUntilCheckPasses() throws Exception {
+		System.out.println(CLASS_NAME + "inconsistencyIsKeptUntilCheckPasses");
+
+		checks.failingAttributeIds.add(1010);
+		checks.enqueue(sess, List.of(createRichAttribute(10)));
+		checks.awaitChecks(1);
+
+		List<AttributeInconsistency> inconsistencies = checks.getInconsistencies();
+		assertEquals(1, inconsistencies.size());
+		assertEquals(1010, inconsistencies.get(0).getRichAttribute().getAttribute().getId());
+		assertEquals(user, inconsistencies.get(0).getRichAttribute().getPrimaryHolder());
+		assertEquals("wrong 1010", inconsistencies.get(0).getReason());
+		assertEquals(1, checks.violations.size());
+
+		checks.failingAttributeIds.clear();
+		checks.enqueue(sess, List.of(createRichAttribute(10)));
+		checks.awaitChecks(1);
+
+		assertTrue(checks.getInconsistencies().isEmpty());
+		assertEquals(1, checks.violations.size());
+	}
+
+	@Test
+	public void oldestInconsistenciesAreDropped() throws Exception {
+		System.out.println(CLASS_NAME + "oldestInconsistenciesAreDropped");
+
+		int count = DeferredAttributeDependencyChecks.MAX_INCONSISTENCIES + 1;
+		checks.dependants = changedAttributes -> {
+			Set<RichAttribute> dependants = new LinkedHashSet<>();
+			for (int i = 0; i < count; i++) {
+				dependants.add(createRichAttribute(2000 + i));
+				checks.failingAttributeIds.add(2000 + i);
+			}
+			return dependants;
+		};
+		checks.enqueue(sess, List.of(createRichAttribute(10)));
+		checks.awaitChecks(count);
+
+		List<AttributeInconsistency> inconsistencies = checks.getInconsistencies();
+		assertEquals(DeferredAttributeDependencyChecks.MAX_INCONSISTENCIES, inconsistencies.size());
+		assertEquals(2001, inconsistencies.get(0).getRichAttribute().getAttribute().getId());
+		assertEquals(2000 + count - 1, inconsistencies.get(inconsistencies.size() - 1).getRichAttribute().getAttribute().getId());
+	}
+
+	private RichAttribute<User, Void> createRichAttribute(int id) {
+		Attribute attribute = new Attribute();
+		attribute.setId(id);
+		attribute.setNamespace("urn:perun:user:attribute-def:def");
+		attribute.setFriendlyName("attribute" + id);
+		attribute.setType(String.class.getName());
+		attribute.setValue("value");
+		return new RichAttribute<>(user, null, attribute);
+	}
+
+	private static User createUser(int id) {
+		User user = new User();
+		user.setId(id);
+		return user;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Checks with dependants computed from attribute ids, by default each changed attribute has one dependant with id + 1000.
+	 */
+	private class TestChecks extends DeferredAttributeDependencyChecks {
+
+		private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		private final List<Integer> checkedAttributeIds = Collections.synchronizedList(new ArrayList<>());
+		private final Set<Integer> failingAttributeIds = Collections.synchronizedSet(new HashSet<>());
+		private final List<AttributeDependencyViolated> violations = Collections.synchronizedList(new ArrayList<>());
+		private final Semaphore checked = new Semaphore(0);
+		private volatile CountDownLatch drained = new CountDownLatch(1);
+		private volatile Function<List<RichAttribute>, Set<RichAttribute>> dependants = changedAttributes -> {
+			Set<RichAttribute> dependants = new LinkedHashSet<>();
+			for (RichAttribute changedAttribute : changedAttributes) {
+				dependants.add(createRichAttribute(changedAttribute.getAttribute().getId() + 1000));
+			}
+			return dependants;
+		};
+
+		@Override
+		protected Set<RichAttribute> getDependantRichAttributes(PerunSession sess, List<RichAttribute> changedAttributes) {
+			if (changedAttributes.size() == 1 && changedAttributes.get(0).getAttribute().getId() == MARKER_ID) {
+				drained.countDown();
+				return Set.of();
+			}
+			batchSizes.add(changedAttributes.size());
+			return dependants.apply(changedAttributes);
+		}
+
+		@Override
+		protected void checkSemantics(PerunSession sess, RichAttribute richAttribute) throws WrongAttributeValueException {
+			int id = richAttribute.getAttribute().getId();
+			checkedAttributeIds.add(id);
+			try {
+				if (failingAttributeIds.contains(id)) {
+					throw new WrongAttributeValueException("wrong " + id);
+				}
+			} finally {
+				checked.release();
+			}
+		}
+
+		@Override
+		protected void logViolation(PerunSession sess, AttributeDependencyViolated event) {
+			violations.add(event);
+		}
+
+		/**
+		 * Wait until the given number of checks is done and their results are recorded,
+		 * which is after processing of a marker queued behind them.
+		 */
+		private void awaitChecks(int count) throws InterruptedException {
+			assertTrue(checked.tryAcquire(count, 10, TimeUnit.SECONDS));
+			drained = new CountDownLatch(1);
+			enqueue(sess, List.of(createRichAttribute(MARKER_ID)));
+			assertTrue(drained.await(10, TimeUnit.SECONDS));
+		}
+
+	}
+
+}
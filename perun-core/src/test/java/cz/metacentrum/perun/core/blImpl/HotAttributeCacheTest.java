@@ -0,0 +1,171 @@
+package cz.metacentrum.perun.core.blImpl;
+
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeSetForUser;
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.PerunSession;
+import cz.metacentrum.perun.core.api.User;
+import cz.metacentrum.perun.core.bl.AuditMessagesManagerBl;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HotAttributeCacheTest {
+
+	private static final String CLASS_NAME = "HotAttributeCacheTest.";
+
+	@Test
+	public void getReturnsCopyOfCachedAttribute() {
+		System.out.println(CLASS_NAME + "getReturnsCopyOfCachedAttribute");
+
+		HotAttributeCache cache = new HotAttributeCache(10);
+		User user = createUser(1);
+		Attribute attribute = createAttribute(5, new ArrayList<>(List.of("a")));
+		cache.put(user, attribute, cache.getVersion());
+
+		Attribute cached = cache.get(user, 5);
+		assertNotNull(cached);
+		cached.valueAsList().add("b");
+		assertEquals(List.of("a"), cache.get(user, 5).valueAsList());
+		assertNull(cache.get(user, 6));
+		assertEquals(Long.valueOf(2), cache.getStatistics().get("hits"));
+		assertEquals(Long.valueOf(1), cache.getStatistics().get("misses"));
+	}
+
+	@Test
+	public void putAfterInvalidationIsIgnored() {
+		System.out.println(CLASS_NAME + "putAfterInvalidationIsIgnored");
+
+		HotAttributeCache cache = new HotAttributeCache(10);
+		User user = createUser(1);
+		long epoch = cache.getVersion();
+		cache.invalidate(user, 5);
+		cache.put(user, createAttribute(5, "stale"), epoch);
+
+		assertNull(cache.get(user, 5));
+	}
+
+	@Test
+	public void holdersAreKeyedByType() {
+		System.out.println(CLASS_NAME + "holdersAreKeyedByType");
+
+		HotAttributeCache cache = new HotAttributeCache(10);
+		Member member = new Member();
+		member.setId(1);
+		cache.put(member, createAttribute(5, "member"), cache.getVersion());
+
+		assertNull(cache.get(createUser(1), 5));
+		assertEquals("member", cache.get(member, 5).getValue());
+	}
+
+	@Test
+	public void leastRecentlyUsedHolderIsEvicted() {
+		System.out.println(CLASS_NAME + "leastRecentlyUsedHolderIsEvicted");
+
+		HotAttributeCache cache = new HotAttributeCache(3);
+		cache.put(createUser(1), createAttribute(5, "1"), cache.getVersion());
+		cache.put(createUser(2), createAttribute(5, "2"), cache.getVersion());
+		cache.put(createUser(2), createAttribute(6, "2"), cache.getVersion());
+		cache.get(createUser(1), 5);
+		cache.put(createUser(3), createAttribute(5, "3"), cache.getVersion());
+
+		assertNotNull(cache.get(createUser(1), 5));
+		assertNull(cache.get(createUser(2), 5));
+		assertNull(cache.get(createUser(2), 6));
+		assertEquals(Long.valueOf(2), cache.getStatistics().get("evictions"));
+		assertEquals(Long.valueOf(2), cache.getStatistics().get("size"));
+	}
+
+	@Test
+	public void sizeCountsAttributes() {
+		System.out.println(CLASS_NAME + "sizeCountsAttributes");
+
+		HotAttributeCache cache = new HotAttributeCache(10);
+		User user = createUser(1);
+		cache.put(user, createAttribute(5, "a"), cache.getVersion());
+		cache.put(user, createAttribute(6, "b"), cache.getVersion());
+		cache.put(user, createAttribute(6, "c"), cache.getVersion());
+		assertEquals(Long.valueOf(2), cache.getStatistics().get("size"));
+
+		cache.invalidate(user, 5);
+		assertEquals(Long.valueOf(1), cache.getStatistics().get("size"));
+		cache.invalidate(user);
+		assertEquals(Long.valueOf(0), cache.getStatistics().get("size"));
+	}
+
+	@Test
+	public void auditEventInvalidatesAttribute() {
+		System.out.println(CLASS_NAME + "auditEventInvalidatesAttribute");
+
+		HotAttributeCache cache = new HotAttributeCache(10);
+		User user = createUser(1);
+		Attribute attribute = createAttribute(5, "old");
+		cache.put(user, attribute, cache.getVersion());
+		cache.notifyWith(new AttributeSetForUser(attribute, user));
+
+		assertNull(cache.get(user, 5));
+	}
+
+	@Test
+	public void auditLogMessageCommittedOutOfOrderInvalidatesAttribute() {
+		System.out.println(CLASS_NAME + "auditLogMessageCommittedOutOfOrderInvalidatesAttribute");
+
+		HotAttributeCache cache = new HotAttributeCache(10);
+		PerunSession sess = mock(PerunSession.class);
+		AuditMessagesManagerBl auditMessagesManagerBl = mock(AuditMessagesManagerBl.class);
+		User user = createUser(1);
+		User otherUser = createUser(2);
+		AuditMessage late = createAuditMessage(2, new AttributeSetForUser(createAttribute(5, "new"), user));
+		AuditMessage first = createAuditMessage(1, new AttributeSetForUser(createAttribute(5, "new"), otherUser));
+		AuditMessage third = createAuditMessage(3, new AttributeSetForUser(createAttribute(6, "new"), otherUser));
+		when(auditMessagesManagerBl.getLastMessageId(sess)).thenReturn(0);
+		when(auditMessagesManagerBl.getMessagesAfterId(eq(sess), eq(0), anyInt())).thenReturn(List.of(first, third));
+		cache.startAuditLogPolling(sess, auditMessagesManagerBl, 3600);
+
+		cache.pollAuditLog(sess, auditMessagesManagerBl);
+		cache.put(user, createAttribute(5, "old"), cache.getVersion());
+
+		// message 2 is committed after message 3 was read, it is re-read from the gap
+		when(auditMessagesManagerBl.getMessagesAfterId(eq(sess), eq(1), anyInt())).thenReturn(List.of(late, third));
+		cache.pollAuditLog(sess, auditMessagesManagerBl);
+		assertNull(cache.get(user, 5));
+
+		// no more gaps, only new messages are read
+		when(auditMessagesManagerBl.getMessagesAfterId(eq(sess), eq(3), anyInt())).thenReturn(List.of());
+		cache.pollAuditLog(sess, auditMessagesManagerBl);
+		verify(auditMessagesManagerBl).getMessagesAfterId(eq(sess), eq(3), anyInt());
+	}
+
+	private static AuditMessage createAuditMessage(int id, AuditEvent event) {
+		return new AuditMessage(id, event, "actor", null, null);
+	}
+
+	private static User createUser(int id) {
+		User user = new User();
+		user.setId(id);
+		return user;
+	}
+
+	private static Attribute createAttribute(int id, Object value) {
+		Attribute attribute = new Attribute();
+		attribute.setId(id);
+		attribute.setNamespace("urn:perun:user:attribute-def:def");
+		attribute.setFriendlyName("cached");
+		attribute.setType(value instanceof String ? String.class.getName() : ArrayList.class.getName());
+		attribute.setValue(value);
+		return attribute;
+	}
+
+}
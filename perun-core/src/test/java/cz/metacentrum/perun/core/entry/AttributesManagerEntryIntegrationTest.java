@@ -74,6 +74,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -4901,6 +4902,45 @@ public class AttributesManagerEntryIntegrationTest extends AbstractPerunIntegrat
 
 	}
 
+	@Test
+	public void setAttributeForHolders() throws Exception {
+		System.out.println(CLASS_NAME + "setAttributeForHolders");
+
+		vo = setUpVo();
+		Member member1 = setUpMember();
+		Member member2 = setUpMember();
+		Member member3 = setUpMember();
+		attributes = setUpMemberAttribute();
+		attributesManager.setAttribute(sess, member1, attributes.get(0));
+		attributesManager.setAttribute(sess, member3, attributes.get(0));
+
+		Map<Integer, Object> values = new HashMap<>();
+		values.put(member1.getId(), "MemberAttribute");
+		values.put(member2.getId(), "NewMemberAttribute");
+		values.put(member3.getId(), null);
+		attributesManager.setAttributeForHolders(sess, attributes.get(0), values);
+
+		String attributeName = attributes.get(0).getName();
+		assertEquals("MemberAttribute", attributesManager.getAttribute(sess, member1, attributeName).getValue());
+		assertEquals("NewMemberAttribute", attributesManager.getAttribute(sess, member2, attributeName).getValue());
+		assertNull(attributesManager.getAttribute(sess, member3, attributeName).getValue());
+	}
+
+	@Test (expected=MemberNotExistsException.class)
+	public void setAttributeForHoldersWhenMemberNotExists() throws Exception {
+		System.out.println(CLASS_NAME + "setAttributeForHoldersWhenMemberNotExists");
+
+		vo = setUpVo();
+		member = setUpMember();
+		attributes = setUpMemberAttribute();
+
+		Map<Integer, Object> values = new HashMap<>();
+		values.put(member.getId(), "MemberAttribute");
+		values.put(0, "MemberAttribute");
+		attributesManager.setAttributeForHolders(sess, attributes.get(0), values);
+		// shouldn't find member with id 0
+	}
+
 	@Test (expected=AttributeNotExistsException.class)
 	public void setMemberAttributeWhenAttributeNotExists() throws Exception {
 		System.out.println(CLASS_NAME + "setMemberAttributeWhenAttributeNotExists");
@@ -4,6 +4,7 @@ import cz.metacentrum.perun.core.AbstractPerunIntegrationTest;
 import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.AttributesManager;
+import cz.metacentrum.perun.core.api.BeansUtils;
 import cz.metacentrum.perun.core.api.Candidate;
 import cz.metacentrum.perun.core.api.CandidateSync;
 import cz.metacentrum.perun.core.api.ExtSource;
@@ -51,12 +52,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -495,6 +500,75 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		assertGroup(testGroupB.getGroupName(), groupA.getId(), testGroupB.getDescription(), childOfBaseGroup);
 	}
 
+	@Test
+	public void swapParentAndChildGroupTest() throws Exception {
+		System.out.println(CLASS_NAME + "swapParentAndChildGroupTest");
+
+		final Group groupA = new Group("groupA", "group A");
+		groupsManagerBl.createGroup(sess, baseGroup, groupA);
+		setLoginToGroup(baseGroup, groupA, "groupA");
+
+		final Group groupB = new Group("groupB", "group B");
+		groupsManagerBl.createGroup(sess, groupA, groupB);
+		setLoginToGroup(baseGroup, groupB, "groupB");
+
+		final TestGroup testGroupA = new TestGroup("groupA", "groupA", "groupB", "group A");
+		final TestGroup testGroupB = new TestGroup("groupB", "groupB", null, "group B");
+		final TestGroup testGroupC = new TestGroup("groupC", "groupC", "groupA", "group C");
+		List<Map<String, String>> subjects = Arrays.asList(testGroupC.toMap(), testGroupA.toMap(), testGroupB.toMap());
+		when(essa.getSubjectGroups(anyMap())).thenReturn(subjects);
+
+		List<String> skipped = groupsManagerBl.synchronizeGroupStructure(sess, baseGroup);
+
+		assertTrue("No groups should be skipped!", skipped.isEmpty());
+
+		List<Group> subGroups = groupsManagerBl.getSubGroups(sess, baseGroup);
+		assertEquals("Base group should have exactly one child!", 1, subGroups.size());
+		Group subBaseGroup = subGroups.get(0);
+		assertGroup(testGroupB.getGroupName(), baseGroup.getId(), testGroupB.getDescription(), subBaseGroup);
+
+		subGroups = groupsManagerBl.getSubGroups(sess, subBaseGroup);
+		assertEquals("Group B should have exactly one child!", 1, subGroups.size());
+		Group childOfSubBaseGroup = subGroups.get(0);
+		assertGroup(testGroupA.getGroupName(), groupB.getId(), testGroupA.getDescription(), childOfSubBaseGroup);
+
+		subGroups = groupsManagerBl.getSubGroups(sess, childOfSubBaseGroup);
+		assertEquals("Group A should have exactly one child!", 1, subGroups.size());
+		assertGroup(testGroupC.getGroupName(), groupA.getId(), testGroupC.getDescription(), subGroups.get(0));
+		assertEquals("Name of new group should follow the structure!", baseGroup.getName() + ":groupB:groupA:groupC", subGroups.get(0).getName());
+	}
+
+	@Test
+	public void assignExtSourceOnlyToGroupsWithoutItTest() throws Exception {
+		System.out.println(CLASS_NAME + "assignExtSourceOnlyToGroupsWithoutItTest");
+
+		doReturn(extSource.getId()).when((ExtSourceLdap) essa).getId();
+
+		// ext source attribute alone doesn't mean, that the ext source is assigned
+		final Group groupA = new Group("groupA", "group A");
+		groupsManagerBl.createGroup(sess, baseGroup, groupA);
+		setLoginToGroup(baseGroup, groupA, "groupA");
+		Attribute attr = attributesManagerBl.getAttribute(sess, groupA, GroupsManager.GROUPEXTSOURCE_ATTRNAME);
+		attr.setValue(extSource.getName());
+		attributesManagerBl.setAttribute(sess, groupA, attr);
+
+		final Group groupB = new Group("groupB", "group B");
+		groupsManagerBl.createGroup(sess, baseGroup, groupB);
+		setLoginToGroup(baseGroup, groupB, "groupB");
+		extSourceManagerBlBackup.addExtSource(sess, groupB, extSource);
+
+		final TestGroup testGroupA = new TestGroup("groupA", "groupA", null, "group A");
+		final TestGroup testGroupB = new TestGroup("groupB", "groupB", null, "group B");
+		List<Map<String, String>> subjects = Arrays.asList(testGroupA.toMap(), testGroupB.toMap());
+		when(essa.getSubjectGroups(anyMap())).thenReturn(subjects);
+
+		List<String> skipped = groupsManagerBl.synchronizeGroupStructure(sess, baseGroup);
+
+		assertTrue("No groups should be skipped!", skipped.isEmpty());
+		verify(extSourceManagerBl).addExtSource(any(PerunSession.class), argThat((Group group) -> group.getId() == groupA.getId()), any(ExtSource.class));
+		verify(extSourceManagerBl, never()).addExtSource(any(PerunSession.class), argThat((Group group) -> group.getId() == groupB.getId()), any(ExtSource.class));
+	}
+
 	@Test
 	public void removeAllGroupsTest() throws Exception {
 		System.out.println(CLASS_NAME + "removeAllGroupsTest");
@@ -844,13 +918,53 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		Candidate candidate = setUpCandidate();
 
 		when(extSourceManagerBl.getCandidate(sess, attributes, (ExtSourceLdap)essa, "metodej")).thenReturn(new CandidateSync(candidate));
-		when(essa.getGroupSubjects(anyMap())).thenReturn(subjects);
+		when(essa.getGroupSubjectsStream(anyMap())).thenAnswer(invocation -> subjects.stream());
 
 		assertEquals(0, groupsManagerBl.getGroupMembers(sess, group).size());
 		groupsManagerBl.synchronizeGroup(sess, group);
 		assertEquals(1, groupsManagerBl.getGroupMembers(sess, group).size());
 	}
 
+	@Test
+	public void synchronizeGroupSkipsUnchangedExtSource() throws Exception {
+		System.out.println(CLASS_NAME + "synchronizeGroupSkipsUnchangedExtSource");
+
+		when(extSourceManagerBl.getExtSourceByName(sess, ExtSourcesManager.EXTSOURCE_NAME_PERUN)).thenReturn(extSourceForUserCreation);
+
+		Attribute attr = attributesManagerBl.getAttribute(sess, group, GroupsManager.GROUPEXTSOURCE_ATTRNAME);
+		attr.setValue(extSource.getName());
+		attributesManagerBl.setAttribute(sess, group, attr);
+
+		List<Map<String, String>> subjects = new ArrayList<>();
+		Map<String, String> attributes = new HashMap<>();
+		attributes.put("login", "metodej");
+		Candidate candidate = setUpCandidate();
+
+		when(extSourceManagerBl.getCandidate(sess, attributes, (ExtSourceLdap)essa, "metodej")).thenReturn(new CandidateSync(candidate));
+		when(essa.getGroupSubjectsStream(anyMap())).thenAnswer(invocation -> subjects.stream());
+		when(essa.getGroupSubjectsFingerprint(anyMap())).thenReturn("20210101000000Z");
+
+		int originalMaxSkips = BeansUtils.getCoreConfig().getGroupSynchronizationMaxSkips();
+		BeansUtils.getCoreConfig().setGroupSynchronizationMaxSkips(1);
+		try {
+			groupsManagerBl.synchronizeGroup(sess, group);
+			assertEquals(0, groupsManagerBl.getGroupMembers(sess, group).size());
+
+			// subjects changed, but the fingerprint not, so the synchronization is skipped
+			subjects.add(attributes);
+			groupsManagerBl.synchronizeGroup(sess, group);
+			assertEquals(0, groupsManagerBl.getGroupMembers(sess, group).size());
+			assertEquals(1, attributesManagerBl.getAttribute(sess, group, GroupsManager.GROUP_SKIPPED_SYNCS_COUNT_ATTRNAME).getValue());
+
+			// maximal number of skipped synchronizations was reached
+			groupsManagerBl.synchronizeGroup(sess, group);
+			assertEquals(1, groupsManagerBl.getGroupMembers(sess, group).size());
+			assertNull(attributesManagerBl.getAttribute(sess, group, GroupsManager.GROUP_SKIPPED_SYNCS_COUNT_ATTRNAME).getValue());
+		} finally {
+			BeansUtils.getCoreConfig().setGroupSynchronizationMaxSkips(originalMaxSkips);
+		}
+	}
+
 	@Test
 	public void synchronizeGroupAddMissingMemberWhileCandidateAlreadyMember() throws Exception {
 		System.out.println(CLASS_NAME + "synchronizeGroupAddMissingMemberWhileCandidateAlreadyMember");
@@ -870,7 +984,7 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		member = perun.getMembersManagerBl().createMemberSync(sess, vo, candidate);
 
 		when(extSourceManagerBl.getCandidate(sess, attributes, (ExtSourceLdap)essa, "metodej")).thenReturn(new CandidateSync(candidate));
-		when(essa.getGroupSubjects(anyMap())).thenReturn(subjects);
+		when(essa.getGroupSubjectsStream(anyMap())).thenAnswer(invocation -> subjects.stream());
 
 		assertEquals(0, groupsManagerBl.getGroupMembers(sess, group).size());
 		groupsManagerBl.synchronizeGroup(sess, group);
@@ -912,7 +1026,7 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		map.put("overwriteUserAttributes", attribute.getName());
 
 		when(extSourceManagerBl.getCandidate(sess, attributes, (ExtSourceLdap)essa, "metodej")).thenReturn(new CandidateSync(candidate));
-		when(essa.getGroupSubjects(anyMap())).thenReturn(subjects);
+		when(essa.getGroupSubjectsStream(anyMap())).thenAnswer(invocation -> subjects.stream());
 		doReturn(map).when(extSourceManagerBl).getAttributes((ExtSourceLdap)essa);
 
 		User user = perun.getUsersManagerBl().getUserByMember(sess, member);
@@ -952,7 +1066,7 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		map.put("overwriteUserAttributes", attribute.getName());
 
 		when(extSourceManagerBl.getCandidate(sess, attributes, (ExtSourceLdap)essa, "metodej")).thenReturn(new CandidateSync(candidate));
-		when(essa.getGroupSubjects(anyMap())).thenReturn(subjects);
+		when(essa.getGroupSubjectsStream(anyMap())).thenAnswer(invocation -> subjects.stream());
 		doReturn(map).when(extSourceManagerBl).getAttributes((ExtSourceLdap)essa);
 
 		assertNotEquals(candidate.getFirstName(), perun.getUsersManagerBl().getUserByMember(sess, member).getFirstName());
@@ -997,7 +1111,7 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		map.put("mergeMemberAttributes", attribute.getName());
 
 		when(extSourceManagerBl.getCandidate(sess, attributes, (ExtSourceLdap)essa, "metodej")).thenReturn(new CandidateSync(candidate));
-		when(essa.getGroupSubjects(anyMap())).thenReturn(subjects);
+		when(essa.getGroupSubjectsStream(anyMap())).thenAnswer(invocation -> subjects.stream());
 		doReturn(map).when(extSourceManagerBl).getAttributes((ExtSourceLdap)essa);
 
 		assertEquals(2, attributesManagerBl.getAttribute(sess, member, attribute.getName()).valueAsList().size());
@@ -1026,7 +1140,7 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		groupsManagerBl.addMember(sess, group, member);
 
 		when(extSourceManagerBl.getCandidate(sess, attributes, (ExtSourceLdap)essa, "metodej")).thenReturn(new CandidateSync(candidate));
-		when(essa.getGroupSubjects(anyMap())).thenReturn(subjects);
+		when(essa.getGroupSubjectsStream(anyMap())).thenAnswer(invocation -> subjects.stream());
 
 		assertEquals(Status.DISABLED, groupsManagerBl.getGroupMembers(sess, group).get(0).getStatus());
 		groupsManagerBl.synchronizeGroup(sess, group);
@@ -161,6 +161,36 @@ public class GroupsManagerEntryIntegrationTest extends AbstractPerunIntegrationT
 				foundMember.getGroupStatuses().get(group.getId()), MemberGroupStatus.EXPIRED);
 	}
 
+	@Test
+	public void expireMembersInGroupPropagatesToResultGroups() throws Exception {
+		System.out.println(CLASS_NAME + "expireMembersInGroupPropagatesToResultGroups");
+
+		Vo vo = setUpVo();
+		groupsManagerBl.createGroup(sess, vo, group2);
+		groupsManagerBl.createGroup(sess, vo, group3);
+		groupsManagerBl.createGroup(sess, vo, group4);
+		groupsManagerBl.createGroupUnion(sess, group3, group2, false);
+		groupsManagerBl.createGroupUnion(sess, group4, group3, false);
+
+		Member member = setUpMember(vo);
+		Member memberInGroup3 = setUpMember(vo);
+		groupsManagerBl.addMembers(sess, group2, Arrays.asList(member, memberInGroup3));
+		groupsManagerBl.addMember(sess, group3, memberInGroup3);
+
+		groupsManagerBl.expireMembersInGroup(sess, Arrays.asList(member, memberInGroup3), group2);
+
+		assertEquals(MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, member, group2));
+		assertEquals(MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, member, group3));
+		assertEquals(MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, member, group4));
+		assertEquals(MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, memberInGroup3, group2));
+		assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, memberInGroup3, group3));
+		assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, memberInGroup3, group4));
+
+		groupsManagerBl.validateMembersInGroup(sess, Collections.singletonList(member), group2);
+
+		assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, member, group4));
+	}
+
 	@Test
 	public void expireMemberInGroupWithActiveInSubGroup() throws Exception {
 		System.out.println(CLASS_NAME + "expireMemberInGroupWithActiveInSubGroup");
@@ -3987,6 +4017,97 @@ public class GroupsManagerEntryIntegrationTest extends AbstractPerunIntegrationT
 			assertTrue("List of members should contain member", membersFromDb.contains(member));
 		}
 	}
+
+	@Test
+	public void addMembersToGroupPropagatesToResultGroups() throws Exception {
+		System.out.println(CLASS_NAME + "addMembersToGroupPropagatesToResultGroups");
+
+		vo = setUpVo();
+		groupsManagerBl.createGroup(sess, vo, group2);
+		groupsManagerBl.createGroup(sess, vo, group3);
+		groupsManagerBl.createGroup(sess, vo, group4);
+		groupsManagerBl.createGroupUnion(sess, group3, group2, false);
+		groupsManagerBl.createGroupUnion(sess, group4, group3, false);
+
+		Group sourceGroup = groupsManagerBl.createGroup(sess, vo, new Group("AddMembersSourceGroup", "source"));
+		Member indirectMember = setUpMember(vo);
+		groupsManager.addMember(sess, sourceGroup, indirectMember);
+		groupsManagerBl.createGroupUnion(sess, group2, sourceGroup, false);
+		assertTrue(groupsManagerBl.isGroupMember(sess, group2, indirectMember));
+
+		List<Member> members = new ArrayList<>(Arrays.asList(setUpMember(vo), setUpMember(vo), indirectMember));
+		groupsManager.addMembers(sess, group2, members);
+
+		for (Member member : members) {
+			assertTrue(groupsManager.isDirectGroupMember(sess, group2, member));
+			assertTrue(groupsManagerBl.isGroupMember(sess, group3, member));
+			assertTrue(groupsManagerBl.isGroupMember(sess, group4, member));
+			assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, member, group4));
+		}
+	}
+
+	@Test(expected = AlreadyMemberException.class)
+	public void addMembersToGroupWhenAlreadyDirectMember() throws Exception {
+		System.out.println(CLASS_NAME + "addMembersToGroupWhenAlreadyDirectMember");
+
+		vo = setUpVo();
+		setUpGroup(vo);
+
+		Member member = setUpMember(vo);
+		groupsManager.addMember(sess, group, member);
+
+		groupsManager.addMembers(sess, group, new ArrayList<>(Arrays.asList(setUpMember(vo), member)));
+	}
+
+	@Test
+	public void removeMemberPropagatesThroughAllRelationPaths() throws Exception {
+		System.out.println(CLASS_NAME + "removeMemberPropagatesThroughAllRelationPaths");
+
+		vo = setUpVo();
+		groupsManagerBl.createGroup(sess, vo, group2);
+		groupsManagerBl.createGroup(sess, vo, group3);
+		groupsManagerBl.createGroup(sess, vo, group4);
+		groupsManagerBl.createGroup(sess, vo, group5);
+		// group2 is included in group5 by two paths and group5 is included in group4
+		groupsManagerBl.createGroupUnion(sess, group3, group2, false);
+		groupsManagerBl.createGroupUnion(sess, group5, group3, false);
+		groupsManagerBl.createGroupUnion(sess, group5, group2, false);
+		groupsManagerBl.createGroupUnion(sess, group4, group5, false);
+
+		Member member = setUpMember(vo);
+		Member memberInGroup3 = setUpMember(vo);
+		groupsManager.addMembers(sess, group2, Arrays.asList(member, memberInGroup3));
+		groupsManager.addMember(sess, group3, memberInGroup3);
+		assertTrue(groupsManagerBl.isGroupMember(sess, group4, member));
+
+		groupsManager.removeMember(sess, group2, member);
+		groupsManager.removeMember(sess, group2, memberInGroup3);
+
+		assertFalse(groupsManagerBl.isGroupMember(sess, group3, member));
+		assertFalse(groupsManagerBl.isGroupMember(sess, group5, member));
+		assertFalse(groupsManagerBl.isGroupMember(sess, group4, member));
+		assertTrue(groupsManagerBl.isGroupMember(sess, group5, memberInGroup3));
+		assertTrue(groupsManagerBl.isGroupMember(sess, group4, memberInGroup3));
+
+		// group2 stays included in group5 through group3 after removal of one path
+		groupsManagerBl.removeGroupUnion(sess, group5, group2, false);
+		groupsManager.addMember(sess, group2, member);
+		assertTrue(groupsManagerBl.isGroupMember(sess, group4, member));
+	}
+
+	@Test(expected = GroupRelationNotAllowed.class)
+	public void createGroupUnionWithTransitiveCycle() throws Exception {
+		System.out.println(CLASS_NAME + "createGroupUnionWithTransitiveCycle");
+
+		vo = setUpVo();
+		groupsManagerBl.createGroup(sess, vo, group2);
+		groupsManagerBl.createGroup(sess, vo, group3);
+		groupsManagerBl.createGroup(sess, vo, group4);
+		groupsManagerBl.createGroupUnion(sess, group3, group2, false);
+		groupsManagerBl.createGroupUnion(sess, group4, group3, false);
+
+		groupsManagerBl.createGroupUnion(sess, group2, group4, false);
+	}
 	@Test(expected = ExternallyManagedException.class)
 	public void removeMemberInSynchronizedGroup() throws Exception {
 		System.out.println(CLASS_NAME + "removeMemberInSynchronizedGroup");
@@ -10,6 +10,7 @@ import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.Service;
 import cz.metacentrum.perun.core.api.Vo;
+import cz.metacentrum.perun.core.api.exceptions.AttributeNotExistsException;
 import cz.metacentrum.perun.core.blImpl.PerunBlImpl;
 import cz.metacentrum.perun.core.implApi.AttributesManagerImplApi;
 import org.junit.Before;
@@ -24,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -69,6 +71,33 @@ public class AttributesManagerImplIntegrationTest extends AbstractPerunIntegrati
 		}
 	}
 
+	@Test
+	public void stringToAttributeValueOfLargeValues() throws Exception {
+		System.out.println(CLASS_NAME + "stringToAttributeValueOfLargeValues");
+		String[] items = new String[200];
+		for (int i = 0; i < items.length; i++) {
+			items[i] = "item,:" + i;
+		}
+		Attribute listAttribute = getArrayAttribute(items);
+		Attribute mapAttribute = getHashAttribute(items);
+
+		for (Attribute attribute : Arrays.asList(listAttribute, mapAttribute)) {
+			String stringValue = BeansUtils.attributeValueToString(attribute);
+			Object value = BeansUtils.stringToAttributeValue(stringValue, attribute.getType());
+			assertEquals(attribute.getValue(), value);
+
+			// parsed value is cached, but each call must get its own mutable copy
+			if (value instanceof List) {
+				((List<?>) value).clear();
+			} else {
+				((Map<?, ?>) value).clear();
+			}
+			Object secondValue = BeansUtils.stringToAttributeValue(stringValue, attribute.getType());
+			assertThat(secondValue).isNotSameAs(value);
+			assertEquals(attribute.getValue(), secondValue);
+		}
+	}
+
 	@Test
 	public void attributeValueToString() throws Exception {
 		System.out.println(CLASS_NAME + "attributeValueToString");
@@ -170,6 +199,29 @@ public class AttributesManagerImplIntegrationTest extends AbstractPerunIntegrati
 		assertNotNull(attributesManager.getUninitializedAttributesModule(sess, attr));
 	}
 
+	@Test
+	public void attributeDefinitionChangesAreVisibleInTransaction() throws Exception {
+		System.out.println(CLASS_NAME + "attributeDefinitionChangesAreVisibleInTransaction");
+
+		// load registry of definitions before the change
+		assertThat(attributesManager.getAttributesDefinition(sess)).isNotEmpty();
+
+		AttributeDefinition attr = getGroupAttributeDefinition("registryTestAttribute");
+		attr = perun.getAttributesManagerBl().createAttribute(sess, attr);
+		assertEquals(attr, attributesManager.getAttributeDefinition(sess, attr.getName()));
+		assertThat(attributesManager.getAttributesDefinitionByNamespace(sess, attr.getNamespace())).contains(attr);
+
+		attr.setDisplayName("Changed display name");
+		perun.getAttributesManagerBl().updateAttributeDefinition(sess, attr);
+		assertEquals("Changed display name", attributesManager.getAttributeDefinitionById(sess, attr.getId()).getDisplayName());
+
+		perun.getAttributesManagerBl().deleteAttribute(sess, attr);
+		assertThat(attributesManager.getAttributesDefinition(sess)).doesNotContain(attr);
+		final int id = attr.getId();
+		assertThatExceptionOfType(AttributeNotExistsException.class)
+			.isThrownBy(() -> attributesManager.getAttributeDefinitionById(sess, id));
+	}
+
 
 	/* ################## Private methods ################ */
 
@@ -1,6 +1,10 @@
 package cz.metacentrum.perun.core.impl;
 
 import cz.metacentrum.perun.core.AbstractPerunIntegrationTest;
+import cz.metacentrum.perun.core.api.ActionType;
+import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.core.api.AttributeRights;
+import cz.metacentrum.perun.core.api.AttributesManager;
 import cz.metacentrum.perun.core.api.Role;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.Vo;
@@ -14,8 +18,11 @@ import org.springframework.test.util.ReflectionTestUtils;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class AuthzResolverImplIntegrationTest extends AbstractPerunIntegrationTest {
 
@@ -84,6 +91,43 @@ public class AuthzResolverImplIntegrationTest extends AbstractPerunIntegrationTe
 		authzResolverImpl.setRole(sess, mapping, Role.VOADMIN);
 	}
 
+	@Test
+	public void getRolesWhichCanWorkWithAttribute() throws Exception {
+		System.out.println(CLASS_NAME + "getRolesWhichCanWorkWithAttribute");
+
+		// rights of attribute 1321 are stored in test schema
+		AttributeDefinition attrDef = new AttributeDefinition();
+		attrDef.setId(1321);
+
+		Map<String, Set<ActionType>> readRoles = AuthzResolverImpl.getRolesWhichCanWorkWithAttribute(ActionType.READ, attrDef);
+		assertTrue(readRoles.containsKey(Role.VOOBSERVER));
+		assertTrue(readRoles.get(Role.VOOBSERVER).contains(ActionType.READ));
+		assertFalse(AuthzResolverImpl.getRolesWhichCanWorkWithAttribute(ActionType.WRITE, attrDef).containsKey(Role.VOOBSERVER));
+	}
+
+	@Test
+	public void getRolesWhichCanWorkWithAttributeChangedInTransaction() throws Exception {
+		System.out.println(CLASS_NAME + "getRolesWhichCanWorkWithAttributeChangedInTransaction");
+
+		AttributeDefinition attrDef = new AttributeDefinition();
+		attrDef.setNamespace(AttributesManager.NS_USER_ATTR_DEF);
+		attrDef.setType(Integer.class.getName());
+		attrDef.setFriendlyName("testRightsAttr");
+		attrDef = perun.getAttributesManagerBl().createAttribute(sess, attrDef);
+
+		// load rights before the change
+		assertTrue(AuthzResolverImpl.getRolesWhichCanWorkWithAttribute(ActionType.READ, attrDef).isEmpty());
+
+		perun.getAttributesManagerBl().setAttributeRights(sess, Collections.singletonList(
+			new AttributeRights(attrDef.getId(), Role.SELF, Arrays.asList(ActionType.READ, ActionType.READ_PUBLIC))));
+
+		Map<String, Set<ActionType>> readRoles = AuthzResolverImpl.getRolesWhichCanWorkWithAttribute(ActionType.READ, attrDef);
+		assertTrue(readRoles.get(Role.SELF).contains(ActionType.READ));
+		assertTrue(readRoles.get(Role.SELF).contains(ActionType.READ_PUBLIC));
+		assertTrue(AuthzResolverImpl.getRolesWhichCanWorkWithAttribute(ActionType.READ_PUBLIC, attrDef).get(Role.SELF).contains(ActionType.READ_PUBLIC));
+		assertFalse(AuthzResolverImpl.getRolesWhichCanWorkWithAttribute(ActionType.READ_PUBLIC, attrDef).get(Role.SELF).contains(ActionType.READ));
+	}
+
 	private Map<String, Integer> prepareMapping(User user) {
 		Map<String, Integer> mapping = new HashMap<>();
 
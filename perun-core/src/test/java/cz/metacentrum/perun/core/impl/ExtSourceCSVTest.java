@@ -8,7 +8,10 @@ import org.mockito.Spy;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -97,4 +100,33 @@ public class ExtSourceCSVTest {
 		List<Map<String, String>> actualSubjects = extSourceCSV.getUsersSubjects();
 		assertEquals("subjects should be same", expectedSubjects, actualSubjects);
 	}
+
+	@Test
+	public void getGroupSubjectsFingerprintHashesContentTest() throws Exception {
+		System.out.println("getGroupSubjectsFingerprintHashesContentTest");
+
+		File temp = File.createTempFile("temp",".csv");
+		temp.deleteOnExit();
+
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		mapOfAttributes.put("file", temp.getAbsolutePath());
+		doReturn(mapOfAttributes).when(extSourceCSV).getAttributes();
+
+		String content = "\"firstName\",\"login\"\n\"bruce\",\"xwayne\"\n";
+		try (BufferedWriter bw = new BufferedWriter(new FileWriter(temp))) {
+			bw.write(content);
+		}
+		long lastModified = temp.lastModified();
+
+		String hash = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+		String fingerprint = extSourceCSV.getGroupSubjectsFingerprint(mapOfAttributes);
+		assertEquals(lastModified + ":" + hash, fingerprint);
+
+		// changed content with the same modification time changes the fingerprint
+		try (BufferedWriter bw = new BufferedWriter(new FileWriter(temp))) {
+			bw.write(content + "\"batman\",\"xbatman\"\n");
+		}
+		assertTrue(temp.setLastModified(lastModified));
+		assertNotEquals(fingerprint, extSourceCSV.getGroupSubjectsFingerprint(mapOfAttributes));
+	}
 }
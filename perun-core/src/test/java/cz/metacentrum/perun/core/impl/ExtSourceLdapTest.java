@@ -1,5 +1,6 @@
 package cz.metacentrum.perun.core.impl;
 
+import cz.metacentrum.perun.core.api.GroupsManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockitoAnnotations;
@@ -17,12 +18,18 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Metodej Klang
@@ -111,4 +118,63 @@ public class ExtSourceLdapTest {
 		List<Map<String, String>> actualSubjects = extSourceLdap.getUsersSubjects();
 		assertEquals("subjects should be same", expectedSubjects, actualSubjects);
 	}
+
+	@Test
+	public void getGroupSubjectsStreamReadsMembersByRangesTest() throws Exception {
+		System.out.println("getGroupSubjectsStreamReadsMembersByRangesTest");
+
+		String group = "cn=group,dc=cz";
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		mapOfAttributes.put("memberAttribute", "member");
+		doReturn(mapOfAttributes).when(extSourceLdap).getAttributes();
+		doAnswer(invocation -> List.of(Map.of("login", invocation.getArgument(1)))).when(extSourceLdap).querySource(isNull(), anyString(), eq(0));
+
+		// server returns members in ranges of two values
+		DirContext dirContext = mock(DirContext.class);
+		doReturn(dirContext).when(extSourceLdap).getContext();
+		Attributes firstRange = new BasicAttributes(true);
+		BasicAttribute firstMembers = new BasicAttribute("member;range=0-1");
+		firstMembers.add("uid=1,dc=cz");
+		firstMembers.add("uid=2,dc=cz");
+		firstRange.put(firstMembers);
+		// plain attribute of a server supporting ranges is ignored
+		firstRange.put(new BasicAttribute("member"));
+		doReturn(firstRange).when(dirContext).getAttributes(group, new String[] {"member", "member;range=0-*"});
+		Attributes lastRange = new BasicAttributes(true);
+		lastRange.put(new BasicAttribute("member;range=2-*", "uid=3,dc=cz"));
+		doReturn(lastRange).when(dirContext).getAttributes(group, new String[] {"member;range=2-*"});
+
+		Stream<Map<String, String>> subjects = extSourceLdap.getGroupSubjectsStream(Map.of(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME, group));
+
+		// next range is read only when the stream gets to it
+		verify(dirContext, never()).getAttributes(group, new String[] {"member;range=2-*"});
+		List<String> logins = new ArrayList<>();
+		subjects.forEach(subject -> logins.add(subject.get("login")));
+		assertEquals(List.of("uid=1,dc=cz", "uid=2,dc=cz", "uid=3,dc=cz"), logins);
+	}
+
+	@Test
+	public void getGroupSubjectsStreamWithoutRangesTest() throws Exception {
+		System.out.println("getGroupSubjectsStreamWithoutRangesTest");
+
+		String group = "cn=group,dc=cz";
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		doReturn(mapOfAttributes).when(extSourceLdap).getAttributes();
+		doAnswer(invocation -> List.of(Map.of("login", invocation.getArgument(1)))).when(extSourceLdap).querySource(isNull(), anyString(), eq(0));
+
+		// server without ranged retrieval returns only the plain attribute
+		DirContext dirContext = mock(DirContext.class);
+		doReturn(dirContext).when(extSourceLdap).getContext();
+		Attributes attributes = new BasicAttributes(true);
+		BasicAttribute members = new BasicAttribute("uniqueMember");
+		members.add("uid=1,dc=cz");
+		members.add("uid=2,dc=cz");
+		attributes.put(members);
+		doReturn(attributes).when(dirContext).getAttributes(group, new String[] {"uniqueMember", "uniqueMember;range=0-*"});
+
+		List<String> logins = new ArrayList<>();
+		extSourceLdap.getGroupSubjectsStream(Map.of(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME, group))
+				.forEach(subject -> logins.add(subject.get("login")));
+		assertEquals(List.of("uid=1,dc=cz", "uid=2,dc=cz"), logins);
+	}
 }
@@ -1,22 +1,36 @@
 package cz.metacentrum.perun.core.impl;
 
+import com.zaxxer.hikari.HikariDataSource;
+import cz.metacentrum.perun.core.api.GroupsManager;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Metodej Klang
@@ -33,6 +47,11 @@ public class ExtSourceSqlTest {
 		MockitoAnnotations.initMocks(this);
 	}
 
+	@After
+	public void tearDown() {
+		ExtSourceSql.closeConnectionPools();
+	}
+
 	@Test
 	public void getUsersSubjectsTest() throws Exception {
 		System.out.println("getUsersSubjectsTest");
@@ -69,4 +88,116 @@ public class ExtSourceSqlTest {
 		List<Map<String, String>> actualSubjects = extSourceSql.getUsersSubjects();
 		assertEquals("subjects should be same", expectedSubjects, actualSubjects);
 	}
+
+	@Test
+	public void connectionIsReturnedToPoolAfterQueryTest() throws Exception {
+		System.out.println("connectionIsReturnedToPoolAfterQueryTest");
+
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		mapOfAttributes.put("usersQuery", "usersQuery");
+		mapOfAttributes.put("url", "jdbc:test:first");
+		HikariDataSource dataSource = mock(HikariDataSource.class);
+		Connection connection = mockPooledExtSource(extSourceSql, "pooledSource", mapOfAttributes, dataSource);
+
+		extSourceSql.getUsersSubjects();
+		extSourceSql.getUsersSubjects();
+
+		// pool is created once, connection is borrowed and returned by each query
+		verify(extSourceSql, times(1)).createDataSource(eq("pooledSource"), eq("jdbc:test:first"), isNull(), isNull());
+		verify(dataSource, times(2)).getConnection();
+		verify(connection, times(2)).close();
+
+		// no connection is borrowed, so the pool is closed at once
+		ExtSourceSql.closeConnectionPool("pooledSource");
+		verify(dataSource).close();
+	}
+
+	@Test
+	public void poolIsReplacedAfterBorrowedConnectionIsReturnedTest() throws Exception {
+		System.out.println("poolIsReplacedAfterBorrowedConnectionIsReturnedTest");
+
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		mapOfAttributes.put("usersQuery", "usersQuery");
+		mapOfAttributes.put("url", "jdbc:test:first");
+		HikariDataSource firstDataSource = mock(HikariDataSource.class);
+		Connection firstConnection = mockPooledExtSource(extSourceSql, "replacedSource", mapOfAttributes, firstDataSource);
+
+		// stream holds the connection until it is closed
+		Stream<Map<String, String>> subjects = extSourceSql.getGroupSubjectsStream(Map.of(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME, "usersQuery"));
+
+		mapOfAttributes.put("url", "jdbc:test:second");
+		ExtSourceSql otherExtSourceSql = spy(new ExtSourceSql());
+		HikariDataSource secondDataSource = mock(HikariDataSource.class);
+		Connection secondConnection = mockPooledExtSource(otherExtSourceSql, "replacedSource", mapOfAttributes, secondDataSource);
+		otherExtSourceSql.getUsersSubjects();
+
+		verify(otherExtSourceSql).createDataSource(eq("replacedSource"), eq("jdbc:test:second"), isNull(), isNull());
+		verify(secondConnection).close();
+		verify(firstConnection, never()).close();
+		verify(firstDataSource, never()).close();
+
+		// closing of the stream returns the last connection of the replaced pool
+		subjects.close();
+		verify(firstConnection).close();
+		verify(firstDataSource).close();
+		verify(secondDataSource, never()).close();
+	}
+
+	@Test
+	public void connectionIsReturnedToPoolWhenStreamIsClosedTest() throws Exception {
+		System.out.println("connectionIsReturnedToPoolWhenStreamIsClosedTest");
+
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		mapOfAttributes.put("url", "jdbc:test:first");
+		HikariDataSource dataSource = mock(HikariDataSource.class);
+		Connection connection = mockPooledExtSource(extSourceSql, "streamedSource", mapOfAttributes, dataSource);
+
+		Stream<Map<String, String>> subjects = extSourceSql.getGroupSubjectsStream(Map.of(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME, "usersQuery"));
+		assertEquals(1, subjects.count());
+
+		// pool isn't closed while the stream holds the connection
+		ExtSourceSql.closeConnectionPool("streamedSource");
+		verify(connection, never()).close();
+		verify(dataSource, never()).close();
+
+		subjects.close();
+		verify(connection).close();
+		verify(dataSource).close();
+	}
+
+	@Test
+	public void createDataSourceWithNameUnsupportedByJmxTest() {
+		System.out.println("createDataSourceWithNameUnsupportedByJmxTest");
+
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		doReturn(mapOfAttributes).when(extSourceSql).getAttributes();
+
+		HikariDataSource dataSource = extSourceSql.createDataSource("https://idp.example.org/idp, \"test\"", "jdbc:sqlite::memory:", null, null);
+		try {
+			assertTrue(dataSource.getPoolName().startsWith("perun-extsource-https___idp.example.org_idp___test_-"));
+		} finally {
+			dataSource.close();
+		}
+	}
+
+	/**
+	 * Set up the ext source to take connections from the given data source, each connection returns one subject.
+	 *
+	 * @return connection returned by the data source
+	 */
+	private Connection mockPooledExtSource(ExtSourceSql extSource, String name, Map<String, String> attributes, HikariDataSource dataSource) throws Exception {
+		extSource.setName(name);
+		doReturn(attributes).when(extSource).getAttributes();
+		doReturn(dataSource).when(extSource).createDataSource(anyString(), anyString(), any(), any());
+
+		Connection connection = mock(Connection.class);
+		doReturn(connection).when(dataSource).getConnection();
+		PreparedStatement preparedStatement = mock(PreparedStatement.class);
+		doReturn(preparedStatement).when(extSource).getPreparedStatement(anyString(), any(), anyInt());
+		ResultSet resultSet = mock(ResultSet.class, RETURNS_DEEP_STUBS);
+		doReturn(resultSet).when(preparedStatement).executeQuery();
+		doReturn(true, false).when(resultSet).next();
+		doReturn("xjosef").when(resultSet).getString("login");
+		return connection;
+	}
 }
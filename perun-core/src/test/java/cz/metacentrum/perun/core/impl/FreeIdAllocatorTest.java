@@ -0,0 +1,67 @@
+package cz.metacentrum.perun.core.impl;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class FreeIdAllocatorTest {
+
+	private static final String CLASS_NAME = "FreeIdAllocatorTest.";
+
+	@Test
+	public void allocateLowestFromEmptyRange() {
+		System.out.println(CLASS_NAME + "allocateLowestFromEmptyRange");
+
+		FreeIdAllocator allocator = new FreeIdAllocator(100, 200);
+		assertEquals(Integer.valueOf(100), allocator.allocateLowest());
+		assertEquals(Integer.valueOf(101), allocator.allocateLowest());
+	}
+
+	@Test
+	public void allocateLowestRecyclesGaps() {
+		System.out.println(CLASS_NAME + "allocateLowestRecyclesGaps");
+
+		FreeIdAllocator allocator = new FreeIdAllocator(100, 200);
+		for (int i = 100; i < 200; i++) {
+			if (i != 150) allocator.markUsed(i);
+		}
+		assertEquals(Integer.valueOf(150), allocator.allocateLowest());
+		assertEquals(Integer.valueOf(200), allocator.allocateLowest());
+		assertNull(allocator.allocateLowest());
+	}
+
+	@Test
+	public void allocateLowestContinuesInNextRange() {
+		System.out.println(CLASS_NAME + "allocateLowestContinuesInNextRange");
+
+		Map<Integer, Integer> ranges = new LinkedHashMap<>();
+		ranges.put(500, 600);
+		ranges.put(10, 12);
+		FreeIdAllocator allocator = new FreeIdAllocator(ranges);
+		allocator.markUsed(10);
+		allocator.markUsed(11);
+		allocator.markUsed(12);
+		// out of ranges
+		allocator.markUsed(300);
+
+		assertEquals(Integer.valueOf(500), allocator.allocateLowest());
+	}
+
+	@Test
+	public void allocateNextFollowsHighestUsed() {
+		System.out.println(CLASS_NAME + "allocateNextFollowsHighestUsed");
+
+		FreeIdAllocator allocator = new FreeIdAllocator(100, 200);
+		assertEquals(Integer.valueOf(100), allocator.allocateNext());
+
+		allocator.markUsed(150);
+		allocator.markUsed(120);
+		assertEquals(Integer.valueOf(151), allocator.allocateNext());
+		assertEquals(Integer.valueOf(152), allocator.allocateNext());
+	}
+
+}
@@ -0,0 +1,91 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.CandidateGroup;
+import cz.metacentrum.perun.core.api.Group;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class GroupStructureSynchronizationDiffTest {
+
+	private static final String CLASS_NAME = "GroupStructureSynchronizationDiffTest.";
+
+	@Test
+	public void categorizeGroupsAndCandidateGroups() {
+		System.out.println(CLASS_NAME + "categorizeGroupsAndCandidateGroups");
+
+		Group kept = createGroup(1, "kept");
+		Group removed = createGroup(2, "removed");
+		Map<String, Group> currentGroups = new HashMap<>();
+		currentGroups.put("kept", kept);
+		currentGroups.put("removed", removed);
+		CandidateGroup keptCandidate = createCandidateGroup("kept", null);
+		CandidateGroup newCandidate = createCandidateGroup("new", "kept");
+
+		GroupStructureSynchronizationDiff diff = new GroupStructureSynchronizationDiff(currentGroups, Arrays.asList(keptCandidate, newCandidate));
+
+		assertEquals(List.of(newCandidate), diff.getCandidateGroupsToAdd());
+		assertEquals(List.of(removed), diff.getGroupsToRemove());
+		assertEquals(1, diff.getGroupsToUpdate().size());
+		assertSame(kept, diff.getGroupsToUpdate().get(keptCandidate));
+	}
+
+	@Test
+	public void divideCandidateGroupsToLevels() {
+		System.out.println(CLASS_NAME + "divideCandidateGroupsToLevels");
+
+		CandidateGroup leaf = createCandidateGroup("leaf", "middle");
+		CandidateGroup middle = createCandidateGroup("middle", "top");
+		CandidateGroup top = createCandidateGroup("top", null);
+		CandidateGroup withMissingParent = createCandidateGroup("orphan", "missing");
+
+		GroupStructureSynchronizationDiff diff = new GroupStructureSynchronizationDiff(new HashMap<>(), Arrays.asList(leaf, middle, top, withMissingParent));
+
+		assertEquals(3, diff.getLevels().size());
+		assertEquals(List.of(top, withMissingParent), diff.getLevels().get(0));
+		assertEquals(List.of(middle), diff.getLevels().get(1));
+		assertEquals(List.of(leaf), diff.getLevels().get(2));
+		assertEquals("middle", diff.getParentLogin("leaf"));
+		assertNull(diff.getParentLogin("orphan"));
+	}
+
+	@Test
+	public void breakCycleOfParentLogins() {
+		System.out.println(CLASS_NAME + "breakCycleOfParentLogins");
+
+		CandidateGroup first = createCandidateGroup("first", "second");
+		CandidateGroup second = createCandidateGroup("second", "first");
+		CandidateGroup self = createCandidateGroup("self", "self");
+
+		GroupStructureSynchronizationDiff diff = new GroupStructureSynchronizationDiff(new HashMap<>(), Arrays.asList(first, second, self));
+
+		assertEquals(2, diff.getLevels().size());
+		assertEquals(List.of(first, self), diff.getLevels().get(0));
+		assertEquals(List.of(second), diff.getLevels().get(1));
+		assertNull(diff.getParentLogin("first"));
+		assertEquals("first", diff.getParentLogin("second"));
+		assertNull(diff.getParentLogin("self"));
+	}
+
+	private Group createGroup(int id, String name) {
+		Group group = new Group(name, name);
+		group.setId(id);
+		return group;
+	}
+
+	private CandidateGroup createCandidateGroup(String login, String parentGroupLogin) {
+		CandidateGroup candidateGroup = new CandidateGroup();
+		candidateGroup.setLogin(login);
+		candidateGroup.setParentGroupLogin(parentGroupLogin);
+		candidateGroup.asGroup().setName(login);
+		return candidateGroup;
+	}
+
+}
@@ -0,0 +1,98 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.Candidate;
+import cz.metacentrum.perun.core.api.ExtSource;
+import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.RichMember;
+import cz.metacentrum.perun.core.api.Status;
+import cz.metacentrum.perun.core.api.UserExtSource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MembersSynchronizationDiffTest {
+
+	private static final String CLASS_NAME = "MembersSynchronizationDiffTest.";
+
+	private final ExtSource extSource = new ExtSource(1, "source", "type");
+	private final ExtSource additionalExtSource = new ExtSource(2, "additionalSource", "type");
+
+	@Test
+	public void categorizeMembersAndCandidates() {
+		System.out.println(CLASS_NAME + "categorizeMembersAndCandidates");
+
+		RichMember kept = createMember(1, new UserExtSource(extSource, "kept"));
+		RichMember removed = createMember(2, new UserExtSource(extSource, "removed"));
+		RichMember keptByAdditional = createMember(3, new UserExtSource(additionalExtSource, "additional"));
+		Candidate keptCandidate = createCandidate("kept");
+		Candidate newCandidate = createCandidate("new");
+		Candidate additionalCandidate = new Candidate(new UserExtSource(extSource, "other"), new HashMap<>(),
+				List.of(new UserExtSource(additionalExtSource, "additional")));
+
+		MembersSynchronizationDiff diff = new MembersSynchronizationDiff(Arrays.asList(kept, removed, keptByAdditional),
+				Arrays.asList(keptCandidate, newCandidate, additionalCandidate));
+
+		assertEquals(List.of(newCandidate), diff.getCandidatesToAdd());
+		assertEquals(List.of(removed), diff.getMembersToRemove());
+		assertEquals(2, diff.getMembersToUpdate().size());
+		assertSame(kept, diff.getMembersToUpdate().get(keptCandidate));
+		assertSame(keptByAdditional, diff.getMembersToUpdate().get(additionalCandidate));
+	}
+
+	@Test
+	public void categorizeWithoutMembers() {
+		System.out.println(CLASS_NAME + "categorizeWithoutMembers");
+
+		List<Candidate> candidates = Arrays.asList(createCandidate("first"), createCandidate("second"));
+
+		MembersSynchronizationDiff diff = new MembersSynchronizationDiff(new ArrayList<>(), candidates);
+
+		assertEquals(candidates, diff.getCandidatesToAdd());
+		assertTrue(diff.getMembersToUpdate().isEmpty());
+		assertTrue(diff.getMembersToRemove().isEmpty());
+	}
+
+	@Test
+	public void categorizeCandidatesInChunks() {
+		System.out.println(CLASS_NAME + "categorizeCandidatesInChunks");
+
+		RichMember first = createMember(1, new UserExtSource(extSource, "first"));
+		RichMember second = createMember(2, new UserExtSource(extSource, "second"));
+		RichMember removed = createMember(3, new UserExtSource(extSource, "removed"));
+		Candidate firstCandidate = createCandidate("first");
+		Candidate secondCandidate = createCandidate("second");
+		Candidate newCandidate = createCandidate("new");
+
+		MembersSynchronizationDiff diff = new MembersSynchronizationDiff(Arrays.asList(first, second, removed));
+
+		diff.addCandidates(List.of(firstCandidate, newCandidate));
+		assertEquals(List.of(newCandidate), diff.getCandidatesToAdd());
+		assertSame(first, diff.getMembersToUpdate().get(firstCandidate));
+		diff.clearCandidates();
+
+		diff.addCandidates(List.of(secondCandidate));
+		assertTrue(diff.getCandidatesToAdd().isEmpty());
+		assertEquals(1, diff.getMembersToUpdate().size());
+		assertSame(second, diff.getMembersToUpdate().get(secondCandidate));
+		assertEquals(List.of(removed), diff.getMembersToRemove());
+	}
+
+	private RichMember createMember(int id, UserExtSource userExtSource) {
+		return new RichMember(null, new Member(id, id, 1, Status.VALID), List.of(userExtSource));
+	}
+
+	private Candidate createCandidate(String login) {
+		Map<String, String> attributes = new HashMap<>();
+		attributes.put("urn:perun:user:attribute-def:core:lastName", login);
+		return new Candidate(new UserExtSource(extSource, login), attributes);
+	}
+
+}
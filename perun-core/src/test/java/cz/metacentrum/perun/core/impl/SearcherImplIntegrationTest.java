@@ -0,0 +1,86 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.AbstractPerunIntegrationTest;
+import cz.metacentrum.perun.core.api.Attribute;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that queries generated by Searcher can use indexes on attribute values.
+ */
+public class SearcherImplIntegrationTest extends AbstractPerunIntegrationTest {
+
+	private static final String CLASS_NAME = "SearcherImplIntegrationTest.";
+	private static final int ATTRIBUTE_ID = 1000000;
+	private static final int FIRST_USER_ID = 1000000;
+	private static final int USERS_COUNT = 10000;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private NamedParameterJdbcTemplate jdbc;
+
+	@Before
+	public void setUp() {
+		jdbc = new NamedParameterJdbcTemplate(dataSource);
+		// planner needs realistic amount of values of the searched attribute, all changes are rolled back after the test
+		jdbc.getJdbcTemplate().update("insert into attr_names (id, attr_name, friendly_name, namespace, type) " +
+				"values (?, 'urn:perun:user:attribute-def:def:searched', 'searched', 'urn:perun:user:attribute-def:def', ?)",
+				ATTRIBUTE_ID, String.class.getName());
+		jdbc.getJdbcTemplate().update("insert into users (id, first_name, last_name) " +
+				"select i, 'first' || i, 'last' || i from generate_series(?, ?) i", FIRST_USER_ID, FIRST_USER_ID + USERS_COUNT - 1);
+		jdbc.getJdbcTemplate().update("insert into user_attr_values (user_id, attr_id, attr_value) " +
+				"select i, ?, md5(i::text) from generate_series(?, ?) i", ATTRIBUTE_ID, FIRST_USER_ID, FIRST_USER_ID + USERS_COUNT - 1);
+		jdbc.getJdbcTemplate().execute("analyze users");
+		jdbc.getJdbcTemplate().execute("analyze user_attr_values");
+	}
+
+	@Test
+	public void searchByStringUsesValueIndex() {
+		System.out.println(CLASS_NAME + "searchByStringUsesValueIndex");
+
+		assertTrue(explainUsersSearch(String.class.getName(), "Novák", false).contains("idx_usrav_value_ascii_trgm"));
+		assertTrue(explainUsersSearch(String.class.getName(), "Novák", true).contains("idx_usrav_value_ascii_trgm"));
+	}
+
+	@Test
+	public void searchByListUsesValueIndex() {
+		System.out.println(CLASS_NAME + "searchByListUsesValueIndex");
+
+		assertTrue(explainUsersSearch(ArrayList.class.getName(), "member", false).contains("idx_usrav_value_trgm"));
+	}
+
+	@Test
+	public void searchByMapUsesValueIndex() {
+		System.out.println(CLASS_NAME + "searchByMapUsesValueIndex");
+
+		assertTrue(explainUsersSearch(LinkedHashMap.class.getName(), "key=value", false).contains("idx_usrav_value_trgm"));
+	}
+
+	private String explainUsersSearch(String type, String value, boolean allowPartialMatchForString) {
+		Attribute attribute = new Attribute();
+		attribute.setId(ATTRIBUTE_ID);
+		attribute.setNamespace("urn:perun:user:attribute-def:def");
+		attribute.setFriendlyName("searched");
+		attribute.setType(type);
+		Map<Attribute, String> attributesWithSearchingValues = Map.of(attribute, value);
+
+		StringBuilder query = new StringBuilder("explain select users.id from users ");
+		MapSqlParameterSource parameters = new MapSqlParameterSource();
+		SearcherImpl.insertWhereClausesAndQueryParametersFromAttributes(query, parameters, "user_attr_values", "user", "users",
+				attributesWithSearchingValues, allowPartialMatchForString);
+
+		return String.join("\n", jdbc.queryForList(query.toString(), parameters, String.class));
+	}
+
+}
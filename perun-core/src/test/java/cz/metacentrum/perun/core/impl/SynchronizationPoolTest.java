@@ -0,0 +1,132 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.Group;
+import cz.metacentrum.perun.core.bl.GroupsManagerBl;
+import cz.metacentrum.perun.core.bl.PerunBl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SynchronizationPoolTest {
+
+	private static final String CLASS_NAME = "SynchronizationPoolTest.";
+
+	private final PerunSessionImpl sess = mock(PerunSessionImpl.class);
+	private final Group fastGroup = new Group(1, "fast", "fast group", null, null, null, null, null, null);
+	private final Group slowGroup = new Group(2, "slow", "slow group", null, null, null, null, null, null);
+	private final Group otherGroup = new Group(3, "other", "other group", null, null, null, null, null, null);
+
+	@Before
+	public void setUp() {
+		PerunBl perunBl = mock(PerunBl.class);
+		when(sess.getPerunBl()).thenReturn(perunBl);
+		when(perunBl.getGroupsManagerBl()).thenReturn(mock(GroupsManagerBl.class));
+	}
+
+	@Test
+	public void takeFastGroupBeforeSlowGroup() throws Exception {
+		System.out.println(CLASS_NAME + "takeFastGroupBeforeSlowGroup");
+
+		SynchronizationPool pool = new SynchronizationPool();
+		pool.putGroupToPoolOfWaitingGroups(slowGroup, false, "ldap", 5);
+		pool.putGroupToPoolOfWaitingGroups(fastGroup, false, "ldap", 5);
+		pool.removeGroup(pool.takeGroup(sess), 600000);
+		pool.removeGroup(pool.takeGroup(sess), 1000);
+
+		pool.putGroupsToPoolOfWaitingGroups(List.of(slowGroup, fastGroup), Map.of(), Map.of(slowGroup, 5, fastGroup, 5));
+
+		assertEquals(fastGroup, pool.takeGroup(sess));
+		assertEquals(slowGroup, pool.takeGroup(sess));
+	}
+
+	@Test
+	public void takeGroupRespectsExtSourceLimit() throws Exception {
+		System.out.println(CLASS_NAME + "takeGroupRespectsExtSourceLimit");
+
+		SynchronizationPool pool = new SynchronizationPool(1);
+		pool.putGroupToPoolOfWaitingGroups(fastGroup, false, "ldap", 5);
+		pool.putGroupToPoolOfWaitingGroups(slowGroup, false, "ldap", 5);
+		pool.putGroupToPoolOfWaitingGroups(otherGroup, false, "sql", 5);
+
+		assertEquals(fastGroup, pool.takeGroup(sess));
+		assertEquals(otherGroup, pool.takeGroup(sess));
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Group> waitingTake = executor.submit(() -> pool.takeGroup(sess));
+			Thread.sleep(200);
+			assertFalse(waitingTake.isDone());
+
+			pool.removeGroup(fastGroup, 1000);
+			assertEquals(slowGroup, waitingTake.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void delayOfSlowGroupIsCapped() throws Exception {
+		System.out.println(CLASS_NAME + "delayOfSlowGroupIsCapped");
+
+		SynchronizationPool pool = new SynchronizationPool();
+		pool.putGroupToPoolOfWaitingGroups(slowGroup, false, "ldap", 5);
+		pool.removeGroup(pool.takeGroup(sess), TimeUnit.HOURS.toMillis(48));
+
+		// delay of the slow group is at most a quarter of its 5 minutes interval
+		pool.asPoolOfGroupsToBeSynchronized().putJobIfAbsent(otherGroup, false, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2));
+		pool.putGroupToPoolOfWaitingGroups(slowGroup, false, "ldap", 5);
+
+		assertEquals(slowGroup, pool.takeGroup(sess));
+		assertEquals(otherGroup, pool.takeGroup(sess));
+	}
+
+	@Test
+	public void durationsOfNotSynchronizedGroupsAreForgotten() throws Exception {
+		System.out.println(CLASS_NAME + "durationsOfNotSynchronizedGroupsAreForgotten");
+
+		SynchronizationPool pool = new SynchronizationPool();
+		pool.putGroupToPoolOfWaitingGroups(slowGroup, false, "ldap", 5);
+		pool.putGroupToPoolOfWaitingGroups(fastGroup, false, "ldap", 5);
+		pool.removeGroup(pool.takeGroup(sess), 600000);
+		pool.removeGroup(pool.takeGroup(sess), 1000);
+
+		// slow group was deleted and created again with the same id, so it has no duration now
+		pool.retainSynchronizationDurations(List.of(fastGroup));
+		pool.putGroupsToPoolOfWaitingGroups(List.of(fastGroup, slowGroup), Map.of(), Map.of(slowGroup, 5, fastGroup, 5));
+
+		assertEquals(slowGroup, pool.takeGroup(sess));
+		assertEquals(fastGroup, pool.takeGroup(sess));
+	}
+
+	@Test
+	public void allWaitingThreadsGetGroups() throws Exception {
+		System.out.println(CLASS_NAME + "allWaitingThreadsGetGroups");
+
+		SynchronizationPool pool = new SynchronizationPool();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Group> firstTake = executor.submit(() -> pool.takeGroup(sess));
+			Future<Group> secondTake = executor.submit(() -> pool.takeGroup(sess));
+			Thread.sleep(200);
+
+			pool.putGroupsToPoolOfWaitingGroups(List.of(fastGroup, slowGroup), Map.of(), Map.of());
+
+			assertEquals(Set.of(fastGroup, slowGroup), Set.of(firstTake.get(5, TimeUnit.SECONDS), secondTake.get(5, TimeUnit.SECONDS)));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+package cz.metacentrum.perun.core.impl;
+
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionChangeFlagTest {
+
+	private static final String CLASS_NAME = "TransactionChangeFlagTest.";
+
+	@Test
+	public void flagIsKeptUntilTransactionCompletes() {
+		System.out.println(CLASS_NAME + "flagIsKeptUntilTransactionCompletes");
+
+		TransactionChangeFlag flag = new TransactionChangeFlag();
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			assertFalse(flag.isChangedInTransaction());
+			flag.markChanged();
+			flag.markChanged();
+			assertTrue(flag.isChangedInTransaction());
+			assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+			}
+			assertFalse(flag.isChangedInTransaction());
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void changesOutsideOfTransactionAreNotMarked() {
+		System.out.println(CLASS_NAME + "changesOutsideOfTransactionAreNotMarked");
+
+		TransactionChangeFlag flag = new TransactionChangeFlag();
+		flag.markChanged();
+		assertFalse(flag.isChangedInTransaction());
+	}
+
+}
@@ -21,10 +21,13 @@ import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -107,6 +110,26 @@ public class urn_perun_member_resource_attribute_def_virt_isBannedTest {
 		assertEquals(resolvedEvents.get(0).getMessage(), isBanned.serializeToString() + " changed for " + resource.serializeToString() + " and " + member.serializeToString() + ".");
 	}
 
+	@Test
+	public void getAttributeValuesTest() {
+		System.out.println("urn_perun_member_resource_attribute_def_virt_isBanned.getAttributeValuesTest()");
+
+		Member bannedOnResource = member;
+		Member bannedOnFacility = new Member(2, 2, 1, Status.VALID);
+		Member notBanned = new Member(3, 3, 1, Status.VALID);
+		BanOnResource banOnResource = new BanOnResource(1, null, null, bannedOnResource.getId(), resource.getId());
+		BanOnFacility banOnFacility = new BanOnFacility(1, null, null, bannedOnFacility.getUserId(), facility.getId());
+
+		when(session.getPerunBl().getResourcesManagerBl().getBansForResource(session, resource.getId())).thenReturn(Collections.singletonList(banOnResource));
+		when(session.getPerunBl().getFacilitiesManagerBl().getBansForFacility(session, resource.getFacilityId())).thenReturn(Collections.singletonList(banOnFacility));
+
+		Map<Member, Attribute> attributes = classInstance.getAttributeValues(session, Arrays.asList(bannedOnResource, bannedOnFacility, notBanned), resource, classInstance.getAttributeDefinition());
+		assertEquals(3, attributes.size());
+		assertTrue(attributes.get(bannedOnResource).valueAsBoolean());
+		assertTrue(attributes.get(bannedOnFacility).valueAsBoolean());
+		assertFalse(attributes.get(notBanned).valueAsBoolean());
+	}
+
 	@Test
 	public void resolveVirtualAttributeValueChangeTestWithWrongMatch() throws Exception {
 		System.out.println("urn_perun_user_facility_attribute_def_virt_defaultUnixGID.resolveVirtualAttributeValueChangeTestWithWrongMatch()");
@@ -14,6 +14,8 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -24,6 +26,7 @@ public class urn_perun_user_attribute_def_def_uid_namespaceTest {
 	private static Attribute attributeToCheck;
 	private static Attribute minUid;
 	private static Attribute maxUid;
+	private static Attribute uidPolicy;
 
 	@Before
 	public void setUp() throws Exception {
@@ -34,6 +37,7 @@ public class urn_perun_user_attribute_def_def_uid_namespaceTest {
 		attributeToCheck.setFriendlyName("name:param");
 		minUid = new Attribute();
 		maxUid = new Attribute();
+		uidPolicy = new Attribute();
 
 		PerunBl perunBl = mock(PerunBl.class);
 		when(session.getPerunBl()).thenReturn(perunBl);
@@ -42,6 +46,8 @@ public class urn_perun_user_attribute_def_def_uid_namespaceTest {
 		when(session.getPerunBl().getAttributesManagerBl()).thenReturn(attributesManagerBl);
 		when(session.getPerunBl().getAttributesManagerBl().getAttribute(session, "param", AttributesManager.NS_ENTITYLESS_ATTR_DEF + ":namespace-minUID")).thenReturn(minUid);
 		when(session.getPerunBl().getAttributesManagerBl().getAttribute(session, "param", AttributesManager.NS_ENTITYLESS_ATTR_DEF + ":namespace-maxUID")).thenReturn(maxUid);
+		when(session.getPerunBl().getAttributesManagerBl().getEntitylessAttributeForUpdate(session, "param", AttributesManager.NS_ENTITYLESS_ATTR_DEF + ":namespace-minUID")).thenReturn(minUid);
+		when(session.getPerunBl().getAttributesManagerBl().getAttribute(session, "param", AttributesManager.NS_ENTITYLESS_ATTR_DEF + ":namespace-uid-policy")).thenReturn(uidPolicy);
 
 		UsersManagerBl usersManagerBl = mock(UsersManagerBl.class);
 		when(session.getPerunBl().getUsersManagerBl()).thenReturn(usersManagerBl);
@@ -119,4 +125,64 @@ public class urn_perun_user_attribute_def_def_uid_namespaceTest {
 
 		classInstance.checkAttributeSemantics(session, user, attributeToCheck);
 	}
+
+	@Test
+	public void testFillRecyclesFreeUid() throws Exception {
+		System.out.println("testFillRecyclesFreeUid()");
+		minUid.setValue(2);
+		maxUid.setValue(6);
+		when(session.getPerunBl().getAttributesManagerBl().getAttributeValuesByAttributeDefinition(session, attributeToCheck)).thenReturn(List.of(2, 3, 5));
+
+		assertEquals(4, classInstance.fillAttribute(session, user, attributeToCheck).getValue());
+	}
+
+	@Test
+	public void testFillDoesNotRecycleMaxUid() throws Exception {
+		System.out.println("testFillDoesNotRecycleMaxUid()");
+		minUid.setValue(2);
+		maxUid.setValue(6);
+		when(session.getPerunBl().getAttributesManagerBl().getAttributeValuesByAttributeDefinition(session, attributeToCheck)).thenReturn(List.of(2, 3, 4, 5));
+
+		assertNull(classInstance.fillAttribute(session, user, attributeToCheck).getValue());
+	}
+
+	@Test
+	public void testFillIncrementsHighestUid() throws Exception {
+		System.out.println("testFillIncrementsHighestUid()");
+		minUid.setValue(2);
+		maxUid.setValue(6);
+		uidPolicy.setValue("increment");
+		when(session.getPerunBl().getAttributesManagerBl().getAttributeValuesByAttributeDefinition(session, attributeToCheck)).thenReturn(List.of(2, 5));
+
+		assertEquals(6, classInstance.fillAttribute(session, user, attributeToCheck).getValue());
+	}
+
+	@Test
+	public void testFillRecyclesMinUidWhenMinEqualsMax() throws Exception {
+		System.out.println("testFillRecyclesMinUidWhenMinEqualsMax()");
+		minUid.setValue(2);
+		maxUid.setValue(2);
+
+		assertEquals(2, classInstance.fillAttribute(session, user, attributeToCheck).getValue());
+	}
+
+	@Test
+	public void testFillDoesNotRecycleWhenMinEqualsMaxAndUidIsUsed() throws Exception {
+		System.out.println("testFillDoesNotRecycleWhenMinEqualsMaxAndUidIsUsed()");
+		minUid.setValue(2);
+		maxUid.setValue(2);
+		when(session.getPerunBl().getAttributesManagerBl().getAttributeValuesByAttributeDefinition(session, attributeToCheck)).thenReturn(List.of(2));
+
+		assertNull(classInstance.fillAttribute(session, user, attributeToCheck).getValue());
+	}
+
+	@Test
+	public void testFillIncrementsMinUidWhenMinEqualsMax() throws Exception {
+		System.out.println("testFillIncrementsMinUidWhenMinEqualsMax()");
+		minUid.setValue(2);
+		maxUid.setValue(2);
+		uidPolicy.setValue("increment");
+
+		assertEquals(2, classInstance.fillAttribute(session, user, attributeToCheck).getValue());
+	}
 }
@@ -1,6 +1,8 @@
 package cz.metacentrum.perun.dispatcher.jms;
 
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.Queue;
 import javax.jms.Session;
@@ -108,20 +110,31 @@ public class EngineMessageConsumer extends AbstractRunner {
 			producer = producerFactory.getProducer();
 			
 			// Step 11. Deliver output and try to receive the message
-			TextMessage messageReceived = null;
+			Message messageReceived = null;
 			try {
 				if(producer != null) {
 					producer.deliverOutputMessages();
 				}
 
 				log.debug("Gonna call messageConsumer.receive(timeout)...");
-				messageReceived = (TextMessage) messageConsumer.receive(timeout);
+				messageReceived = messageConsumer.receive(timeout);
 				if (messageReceived != null) {
-					if (log.isDebugEnabled()) {
-						log.debug("System message received [" + messageReceived.getText() + "]");
-					}
 					try {
-						engineMessageProcessor.processEngineMessage(messageReceived.getText());
+						if (messageReceived instanceof BytesMessage) {
+							BytesMessage bytesMessage = (BytesMessage) messageReceived;
+							byte[] data = new byte[(int) bytesMessage.getBodyLength()];
+							bytesMessage.readBytes(data);
+							if (log.isDebugEnabled()) {
+								log.debug("System message received [binary, " + data.length + " bytes]");
+							}
+							engineMessageProcessor.processEngineMessage(data);
+						} else {
+							String text = ((TextMessage) messageReceived).getText();
+							if (log.isDebugEnabled()) {
+								log.debug("System message received [" + text + "]");
+							}
+							engineMessageProcessor.processEngineMessage(text);
+						}
 					} catch (MessageFormatException ex) {
 						// engine sent wrongly formatted messages
 						// shouldn't kill whole messaging process
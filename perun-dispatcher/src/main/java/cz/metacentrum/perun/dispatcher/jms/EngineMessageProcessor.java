@@ -1,5 +1,6 @@
 package cz.metacentrum.perun.dispatcher.jms;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -11,7 +12,6 @@ import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.JMSException;
 import javax.jms.Session;
-import javax.jms.TextMessage;
 
 import org.hornetq.api.core.TransportConfiguration;
 import org.hornetq.api.jms.HornetQJMSClient;
@@ -28,6 +28,10 @@ import cz.metacentrum.perun.dispatcher.exceptions.MessageFormatException;
 import cz.metacentrum.perun.dispatcher.exceptions.PerunHornetQServerException;
 import cz.metacentrum.perun.dispatcher.hornetq.PerunHornetQServer;
 import cz.metacentrum.perun.dispatcher.scheduling.SchedulingPool;
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
+import cz.metacentrum.perun.taskslib.messages.TaskMessageCodec;
+import cz.metacentrum.perun.taskslib.messages.TaskStatusChange;
+import cz.metacentrum.perun.taskslib.model.TaskResult;
 
 /**
  * Main class ensuring processing of JMS communication between Dispatcher and Engines.
@@ -64,7 +68,7 @@ public class EngineMessageProcessor {
 	private boolean systemQueueInitiated = false;
 	private ConnectionFactory cf;
 	private Connection connection;
-	private BlockingDeque<TextMessage> outputMessages = null;
+	private BlockingDeque<TaskAssignment> outputMessages = null;
 	private boolean restartHornetQServer = false;
 
 
@@ -138,7 +142,7 @@ public class EngineMessageProcessor {
 	public void startProcessingSystemMessages() {
 
 		if(outputMessages == null) {
-			outputMessages = new LinkedBlockingDeque<TextMessage>();
+			outputMessages = new LinkedBlockingDeque<TaskAssignment>();
 		}
 		
 		connection = null;
@@ -254,7 +258,9 @@ public class EngineMessageProcessor {
 	 * Expected message format is:
 	 *
 	 * Register engine message
-	 * register
+	 * register[:binary:version]
+	 * version is max version of binary messages supported by Engine, older Engines send only "register"
+	 * and receive Tasks in legacy text messages
 	 *
 	 * Good bye engine message
 	 * goodbye
@@ -303,6 +309,10 @@ public class EngineMessageProcessor {
 					createDispatcherQueueForClient();
 				}
 
+				boolean binaryMessagesSupported = clientMessageSplitter.length > 1 && isBinaryMessagesSupported(clientMessageSplitter[1]);
+				log.info("Engine registered, Tasks will be sent in {} messages.", binaryMessagesSupported ? "binary" : "text");
+				engineMessageProducerFactory.getProducer().setBinaryMessagesSupported(binaryMessagesSupported);
+
 			} else if (clientMessageSplitter[0].equalsIgnoreCase("goodbye")) {
 
 				// engine is going down, should mark all tasks as failed
@@ -343,6 +353,64 @@ public class EngineMessageProcessor {
 		}
 	}
 
+	/**
+	 * Process content of binary JMS message received from Engine. This is called by SystemQueueReceiver
+	 * for each binary message. Message carries batch of Task status changes or TaskResults.
+	 *
+	 * @see TaskMessageCodec
+	 * @see EngineMessageConsumer
+	 *
+	 * @param message Message to be parsed a processed
+	 * @throws PerunHornetQServerException When HornetQ server is not running
+	 * @throws MessageFormatException When Engine sent malformed JMS message
+	 */
+	protected void processEngineMessage(byte[] message) throws PerunHornetQServerException, MessageFormatException {
+
+		if (perunHornetQServer.isServerRunning() && perunHornetQServer.getJMSServerManager() != null) {
+
+			try {
+				switch (TaskMessageCodec.readType(message)) {
+					case TASK_STATUS_CHANGES:
+						for (TaskStatusChange change : TaskMessageCodec.decodeTaskStatusChanges(message)) {
+							log.debug("Processing Task status change: {}", change);
+							schedulingPool.onTaskStatusChange(change.getTaskId(), change.getStatus(), change.getTimestamp());
+						}
+						break;
+					case TASK_RESULTS:
+						for (TaskResult taskResult : TaskMessageCodec.decodeTaskResults(message)) {
+							log.debug("[{}] Received TaskResult for Task from Engine.", taskResult.getTaskId());
+							schedulingPool.onTaskDestinationComplete(taskResult);
+						}
+						break;
+					default:
+						throw new MessageFormatException("Engine sent a malformed message, unexpected type of binary message.");
+				}
+			} catch (IOException e) {
+				throw new MessageFormatException("Engine sent a malformed binary message", e);
+			}
+
+		} else {
+			throw new PerunHornetQServerException("HornetQ server is not running or JMSServerManager is fucked up...");
+		}
+	}
+
+	/**
+	 * Check binary messages support reported by Engine in register message.
+	 *
+	 * @param registration rest of the register message, e.g. "binary:1"
+	 * @return TRUE if Engine can read binary messages of our version
+	 */
+	private boolean isBinaryMessagesSupported(String registration) {
+		String[] parts = registration.split(":");
+		if (parts.length < 2 || !parts[0].equalsIgnoreCase("binary")) return false;
+		try {
+			return Integer.parseInt(parts[1]) >= TaskMessageCodec.VERSION;
+		} catch (NumberFormatException e) {
+			log.warn("Engine sent malformed version of binary messages [{}], text messages will be used.", registration);
+			return false;
+		}
+	}
+
 	/**
 	 * Create JMS queue for Engine.
 	 *
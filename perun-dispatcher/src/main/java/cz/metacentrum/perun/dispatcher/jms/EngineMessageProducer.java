@@ -1,13 +1,20 @@
 package cz.metacentrum.perun.dispatcher.jms;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingDeque;
 
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
 import javax.jms.MessageProducer;
 import javax.jms.Queue;
 import javax.jms.Session;
 import javax.jms.TextMessage;
 
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
+import cz.metacentrum.perun.taskslib.messages.TaskMessageCodec;
+import org.apache.commons.codec.binary.Base64;
 import org.hornetq.api.jms.HornetQJMSClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +23,11 @@ import org.slf4j.LoggerFactory;
  * Instance of Engine message queue producer for sending messages to Engine.
  * For each Engine own producer (message queue) is created, and stored in EngineMessageProducerPool.
  *
+ * Tasks are queued and delivered in binary messages (BytesMessage), each carrying up to MAX_BATCH_SIZE Tasks,
+ * when Engine reported support of binary messages on registration. Otherwise each Task is delivered
+ * in legacy text message "task|...", so not yet upgraded Engines keep working.
+ *
+ * @see TaskMessageCodec
  * @see cz.metacentrum.perun.dispatcher.jms.EngineMessageProducerFactory
  *
  * @author Michal Karm Babacek
@@ -26,19 +38,21 @@ import org.slf4j.LoggerFactory;
 public class EngineMessageProducer {
 
 	private final static Logger log = LoggerFactory.getLogger(EngineMessageProducer.class);
+	private final static int MAX_BATCH_SIZE = 100;
 
 	private Queue queue;
 	private Session session;
 	private MessageProducer producer;
 	private String queueName;
-	private BlockingDeque<TextMessage> outputMessages;
+	private BlockingDeque<TaskAssignment> outputMessages;
+	private volatile boolean binaryMessagesSupported = false;
 
 	// this one is to allow for mock objects which extend this class
 	public EngineMessageProducer(String queueName) {
 		this.queueName = queueName;
 	}
 
-	public EngineMessageProducer(String queueName, Session session, BlockingDeque<TextMessage> outputQueue) {
+	public EngineMessageProducer(String queueName, Session session, BlockingDeque<TaskAssignment> outputQueue) {
 		this.queueName = queueName;
 		this.session = session;
 		this.outputMessages = outputQueue;
@@ -62,19 +76,13 @@ public class EngineMessageProducer {
 	}
 
 	/**
-	 * Queue  JMS message to the Engine associated with this queue for delivery.
+	 * Queue Task for delivery to the Engine associated with this queue.
 	 *
-	 * @param text Message content
+	 * @param assignment Task to be processed by Engine
 	 */
-	public void sendMessage(String text) {
-
+	public void sendTask(TaskAssignment assignment) {
 		try {
-			// Step 7. Create a Text Message
-			TextMessage message = session.createTextMessage("task|" + text);
-			// Step 8. Send...
-			outputMessages.put(message);
-		} catch (JMSException e) {
-			log.error(e.toString(), e);
+			outputMessages.put(assignment);
 		} catch (Exception e) {
 			log.error(e.toString(), e);
 			// TODO: Restart connection...?
@@ -82,20 +90,96 @@ public class EngineMessageProducer {
 	}
 
 	/**
-	 * Try to deliver all pending messages.
-	 * @throws JMSException 
-	 * 
+	 * Try to deliver all pending Tasks. Tasks are sent in batches, if sending fails,
+	 * not delivered Tasks are returned to the queue.
+	 *
+	 * @throws JMSException when sending fails
 	 */
 	public void deliverOutputMessages() throws JMSException {
+		if (!binaryMessagesSupported) {
+			deliverTextMessages();
+			return;
+		}
 		while(!outputMessages.isEmpty()) {
-			TextMessage message = outputMessages.poll();
-			producer.send(message);
-			if (log.isDebugEnabled()) {
-				log.debug("Sent message (queue:" + queueName + "): " + message.getText());
+			List<TaskAssignment> batch = new ArrayList<>();
+			outputMessages.drainTo(batch, MAX_BATCH_SIZE);
+			try {
+				BytesMessage message = session.createBytesMessage();
+				message.writeBytes(TaskMessageCodec.encodeTaskAssignments(batch));
+				producer.send(message);
+				if (log.isDebugEnabled()) {
+					log.debug("Sent message (queue:" + queueName + ") with " + batch.size() + " Tasks: " + batch);
+				}
+			} catch (IOException e) {
+				log.error("Could not encode Tasks {} for Engine, they will be lost.", batch, e);
+			} catch (JMSException e) {
+				for (int i = batch.size() - 1; i >= 0; i--) {
+					outputMessages.addFirst(batch.get(i));
+				}
+				throw e;
 			}
 		}
 	}
 	
+	/**
+	 * Deliver pending Tasks one by one in legacy text messages. If sending fails, Task is returned to the queue.
+	 *
+	 * Expected format is: task|[task_id][is_forced]|[service]|[facility]|[destination_list]
+	 *
+	 * @throws JMSException when sending fails
+	 */
+	private void deliverTextMessages() throws JMSException {
+		TaskAssignment assignment;
+		while((assignment = outputMessages.poll()) != null) {
+			try {
+				TextMessage message = session.createTextMessage("task|[" + assignment.getTaskId() + "]["
+						+ assignment.isPropagationForced() + "]|["
+						+ fixStringSeparators(assignment.getService()) + "]|["
+						+ fixStringSeparators(assignment.getFacility()) + "]|["
+						+ fixStringSeparators(assignment.getDestinations()) + "]");
+				producer.send(message);
+				if (log.isDebugEnabled()) {
+					log.debug("Sent message (queue:" + queueName + "): " + message.getText());
+				}
+			} catch (JMSException e) {
+				outputMessages.addFirst(assignment);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Encode string to base64 when it contains any message divider character "|".
+	 *
+	 * @param data Data to be checked
+	 * @return Base64 encoded string if needed or original string
+	 */
+	private String fixStringSeparators(String data) {
+		if (data.contains("|")) {
+			return new String(Base64.encodeBase64(data.getBytes()));
+		} else {
+			return data;
+		}
+	}
+
+	/**
+	 * TRUE if Engine reported support of binary messages, so Tasks can be sent in batches.
+	 *
+	 * @return TRUE if binary messages are sent / FALSE if legacy text messages are sent
+	 */
+	public boolean isBinaryMessagesSupported() {
+		return binaryMessagesSupported;
+	}
+
+	/**
+	 * Set whether Engine supports binary messages. It is reported by Engine on registration.
+	 *
+	 * @param binaryMessagesSupported TRUE if binary messages can be sent
+	 */
+	public void setBinaryMessagesSupported(boolean binaryMessagesSupported) {
+		this.binaryMessagesSupported = binaryMessagesSupported;
+	}
+
 	/**
 	 * Get name of the queue for engine.
 	 *
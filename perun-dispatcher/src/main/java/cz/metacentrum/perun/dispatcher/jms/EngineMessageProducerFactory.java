@@ -3,8 +3,8 @@ package cz.metacentrum.perun.dispatcher.jms;
 import java.util.concurrent.BlockingDeque;
 
 import javax.jms.Session;
-import javax.jms.TextMessage;
 
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -20,7 +20,7 @@ public class EngineMessageProducerFactory {
 		this.producer = producer;
 	}
 
-	public void createProducer(String queueName, Session session, BlockingDeque<TextMessage> outputQueue) {
+	public void createProducer(String queueName, Session session, BlockingDeque<TaskAssignment> outputQueue) {
 		producer = new EngineMessageProducer(queueName, session, outputQueue);
 	}
 
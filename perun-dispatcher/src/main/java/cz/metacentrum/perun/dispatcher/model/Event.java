@@ -19,6 +19,7 @@ public class Event {
 	private String header;
 	private AuditEvent data;
 	private long timeStamp;
+	private int auditMessageId;
 
 	/**
 	 * Get event data
@@ -56,6 +57,24 @@ public class Event {
 		return timeStamp;
 	}
 
+	/**
+	 * Get id of the audit message the event was created from
+	 *
+	 * @return id of the audit message
+	 */
+	public int getAuditMessageId() {
+		return auditMessageId;
+	}
+
+	/**
+	 * Set id of the audit message the event was created from
+	 *
+	 * @param auditMessageId id of the audit message
+	 */
+	public void setAuditMessageId(int auditMessageId) {
+		this.auditMessageId = auditMessageId;
+	}
+
 	/**
 	 * Set event header
 	 *
@@ -80,13 +99,14 @@ public class Event {
 		if (!(o instanceof Event)) return false;
 		Event event = (Event) o;
 		return timeStamp == event.timeStamp &&
+				auditMessageId == event.auditMessageId &&
 				Objects.equals(header, event.header) &&
 				Objects.equals(data, event.data);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(header, data, timeStamp);
+		return Objects.hash(header, data, timeStamp, auditMessageId);
 	}
 
 	@Override
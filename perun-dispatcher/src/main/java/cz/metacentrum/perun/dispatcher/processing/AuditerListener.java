@@ -2,7 +2,7 @@ package cz.metacentrum.perun.dispatcher.processing;
 
 import javax.annotation.Resource;
 
-import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.core.api.AuditMessage;
 import cz.metacentrum.perun.core.api.Perun;
 import cz.metacentrum.perun.core.api.PerunClient;
 import cz.metacentrum.perun.core.api.PerunPrincipal;
@@ -103,10 +103,11 @@ public class AuditerListener extends AbstractRunner {
 
 			while (!shouldStop()) {
 				try {
-					for (AuditEvent message : perun.getAuditMessagesManager().pollConsumerEvents(sess, "dispatcher")) {
+					for (AuditMessage message : perun.getAuditMessagesManager().pollConsumerMessages(sess, "dispatcher")) {
 						// create event for each message
 						Event event = new Event();
 						event.setTimeStamp(System.currentTimeMillis());
+						event.setAuditMessageId(message.getId());
 						if (whichOfTwoRules) {
 							event.setHeader("portishead");
 							whichOfTwoRules = false;
@@ -114,7 +115,7 @@ public class AuditerListener extends AbstractRunner {
 							event.setHeader("clockworkorange");
 							whichOfTwoRules = true;
 						}
-						event.setData(message);
+						event.setData(message.getEvent());
 						// pass event to queue for further processing
 						eventQueue.put(event);
 					}
@@ -225,6 +225,7 @@ public class EventProcessor extends AbstractRunner {
 					// signal that task needs to regenerate data and be forced next time
 					task.setDestinations(null);
 					task.setSourceUpdated(true);
+					task.setSourceUpdatedAuditMessageId(event.getAuditMessageId());
 					if (isForced) task.setPropagationForced(true);
 					task.setRecurrence(0);
 					log.debug("[{}] Task is already in pool. Re-setting source updated and forced flags, {}.", task.getId(), task);
@@ -238,6 +239,7 @@ public class EventProcessor extends AbstractRunner {
 					task.setDelay(service.getDelay());
 					task.setSchedule(LocalDateTime.now());
 					task.setSourceUpdated(false);
+					task.setSourceUpdatedAuditMessageId(event.getAuditMessageId());
 					task.setPropagationForced(isForced);
 					try {
 						schedulingPool.addToPool(task);
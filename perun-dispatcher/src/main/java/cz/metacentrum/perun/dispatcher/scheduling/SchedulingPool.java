@@ -92,6 +92,15 @@ public interface SchedulingPool extends TaskStore {
 	 */
 	void onTaskStatusChange(int taskId, String status, String date);
 
+	/**
+	 * Store change in Task status sent from Engine.
+	 *
+	 * @param taskId ID of Task to update
+	 * @param status TaskStatus to set
+	 * @param milliseconds Timestamp of change
+	 */
+	void onTaskStatusChange(int taskId, Task.TaskStatus status, long milliseconds);
+
 	/**
 	 * Store TaskResult sent from Engine.
 	 *
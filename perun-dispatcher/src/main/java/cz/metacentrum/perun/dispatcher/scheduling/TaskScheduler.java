@@ -16,13 +16,13 @@ import cz.metacentrum.perun.core.bl.TasksManagerBl;
 import cz.metacentrum.perun.dispatcher.jms.EngineMessageProducer;
 import cz.metacentrum.perun.dispatcher.jms.EngineMessageProducerFactory;
 import cz.metacentrum.perun.dispatcher.scheduling.impl.TaskScheduled;
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
 import cz.metacentrum.perun.taskslib.model.Task;
 import cz.metacentrum.perun.taskslib.model.Task.TaskStatus;
 import cz.metacentrum.perun.taskslib.model.TaskResult;
 import cz.metacentrum.perun.taskslib.model.TaskSchedule;
 import cz.metacentrum.perun.taskslib.runners.impl.AbstractRunner;
 
-import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -303,8 +303,6 @@ public class TaskScheduler extends AbstractRunner {
 			return ERROR;
 		}
 
-		// task|[task_id][is_forced][exec_service_id][facility]|[destination_list]|[dependency_list]
-		// - the task|[engine_id] part is added by dispatcherQueue
 		List<Destination> destinations = task.getDestinations();
 		if (task.isSourceUpdated() || destinations == null || destinations.isEmpty()) {
 			log.trace("[{}] No destinations for task, trying to query the database.", task.getId());
@@ -387,11 +385,9 @@ public class TaskScheduler extends AbstractRunner {
 
 		// send message async
 
-		engineMessageProducer.sendMessage("[" + task.getId() + "]["
-				+ task.isPropagationForced() + "]|["
-				+ fixStringSeparators(task.getService().serializeToString()) + "]|["
-				+ fixStringSeparators(task.getFacility().serializeToString()) + "]|["
-				+ fixStringSeparators(destinations_s.toString()) + "]");
+		engineMessageProducer.sendTask(new TaskAssignment(task.getId(), task.isPropagationForced(),
+				task.getSourceUpdatedAuditMessageId(), task.getService().serializeToString(),
+				task.getFacility().serializeToString(), destinations_s.toString()));
 
 		// modify task status and reset forced flag
 
@@ -402,20 +398,6 @@ public class TaskScheduler extends AbstractRunner {
 
 	}
 
-	/**
-	 * Encode string to base64 when it contains any message divider character "|".
-	 *
-	 * @param data Data to be checked
-	 * @return Base64 encoded string if needed or original string
-	 */
-	private String fixStringSeparators(String data) {
-		if (data.contains("|")) {
-			return new String(Base64.encodeBase64(data.getBytes()));
-		} else {
-			return data;
-		}
-	}
-
 	protected void initPerunSession() {
 		if (perunSession == null) {
 			perunSession = perun.getPerunSession(new PerunPrincipal(
@@ -473,6 +473,18 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 
 	@Override
 	public void onTaskStatusChange(int taskId, String status, String milliseconds) {
+		long ms;
+		try {
+			ms = Long.valueOf(milliseconds);
+		} catch (NumberFormatException e) {
+			log.warn("[{}] Timestamp of change '{}' could not be parsed, current time will be used instead.", taskId, milliseconds);
+			ms = System.currentTimeMillis();
+		}
+		onTaskStatusChange(taskId, TaskStatus.valueOf(status), ms);
+	}
+
+	@Override
+	public void onTaskStatusChange(int taskId, TaskStatus status, long ms) {
 
 		Task task = getTask(taskId);
 		if (task == null) {
@@ -481,14 +493,7 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 		}
 
 		TaskStatus oldStatus = task.getStatus();
-		task.setStatus(TaskStatus.valueOf(status));
-		long ms;
-		try {
-			ms = Long.valueOf(milliseconds);
-		} catch (NumberFormatException e) {
-			log.warn("[{}] Timestamp of change '{}' could not be parsed, current time will be used instead.", task.getId(), milliseconds);
-			ms = System.currentTimeMillis();
-		}
+		task.setStatus(status);
 		LocalDateTime changeDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(ms), ZoneId.systemDefault());
 
 		switch (task.getStatus()) {
@@ -263,6 +263,12 @@ public class DispatcherManagerImpl implements DispatcherManager {
 								new PerunClient());
 				int numRows = tasksManagerBl.deleteOldTaskResults(sess, 3);
 				log.debug("Cleaned {} old task results for engine", numRows);
+				// keep only newest results for each task and destination, processed in small batches
+				numRows = tasksManagerBl.compactTaskResults(sess,
+						Integer.parseInt(dispatcherProperties.getProperty("dispatcher.taskresults.keep", "10")),
+						Integer.parseInt(dispatcherProperties.getProperty("dispatcher.taskresults.keepOutput", "3")),
+						Integer.parseInt(dispatcherProperties.getProperty("dispatcher.taskresults.batchSize", "1000")));
+				log.debug("Compacted {} task results for engine", numRows);
 			} catch (Throwable e) {
 				log.error("Error cleaning old task results for engine: {}", e);
 			}
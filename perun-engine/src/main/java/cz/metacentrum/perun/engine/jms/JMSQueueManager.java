@@ -24,6 +24,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.task.TaskExecutor;
 
 import cz.metacentrum.perun.core.api.Destination;
+import cz.metacentrum.perun.taskslib.messages.TaskMessageCodec;
+import cz.metacentrum.perun.taskslib.messages.TaskStatusChange;
 import cz.metacentrum.perun.taskslib.model.Task;
 import cz.metacentrum.perun.taskslib.model.TaskResult;
 
@@ -118,7 +120,8 @@ public class JMSQueueManager {
 			producer = session.createProducer(queue);
 
 			if(!receivingMessages) {
-				TextMessage message = session.createTextMessage("register");
+				// report support of binary messages, older Dispatchers ignore it and send text messages
+				TextMessage message = session.createTextMessage("register:binary:" + TaskMessageCodec.VERSION);
 
 				// Step 8. Send the Message
 				producer.send(message);
@@ -163,18 +166,13 @@ public class JMSQueueManager {
 	}
 
 	public void reportTaskResult(TaskResult taskResult) throws JMSException, InterruptedException {
-		TextMessage message = session.createTextMessage("taskresult:" + taskResult.serializeToString());
-		message.setIntProperty("priority",  2);
-		messageReceiver.sendMessage(message);
+		messageReceiver.sendTaskResult(taskResult);
 		log.info("[{}] TaskResult for destination {} sent to dispatcher.", taskResult.getTaskId(),
 				taskResult.getDestinationId());
 	}
 
 	public void reportTaskStatus(int id, Task.TaskStatus status, long miliseconds) throws JMSException, InterruptedException {
-		TextMessage message = session.createTextMessage("task:"
-				+ id + ":" + status + ":" + miliseconds);
-		message.setIntProperty("priority", 6);
-		messageReceiver.sendMessage(message);
+		messageReceiver.sendTaskStatusChange(new TaskStatusChange(id, status, miliseconds));
 		log.info("[{}] Task state {} sent to dispatcher.", id, status);
 	}
 
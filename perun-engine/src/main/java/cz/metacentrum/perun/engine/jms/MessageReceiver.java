@@ -1,11 +1,17 @@
 package cz.metacentrum.perun.engine.jms;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.function.Function;
 
+import javax.jms.BytesMessage;
 import javax.jms.DeliveryMode;
 import javax.jms.InvalidDestinationException;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.MessageProducer;
 import javax.jms.Queue;
@@ -22,11 +28,22 @@ import org.springframework.core.task.TaskRejectedException;
 import cz.metacentrum.perun.engine.exceptions.UnknownMessageTypeException;
 import cz.metacentrum.perun.engine.processing.CommandProcessor;
 import cz.metacentrum.perun.engine.processing.EventProcessor;
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
+import cz.metacentrum.perun.taskslib.messages.TaskMessageCodec;
+import cz.metacentrum.perun.taskslib.messages.TaskStatusChange;
+import cz.metacentrum.perun.taskslib.model.TaskResult;
 
 /**
+ * Receives messages from Dispatcher and sends queued Task status changes and TaskResults back.
  *
- * @author Michal Karm Babacek JavaDoc coming soon...
+ * Tasks are received in binary messages (BytesMessage), each carrying batch of Task assignments.
+ * Legacy text messages "task|..." are still accepted. Status changes and TaskResults are sent
+ * in batches of up to MAX_BATCH_SIZE items per binary message, once first binary message is received,
+ * so Dispatcher is known to support them. Until then, they are sent in legacy text messages.
  *
+ * @see TaskMessageCodec
+ *
+ * @author Michal Karm Babacek
  */
 @org.springframework.stereotype.Service(value = "eventReceiver")
 public class MessageReceiver implements Runnable {
@@ -34,6 +51,9 @@ public class MessageReceiver implements Runnable {
 	private final static Logger log = LoggerFactory.getLogger(MessageReceiver.class);
 
 	private final static int TOO_LONG = 15000;
+	private final static int MAX_BATCH_SIZE = 500;
+	private final static int STATUS_PRIORITY = 6;
+	private final static int RESULT_PRIORITY = 2;
 
 	private MessageConsumer messageConsumer = null;
 	private MessageProducer messageProducer = null;
@@ -53,7 +73,9 @@ public class MessageReceiver implements Runnable {
 	private EventProcessor eventProcessor;
 	@Autowired
 	private TaskExecutor taskExecutorMessageProcess;
-	private BlockingDeque<TextMessage> inputMessages;
+	private BlockingDeque<TaskStatusChange> outputStatusChanges;
+	private BlockingDeque<TaskResult> outputTaskResults;
+	private volatile boolean binaryMessagesSupported = false;
 
 	public MessageReceiver() {
 	}
@@ -62,7 +84,13 @@ public class MessageReceiver implements Runnable {
 		this.queueName = queueName;
 		this.session = session;
 		this.messageProducer = producer;
-		inputMessages = new LinkedBlockingDeque<TextMessage>();
+		// Dispatcher might have changed, wait for its binary message again
+		this.binaryMessagesSupported = false;
+		if (outputStatusChanges == null) {
+			// keep not yet sent messages when reconnecting
+			outputStatusChanges = new LinkedBlockingDeque<>();
+			outputTaskResults = new LinkedBlockingDeque<>();
+		}
 	}
 
 	@Override
@@ -103,27 +131,35 @@ public class MessageReceiver implements Runnable {
 				}
 			} else {
 
-				// Try to send queued messages first
-				while(!inputMessages.isEmpty()) {
-					TextMessage message = inputMessages.remove();
-					try {
-						messageProducer.send(message, DeliveryMode.PERSISTENT, message.getIntProperty("priority"), 0);
-						log.trace("Message {} for dispatcher sent.\n", message.getText());
-					} catch (JMSException e) {
-						queueAcquired = false;
-						log.error("Something went wrong with JMS. We are gonna restart and try it again...", e);
-						// goes back to reinitialize the connection
-						return;
+				// Try to send queued messages first, status changes have higher priority
+				try {
+					if (binaryMessagesSupported) {
+						sendBatches(outputStatusChanges, STATUS_PRIORITY, TaskMessageCodec::encodeTaskStatusChanges);
+						sendBatches(outputTaskResults, RESULT_PRIORITY, TaskMessageCodec::encodeTaskResults);
+					} else {
+						sendTextMessages(outputStatusChanges, STATUS_PRIORITY, change -> "task:" + change.getTaskId() + ":"
+								+ change.getStatus() + ":" + change.getTimestamp());
+						sendTextMessages(outputTaskResults, RESULT_PRIORITY, taskResult -> "taskresult:" + taskResult.serializeToString());
 					}
+				} catch (JMSException e) {
+					queueAcquired = false;
+					log.error("Something went wrong with JMS. We are gonna restart and try it again...", e);
+					// goes back to reinitialize the connection
+					return;
 				}
-				
+
 				// Step 11. Receive the message
-				TextMessage messageReceived = null;
+				Message messageReceived = null;
 				try {
-					messageReceived = (TextMessage) messageConsumer
-							.receive(timeout);
-					if (messageReceived != null) {
-						final String message = messageReceived.getText();
+					messageReceived = messageConsumer.receive(timeout);
+					if (messageReceived instanceof BytesMessage) {
+						if (!binaryMessagesSupported) {
+							log.info("Dispatcher sent binary message, statuses and results will be sent in binary messages.");
+							binaryMessagesSupported = true;
+						}
+						receiveTasks((BytesMessage) messageReceived);
+					} else if (messageReceived != null) {
+						final String message = ((TextMessage) messageReceived).getText();
 
 						String messageType = message.split("\\|", 2)[0].trim();
 						log.debug("RECEIVED MESSAGE:{}, Type:{}", message, messageType);
@@ -198,8 +234,109 @@ public class MessageReceiver implements Runnable {
 		return running;
 	}
 
-	public void sendMessage(TextMessage msg) throws InterruptedException {
-		inputMessages.put(msg);
+	/**
+	 * Queue Task status change to be sent to Dispatcher.
+	 *
+	 * @param statusChange status change
+	 * @throws InterruptedException when waiting for space in the queue is interrupted
+	 */
+	public void sendTaskStatusChange(TaskStatusChange statusChange) throws InterruptedException {
+		outputStatusChanges.put(statusChange);
+	}
+
+	/**
+	 * Queue TaskResult to be sent to Dispatcher.
+	 *
+	 * @param taskResult TaskResult
+	 * @throws InterruptedException when waiting for space in the queue is interrupted
+	 */
+	public void sendTaskResult(TaskResult taskResult) throws InterruptedException {
+		outputTaskResults.put(taskResult);
+	}
+
+	/**
+	 * Pass all Task assignments from binary message to EventProcessor.
+	 *
+	 * @param message binary message from Dispatcher
+	 * @throws JMSException when message can't be read
+	 * @throws IOException when message is not in supported format
+	 */
+	private void receiveTasks(BytesMessage message) throws JMSException, IOException {
+		byte[] data = new byte[(int) message.getBodyLength()];
+		message.readBytes(data);
+		List<TaskAssignment> assignments = TaskMessageCodec.decodeTaskAssignments(data);
+		log.debug("RECEIVED {} Tasks in binary message.", assignments.size());
+		for (TaskAssignment assignment : assignments) {
+			try {
+				taskExecutorMessageProcess.execute(() -> eventProcessor.receiveTask(assignment));
+			} catch (TaskRejectedException ex) {
+				log.error("Task was rejected. Task assignment {}", assignment);
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * Send all queued items in binary messages of up to MAX_BATCH_SIZE items.
+	 * If sending fails, items are returned to the queue.
+	 *
+	 * @param queue queued items
+	 * @param priority JMS priority of the messages
+	 * @param encoder encoding of the items to binary message
+	 * @throws JMSException when sending fails
+	 */
+	private <T> void sendBatches(BlockingDeque<T> queue, int priority, BatchEncoder<T> encoder) throws JMSException {
+		while (!queue.isEmpty()) {
+			List<T> batch = new ArrayList<>();
+			queue.drainTo(batch, MAX_BATCH_SIZE);
+			try {
+				BytesMessage message = session.createBytesMessage();
+				message.writeBytes(encoder.encode(batch));
+				messageProducer.send(message, DeliveryMode.PERSISTENT, priority, 0);
+				log.trace("Message with {} items for dispatcher sent.", batch.size());
+			} catch (IOException e) {
+				// there is no way to send them, don't block others
+				log.error("Could not encode message for dispatcher, {} items will be lost: {}", batch.size(), batch, e);
+			} catch (JMSException e) {
+				for (int i = batch.size() - 1; i >= 0; i--) {
+					queue.addFirst(batch.get(i));
+				}
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Send all queued items one by one in legacy text messages.
+	 * If sending fails, item is returned to the queue.
+	 *
+	 * @param queue queued items
+	 * @param priority JMS priority of the messages
+	 * @param encoder encoding of the item to text message
+	 * @throws JMSException when sending fails
+	 */
+	private <T> void sendTextMessages(BlockingDeque<T> queue, int priority, Function<T, String> encoder) throws JMSException {
+		T item;
+		while ((item = queue.poll()) != null) {
+			try {
+				TextMessage message = session.createTextMessage(encoder.apply(item));
+				messageProducer.send(message, DeliveryMode.PERSISTENT, priority, 0);
+				log.trace("Message {} for dispatcher sent.", message.getText());
+			} catch (JMSException e) {
+				queue.addFirst(item);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Encoding of the batch of items to binary message.
+	 *
+	 * @param <T> type of items
+	 */
+	@FunctionalInterface
+	private interface BatchEncoder<T> {
+		byte[] encode(List<T> batch) throws IOException;
 	}
 		
 	public void setCommandProcessor(CommandProcessor commandProcessor) {
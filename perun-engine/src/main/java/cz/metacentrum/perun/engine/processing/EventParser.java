@@ -1,6 +1,7 @@
 package cz.metacentrum.perun.engine.processing;
 
 import cz.metacentrum.perun.engine.exceptions.InvalidEventMessageException;
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
 import cz.metacentrum.perun.taskslib.model.Task;
 
 /**
@@ -12,4 +13,13 @@ public interface EventParser {
 
 	Task parseEvent(String event) throws InvalidEventMessageException;
 
+	/**
+	 * Parse Task from its assignment received in binary message from Dispatcher.
+	 *
+	 * @param assignment Task assignment
+	 * @return parsed Task
+	 * @throws InvalidEventMessageException when Facility, Service or Destinations can't be parsed
+	 */
+	Task parseTask(TaskAssignment assignment) throws InvalidEventMessageException;
+
 }
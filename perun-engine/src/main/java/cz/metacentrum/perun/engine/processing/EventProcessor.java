@@ -1,5 +1,7 @@
 package cz.metacentrum.perun.engine.processing;
 
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
+
 /**
  * Takes care of receiving string events, adding the resulting Tasks into the SchedulingPool or modifying existing
  * Tasks parameters.
@@ -10,4 +12,11 @@ public interface EventProcessor {
 
 	public void receiveEvent(String event);
 
+	/**
+	 * Receive Task assignment from binary message sent by Dispatcher.
+	 *
+	 * @param assignment Task assignment
+	 */
+	public void receiveTask(TaskAssignment assignment);
+
 }
@@ -10,6 +10,7 @@ import cz.metacentrum.perun.core.api.exceptions.PrivilegeException;
 import cz.metacentrum.perun.core.api.exceptions.ServiceNotExistsException;
 import cz.metacentrum.perun.engine.exceptions.InvalidEventMessageException;
 import cz.metacentrum.perun.engine.processing.EventParser;
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
 import cz.metacentrum.perun.taskslib.model.Task;
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -39,12 +40,14 @@ public class EventParserImpl implements EventParser {
 
 		/*
 		 * Expected string format:
-		 * "task|[task_id][is_forced]|[service]|[facility]|[destination_list]|[dependency_list]"
+		 * "task|[task_id][is_forced][source_updated_audit_message_id]|[service]|[facility]|[destination_list]|[dependency_list]"
+		 *
+		 * "[source_updated_audit_message_id]" is optional, older Dispatchers doesn't send it.
 		 *
 		 *  String eventParsingPattern =
 		 * "^event\\|([0-9]{1,6})\\|\\[([a-zA-Z0-9: ]+)\\]\\[([^\\]]+)\\]\\[(.*)\\]$";
 		 */
-		String eventParsingPattern = "^task\\|\\[([0-9]+)\\]\\[([^\\]]+)\\]\\|\\[([^\\|]+)\\]\\|\\[([^\\|]+)\\]\\|\\[([^\\|]+)\\]$";
+		String eventParsingPattern = "^task\\|\\[([0-9]+)\\]\\[([^\\]]+)\\](?:\\[(-?[0-9]+)\\])?\\|\\[([^\\|]+)\\]\\|\\[([^\\|]+)\\]\\|\\[([^\\|]+)\\]$";
 		Pattern pattern = Pattern.compile(eventParsingPattern);
 		Matcher matcher = pattern.matcher(event);
 		boolean matchFound = matcher.find();
@@ -54,9 +57,10 @@ public class EventParserImpl implements EventParser {
 			// Data should provide information regarding the target Service (Processing rule).
 			String eventTaskId = matcher.group(1);
 			String eventIsForced = matcher.group(2);
-			String eventService = matcher.group(3);
-			String eventFacility = matcher.group(4);
-			String eventDestinationList = matcher.group(5);
+			String eventSourceUpdatedAuditMessageId = matcher.group(3);
+			String eventService = matcher.group(4);
+			String eventFacility = matcher.group(5);
+			String eventDestinationList = matcher.group(6);
 
 			// check possible enconding
 			if (!eventService.startsWith("Service")) {
@@ -81,56 +85,68 @@ public class EventParserImpl implements EventParser {
 			log.debug("Event data to be parsed: task id {}, forced {}, facility {}, service {}, destination list {}",
 					eventTaskId, eventIsForced, eventFacility, eventService, eventDestinationList);
 
-			// Prepare variables
-			Facility facility;
-			Service service;
-			List<Destination> destinationList = new ArrayList<Destination>();
-
-			// resolve facility and deserialize event data
-			List<PerunBean> listOfBeans = AuditParser.parseLog(eventFacility);
-			try {
-				facility = (Facility) listOfBeans.get(0);
-			} catch (Exception e) {
-				throw new InvalidEventMessageException(
-						"Could not resolve facility from event ["
-								+ eventFacility + "]", e);
-			}
-
-			// resolve exec service and deserialize event data
-			listOfBeans = AuditParser.parseLog(eventService);
-			try {
-				service = (Service) listOfBeans.get(0);
-			} catch (Exception e) {
-				throw new InvalidEventMessageException("Could not resolve service from event [" + eventService + "]", e);
+			Integer sourceUpdatedAuditMessageId = null;
+			if (eventSourceUpdatedAuditMessageId != null && !eventSourceUpdatedAuditMessageId.startsWith("-")) {
+				sourceUpdatedAuditMessageId = Integer.parseInt(eventSourceUpdatedAuditMessageId);
 			}
+			return parseTask(new TaskAssignment(Integer.parseInt(eventTaskId), Boolean.parseBoolean(eventIsForced),
+					sourceUpdatedAuditMessageId, eventService, eventFacility, eventDestinationList));
 
-			// resolve list of destinations
-			listOfBeans = AuditParser.parseLog(eventDestinationList);
-			log.debug("Found list of destination beans: {}", listOfBeans);
-			try {
-				for (PerunBean bean : listOfBeans) {
-					destinationList.add((Destination) bean);
-				}
-			} catch (Exception e) {
-				throw new InvalidEventMessageException(
-						"Could not resolve list of destinations from event.", e);
-			}
+		} else {
+			throw new InvalidEventMessageException(
+					"Invalid message format: Message[" + event + "]");
+		}
+	}
 
-			Task task = new Task();
-			task.setId(Integer.parseInt(eventTaskId));
-			task.setFacility(facility);
-			task.setService(service);
-			task.setDestinations(destinationList);
-			task.setDelay(service.getDelay());
-			task.setRecurrence(service.getRecurrence());
-			task.setPropagationForced(Boolean.parseBoolean(eventIsForced));
+	@Override
+	public Task parseTask(TaskAssignment assignment) throws InvalidEventMessageException {
+
+		// Prepare variables
+		Facility facility;
+		Service service;
+		List<Destination> destinationList = new ArrayList<Destination>();
+
+		// resolve facility and deserialize event data
+		List<PerunBean> listOfBeans = AuditParser.parseLog(assignment.getFacility());
+		try {
+			facility = (Facility) listOfBeans.get(0);
+		} catch (Exception e) {
+			throw new InvalidEventMessageException(
+					"Could not resolve facility from event ["
+							+ assignment.getFacility() + "]", e);
+		}
 
-			return task;
+		// resolve exec service and deserialize event data
+		listOfBeans = AuditParser.parseLog(assignment.getService());
+		try {
+			service = (Service) listOfBeans.get(0);
+		} catch (Exception e) {
+			throw new InvalidEventMessageException("Could not resolve service from event [" + assignment.getService() + "]", e);
+		}
 
-		} else {
+		// resolve list of destinations
+		listOfBeans = AuditParser.parseLog(assignment.getDestinations());
+		log.debug("Found list of destination beans: {}", listOfBeans);
+		try {
+			for (PerunBean bean : listOfBeans) {
+				destinationList.add((Destination) bean);
+			}
+		} catch (Exception e) {
 			throw new InvalidEventMessageException(
-					"Invalid message format: Message[" + event + "]");
+					"Could not resolve list of destinations from event.", e);
 		}
+
+		Task task = new Task();
+		task.setId(assignment.getTaskId());
+		task.setFacility(facility);
+		task.setService(service);
+		task.setDestinations(destinationList);
+		task.setDelay(service.getDelay());
+		task.setRecurrence(service.getRecurrence());
+		task.setPropagationForced(assignment.isPropagationForced());
+		task.setSourceUpdatedAuditMessageId(assignment.getSourceUpdatedAuditMessageId());
+
+		return task;
 	}
 
 	public Properties getPropertiesBean() {
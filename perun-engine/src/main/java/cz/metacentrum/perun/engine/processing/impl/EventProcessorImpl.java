@@ -8,6 +8,7 @@ import cz.metacentrum.perun.taskslib.exceptions.TaskStoreException;
 import cz.metacentrum.perun.engine.processing.EventParser;
 import cz.metacentrum.perun.engine.processing.EventProcessor;
 import cz.metacentrum.perun.engine.scheduling.SchedulingPool;
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
 import cz.metacentrum.perun.taskslib.model.Task;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +42,29 @@ public class EventProcessorImpl implements EventProcessor {
 			log.debug("Task not found in event {}", event);
 			return;
 		}
+		addTask(task);
+	}
+
+	@Override
+	public void receiveTask(TaskAssignment assignment) {
+		log.debug("Task assignment {} is going to be resolved.", assignment);
+
+		Task task;
+		try {
+			task = eventParser.parseTask(assignment);
+		} catch (InvalidEventMessageException | InternalErrorException e) {
+			log.error(e.toString());
+			return;
+		}
+		addTask(task);
+	}
+
+	/**
+	 * Add received Task to the SchedulingPool, unless it is already processed by the Engine.
+	 *
+	 * @param task received Task
+	 */
+	private void addTask(Task task) {
 		task.setStatus(Task.TaskStatus.PLANNED);
 
 		log.info("Current pool size BEFORE event processing: {}", schedulingPool.getSize());
@@ -4,8 +4,10 @@ import cz.metacentrum.perun.core.api.Destination;
 import cz.metacentrum.perun.engine.exceptions.TaskExecutionException;
 import cz.metacentrum.perun.taskslib.exceptions.TaskStoreException;
 import cz.metacentrum.perun.engine.jms.JMSQueueManager;
+import cz.metacentrum.perun.engine.scheduling.GenDataCache;
 import cz.metacentrum.perun.engine.scheduling.SchedulingPool;
 import cz.metacentrum.perun.engine.scheduling.impl.BlockingGenExecutorCompletionService;
+import cz.metacentrum.perun.engine.scheduling.impl.GenDataCacheImpl;
 import cz.metacentrum.perun.taskslib.model.Task;
 import cz.metacentrum.perun.taskslib.runners.impl.AbstractRunner;
 import org.slf4j.Logger;
@@ -45,14 +47,22 @@ public class GenCollector extends AbstractRunner {
 	private BlockingGenExecutorCompletionService genCompletionService;
 	@Autowired
 	private JMSQueueManager jmsQueueManager;
+	@Autowired
+	private GenDataCache genDataCache;
 
 	public GenCollector() {
 	}
 
 	public GenCollector(SchedulingPool schedulingPool, BlockingGenExecutorCompletionService genCompletionService, JMSQueueManager jmsQueueManager) {
+		this(schedulingPool, genCompletionService, jmsQueueManager, new GenDataCacheImpl(null));
+	}
+
+	public GenCollector(SchedulingPool schedulingPool, BlockingGenExecutorCompletionService genCompletionService,
+	                    JMSQueueManager jmsQueueManager, GenDataCache genDataCache) {
 		this.schedulingPool = schedulingPool;
 		this.genCompletionService = genCompletionService;
 		this.jmsQueueManager = jmsQueueManager;
+		this.genDataCache = genDataCache;
 	}
 
 	@Override
@@ -64,6 +74,8 @@ public class GenCollector extends AbstractRunner {
 				Task task = genCompletionService.blockingTake();
 				// set ok status immediately
 				task.setStatus(Task.TaskStatus.GENERATED);
+				// remember generated data, so they can be reused if SEND fails
+				genDataCache.storeGenerated(task);
 				// report to Dispatcher
 				try {
 					jmsQueueManager.reportTaskStatus(task.getId(), task.getStatus(), task.getGenEndTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
@@ -94,6 +106,8 @@ public class GenCollector extends AbstractRunner {
 				} else {
 
 					task.setStatus(GENERROR);
+					// failed GEN could have partially rewritten previously generated data
+					genDataCache.invalidate(task);
 
 					for (Destination dest : task.getDestinations()) {
 						try {
@@ -1,9 +1,11 @@
 package cz.metacentrum.perun.engine.runners;
 
 import cz.metacentrum.perun.engine.jms.JMSQueueManager;
+import cz.metacentrum.perun.engine.scheduling.GenDataCache;
 import cz.metacentrum.perun.engine.scheduling.GenWorker;
 import cz.metacentrum.perun.engine.scheduling.SchedulingPool;
 import cz.metacentrum.perun.engine.scheduling.impl.BlockingGenExecutorCompletionService;
+import cz.metacentrum.perun.engine.scheduling.impl.GenDataCacheImpl;
 import cz.metacentrum.perun.engine.scheduling.impl.GenWorkerImpl;
 import cz.metacentrum.perun.taskslib.model.Task;
 import cz.metacentrum.perun.taskslib.runners.impl.AbstractRunner;
@@ -13,10 +15,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.jms.JMSException;
 import java.io.File;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Properties;
 import java.util.concurrent.BlockingDeque;
 
+import static cz.metacentrum.perun.taskslib.model.Task.TaskStatus.GENERATED;
 import static cz.metacentrum.perun.taskslib.model.Task.TaskStatus.GENERATING;
 
 /**
@@ -27,7 +31,11 @@ import static cz.metacentrum.perun.taskslib.model.Task.TaskStatus.GENERATING;
  *
  * Expected Task status change PLANNED -> GENERATING is reported to Dispatcher.
  *
+ * If data previously generated for the Task can be reused (their SEND failed and source data hasn't changed since),
+ * GEN is skipped and Task is put directly to the generatedTasks blocking deque with status PLANNED -> GENERATED.
+ *
  * @see SchedulingPool#getNewTasksQueue()
+ * @see GenDataCache
  * @see BlockingGenExecutorCompletionService
  * @see GenWorkerImpl
  *
@@ -44,14 +52,22 @@ public class GenPlanner extends AbstractRunner {
 	private BlockingGenExecutorCompletionService genCompletionService;
 	@Autowired
 	private JMSQueueManager jmsQueueManager;
+	@Autowired
+	private GenDataCache genDataCache;
 	private File directory;
 
 	public GenPlanner() {}
 
 	public GenPlanner(SchedulingPool schedulingPool, BlockingGenExecutorCompletionService genCompletionService, JMSQueueManager jmsQueueManager) {
+		this(schedulingPool, genCompletionService, jmsQueueManager, new GenDataCacheImpl(null));
+	}
+
+	public GenPlanner(SchedulingPool schedulingPool, BlockingGenExecutorCompletionService genCompletionService,
+	                  JMSQueueManager jmsQueueManager, GenDataCache genDataCache) {
 		this.schedulingPool = schedulingPool;
 		this.genCompletionService = genCompletionService;
 		this.jmsQueueManager = jmsQueueManager;
+		this.genDataCache = genDataCache;
 	}
 
 	@Override
@@ -61,6 +77,10 @@ public class GenPlanner extends AbstractRunner {
 			try {
 				log.debug("Getting new Task in the newTasks BlockingDeque");
 				Task task = newTasks.take();
+				if (genDataCache.canReuse(task)) {
+					reusePreviouslyGenerated(task);
+					continue;
+				}
 				/*
 				!! Change status immediately, so it won't be picked by PropagationMaintainer#endStuckTasks()
 				because we might be waiting on blockingSubmit() here !!
@@ -85,6 +105,26 @@ public class GenPlanner extends AbstractRunner {
 		}
 	}
 
+	/**
+	 * Skip GEN of the Task, since previously generated data can be sent again.
+	 *
+	 * @param task Task to be sent with previously generated data
+	 * @throws InterruptedException when putting Task to generated queue is interrupted
+	 */
+	private void reusePreviouslyGenerated(Task task) throws InterruptedException {
+		log.info("[{}] Source data not changed since last GEN, previously generated data will be sent again.", task.getId());
+		LocalDateTime now = LocalDateTime.now();
+		task.setGenStartTime(now);
+		task.setGenEndTime(now);
+		task.setStatus(GENERATED);
+		try {
+			jmsQueueManager.reportTaskStatus(task.getId(), task.getStatus(), task.getGenEndTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+		} catch (JMSException e) {
+			log.warn("[{}] Could not send Tasks {} GEN status update: {}", task.getId(), task, e);
+		}
+		schedulingPool.getGeneratedTasksQueue().put(task);
+	}
+
 	@Autowired
 	public void setPropertiesBean(Properties propertiesBean) {
 		if (propertiesBean != null) {
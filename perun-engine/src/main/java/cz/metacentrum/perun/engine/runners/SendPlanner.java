@@ -18,8 +18,13 @@ import javax.jms.JMSException;
 import java.io.File;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static cz.metacentrum.perun.taskslib.model.SendTask.SendTaskStatus.SENDING;
 
@@ -33,6 +38,12 @@ import static cz.metacentrum.perun.taskslib.model.SendTask.SendTaskStatus.SENDIN
  * Expected Task status change GENERATED -> SENDING is reported to Dispatcher.
  * For Tasks without any Destination, status changes GENERATED -> ERROR and Task is removed from SchedulingPool (Engine).
  *
+ * If "engine.sendtasks.batch.window" is set (in milliseconds), planner waits up to this time for more GENERATED Tasks
+ * after taking the first one. SendTasks of the whole batch are then grouped by Destination and submitted together.
+ * SendWorkers targeting same Destination more than once within the batch are given shared SSH control path
+ * ("engine.sendtasks.multiplex.path"), so send scripts can reuse single multiplexed connection instead
+ * of opening new SSH session for each Service.
+ *
  * @see SchedulingPool#getGeneratedTasksQueue()
  * @see SendTask
  * @see SendWorkerImpl
@@ -52,6 +63,8 @@ public class SendPlanner extends AbstractRunner {
 	@Autowired
 	private JMSQueueManager jmsQueueManager;
 	private File directory;
+	private long batchWindow = 0;
+	private String multiplexPath = null;
 
 	public SendPlanner() {
 	}
@@ -67,45 +80,25 @@ public class SendPlanner extends AbstractRunner {
 	public void run() {
 		BlockingQueue<Task> generatedTasks = schedulingPool.getGeneratedTasksQueue();
 		while (!shouldStop()) {
+			List<Task> batch = new ArrayList<>();
 			try {
-				Task task = generatedTasks.take();
-				// set Task status immediately
-				// no destination -> ERROR
-				// has destinations -> SENDING
-				if (task.getDestinations().isEmpty()) {
-					task.setStatus(Task.TaskStatus.ERROR);
-					try {
-						jmsQueueManager.reportTaskStatus(task.getId(), task.getStatus(), System.currentTimeMillis());
-					} catch (JMSException e) {
-						jmsLogError(task);
-					}
-					try {
-						schedulingPool.removeTask(task);
-					} catch (TaskStoreException e) {
-						log.error("[{}] Generated Task without destinations could not be removed from SchedulingPool: {}", task.getId(), e);
-					}
-					// skip to next generated Task
-					continue;
-				}
-				// Task has destinations
-				task.setStatus(Task.TaskStatus.SENDING);
-				// TODO - would be probably better to have this as one time call after first SendWorker is submitted
-				// TODO   but then processing stuck tasks must reflect, that SENDING task might have sendStartTime=NULL
-				task.setSendStartTime(LocalDateTime.now());
-
-				schedulingPool.addSendTaskCount(task, task.getDestinations().size());
 				try {
-					jmsQueueManager.reportTaskStatus(task.getId(), task.getStatus(), task.getSendStartTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
-				} catch (JMSException e) {
-					jmsLogError(task);
-				}
-
-				// create SendTask and SendWorker for each Destination
-				for (Destination destination : task.getDestinations()) {
-					// submit for execution
-					SendTask sendTask = new SendTask(task, destination);
-					SendWorker worker = new SendWorkerImpl(sendTask, directory);
-					sendCompletionService.blockingSubmit(worker);
+					batch.add(generatedTasks.take());
+					if (batchWindow > 0) {
+						// wait for other Tasks generated in a short window, so we can group them by Destination
+						long deadline = System.currentTimeMillis() + batchWindow;
+						long remaining = batchWindow;
+						while (remaining > 0) {
+							Task next = generatedTasks.poll(remaining, TimeUnit.MILLISECONDS);
+							if (next == null) break;
+							batch.add(next);
+							remaining = deadline - System.currentTimeMillis();
+						}
+						log.debug("Planning SEND of {} Tasks generated within {} ms.", batch.size(), batchWindow);
+					}
+				} finally {
+					// Tasks already taken from the queue are planned even if collecting of the batch was interrupted
+					if (!batch.isEmpty()) planSendTasks(batch);
 				}
 
 			} catch (InterruptedException e) {
@@ -120,6 +113,78 @@ public class SendPlanner extends AbstractRunner {
 		}
 	}
 
+	/**
+	 * Create SendTasks of the batch grouped by Destination and submit SendWorker for each of them.
+	 *
+	 * @param batch GENERATED Tasks
+	 * @throws InterruptedException if thread is interrupted while waiting for submission
+	 */
+	private void planSendTasks(List<Task> batch) throws InterruptedException {
+		// group SendTasks by Destination, keep order in which Tasks were generated
+		Map<String, List<SendTask>> sendTasksByDestination = new LinkedHashMap<>();
+		for (Task generatedTask : batch) {
+			if (!startSending(generatedTask)) continue;
+			for (Destination destination : generatedTask.getDestinations()) {
+				sendTasksByDestination.computeIfAbsent(destination.getDestination(), k -> new ArrayList<>())
+						.add(new SendTask(generatedTask, destination));
+			}
+		}
+
+		// create SendWorker for each SendTask
+		for (Map.Entry<String, List<SendTask>> entry : sendTasksByDestination.entrySet()) {
+			String controlPath = (multiplexPath != null && entry.getValue().size() > 1) ? multiplexPath : null;
+			if (controlPath != null) {
+				log.debug("Destination {} is targeted by {} SendTasks, they will share SSH connection.",
+						entry.getKey(), entry.getValue().size());
+			}
+			for (SendTask sendTask : entry.getValue()) {
+				// submit for execution
+				SendWorker worker = new SendWorkerImpl(sendTask, directory, controlPath);
+				sendCompletionService.blockingSubmit(worker);
+			}
+		}
+	}
+
+	/**
+	 * Set Task status to SENDING and report it to Dispatcher.
+	 * Tasks without any Destination are set to ERROR and removed from SchedulingPool.
+	 *
+	 * @param task GENERATED Task
+	 * @return TRUE if Task has Destinations and its SendTasks should be planned, FALSE otherwise
+	 */
+	private boolean startSending(Task task) {
+		// set Task status immediately
+		// no destination -> ERROR
+		// has destinations -> SENDING
+		if (task.getDestinations().isEmpty()) {
+			task.setStatus(Task.TaskStatus.ERROR);
+			try {
+				jmsQueueManager.reportTaskStatus(task.getId(), task.getStatus(), System.currentTimeMillis());
+			} catch (JMSException e) {
+				jmsLogError(task);
+			}
+			try {
+				schedulingPool.removeTask(task);
+			} catch (TaskStoreException e) {
+				log.error("[{}] Generated Task without destinations could not be removed from SchedulingPool: {}", task.getId(), e);
+			}
+			return false;
+		}
+		// Task has destinations
+		task.setStatus(Task.TaskStatus.SENDING);
+		// TODO - would be probably better to have this as one time call after first SendWorker is submitted
+		// TODO   but then processing stuck tasks must reflect, that SENDING task might have sendStartTime=NULL
+		task.setSendStartTime(LocalDateTime.now());
+
+		schedulingPool.addSendTaskCount(task, task.getDestinations().size());
+		try {
+			jmsQueueManager.reportTaskStatus(task.getId(), task.getStatus(), task.getSendStartTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+		} catch (JMSException e) {
+			jmsLogError(task);
+		}
+		return true;
+	}
+
 	private void jmsLogError(Task task) {
 		log.warn("[{}] Could not send SEND status update to {} to Dispatcher.", task.getId(), task.getStatus());
 	}
@@ -128,6 +193,17 @@ public class SendPlanner extends AbstractRunner {
 	public void setPropertiesBean(Properties propertiesBean) {
 		if (propertiesBean != null) {
 			directory = new File(propertiesBean.getProperty("engine.sendscript.path"));
+			batchWindow = Long.parseLong(propertiesBean.getProperty("engine.sendtasks.batch.window", "0"));
+			String path = propertiesBean.getProperty("engine.sendtasks.multiplex.path", "");
+			if (!path.isEmpty()) {
+				File multiplexDir = new File(path);
+				if (multiplexDir.isDirectory() || multiplexDir.mkdirs()) {
+					// %C is expanded by SSH to hash of local host, remote host, port and user
+					multiplexPath = new File(multiplexDir, "%C").getPath();
+				} else {
+					log.warn("Directory {} for multiplexed SSH connections can't be created, connections won't be shared.", path);
+				}
+			}
 		}
 	}
 
@@ -0,0 +1,50 @@
+package cz.metacentrum.perun.engine.scheduling;
+
+import cz.metacentrum.perun.taskslib.model.Task;
+
+/**
+ * Keeps metadata about data generated by GEN scripts for each <Facility, Service> pair,
+ * so SEND can be retried without running GEN again, when source data hasn't changed since last generation.
+ *
+ * Generated data itself are stored on local disk by GEN scripts, from where SEND scripts read them.
+ * Cache only knows, when they were generated, id of the last audit message changing their source data
+ * and whether their SEND failed.
+ *
+ * @see cz.metacentrum.perun.engine.runners.GenPlanner
+ * @see cz.metacentrum.perun.engine.runners.GenCollector
+ */
+public interface GenDataCache {
+
+	/**
+	 * Return TRUE if previously generated data can be sent again instead of running GEN for the Task.
+	 * It is only possible, when last SEND of the data failed, Task is not forced and there was no change
+	 * of source data since the data were generated.
+	 *
+	 * @param task Task to be generated
+	 * @return TRUE if previously generated data can be reused
+	 */
+	boolean canReuse(Task task);
+
+	/**
+	 * Store metadata about successfully generated data of the Task.
+	 *
+	 * @param task GENERATED Task
+	 */
+	void storeGenerated(Task task);
+
+	/**
+	 * Store outcome of SEND for the Task. Data of successfully sent Tasks are no longer kept for reuse.
+	 *
+	 * @param task finished Task (DONE, WARNING or SENDERROR)
+	 */
+	void storeSendResult(Task task);
+
+	/**
+	 * Forget generated data of the Task, so next propagation runs GEN again.
+	 * Used when GEN fails, since it could leave the data partially rewritten.
+	 *
+	 * @param task Task whose data are no longer valid
+	 */
+	void invalidate(Task task);
+
+}
@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Common implementation of EngineWorker interface. Represents Thread, which is started by BlockingCompletionService.
@@ -25,6 +26,9 @@ public abstract class AbstractWorker<V> implements EngineWorker<V> {
 	private Integer returnCode = -1;
 	private String stdout = null;
 	private String stderr = null;
+	private long startDuration = 0;
+	private long runDuration = 0;
+	private long drainDuration = 0;
 
 	@Override
 	public abstract V call() throws TaskExecutionException;
@@ -67,8 +71,37 @@ public abstract class AbstractWorker<V> implements EngineWorker<V> {
 	}
 
 	/**
-	 * Execute script defined by java ProcessBuilder
+	 * Get time in ms spent by starting (forking) the script process.
 	 *
+	 * @return time in ms
+	 */
+	public long getStartDuration() {
+		return startDuration;
+	}
+
+	/**
+	 * Get time in ms from start of the script process until it exited.
+	 *
+	 * @return time in ms
+	 */
+	public long getRunDuration() {
+		return runDuration;
+	}
+
+	/**
+	 * Get time in ms spent by reading captured STDOUT and STDERR after script process exited.
+	 *
+	 * @return time in ms
+	 */
+	public long getDrainDuration() {
+		return drainDuration;
+	}
+
+	/**
+	 * Execute script defined by java ProcessBuilder.
+	 * Output of the script is redirected to temporary files and read after the script exits.
+	 *
+	 * @see ProcessOutputCapture
 	 * @param pb ProcessBuilder
 	 * @throws InterruptedException Usually when Engine shuts down.
 	 * @throws IOException If running script was terminated by outer process.
@@ -81,20 +114,24 @@ public abstract class AbstractWorker<V> implements EngineWorker<V> {
 			pb.directory(getDirectory());
 		}
 
-		Process process = pb.start();
-
-		StreamGobbler errorGobbler = new StreamGobbler(process.getErrorStream());
-		StreamGobbler outputGobbler = new StreamGobbler(process.getInputStream());
+		try (ProcessOutputCapture output = ProcessOutputCapture.redirect(pb)) {
+			long started = System.nanoTime();
+			Process process = pb.start();
+			long running = System.nanoTime();
 
-		errorGobbler.start();
-		outputGobbler.start();
+			returnCode = process.waitFor();
+			long exited = System.nanoTime();
 
-		returnCode = process.waitFor();
+			stderr = output.getStderr();
+			stdout = output.getStdout();
+			long drained = System.nanoTime();
 
-		while (errorGobbler.isAlive() || outputGobbler.isAlive()) Thread.sleep(50);
-
-		stderr = errorGobbler.getSb();
-		stdout = outputGobbler.getSb();
+			startDuration = TimeUnit.NANOSECONDS.toMillis(running - started);
+			runDuration = TimeUnit.NANOSECONDS.toMillis(exited - running);
+			drainDuration = TimeUnit.NANOSECONDS.toMillis(drained - exited);
+			log.debug("Script {} finished with {}, start: {} ms, run: {} ms, drain: {} ms.",
+					pb.command(), returnCode, startDuration, runDuration, drainDuration);
+		}
 
 	}
 
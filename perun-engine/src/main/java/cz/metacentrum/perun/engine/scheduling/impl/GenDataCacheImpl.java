@@ -0,0 +1,171 @@
+package cz.metacentrum.perun.engine.scheduling.impl;
+
+import cz.metacentrum.perun.engine.scheduling.GenDataCache;
+import cz.metacentrum.perun.taskslib.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static cz.metacentrum.perun.taskslib.model.Task.TaskStatus.SENDERROR;
+
+/**
+ * Implementation of GenDataCache, which keeps metadata in memory and in a properties file for each
+ * <Facility, Service> pair in directory set by "engine.gencache.path", so they survive Engine restart.
+ * If directory is not set, cache is disabled and GEN is always run.
+ *
+ * Generated data are not copied by the cache. Reused data are read by SEND scripts from the GEN spool, where they
+ * were written by the last GEN, so metadata have to be invalidated whenever the spool could have been changed.
+ *
+ * Metadata are kept at most "engine.gencache.maxage" minutes.
+ *
+ * @see GenDataCache
+ */
+@org.springframework.stereotype.Service(value = "genDataCache")
+public class GenDataCacheImpl implements GenDataCache {
+
+	private final static Logger log = LoggerFactory.getLogger(GenDataCacheImpl.class);
+
+	private static final String GEN_START_TIME = "genStartTime";
+	private static final String GEN_END_TIME = "genEndTime";
+	private static final String SOURCE_UPDATED_AUDIT_MESSAGE_ID = "sourceUpdatedAuditMessageId";
+	private static final String SEND_FAILED = "sendFailed";
+
+	private final ConcurrentMap<String, Properties> entries = new ConcurrentHashMap<>();
+	private File directory;
+	private long maxAge = 180;
+
+	public GenDataCacheImpl() {
+	}
+
+	/**
+	 * Create cache storing its metadata in given directory.
+	 *
+	 * @param directory directory for metadata or NULL to disable cache
+	 */
+	public GenDataCacheImpl(File directory) {
+		this.directory = directory;
+	}
+
+	@Override
+	public boolean canReuse(Task task) {
+		if (directory == null || task.isPropagationForced() || task.getSourceUpdatedAuditMessageId() == null) return false;
+
+		Properties entry = getEntry(task);
+		if (entry == null || !Boolean.parseBoolean(entry.getProperty(SEND_FAILED))) return false;
+
+		LocalDateTime genStartTime = LocalDateTime.parse(entry.getProperty(GEN_START_TIME));
+		if (genStartTime.isBefore(LocalDateTime.now().minusMinutes(maxAge))) {
+			log.debug("[{}] Generated data are too old to be reused, generated at {}.", task.getId(), genStartTime);
+			return false;
+		}
+		// compare audit message ids instead of times, since source change time is taken on Dispatcher side
+		String generatedAuditMessageId = entry.getProperty(SOURCE_UPDATED_AUDIT_MESSAGE_ID, "");
+		if (generatedAuditMessageId.isEmpty() || task.getSourceUpdatedAuditMessageId() > Integer.parseInt(generatedAuditMessageId)) {
+			log.debug("[{}] Source data changed by audit message {} after data were generated from audit message {}.", task.getId(),
+					task.getSourceUpdatedAuditMessageId(), generatedAuditMessageId);
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void storeGenerated(Task task) {
+		if (directory == null || task.getGenStartTime() == null) return;
+
+		Properties entry = new Properties();
+		entry.setProperty(GEN_START_TIME, task.getGenStartTime().toString());
+		entry.setProperty(GEN_END_TIME, Objects.toString(task.getGenEndTime(), ""));
+		entry.setProperty(SOURCE_UPDATED_AUDIT_MESSAGE_ID, Objects.toString(task.getSourceUpdatedAuditMessageId(), ""));
+		entry.setProperty(SEND_FAILED, Boolean.FALSE.toString());
+		putEntry(task, entry);
+	}
+
+	@Override
+	public void storeSendResult(Task task) {
+		if (directory == null) return;
+
+		if (Objects.equals(task.getStatus(), SENDERROR)) {
+			Properties entry = getEntry(task);
+			if (entry != null) {
+				entry.setProperty(SEND_FAILED, Boolean.TRUE.toString());
+				putEntry(task, entry);
+			}
+		} else {
+			// data were sent, next propagation should generate them again
+			invalidate(task);
+		}
+	}
+
+	@Override
+	public void invalidate(Task task) {
+		if (directory == null) return;
+
+		entries.remove(getKey(task));
+		File file = getFile(task);
+		if (file.exists() && !file.delete()) {
+			log.warn("[{}] Could not remove generated data metadata {}.", task.getId(), file);
+		}
+	}
+
+	private Properties getEntry(Task task) {
+		return entries.computeIfAbsent(getKey(task), key -> {
+			File file = getFile(task);
+			if (!file.exists()) return null;
+			Properties entry = new Properties();
+			try (InputStream is = new FileInputStream(file)) {
+				entry.load(is);
+				return entry;
+			} catch (IOException e) {
+				log.warn("[{}] Could not read generated data metadata {}: {}", task.getId(), file, e.getMessage());
+				return null;
+			}
+		});
+	}
+
+	private void putEntry(Task task, Properties entry) {
+		entries.put(getKey(task), entry);
+		File file = getFile(task);
+		try (OutputStream os = new FileOutputStream(file)) {
+			entry.store(os, "Generated data of " + task.getService().getName() + " for " + task.getFacility().getName());
+		} catch (IOException e) {
+			log.warn("[{}] Could not write generated data metadata {}: {}", task.getId(), file, e.getMessage());
+		}
+	}
+
+	private String getKey(Task task) {
+		return task.getFacilityId() + "_" + task.getServiceId();
+	}
+
+	private File getFile(Task task) {
+		return new File(directory, getKey(task) + ".properties");
+	}
+
+	@Autowired
+	public void setPropertiesBean(Properties propertiesBean) {
+		if (propertiesBean != null) {
+			String path = propertiesBean.getProperty("engine.gencache.path", "");
+			if (!path.isEmpty()) {
+				File dir = new File(path);
+				if (dir.isDirectory() || dir.mkdirs()) {
+					directory = dir;
+				} else {
+					log.warn("Directory {} for generated data metadata can't be created, GEN will always run.", path);
+				}
+			}
+			maxAge = Long.parseLong(propertiesBean.getProperty("engine.gencache.maxage", "180"));
+		}
+	}
+
+}
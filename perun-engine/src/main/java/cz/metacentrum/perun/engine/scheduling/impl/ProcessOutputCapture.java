@@ -0,0 +1,120 @@
+package cz.metacentrum.perun.engine.scheduling.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Captures STDOUT and STDERR of a script run by GEN and SEND workers without any reader threads.
+ *
+ * Both streams are redirected by the OS to temporary files of the process, so the process never blocks on a full pipe
+ * and no thread of the engine has to drain it. Output is read from the files after the process exits, bounded
+ * to MAX_CAPTURED_BYTES per stream, the rest of the file is skipped. Output written by background children
+ * of the script after it exited is captured only if it is written before the files are read.
+ * Files are deleted when the capture is closed.
+ *
+ * @see AbstractWorker
+ */
+class ProcessOutputCapture implements Closeable {
+
+	private final static Logger log = LoggerFactory.getLogger(ProcessOutputCapture.class);
+
+	/**
+	 * Max size of captured output per stream (STDOUT or STDERR) of one script.
+	 */
+	static final int MAX_CAPTURED_BYTES = 1024 * 1024;
+
+	private final Path stdout;
+	private final Path stderr;
+
+	private ProcessOutputCapture(Path stdout, Path stderr) {
+		this.stdout = stdout;
+		this.stderr = stderr;
+	}
+
+	/**
+	 * Redirect STDOUT and STDERR of the process, which will be started by the builder, to new temporary files.
+	 *
+	 * @param pb builder of the process
+	 * @return capture to read the output from after the process exits
+	 * @throws IOException when temporary files can't be created
+	 */
+	static ProcessOutputCapture redirect(ProcessBuilder pb) throws IOException {
+		Path stdout = Files.createTempFile("perun-engine-", ".stdout");
+		Path stderr;
+		try {
+			stderr = Files.createTempFile("perun-engine-", ".stderr");
+		} catch (IOException e) {
+			Files.deleteIfExists(stdout);
+			throw e;
+		}
+		pb.redirectOutput(ProcessBuilder.Redirect.to(stdout.toFile()));
+		pb.redirectError(ProcessBuilder.Redirect.to(stderr.toFile()));
+		return new ProcessOutputCapture(stdout, stderr);
+	}
+
+	/**
+	 * @return captured STDOUT
+	 * @throws IOException when output file can't be read
+	 */
+	String getStdout() throws IOException {
+		return read(stdout);
+	}
+
+	/**
+	 * @return captured STDERR
+	 * @throws IOException when output file can't be read
+	 */
+	String getStderr() throws IOException {
+		return read(stderr);
+	}
+
+	/**
+	 * Read start of the output file bounded to MAX_CAPTURED_BYTES.
+	 */
+	private static String read(Path file) throws IOException {
+		byte[] captured;
+		try (InputStream is = Files.newInputStream(file)) {
+			captured = is.readNBytes(MAX_CAPTURED_BYTES);
+		}
+		String result = new String(captured, Charset.defaultCharset());
+		long dropped = Files.size(file) - captured.length;
+		if (dropped > 0) {
+			result += "\n... output truncated, " + dropped + " bytes dropped\n";
+		}
+		return result;
+	}
+
+	/**
+	 * Delete the output files.
+	 */
+	@Override
+	public void close() {
+		delete(stdout);
+		delete(stderr);
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.error("Unable to delete output file {} of the script.", file, e);
+		}
+	}
+
+	File getStdoutFile() {
+		return stdout.toFile();
+	}
+
+	File getStderrFile() {
+		return stderr.toFile();
+	}
+
+}
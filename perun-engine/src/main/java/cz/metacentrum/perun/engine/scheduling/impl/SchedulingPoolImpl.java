@@ -3,6 +3,7 @@ package cz.metacentrum.perun.engine.scheduling.impl;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Service;
 import cz.metacentrum.perun.engine.jms.JMSQueueManager;
+import cz.metacentrum.perun.engine.scheduling.GenDataCache;
 import cz.metacentrum.perun.taskslib.exceptions.TaskStoreException;
 import cz.metacentrum.perun.engine.scheduling.SchedulingPool;
 import cz.metacentrum.perun.taskslib.model.TaskResult;
@@ -38,13 +39,20 @@ public class SchedulingPoolImpl implements SchedulingPool {
 	private TaskStore taskStore;
 	@Autowired
 	private JMSQueueManager jmsQueueManager;
+	@Autowired
+	private GenDataCache genDataCache;
 
 	public SchedulingPoolImpl() {
 	}
 
 	public SchedulingPoolImpl(TaskStore taskStore,  JMSQueueManager jmsQueueManager) {
+		this(taskStore, jmsQueueManager, new GenDataCacheImpl(null));
+	}
+
+	public SchedulingPoolImpl(TaskStore taskStore,  JMSQueueManager jmsQueueManager, GenDataCache genDataCache) {
 		this.taskStore = taskStore;
 		this.jmsQueueManager = jmsQueueManager;
+		this.genDataCache = genDataCache;
 	}
 
 	@Override
@@ -135,6 +143,7 @@ public class SchedulingPoolImpl implements SchedulingPool {
 			if(task.getSendEndTime() == null) {
 				task.setSendEndTime(LocalDateTime.now());
 			}
+			genDataCache.storeSendResult(task);
 			try {
 				jmsQueueManager.reportTaskStatus(task.getId(), task.getStatus(), System.currentTimeMillis());
 			} catch (JMSException | InterruptedException e) {
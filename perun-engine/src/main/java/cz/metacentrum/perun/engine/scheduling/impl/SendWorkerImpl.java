@@ -35,11 +35,30 @@ public class SendWorkerImpl extends AbstractWorker<SendTask> implements SendWork
 
 	private final static Logger log = LoggerFactory.getLogger(SendWorkerImpl.class);
 
+	/**
+	 * Name of environment variable passed to SEND script with SSH control path of shared (multiplexed) connection.
+	 */
+	public static final String SSH_CONTROL_PATH_ENV = "PERUN_SSH_CONTROL_PATH";
+
 	private SendTask sendTask;
+	private String controlPath;
 
 	public SendWorkerImpl(SendTask sendTask, File directory) {
+		this(sendTask, directory, null);
+	}
+
+	/**
+	 * Create SendWorker, which allows SEND script to share SSH connection with other
+	 * SendWorkers targeting same Destination.
+	 *
+	 * @param sendTask SendTask to execute
+	 * @param directory Directory to look for scripts
+	 * @param controlPath SSH control path for shared connection or NULL if connection shouldn't be shared
+	 */
+	public SendWorkerImpl(SendTask sendTask, File directory, String controlPath) {
 		if (sendTask == null) throw new IllegalArgumentException("SendTask to execute can't be null.");
 		this.sendTask = sendTask;
+		this.controlPath = controlPath;
 		setDirectory(directory);
 	}
 
@@ -76,6 +95,10 @@ public class SendWorkerImpl extends AbstractWorker<SendTask> implements SendWork
 				sendTask.getDestination().getDestination(),
 				sendTask.getDestination().getType()
 		);
+		if (controlPath != null) {
+			// send script can use it as SSH ControlPath for ControlMaster=auto
+			pb.environment().put(SSH_CONTROL_PATH_ENV, controlPath);
+		}
 
 		try {
 
@@ -130,4 +153,13 @@ public class SendWorkerImpl extends AbstractWorker<SendTask> implements SendWork
 		return sendTask;
 	}
 
+	/**
+	 * Get SSH control path of connection shared with other SendWorkers targeting same Destination.
+	 *
+	 * @return SSH control path or NULL if connection is not shared
+	 */
+	public String getControlPath() {
+		return controlPath;
+	}
+
 }
@@ -0,0 +1,47 @@
+package cz.metacentrum.perun.engine.scheduling.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProcessOutputCaptureTest {
+
+	private static final String CLASS_NAME = "ProcessOutputCaptureTest.";
+
+	@Test
+	public void testLargeOutputIsTruncated() throws Exception {
+		System.out.println(CLASS_NAME + "testLargeOutputIsTruncated");
+
+		ProcessBuilder pb = new ProcessBuilder("sh", "-c",
+				"head -c 3000000 /dev/zero | tr '\\0' 'a'; head -c 100000 /dev/zero | tr '\\0' 'b' >&2");
+		try (ProcessOutputCapture output = ProcessOutputCapture.redirect(pb)) {
+			assertEquals(0, pb.start().waitFor());
+
+			String expectedSuffix = "\n... output truncated, " + (3000000 - ProcessOutputCapture.MAX_CAPTURED_BYTES) + " bytes dropped\n";
+			assertEquals("a".repeat(ProcessOutputCapture.MAX_CAPTURED_BYTES) + expectedSuffix, output.getStdout());
+			assertEquals("b".repeat(100000), output.getStderr());
+		}
+	}
+
+	@Test
+	public void testOutputFilesAreDeletedOnClose() throws Exception {
+		System.out.println(CLASS_NAME + "testOutputFilesAreDeletedOnClose");
+
+		ProcessBuilder pb = new ProcessBuilder("sh", "-c", "echo out; echo error >&2");
+		ProcessOutputCapture output = ProcessOutputCapture.redirect(pb);
+		try {
+			assertEquals(0, pb.start().waitFor());
+			assertEquals("out\n", output.getStdout());
+			assertEquals("error\n", output.getStderr());
+			assertTrue(output.getStdoutFile().exists());
+			assertTrue(output.getStderrFile().exists());
+		} finally {
+			output.close();
+		}
+		assertFalse(output.getStdoutFile().exists());
+		assertFalse(output.getStderrFile().exists());
+	}
+
+}
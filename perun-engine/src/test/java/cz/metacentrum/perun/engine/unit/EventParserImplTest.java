@@ -10,8 +10,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import cz.metacentrum.perun.engine.AbstractEngineTest;
 import cz.metacentrum.perun.engine.processing.EventParser;
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
+import cz.metacentrum.perun.taskslib.messages.TaskMessageCodec;
 import cz.metacentrum.perun.taskslib.model.Task;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Tests of EventParserImpl which is responsible for parsing events received from JSM.
  *
@@ -47,4 +52,30 @@ public class EventParserImplTest extends AbstractEngineTest {
 
 	}
 
+	@Test
+	public void parseBinaryTaskTest() throws Exception {
+		System.out.println("EventParserImpl.parseBinaryTaskTest");
+
+		StringBuilder destinations = new StringBuilder("Destinations [");
+		for (Destination destination : task1.getDestinations()) {
+			destinations.append(destination.serializeToString()).append(", ");
+		}
+		destinations.append("]");
+
+		TaskAssignment assignment = new TaskAssignment(task1.getId(), true, 1000,
+				task1.getService().serializeToString(), task1.getFacility().serializeToString(), destinations.toString());
+		byte[] message = TaskMessageCodec.encodeTaskAssignments(Collections.singletonList(assignment));
+
+		Assert.isTrue(TaskMessageCodec.readType(message) == TaskMessageCodec.Type.TASK_ASSIGNMENTS, "message contains task assignments");
+		List<TaskAssignment> assignments = TaskMessageCodec.decodeTaskAssignments(message);
+		Assert.isTrue(assignments.size() == 1, "message contains one task");
+
+		Task task2 = eventParser.parseTask(assignments.get(0));
+
+		Assert.isTrue(task1.equals(task2), "task1 equals task2");
+		Assert.isTrue(task2.isPropagationForced(), "task2 is forced");
+		Assert.isTrue(Integer.valueOf(1000).equals(task2.getSourceUpdatedAuditMessageId()), "task2 has source updated audit message id");
+
+	}
+
 }
@@ -3,6 +3,7 @@ package cz.metacentrum.perun.engine.unit;
 import cz.metacentrum.perun.engine.AbstractEngineTest;
 import cz.metacentrum.perun.engine.exceptions.TaskExecutionException;
 import cz.metacentrum.perun.engine.runners.GenCollector;
+import cz.metacentrum.perun.engine.scheduling.GenDataCache;
 import cz.metacentrum.perun.engine.scheduling.impl.BlockingGenExecutorCompletionService;
 import cz.metacentrum.perun.taskslib.model.Task;
 import org.junit.Before;
@@ -66,4 +67,19 @@ public class GenCollectorTest extends AbstractEngineTest {
 		verify(schedulingPoolMock, times(1)).removeTask(task1.getId());
 		assertTrue(generatedTasksQueue.isEmpty());
 	}
+
+	@Test
+	public void testGenCollectorTaskExceptionInvalidatesGeneratedData() throws Exception {
+		GenDataCache genDataCacheMock = mock(GenDataCache.class);
+		GenCollector genCollector = spy(new GenCollector(schedulingPoolMock, genCompletionServiceMock, jmsQueueManagerMock, genDataCacheMock));
+
+		when(schedulingPoolMock.getGeneratedTasksQueue()).thenReturn(generatedTasksQueue);
+		when(genCompletionServiceMock.blockingTake()).thenThrow(new TaskExecutionException(task1, "Test err"));
+		doReturn(false, true).when(genCollector).shouldStop();
+
+		genCollector.run();
+
+		verify(genDataCacheMock, times(1)).invalidate(task1);
+		verify(genDataCacheMock, never()).storeGenerated(any());
+	}
 }
@@ -0,0 +1,135 @@
+package cz.metacentrum.perun.engine.unit;
+
+import cz.metacentrum.perun.engine.AbstractEngineTest;
+import cz.metacentrum.perun.engine.scheduling.impl.GenDataCacheImpl;
+import cz.metacentrum.perun.taskslib.model.Task;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GenDataCacheImplTest extends AbstractEngineTest {
+
+	private static final String CLASS_NAME = "GenDataCacheImplTest.";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private GenDataCacheImpl genDataCache;
+
+	@Before
+	public void setUpCache() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty("engine.gencache.path", folder.getRoot().getAbsolutePath());
+		properties.setProperty("engine.gencache.maxage", "60");
+		genDataCache = new GenDataCacheImpl();
+		genDataCache.setPropertiesBean(properties);
+
+		task1.setPropagationForced(false);
+		task1.setGenStartTime(LocalDateTime.now());
+		task1.setGenEndTime(LocalDateTime.now());
+		task1.setSourceUpdatedAuditMessageId(100);
+	}
+
+	@Test
+	public void reuseDataWhenSendFailed() {
+		System.out.println(CLASS_NAME + "reuseDataWhenSendFailed");
+
+		genDataCache.storeGenerated(task1);
+		assertFalse(genDataCache.canReuse(task1));
+
+		task1.setStatus(Task.TaskStatus.SENDERROR);
+		genDataCache.storeSendResult(task1);
+		assertTrue(genDataCache.canReuse(task1));
+
+		task1.setPropagationForced(true);
+		assertFalse(genDataCache.canReuse(task1));
+	}
+
+	@Test
+	public void reuseDataAfterRestart() {
+		System.out.println(CLASS_NAME + "reuseDataAfterRestart");
+
+		genDataCache.storeGenerated(task1);
+		task1.setStatus(Task.TaskStatus.SENDERROR);
+		genDataCache.storeSendResult(task1);
+
+		GenDataCacheImpl restartedCache = new GenDataCacheImpl(folder.getRoot());
+		assertTrue(restartedCache.canReuse(task1));
+	}
+
+	@Test
+	public void doNotReuseDataAfterSuccessfulSend() {
+		System.out.println(CLASS_NAME + "doNotReuseDataAfterSuccessfulSend");
+
+		genDataCache.storeGenerated(task1);
+		task1.setStatus(Task.TaskStatus.DONE);
+		genDataCache.storeSendResult(task1);
+		assertFalse(genDataCache.canReuse(task1));
+	}
+
+	@Test
+	public void doNotReuseDataAfterFailedGen() {
+		System.out.println(CLASS_NAME + "doNotReuseDataAfterFailedGen");
+
+		genDataCache.storeGenerated(task1);
+		task1.setStatus(Task.TaskStatus.SENDERROR);
+		genDataCache.storeSendResult(task1);
+
+		task1.setStatus(Task.TaskStatus.GENERROR);
+		genDataCache.invalidate(task1);
+		assertFalse(genDataCache.canReuse(task1));
+
+		GenDataCacheImpl restartedCache = new GenDataCacheImpl(folder.getRoot());
+		assertFalse(restartedCache.canReuse(task1));
+	}
+
+	@Test
+	public void doNotReuseTooOldData() {
+		System.out.println(CLASS_NAME + "doNotReuseTooOldData");
+
+		task1.setGenStartTime(LocalDateTime.now().minusMinutes(61));
+		genDataCache.storeGenerated(task1);
+		task1.setStatus(Task.TaskStatus.SENDERROR);
+		genDataCache.storeSendResult(task1);
+		assertFalse(genDataCache.canReuse(task1));
+	}
+
+	@Test
+	public void doNotReuseDataWhenSourceChanged() {
+		System.out.println(CLASS_NAME + "doNotReuseDataWhenSourceChanged");
+
+		genDataCache.storeGenerated(task1);
+		task1.setStatus(Task.TaskStatus.SENDERROR);
+		genDataCache.storeSendResult(task1);
+
+		task1.setSourceUpdatedAuditMessageId(101);
+		assertFalse(genDataCache.canReuse(task1));
+
+		task1.setSourceUpdatedAuditMessageId(null);
+		assertFalse(genDataCache.canReuse(task1));
+
+		task1.setSourceUpdatedAuditMessageId(100);
+		assertTrue(genDataCache.canReuse(task1));
+	}
+
+	@Test
+	public void doNotReuseDataGeneratedWithUnknownSourceChange() {
+		System.out.println(CLASS_NAME + "doNotReuseDataGeneratedWithUnknownSourceChange");
+
+		task1.setSourceUpdatedAuditMessageId(null);
+		genDataCache.storeGenerated(task1);
+		task1.setStatus(Task.TaskStatus.SENDERROR);
+		genDataCache.storeSendResult(task1);
+
+		task1.setSourceUpdatedAuditMessageId(100);
+		assertFalse(genDataCache.canReuse(task1));
+	}
+
+}
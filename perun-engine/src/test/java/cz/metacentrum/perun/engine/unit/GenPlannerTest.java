@@ -1,6 +1,7 @@
 package cz.metacentrum.perun.engine.unit;
 
 import cz.metacentrum.perun.engine.AbstractEngineTest;
+import cz.metacentrum.perun.engine.scheduling.GenDataCache;
 import cz.metacentrum.perun.engine.scheduling.GenWorker;
 import cz.metacentrum.perun.engine.scheduling.impl.BlockingGenExecutorCompletionService;
 import cz.metacentrum.perun.engine.runners.GenPlanner;
@@ -14,6 +15,7 @@ import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
 
+import static cz.metacentrum.perun.taskslib.model.Task.TaskStatus.GENERATED;
 import static cz.metacentrum.perun.taskslib.model.Task.TaskStatus.GENERATING;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -54,4 +56,25 @@ public class GenPlannerTest extends AbstractEngineTest{
 		assertEquals(GENERATING, task1.getStatus());
 	}
 
+	@Test
+	public void testGenPlannerReusesGeneratedData() throws Exception {
+		GenDataCache genDataCacheMock = mock(GenDataCache.class);
+		BlockingDeque<Task> generatedTasksQueue = new LinkedBlockingDeque<>();
+		GenPlanner genPlanner = new GenPlanner(schedulingPoolMock, genCompletionServiceMock, jmsQueueManagerMock, genDataCacheMock);
+		spy = spy(genPlanner);
+		newTasksQueue.add(task1);
+
+		when(schedulingPoolMock.getNewTasksQueue()).thenReturn(newTasksQueue);
+		when(schedulingPoolMock.getGeneratedTasksQueue()).thenReturn(generatedTasksQueue);
+		when(genDataCacheMock.canReuse(task1)).thenReturn(true);
+		doReturn(false, true).when(spy).shouldStop();
+
+		spy.run();
+
+		verify(genCompletionServiceMock, never()).blockingSubmit(any(GenWorker.class));
+		verify(jmsQueueManagerMock, times(1)).reportTaskStatus(eq(task1.getId()), eq(GENERATED), anyLong());
+		assertEquals(GENERATED, task1.getStatus());
+		assertTrue(generatedTasksQueue.contains(task1));
+	}
+
 }
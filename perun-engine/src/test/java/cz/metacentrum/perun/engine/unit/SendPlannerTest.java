@@ -8,11 +8,13 @@ import cz.metacentrum.perun.taskslib.model.Task;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Properties;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 
 import static cz.metacentrum.perun.taskslib.model.Task.TaskStatus.GENERATED;
 import static cz.metacentrum.perun.taskslib.model.Task.TaskStatus.SENDING;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.*;
 
 public class SendPlannerTest extends AbstractEngineTest {
@@ -44,4 +46,66 @@ public class SendPlannerTest extends AbstractEngineTest {
 		verify(jmsQueueManagerMock, times(1)).reportTaskStatus(eq(task1.getId()), eq(SENDING),
 				anyLong());
 	}
+
+	@Test
+	public void testSendPlannerBatchesTasksByDestination() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty("engine.sendscript.path", "send");
+		properties.setProperty("engine.sendtasks.batch.window", "100");
+		SendPlanner sendPlanner = new SendPlanner(sendCompletionServiceMock, schedulingPoolMock, jmsQueueManagerMock);
+		sendPlanner.setPropertiesBean(properties);
+		spy = spy(sendPlanner);
+
+		task1.setStatus(GENERATED);
+		task2.setStatus(GENERATED);
+		generatedTasks.add(task1);
+		generatedTasks.add(task2);
+
+		doReturn(generatedTasks).when(schedulingPoolMock).getGeneratedTasksQueue();
+		doReturn(false, true).when(spy).shouldStop();
+
+		spy.run();
+
+		// both Tasks are planned within single batch
+		verify(schedulingPoolMock, times(1)).addSendTaskCount(task1, task1.getDestinations().size());
+		verify(schedulingPoolMock, times(1)).addSendTaskCount(task2, task2.getDestinations().size());
+		verify(sendCompletionServiceMock, times(8)).blockingSubmit(any(SendWorker.class));
+		verify(jmsQueueManagerMock, times(1)).reportTaskStatus(eq(task1.getId()), eq(SENDING), anyLong());
+		verify(jmsQueueManagerMock, times(1)).reportTaskStatus(eq(task2.getId()), eq(SENDING), anyLong());
+	}
+
+	@Test
+	public void testSendPlannerPlansCollectedTasksWhenInterrupted() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty("engine.sendscript.path", "send");
+		properties.setProperty("engine.sendtasks.batch.window", "10000");
+		SendPlanner sendPlanner = new SendPlanner(sendCompletionServiceMock, schedulingPoolMock, jmsQueueManagerMock);
+		sendPlanner.setPropertiesBean(properties);
+		spy = spy(sendPlanner);
+
+		task1.setStatus(GENERATED);
+		generatedTasks.add(task1);
+
+		doReturn(generatedTasks).when(schedulingPoolMock).getGeneratedTasksQueue();
+		doReturn(false).when(spy).shouldStop();
+
+		Thread planner = new Thread(() -> {
+			try {
+				spy.run();
+			} catch (RuntimeException e) {
+				// planner ends by exception after interruption
+			}
+		});
+		planner.start();
+		verify(schedulingPoolMock, timeout(5000).times(1)).getGeneratedTasksQueue();
+		// wait until the task is taken and planner waits for more tasks of the batch
+		while (!generatedTasks.isEmpty()) Thread.sleep(10);
+		Thread.sleep(100);
+		planner.interrupt();
+		planner.join(5000);
+
+		assertFalse(planner.isAlive());
+		verify(schedulingPoolMock, times(1)).addSendTaskCount(task1, task1.getDestinations().size());
+		verify(sendCompletionServiceMock, times(4)).blockingSubmit(any(SendWorker.class));
+	}
 }
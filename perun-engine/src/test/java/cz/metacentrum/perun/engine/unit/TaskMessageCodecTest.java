@@ -0,0 +1,143 @@
+package cz.metacentrum.perun.engine.unit;
+
+import cz.metacentrum.perun.core.api.Service;
+import cz.metacentrum.perun.taskslib.messages.TaskAssignment;
+import cz.metacentrum.perun.taskslib.messages.TaskMessageCodec;
+import cz.metacentrum.perun.taskslib.messages.TaskStatusChange;
+import cz.metacentrum.perun.taskslib.model.Task;
+import cz.metacentrum.perun.taskslib.model.TaskResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Round-trip tests of binary messages exchanged between Dispatcher and Engine.
+ */
+public class TaskMessageCodecTest {
+
+	private static final String CLASS_NAME = "TaskMessageCodecTest.";
+	private static final String ESCAPED = "a|b:c\\d<e>\n,f '\"ž\u0000";
+
+	@Test
+	public void taskStatusChangesRoundTrip() throws Exception {
+		System.out.println(CLASS_NAME + "taskStatusChangesRoundTrip");
+
+		List<TaskStatusChange> changes = Arrays.asList(
+				new TaskStatusChange(1, Task.TaskStatus.GENERATED, 1234567890123L),
+				new TaskStatusChange(2, null, -1));
+
+		byte[] message = TaskMessageCodec.encodeTaskStatusChanges(changes);
+		assertEquals(TaskMessageCodec.Type.TASK_STATUS_CHANGES, TaskMessageCodec.readType(message));
+		List<TaskStatusChange> decoded = TaskMessageCodec.decodeTaskStatusChanges(message);
+
+		assertEquals(2, decoded.size());
+		assertEquals(1, decoded.get(0).getTaskId());
+		assertEquals(Task.TaskStatus.GENERATED, decoded.get(0).getStatus());
+		assertEquals(1234567890123L, decoded.get(0).getTimestamp());
+		assertEquals(2, decoded.get(1).getTaskId());
+		assertNull(decoded.get(1).getStatus());
+		assertEquals(-1, decoded.get(1).getTimestamp());
+	}
+
+	@Test
+	public void taskResultsRoundTrip() throws Exception {
+		System.out.println(CLASS_NAME + "taskResultsRoundTrip");
+
+		TaskResult full = new TaskResult();
+		full.setId(10);
+		full.setTaskId(1);
+		full.setDestinationId(5);
+		full.setErrorMessage(ESCAPED);
+		full.setStandardMessage("");
+		full.setReturnCode(255);
+		full.setTimestamp(new Date(1234567890123L));
+		full.setStatus(TaskResult.TaskResultStatus.ERROR);
+		full.setService(new Service(3, ESCAPED));
+
+		TaskResult empty = new TaskResult();
+		empty.setTaskId(2);
+
+		byte[] message = TaskMessageCodec.encodeTaskResults(Arrays.asList(full, empty));
+		assertEquals(TaskMessageCodec.Type.TASK_RESULTS, TaskMessageCodec.readType(message));
+		List<TaskResult> decoded = TaskMessageCodec.decodeTaskResults(message);
+
+		assertEquals(2, decoded.size());
+		assertEquals(full, decoded.get(0));
+		assertEquals(full.getTimestamp(), decoded.get(0).getTimestamp());
+		assertEquals(ESCAPED, decoded.get(0).getErrorMessage());
+		assertEquals("", decoded.get(0).getStandardMessage());
+		assertEquals(ESCAPED, decoded.get(0).getService().getName());
+		assertEquals(empty, decoded.get(1));
+		assertNull(decoded.get(1).getErrorMessage());
+		assertNull(decoded.get(1).getStandardMessage());
+		assertNull(decoded.get(1).getTimestamp());
+		assertNull(decoded.get(1).getStatus());
+		assertNull(decoded.get(1).getService());
+	}
+
+	@Test
+	public void taskAssignmentsRoundTrip() throws Exception {
+		System.out.println(CLASS_NAME + "taskAssignmentsRoundTrip");
+
+		TaskAssignment assignment = new TaskAssignment(1, false, null, ESCAPED, null, "");
+
+		List<TaskAssignment> decoded = TaskMessageCodec.decodeTaskAssignments(
+				TaskMessageCodec.encodeTaskAssignments(Collections.singletonList(assignment)));
+
+		assertEquals(1, decoded.size());
+		assertEquals(1, decoded.get(0).getTaskId());
+		assertNull(decoded.get(0).getSourceUpdatedAuditMessageId());
+		assertEquals(ESCAPED, decoded.get(0).getService());
+		assertNull(decoded.get(0).getFacility());
+		assertEquals("", decoded.get(0).getDestinations());
+	}
+
+	@Test
+	public void emptyBatchRoundTrip() throws Exception {
+		System.out.println(CLASS_NAME + "emptyBatchRoundTrip");
+
+		assertTrue(TaskMessageCodec.decodeTaskResults(TaskMessageCodec.encodeTaskResults(Collections.emptyList())).isEmpty());
+	}
+
+	@Test
+	public void rejectUnsupportedMessages() throws Exception {
+		System.out.println(CLASS_NAME + "rejectUnsupportedMessages");
+
+		byte[] message = TaskMessageCodec.encodeTaskStatusChanges(Collections.singletonList(new TaskStatusChange(1, Task.TaskStatus.DONE, 1)));
+		assertRejected(() -> TaskMessageCodec.decodeTaskResults(message));
+
+		byte[] newerVersion = message.clone();
+		newerVersion[1] = TaskMessageCodec.VERSION + 1;
+		assertRejected(() -> TaskMessageCodec.readType(newerVersion));
+
+		byte[] textMessage = "task:1:DONE:1".getBytes();
+		assertRejected(() -> TaskMessageCodec.readType(textMessage));
+
+		byte[] truncated = Arrays.copyOf(message, message.length - 1);
+		assertRejected(() -> TaskMessageCodec.decodeTaskStatusChanges(truncated));
+	}
+
+	private void assertRejected(Decoding decoding) {
+		try {
+			decoding.decode();
+			fail("Message should be rejected.");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@FunctionalInterface
+	private interface Decoding {
+		void decode() throws IOException;
+	}
+
+}
@@ -762,7 +762,7 @@ public class ExpirationNotifScheduler {
 	 */
 	private void checkGroupMemberExpiration(Group group, LocalDate date) {
 		List<Member> shouldBeExpired = perun.getSearcherBl().getMembersByGroupExpiration(sess, group, "<=", date);
-		shouldBeExpired.stream()
+		List<Member> membersToExpire = shouldBeExpired.stream()
 				// read member exact group status (not calculated from other group relations),
 				// since we change status in specified group only for direct members !!
 				.filter(member -> {
@@ -774,18 +774,38 @@ public class ExpirationNotifScheduler {
 						return false;
 					}
 				})
-				.forEach(member -> {
-					try {
-						perun.getGroupsManagerBl().expireMemberInGroup(sess, member, group);
-						log.info("Switching {} in {} to EXPIRED state, due to expiration {}.", member, group, perun.getAttributesManagerBl().getAttribute(sess, member, group, AttributesManager.NS_MEMBER_GROUP_ATTR_DEF + ":groupMembershipExpiration").getValue());
-					} catch (InternalErrorException | MemberGroupMismatchException e) {
-						log.error("Consistency error while trying to expire member {} in {}, exception {}", member, group, e);
-					} catch (AttributeNotExistsException e) {
-						log.warn("Synchronizer: checkGroupMembersState, attribute definition for membershipExpiration in group doesn't exist.", e);
-					} catch(WrongAttributeAssignmentException e){
-						log.error("Synchronizer: checkMembersState, attribute name is from wrong namespace.", e);
-					}
-				});
+				.collect(Collectors.toList());
+		if (membersToExpire.isEmpty()) return;
+
+		// statuses in all affected groups are recalculated at once for all the members
+		List<Member> expiredMembers = new ArrayList<>();
+		try {
+			perun.getGroupsManagerBl().expireMembersInGroup(sess, membersToExpire, group);
+			expiredMembers.addAll(membersToExpire);
+		} catch (InternalErrorException e) {
+			// one failing member must not block the others, so they are expired one by one
+			log.error("Consistency error while trying to expire members {} in {} at once, expiring them one by one, exception {}", membersToExpire, group, e);
+			for (Member member : membersToExpire) {
+				try {
+					perun.getGroupsManagerBl().expireMemberInGroup(sess, member, group);
+					expiredMembers.add(member);
+				} catch (InternalErrorException ex) {
+					log.error("Consistency error while trying to expire member {} in {}, exception {}", member, group, ex);
+				}
+			}
+		}
+
+		expiredMembers.forEach(member -> {
+			try {
+				log.info("Switching {} in {} to EXPIRED state, due to expiration {}.", member, group, perun.getAttributesManagerBl().getAttribute(sess, member, group, AttributesManager.NS_MEMBER_GROUP_ATTR_DEF + ":groupMembershipExpiration").getValue());
+			} catch (InternalErrorException | MemberGroupMismatchException e) {
+				log.error("Consistency error while trying to expire member {} in {}, exception {}", member, group, e);
+			} catch (AttributeNotExistsException e) {
+				log.warn("Synchronizer: checkGroupMembersState, attribute definition for membershipExpiration in group doesn't exist.", e);
+			} catch(WrongAttributeAssignmentException e){
+				log.error("Synchronizer: checkMembersState, attribute name is from wrong namespace.", e);
+			}
+		});
 	}
 
 	/**
@@ -798,7 +818,7 @@ public class ExpirationNotifScheduler {
 	 */
 	private void checkGroupMemberValidation(Group group, LocalDate date) {
 		List<Member> shouldNotBeExpired = perun.getSearcherBl().getMembersByGroupExpiration(sess, group, ">", date);
-		shouldNotBeExpired.stream()
+		List<Member> membersToValidate = shouldNotBeExpired.stream()
 				// read member exact group status (not calculated from other group relations),
 				// since we change status in specified group only for direct members !!
 				.filter(member -> {
@@ -810,18 +830,38 @@ public class ExpirationNotifScheduler {
 						return false;
 					}
 				})
-				.forEach(member -> {
-					try {
-						perun.getGroupsManagerBl().validateMemberInGroup(sess, member, group);
-						log.info("Switching {} in {} to VALID state, due to changed expiration {}.", member, group, perun.getAttributesManagerBl().getAttribute(sess, member, group, AttributesManager.NS_MEMBER_GROUP_ATTR_DEF + ":groupMembershipExpiration").getValue());
-					} catch (InternalErrorException | MemberGroupMismatchException e) {
-						log.error("Error during validating member {} in {}, exception {}", member, group, e);
-					} catch (AttributeNotExistsException e) {
-						log.warn("Synchronizer: checkGroupMemberValidation, attribute definition for membershipExpiration in group doesn't exist.", e);
-					} catch(WrongAttributeAssignmentException e){
-						log.error("Synchronizer: checkGroupMemberValidation, attribute name is from wrong namespace.", e);
-					}
-				});
+				.collect(Collectors.toList());
+		if (membersToValidate.isEmpty()) return;
+
+		// statuses in all affected groups are recalculated at once for all the members
+		List<Member> validatedMembers = new ArrayList<>();
+		try {
+			perun.getGroupsManagerBl().validateMembersInGroup(sess, membersToValidate, group);
+			validatedMembers.addAll(membersToValidate);
+		} catch (InternalErrorException e) {
+			// one failing member must not block the others, so they are validated one by one
+			log.error("Error during validating members {} in {} at once, validating them one by one, exception {}", membersToValidate, group, e);
+			for (Member member : membersToValidate) {
+				try {
+					perun.getGroupsManagerBl().validateMemberInGroup(sess, member, group);
+					validatedMembers.add(member);
+				} catch (InternalErrorException ex) {
+					log.error("Error during validating member {} in {}, exception {}", member, group, ex);
+				}
+			}
+		}
+
+		validatedMembers.forEach(member -> {
+			try {
+				log.info("Switching {} in {} to VALID state, due to changed expiration {}.", member, group, perun.getAttributesManagerBl().getAttribute(sess, member, group, AttributesManager.NS_MEMBER_GROUP_ATTR_DEF + ":groupMembershipExpiration").getValue());
+			} catch (InternalErrorException | MemberGroupMismatchException e) {
+				log.error("Error during validating member {} in {}, exception {}", member, group, e);
+			} catch (AttributeNotExistsException e) {
+				log.warn("Synchronizer: checkGroupMemberValidation, attribute definition for membershipExpiration in group doesn't exist.", e);
+			} catch(WrongAttributeAssignmentException e){
+				log.error("Synchronizer: checkGroupMemberValidation, attribute name is from wrong namespace.", e);
+			}
+		});
 	}
 
 	/**
@@ -20,13 +20,17 @@ import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
 import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.api.exceptions.AttributeNotExistsException;
+import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.SponsorshipDoesNotExistException;
+import cz.metacentrum.perun.core.bl.GroupsManagerBl;
+import cz.metacentrum.perun.core.bl.PerunBl;
 import cz.metacentrum.perun.core.blImpl.AuthzResolverBlImpl;
 import cz.metacentrum.perun.core.impl.Auditer;
 import cz.metacentrum.perun.registrar.impl.ExpirationNotifScheduler;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.AdditionalAnswers;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcPerunTemplate;
@@ -48,6 +52,8 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.validateMockitoUsage;
@@ -354,6 +360,42 @@ public class ExpirationNotifSchedulerTest extends RegistrarBaseIntegrationTest {
 		assertEquals("Member should not be expired!", MemberGroupStatus.VALID, memberGroupStatus);
 	}
 
+	@Test
+	public void checkMembersGroupStateExpiresOthersWhenOneMemberFails() throws Exception {
+		System.out.println(CLASS_NAME + "checkMembersGroupStateExpiresOthersWhenOneMemberFails");
+
+		String today = LocalDate.now().toString();
+
+		Member member1 = setUpMember();
+		Member member2 = setUpMember();
+		Group group = setUpGroup();
+		perun.getGroupsManagerBl().addMember(session, group, member1);
+		perun.getGroupsManagerBl().addMember(session, group, member2);
+
+		Attribute expiration = new Attribute(perun.getAttributesManager().getAttributeDefinition(session, GROUP_EXPIRATION_URN));
+		expiration.setValue(today);
+		perun.getAttributesManager().setAttribute(session, member1, group, expiration);
+		perun.getAttributesManager().setAttribute(session, member2, group, expiration);
+
+		// expiring of member1 fails, so the whole batch fails too
+		PerunBl originalPerun = scheduler.getPerun();
+		GroupsManagerBl groupsManagerBl = mock(GroupsManagerBl.class, AdditionalAnswers.delegatesTo(originalPerun.getGroupsManagerBl()));
+		doThrow(new InternalErrorException("batch failed")).when(groupsManagerBl).expireMembersInGroup(any(), any(), any());
+		doThrow(new InternalErrorException("member failed")).when(groupsManagerBl).expireMemberInGroup(any(), eq(member1), any());
+		PerunBl perunBl = mock(PerunBl.class, AdditionalAnswers.delegatesTo(originalPerun));
+		doReturn(groupsManagerBl).when(perunBl).getGroupsManagerBl();
+
+		scheduler.setPerun(perunBl);
+		try {
+			scheduler.checkMembersState();
+		} finally {
+			scheduler.setPerun(originalPerun);
+		}
+
+		assertEquals("Member should not be expired!", MemberGroupStatus.VALID, perun.getGroupsManagerBl().getDirectMemberGroupStatus(session, member1, group));
+		assertEquals("Member should be expired now (from valid)!", MemberGroupStatus.EXPIRED, perun.getGroupsManagerBl().getDirectMemberGroupStatus(session, member2, group));
+	}
+
 	@Test
 	public void testSponsorshipExpirationIsAudited1DayBefore() throws Exception {
 		System.out.println(CLASS_NAME + "testSponsorshipExpirationIsAudited1DayBefore");
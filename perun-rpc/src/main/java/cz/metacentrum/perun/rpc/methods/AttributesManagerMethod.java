@@ -1,7 +1,10 @@
 package cz.metacentrum.perun.rpc.methods;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import cz.metacentrum.perun.core.api.*;
 import cz.metacentrum.perun.core.api.exceptions.AttributeAlreadyMarkedUniqueException;
@@ -531,6 +534,31 @@ public enum AttributesManagerMethod implements ManagerMethod {
 		}
 	},
 
+	/*#
+	 * Returns attributes which violate their semantics after change of some attribute they depend on.
+	 * They are found only by deferred dependency checks, which are enabled by perun.attributeDependencies.deferredChecks.
+	 *
+	 * @return List<AttributeInconsistency> Found inconsistencies, which were not fixed yet
+	 */
+	getAttributeInconsistencies {
+		@Override
+		public List<AttributeInconsistency> call(ApiCaller ac, Deserializer parms) throws PerunException {
+			return ac.getAttributesManager().getAttributeInconsistencies(ac.getSession());
+		}
+	},
+
+	/*#
+	 * Returns statistics of the cache of user and member attributes, which is enabled by perun.attributesCache.size.
+	 *
+	 * @return Map<String,Long> Numbers of hits, misses, evictions, cached attributes and max number of cached attributes, empty when cache is disabled
+	 */
+	getAttributesCacheStatistics {
+		@Override
+		public Map<String, Long> call(ApiCaller ac, Deserializer parms) throws PerunException {
+			return ac.getAttributesManager().getAttributesCacheStatistics(ac.getSession());
+		}
+	},
+
 	/*#
 	 * Sets the attributes.
 	 *
@@ -1397,6 +1425,34 @@ public enum AttributesManagerMethod implements ManagerMethod {
 		}
 	},
 
+	/*#
+	 * Sets values of one member or user attribute for many holders at once.
+	 * Type of holders is given by namespace of the attribute. Null values remove the attribute.
+	 *
+	 * @param attributeDefinition int AttributeDefinition <code>id</code>
+	 * @param values Map<Integer,Object> map of Member or User <code>id</code> to value of the attribute
+	 * @throw MemberNotExistsException When any Member not exists by its <code>id</code>.
+	 * @throw UserNotExistsException When any User not exists by its <code>id</code>.
+	 * @exampleParam values { "12" : "value1", "13" : "value2" }
+	 */
+	setAttributeForHolders {
+
+		@Override
+		public Void call(ApiCaller ac, Deserializer parms) throws PerunException {
+			parms.stateChangingCheck();
+
+			Map<Integer, Object> values = new HashMap<>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) parms.read("values", LinkedHashMap.class)).entrySet()) {
+				values.put(Integer.valueOf(entry.getKey().toString()), entry.getValue());
+			}
+			ac.getAttributesManager().setAttributeForHolders(ac.getSession(),
+					ac.getAttributeDefinitionById(parms.readInt("attributeDefinition")),
+					values);
+
+			return null;
+		}
+	},
+
 	/*#
 	 * Creates AttributeDefinition
 	 *